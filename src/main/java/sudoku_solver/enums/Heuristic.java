@@ -0,0 +1,80 @@
+package sudoku_solver.enums;
+
+import sudoku_solver.model.SudokuBoard;
+import sudoku_solver.solver.HeuristicScorer;
+
+/**
+ * An enumeration representing the built-in heuristics that a best-first search can use to choose
+ * the next board to expand.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public enum Heuristic implements HeuristicScorer {
+    /**
+     * Boards with the fewest squares remaining first, with ties broken by the fewest candidates.
+     * This is the ordering given by the compareTo method of SudokuBoard.
+     */
+    SQUARES_REMAINING("Fewest squares remaining"),
+    /**
+     * Boards with the lowest candidate entropy first, that is the fewest ways of filling the
+     * remaining squares if the rows, columns and boxes were ignored.
+     */
+    CANDIDATE_ENTROPY("Lowest candidate entropy"),
+    /**
+     * Weighted A* with the number of guesses made so far as the cost and the candidate entropy as
+     * the estimate of the guesses still needed, using a weight of 2.
+     */
+    WEIGHTED_A_STAR("Weighted A*"),
+    /**
+     * Boards with the most hidden singles first, as every hidden single is a square that can be
+     * filled without guessing. Ties are broken as for SQUARES_REMAINING.
+     */
+    HIDDEN_SINGLES("Most hidden singles");
+
+    public static final double DEFAULT_WEIGHT = 2;
+    private static final HeuristicScorer WEIGHTED = HeuristicScorer.weightedAStar(DEFAULT_WEIGHT);
+    // More than the number of units times the size of the largest board, so the score is positive
+    private static final long MAX_HIDDEN_SINGLES = 1 << 10;
+    private final String displayName;
+
+    /**
+     * Constructs a Heuristic object with the specified name.
+     *
+     * @param displayName the display name of the heuristic
+     */
+    Heuristic(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Scores a board using this heuristic.
+     *
+     * @param board the board to score
+     * @param depth the number of guesses made to reach the board from the initial board
+     * @return the score of the board, where lower scores are expanded first
+     */
+    @Override
+    public long score(SudokuBoard board, int depth) {
+        return switch (this) {
+            case SQUARES_REMAINING -> board.getHeuristicKey();
+            case CANDIDATE_ENTROPY ->
+                    Math.round(board.getCandidateEntropy() * FIXED_POINT_SCALE);
+            case WEIGHTED_A_STAR -> WEIGHTED.score(board, depth);
+            // The heuristic key takes up the low 41 bits
+            case HIDDEN_SINGLES -> (MAX_HIDDEN_SINGLES - board.countHiddenSingles()) << 41 |
+                    board.getHeuristicKey();
+        };
+    }
+
+    /**
+     * Returns the display name of the heuristic.
+     *
+     * @return the display name
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
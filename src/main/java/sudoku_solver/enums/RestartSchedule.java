@@ -0,0 +1,72 @@
+package sudoku_solver.enums;
+
+/**
+ * An enumeration representing the schedule used to decide how many boards a restarting search may
+ * expand before it starts again from the beginning. Each schedule gives the limit for every run as
+ * a multiple of a base number of boards.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public enum RestartSchedule {
+    /**
+     * The Luby sequence 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8, ..., which is within a
+     * logarithmic factor of the best possible fixed restart limit for any runtime distribution.
+     */
+    LUBY("Luby"),
+    /**
+     * Each run may expand 1.5 times as many boards as the previous one.
+     */
+    GEOMETRIC("Geometric");
+
+    private static final double GEOMETRIC_FACTOR = 1.5;
+    private final String displayName;
+
+    /**
+     * Constructs a RestartSchedule object with the specified name.
+     *
+     * @param displayName the display name of the restart schedule
+     */
+    RestartSchedule(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Returns the number of boards the given run may expand.
+     *
+     * @param run  the index of the run, starting from 0
+     * @param base the number of boards corresponding to a multiple of 1
+     * @return the maximum number of boards the run may expand
+     */
+    public long getLimit(int run, long base) {
+        double multiple = this == LUBY ? luby(run + 1) : Math.pow(GEOMETRIC_FACTOR, run);
+        // Saturate rather than overflow for very late runs
+        return (long) Math.min(Long.MAX_VALUE, base * multiple);
+    }
+
+    /**
+     * Returns the i-th term of the Luby sequence, where the first term is at index 1.
+     *
+     * @param i the index of the term
+     * @return the term of the Luby sequence
+     */
+    private static long luby(int i) {
+        while (true) {
+            // Find k such that 2^(k-1) <= i < 2^k
+            int k = 32 - Integer.numberOfLeadingZeros(i);
+            if (i == (1 << k) - 1) return 1L << (k - 1);
+            i -= (1 << (k - 1)) - 1;
+        }
+    }
+
+    /**
+     * Returns the display name of the restart schedule.
+     *
+     * @return the display name
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -1,34 +1,62 @@
 package sudoku_solver.enums;
 
+import sudoku_solver.solver.AnnealingSolver;
+import sudoku_solver.solver.BackjumpingSolver;
+import sudoku_solver.solver.BeamSolver;
 import sudoku_solver.solver.BestFirstSolver;
+import sudoku_solver.solver.BitboardSolver;
 import sudoku_solver.solver.BreadthFirstSolver;
 import sudoku_solver.solver.DepthFirstSolver;
+import sudoku_solver.solver.HybridSolver;
+import sudoku_solver.solver.IterativeDeepeningSolver;
+import sudoku_solver.solver.LimitedDiscrepancySolver;
+import sudoku_solver.solver.PortfolioSolver;
+import sudoku_solver.solver.RestartingDepthFirstSolver;
+import sudoku_solver.solver.SatSolver;
 import sudoku_solver.solver.SudokuSolver;
+import sudoku_solver.solver.TemplateSolver;
+
+import java.util.function.Supplier;
 
 /**
  * An enumeration representing different types of solvers for a Sudoku puzzle.
  *
  * @author Savraj Bassi
- * @version 06/12/2023
+ * @version 19/10/2026
  */
 
 public enum SolverType {
-    BREADTH_FIRST("Breadth first", new BreadthFirstSolver()),
-    DEPTH_FIRST("Depth first", new DepthFirstSolver()),
-    BEST_FIRST("Best first", new BestFirstSolver());
+    BREADTH_FIRST("Breadth first", BreadthFirstSolver::new),
+    DEPTH_FIRST("Depth first", DepthFirstSolver::new),
+    BEST_FIRST("Best first", BestFirstSolver::new),
+    HYBRID("Hybrid breadth/depth first", HybridSolver::new),
+    RANDOMISED_RESTARTS("Depth first with random restarts", RestartingDepthFirstSolver::new),
+    BACKJUMPING("Depth first with backjumping", BackjumpingSolver::new),
+    SAT("SAT with clause learning", SatSolver::new),
+    ANNEALING("Simulated annealing", AnnealingSolver::new),
+    BITBOARD("Digit-plane bitboard", BitboardSolver::new),
+    TEMPLATE("Pattern overlay templates", TemplateSolver::new),
+    BEAM("Beam search", BeamSolver::new),
+    LIMITED_DISCREPANCY("Limited discrepancy search", LimitedDiscrepancySolver::new),
+    ITERATIVE_DEEPENING("Iterative deepening depth-first", IterativeDeepeningSolver::new),
+    PORTFOLIO("Portfolio (race all solvers)", PortfolioSolver::new);
 
     private final String displayName;
+    private final Supplier<SudokuSolver> factory;
     private final SudokuSolver solver;
 
     /**
-     * Constructs a SolverType object with the given display name and solver instance.
+     * Constructs a SolverType object with the given display name and a factory that creates
+     * solver instances of the corresponding solver type.
      *
      * @param displayName the display name of the solver type
-     * @param solver      the solver instance of the corresponding solver type
+     * @param factory     the factory that creates solver instances of the corresponding solver
+     *                    type
      */
-    SolverType(String displayName, SudokuSolver solver) {
+    SolverType(String displayName, Supplier<SudokuSolver> factory) {
         this.displayName = displayName;
-        this.solver = solver;
+        this.factory = factory;
+        this.solver = factory.get();
     }
 
     /**
@@ -40,6 +68,16 @@ public enum SolverType {
         return solver;
     }
 
+    /**
+     * Creates a new solver instance of the solver type, separate from the one returned by
+     * getSolver. Used to run several solvers of the same type at once.
+     *
+     * @return a new solver instance
+     */
+    public SudokuSolver createSolver() {
+        return factory.get();
+    }
+
     /**
      * Returns the display name of the solver type.
      *
@@ -0,0 +1,43 @@
+package sudoku_solver.enums;
+
+/**
+ * An enumeration representing the order in which the candidate values of a square are tried when
+ * generating the successors of a Sudoku board.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public enum ValueOrdering {
+    /**
+     * Candidates are tried in ascending numerical order.
+     */
+    ASCENDING("Ascending"),
+    /**
+     * Candidates are tried in order of how many candidates they leave on the rest of the board,
+     * most first, so the value that constrains the other squares least is tried first. Ties are
+     * broken by ascending numerical order.
+     */
+    LEAST_CONSTRAINING("Least constraining");
+
+    private final String displayName;
+
+    /**
+     * Constructs a ValueOrdering object with the specified name.
+     *
+     * @param displayName the display name of the value ordering
+     */
+    ValueOrdering(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Returns the display name of the value ordering.
+     *
+     * @return the display name
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
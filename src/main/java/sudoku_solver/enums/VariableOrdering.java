@@ -0,0 +1,46 @@
+package sudoku_solver.enums;
+
+/**
+ * An enumeration representing how the square whose values are branched on is chosen when
+ * generating the successors of a Sudoku board.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public enum VariableOrdering {
+    /**
+     * The square with the fewest legal values is chosen. Ties are broken by choosing the first
+     * such square, row by row.
+     */
+    FEWEST_LEGAL_VALUES("Fewest legal values"),
+    /**
+     * The square with the smallest ratio of legal values to weighted degree is chosen, where the
+     * weighted degree of a square is the sum of the weights of its row, column and box. Every
+     * weight starts at 1 and is increased whenever constraint propagation leaves a square of that
+     * unit with no candidates, so squares in the units that keep causing contradictions are tried
+     * first. The weights are kept for the whole of a solve.
+     */
+    DOM_WDEG("Legal values over weighted degree");
+
+    private final String displayName;
+
+    /**
+     * Constructs a VariableOrdering object with the specified name.
+     *
+     * @param displayName the display name of the variable ordering
+     */
+    VariableOrdering(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Returns the display name of the variable ordering.
+     *
+     * @return the display name
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
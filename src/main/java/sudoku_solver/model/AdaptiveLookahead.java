@@ -0,0 +1,151 @@
+package sudoku_solver.model;
+
+/**
+ * This class decides, for each board expanded during a search, whether SudokuBoard should make a
+ * full lookahead or a cheap one.
+ * <p>
+ * A full lookahead trial assigns every candidate of every empty square. It pays off when it finds
+ * a square with only 1 legal value, which is then assigned, or a square with none, which proves
+ * the board cannot be solved, or a solution. Otherwise all it gains over a cheap lookahead is a
+ * slightly better choice of square. A cheap lookahead picks the square with the fewest
+ * candidates, without any trial assignments, and only trial assigns the candidates of that
+ * square.
+ * <p>
+ * The fraction of full lookaheads that pay off is tracked as an exponential moving average. While
+ * it is at least the threshold, full lookaheads are made. Once it drops below, cheap lookaheads
+ * are made instead, except that every probeInterval consecutive cheap lookaheads are followed by
+ * a full one so that the average keeps up with the search. The average starts at 1, so each
+ * search begins with full lookaheads.
+ * <p>
+ * An AdaptiveLookahead is used by setting it with SudokuBoard.setAdaptiveLookahead, which applies
+ * it to every lookahead made on the current thread, or with SudokuSolver.setAdaptiveLookahead.
+ * It is not thread-safe.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class AdaptiveLookahead {
+    public static final double DEFAULT_THRESHOLD = 0.4;
+    public static final int DEFAULT_PROBE_INTERVAL = 64;
+    // The weight of the most recent full lookahead in the moving average
+    private static final double SMOOTHING = 0.125;
+    private final double threshold;
+    private final int probeInterval;
+    private double payoffRate;
+    private int cheapSinceProbe;
+    private long fullLookaheads;
+    private long fullLookaheadsPaidOff;
+    private long cheapLookaheads;
+
+    /**
+     * Constructs a new AdaptiveLookahead object with the default threshold and probe interval.
+     */
+    public AdaptiveLookahead() {
+        this(DEFAULT_THRESHOLD, DEFAULT_PROBE_INTERVAL);
+    }
+
+    /**
+     * Constructs a new AdaptiveLookahead object.
+     *
+     * @param threshold     The fraction of full lookaheads that must pay off for them to keep
+     *                      being made. Must be between 0 and 1, where 0 always makes full
+     *                      lookaheads.
+     * @param probeInterval The largest number of cheap lookaheads made in a row before a full one
+     *                      is made. Must be positive.
+     */
+    public AdaptiveLookahead(double threshold, int probeInterval) {
+        if (!(threshold >= 0 && threshold <= 1)) {
+            throw new IllegalArgumentException("Threshold must be between 0 and 1");
+        }
+        if (probeInterval < 1) {
+            throw new IllegalArgumentException("Probe interval must be positive");
+        }
+        this.threshold = threshold;
+        this.probeInterval = probeInterval;
+        reset();
+    }
+
+    /**
+     * Resets the moving average and the counters, ready for a new search.
+     */
+    public void reset() {
+        payoffRate = 1;
+        cheapSinceProbe = 0;
+        fullLookaheads = 0;
+        fullLookaheadsPaidOff = 0;
+        cheapLookaheads = 0;
+    }
+
+    /**
+     * Decides whether the next lookahead should be a full one, and counts it if it is cheap.
+     *
+     * @return True if a full lookahead should be made and false otherwise
+     */
+    boolean useFullLookahead() {
+        if (payoffRate >= threshold || cheapSinceProbe >= probeInterval) {
+            cheapSinceProbe = 0;
+            return true;
+        }
+        cheapSinceProbe++;
+        cheapLookaheads++;
+        return false;
+    }
+
+    /**
+     * Records the outcome of a full lookahead.
+     *
+     * @param paidOff True if the lookahead found a square with at most 1 legal value or a
+     *                solution, and false otherwise
+     */
+    void recordFullLookahead(boolean paidOff) {
+        fullLookaheads++;
+        if (paidOff) fullLookaheadsPaidOff++;
+        payoffRate += SMOOTHING * ((paidOff ? 1 : 0) - payoffRate);
+    }
+
+    /**
+     * Returns the fraction of full lookaheads that must pay off for them to keep being made.
+     *
+     * @return The threshold
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Returns the largest number of cheap lookaheads made in a row before a full one is made.
+     *
+     * @return The probe interval
+     */
+    public int getProbeInterval() {
+        return probeInterval;
+    }
+
+    /**
+     * Returns the number of full lookaheads made since the last reset.
+     *
+     * @return The number of full lookaheads
+     */
+    public long getFullLookaheads() {
+        return fullLookaheads;
+    }
+
+    /**
+     * Returns the number of full lookaheads made since the last reset that paid off.
+     *
+     * @return The number of full lookaheads that paid off
+     */
+    public long getFullLookaheadsPaidOff() {
+        return fullLookaheadsPaidOff;
+    }
+
+    /**
+     * Returns the number of cheap lookaheads made since the last reset.
+     *
+     * @return The number of cheap lookaheads
+     */
+    public long getCheapLookaheads() {
+        return cheapLookaheads;
+    }
+}
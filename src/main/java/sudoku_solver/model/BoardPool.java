@@ -0,0 +1,148 @@
+package sudoku_solver.model;
+
+import java.util.ArrayDeque;
+
+/**
+ * This class represents a per-thread pool of SudokuBoard objects that can be recycled during a
+ * search.
+ * <p>
+ * Searching generates a very large number of short-lived boards, most of which are trial
+ * successors that are discarded straight away. While a pool is open on the current thread, boards
+ * passed to SudokuBoard.release() are kept in the pool, and SudokuBoard.clone() reuses their
+ * storage instead of allocating a new board and new CandidateSets. Boards are only ever handed out
+ * to the thread that opened the pool, so no synchronisation is needed.
+ * <p>
+ * A released board must not be used again. Using a released board throws an IllegalStateException
+ * until the board is reused by the pool. In checked mode, released boards are never reused, so any
+ * use after release is always detected. This is intended for tests.
+ * <p>
+ * Pools are opened with open() and must be closed when the search finishes, preferably using a
+ * try-with-resources statement. Boards that were not released remain valid after the pool is
+ * closed.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class BoardPool implements AutoCloseable {
+    private static final ThreadLocal<BoardPool> currentPool = new ThreadLocal<>();
+    // The maximum number of free boards kept for each board size, so that a burst of releases
+    // does not keep a large amount of memory alive
+    private static final int MAX_FREE_BOARDS = 1024;
+    private final ArrayDeque<SudokuBoard>[] freeBoards;
+    private final boolean checked;
+    private final BoardPool previous;
+    private long boardsReused;
+    private long boardsReleased;
+
+    /**
+     * Creates a new BoardPool. Only used by the open method.
+     *
+     * @param checked  Whether released boards should never be reused
+     * @param previous The pool that was open on this thread before this one, if any
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private BoardPool(boolean checked, BoardPool previous) {
+        // Indexed by board size
+        freeBoards = new ArrayDeque[17];
+        this.checked = checked;
+        this.previous = previous;
+    }
+
+    /**
+     * Opens a new pool on the current thread. Any pool already open on this thread is restored
+     * once the new pool is closed.
+     *
+     * @param checked Whether released boards should never be reused, so that any use of a
+     *                released board is detected
+     * @return The new pool
+     */
+    public static BoardPool open(boolean checked) {
+        BoardPool pool = new BoardPool(checked, currentPool.get());
+        currentPool.set(pool);
+        return pool;
+    }
+
+    /**
+     * Returns the pool open on the current thread, or null if there is none.
+     *
+     * @return The current pool
+     */
+    static BoardPool current() {
+        return currentPool.get();
+    }
+
+    /**
+     * Takes a free board of the given size from the pool.
+     *
+     * @param size The size of the board
+     * @return A released board of the given size, or null if there are none
+     */
+    SudokuBoard take(int size) {
+        ArrayDeque<SudokuBoard> boards = freeBoards[size];
+        if (boards == null || boards.isEmpty()) return null;
+        boardsReused++;
+        return boards.pop();
+    }
+
+    /**
+     * Adds a released board to the pool. In checked mode the board is discarded instead.
+     *
+     * @param board The released board
+     */
+    void put(SudokuBoard board) {
+        boardsReleased++;
+        if (checked) return;
+        int size = board.getSIZE();
+        ArrayDeque<SudokuBoard> boards = freeBoards[size];
+        if (boards == null) {
+            boards = new ArrayDeque<>();
+            freeBoards[size] = boards;
+        }
+        if (boards.size() < MAX_FREE_BOARDS) boards.push(board);
+    }
+
+    /**
+     * Checks if this pool is in checked mode.
+     *
+     * @return True if released boards are never reused and false otherwise
+     */
+    public boolean isChecked() {
+        return checked;
+    }
+
+    /**
+     * Returns the number of times a released board has been reused by clone().
+     *
+     * @return The number of boards reused
+     */
+    public long getBoardsReused() {
+        return boardsReused;
+    }
+
+    /**
+     * Returns the number of boards that have been released to this pool.
+     *
+     * @return The number of boards released
+     */
+    public long getBoardsReleased() {
+        return boardsReleased;
+    }
+
+    /**
+     * Closes this pool, discarding any free boards and restoring the pool that was open before it.
+     */
+    @Override
+    public void close() {
+        for (int i = 0; i < freeBoards.length; i++) {
+            freeBoards[i] = null;
+        }
+        if (currentPool.get() == this) {
+            if (previous == null) {
+                currentPool.remove();
+            } else {
+                currentPool.set(previous);
+            }
+        }
+    }
+}
@@ -13,13 +13,15 @@ import java.util.Objects;
  * This is to facilitate accessing/modifying particular indexes of the array without having to
  * subtract 1. A boolean array is used to provide better performance than a Set or array of ints.
  * <p>
- * It is important to note that a CandidateSet object can only ever decrease in size - it is not
- * possible to insert elements back in to the set once removed. The class also contains a method
- * that immediately removes all candidate values except for the one provided as an argument (the
- * assignValue method).
+ * It is important to note that, through its public methods, a CandidateSet object can only ever
+ * decrease in size - it is not possible to insert elements back in to the set once removed. The
+ * class also contains a method that immediately removes all candidate values except for the one
+ * provided as an argument (the assignValue method). The only exceptions are the package-private
+ * copyFrom and setFromBitMask methods, which SudokuBoard uses to refill the sets of a board
+ * recycled by a BoardPool or read back with readFrom.
  *
  * @author Savraj Bassi
- * @version 20/11/2023
+ * @version 19/10/2026
  */
 
 public class CandidateSet {
@@ -143,6 +145,43 @@ public class CandidateSet {
         return candidates;
     }
 
+    /**
+     * Overwrites this CandidateSet with the candidates of another one of the same size. Used by
+     * SudokuBoard to reuse released boards rather than creating new CandidateSets.
+     *
+     * @param other The CandidateSet to copy
+     */
+    void copyFrom(CandidateSet other) {
+        System.arraycopy(other.set, 0, set, 0, set.length);
+        size = other.size;
+    }
+
+    /**
+     * Returns the candidates of this CandidateSet as a bit mask, where bit (i - 1) is set if i is a
+     * candidate. Used to store boards compactly.
+     *
+     * @return The bit mask of the candidates
+     */
+    int toBitMask() {
+        int mask = 0;
+        for (int i = 1; i < set.length; i++) {
+            if (set[i]) mask |= 1 << (i - 1);
+        }
+        return mask;
+    }
+
+    /**
+     * Overwrites this CandidateSet with the candidates in a bit mask created by toBitMask().
+     *
+     * @param mask The bit mask of the candidates
+     */
+    void setFromBitMask(int mask) {
+        for (int i = 1; i < set.length; i++) {
+            set[i] = (mask & (1 << (i - 1))) != 0;
+        }
+        size = Integer.bitCount(mask);
+    }
+
     /**
      * Creates and returns a clone of this instance. Does not call super.clone() as a deep copy
      * must be created.
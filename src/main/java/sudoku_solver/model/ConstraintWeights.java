@@ -0,0 +1,113 @@
+package sudoku_solver.model;
+
+import java.util.Arrays;
+
+/**
+ * This class holds the failure weights of the rows, columns and boxes of a Sudoku board, used to
+ * choose squares by their number of legal values divided by their weighted degree (dom/wdeg).
+ * <p>
+ * Every weight starts at 1. Whenever constraint propagation removes the last candidate of a
+ * square, the weights of the row, column and box of that square are each increased by 1. The
+ * weighted degree of a square is the sum of the weights of its row, column and box, so squares in
+ * the units that keep causing contradictions are preferred, which tends to focus the search on
+ * the hardest part of the puzzle.
+ * <p>
+ * ConstraintWeights are used by setting them with SudokuBoard.setConstraintWeights, which applies
+ * them to every board on the current thread, or by giving a SudokuSolver the
+ * VariableOrdering.DOM_WDEG variable ordering. They are not thread-safe.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class ConstraintWeights {
+    private static final int MAX_BOARD_SIZE = 16;
+    private final long[] rowWeights = new long[MAX_BOARD_SIZE];
+    private final long[] columnWeights = new long[MAX_BOARD_SIZE];
+    private final long[] boxWeights = new long[MAX_BOARD_SIZE];
+    private long wipeouts;
+
+    /**
+     * Constructs a new ConstraintWeights object with every weight set to 1.
+     */
+    public ConstraintWeights() {
+        reset();
+    }
+
+    /**
+     * Sets every weight back to 1 and the number of wipeouts back to 0.
+     */
+    public void reset() {
+        Arrays.fill(rowWeights, 1);
+        Arrays.fill(columnWeights, 1);
+        Arrays.fill(boxWeights, 1);
+        wipeouts = 0;
+    }
+
+    /**
+     * Records that a square was left with no candidates, increasing the weights of its row, column
+     * and box.
+     *
+     * @param row    The row of the square
+     * @param column The column of the square
+     * @param box    The box of the square, numbered row by row
+     */
+    void recordWipeout(int row, int column, int box) {
+        rowWeights[row]++;
+        columnWeights[column]++;
+        boxWeights[box]++;
+        wipeouts++;
+    }
+
+    /**
+     * Returns the weighted degree of a square, which is the sum of the weights of its row, column
+     * and box.
+     *
+     * @param row    The row of the square
+     * @param column The column of the square
+     * @param box    The box of the square, numbered row by row
+     * @return The weighted degree of the square
+     */
+    long getWeightedDegree(int row, int column, int box) {
+        return rowWeights[row] + columnWeights[column] + boxWeights[box];
+    }
+
+    /**
+     * Returns the weight of a row.
+     *
+     * @param row The row
+     * @return The weight of the row
+     */
+    public long getRowWeight(int row) {
+        return rowWeights[row];
+    }
+
+    /**
+     * Returns the weight of a column.
+     *
+     * @param column The column
+     * @return The weight of the column
+     */
+    public long getColumnWeight(int column) {
+        return columnWeights[column];
+    }
+
+    /**
+     * Returns the weight of a box.
+     *
+     * @param box The box, numbered row by row
+     * @return The weight of the box
+     */
+    public long getBoxWeight(int box) {
+        return boxWeights[box];
+    }
+
+    /**
+     * Returns the number of times a square was left with no candidates since the last reset.
+     *
+     * @return The number of wipeouts
+     */
+    public long getWipeouts() {
+        return wipeouts;
+    }
+}
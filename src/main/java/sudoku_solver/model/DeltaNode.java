@@ -0,0 +1,115 @@
+package sudoku_solver.model;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * This class represents a compact stand-in for a SudokuBoard in an open list.
+ * <p>
+ * Rather than holding every CandidateSet of the board, a DeltaNode holds a reference to the node of
+ * its parent board along with the assignments that turn the parent into this board. Sibling nodes
+ * share their parent node, so each additional node only costs a few dozen bytes. The full board is
+ * recreated by materialise(), which replays the assignments on top of the nearest ancestor that
+ * stores a full board (a checkpoint). Constraint propagation is deterministic, so the replayed
+ * board is identical to the original.
+ * <p>
+ * Every node also stores the heuristic key of its board (see SudokuBoard.getHeuristicKey()), so
+ * that nodes can be ordered for best-first search without recreating their boards.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class DeltaNode {
+    private final DeltaNode parent;
+    private final SudokuBoard board;
+    private final int[] assignments;
+    private final long heuristicKey;
+    private final int depth;
+
+    /**
+     * Creates a checkpoint node that stores the given board in full.
+     *
+     * @param board The board to store
+     */
+    public DeltaNode(SudokuBoard board) {
+        this.parent = null;
+        this.board = board;
+        this.assignments = null;
+        this.heuristicKey = board.getHeuristicKey();
+        this.depth = 0;
+    }
+
+    /**
+     * Creates a node for the board obtained by making the given assignments on the board of the
+     * parent node. Only used by SuccessorIterator.
+     *
+     * @param parent       The node of the parent board
+     * @param assignments  The assignments to make, packed with SudokuBoard.packAssignment
+     * @param heuristicKey The heuristic key of the resulting board
+     */
+    DeltaNode(DeltaNode parent, int[] assignments, long heuristicKey) {
+        this.parent = parent;
+        this.board = null;
+        this.assignments = assignments;
+        this.heuristicKey = heuristicKey;
+        this.depth = parent.depth + 1;
+    }
+
+    /**
+     * Recreates the board this node stands for. Checkpoints return their stored board directly.
+     * Other nodes clone the nearest checkpoint and replay the assignments of every node in between.
+     *
+     * @return The board this node stands for
+     */
+    public SudokuBoard materialise() {
+        if (board != null) return board;
+
+        Deque<int[]> path = new ArrayDeque<>(depth);
+        DeltaNode node = this;
+        while (node.board == null) {
+            path.push(node.assignments);
+            node = node.parent;
+        }
+
+        int length = 0;
+        for (int[] step : path) {
+            length += step.length;
+        }
+        int[] allAssignments = new int[length];
+        int index = 0;
+        for (int[] step : path) {
+            System.arraycopy(step, 0, allAssignments, index, step.length);
+            index += step.length;
+        }
+        return node.board.replay(allAssignments);
+    }
+
+    /**
+     * Returns the heuristic key of the board this node stands for.
+     *
+     * @return The heuristic key
+     */
+    public long getHeuristicKey() {
+        return heuristicKey;
+    }
+
+    /**
+     * Returns the number of nodes between this node and the nearest checkpoint, which is 0 if this
+     * node is a checkpoint.
+     *
+     * @return The depth of this node below its checkpoint
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Checks if this node stores its board in full.
+     *
+     * @return True if this node is a checkpoint and false otherwise
+     */
+    public boolean isCheckpoint() {
+        return board != null;
+    }
+}
@@ -0,0 +1,30 @@
+package sudoku_solver.model;
+
+/**
+ * This class finds the squares of a unit that have a given candidate by testing their candidate
+ * masks one at a time. It is used when the Vector API is not available.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+class ScalarUnitMaskScanner implements UnitMaskScanner {
+
+    /**
+     * Finds the squares of a unit whose masks have any of the given bits set.
+     *
+     * @param masks   The candidate masks of every square of the board, in row-major order
+     * @param squares The indexes into masks of the squares of the unit, of which there are at most
+     *                32
+     * @param bits    The bits to look for
+     * @return A bit mask in which bit i is set if the mask of squares[i] has any of the bits set
+     */
+    @Override
+    public int findSquares(int[] masks, int[] squares, int bits) {
+        int found = 0;
+        for (int i = 0; i < squares.length; i++) {
+            if ((masks[squares[i]] & bits) != 0) found |= 1 << i;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,209 @@
+package sudoku_solver.model;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * This class represents a lazy iterator over the successor states of a Sudoku board.
+ * <p>
+ * Instances are created by the getSuccessorIterator() method of the SudokuBoard class, which
+ * performs the same lookahead as getSuccessors() to choose the most constrained square. Rather than
+ * holding a fully propagated board for every candidate of that square, the iterator stores the
+ * parent board, the position of the chosen square and the candidate values that are known to lead
+ * to valid successors. Each successor board is only created when it is requested by next(), so
+ * search algorithms that explore one successor at a time never pay for siblings they do not visit.
+ * <p>
+ * The lookahead may already have created some of the successor boards while choosing the square.
+ * Those boards are kept and returned directly instead of being created a second time.
+ * <p>
+ * The remaining successors can also be converted into DeltaNodes without creating them at all,
+ * which allows open lists to store them in a compact form.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class SuccessorIterator implements Iterator<SudokuBoard> {
+    private SudokuBoard parent;
+    private final int[] forcedAssignments;
+    private final int row;
+    private final int column;
+    private final int[] values;
+    private final long[] heuristicKeys;
+    private final SudokuBoard[] successors;
+    private int index;
+
+    /**
+     * Creates a SuccessorIterator over the successors obtained by assigning each of the given
+     * values to the square at parent[row][column]. Only used by the SudokuBoard class.
+     *
+     * @param parent            The board that the successors are created from
+     * @param forcedAssignments The assignments that were forced by the lookahead to get from the
+     *                          expanded board to the parent board, packed with packAssignment
+     * @param row               The row of the square that is assigned a value in every successor
+     * @param column            The column of the square that is assigned a value in every
+     *                          successor
+     * @param values            The values that lead to valid successors, in the order they are
+     *                          returned
+     * @param heuristicKeys     The heuristic keys of the successors, where heuristicKeys[i]
+     *                          corresponds to values[i]
+     * @param successors        Successor boards that have already been created, where
+     *                          successors[i] corresponds to values[i]. Entries may be null if the
+     *                          board was not kept.
+     */
+    SuccessorIterator(SudokuBoard parent, int[] forcedAssignments, int row, int column,
+                      int[] values, long[] heuristicKeys, SudokuBoard[] successors) {
+        this.parent = parent;
+        this.forcedAssignments = forcedAssignments;
+        this.row = row;
+        this.column = column;
+        this.values = values;
+        this.heuristicKeys = heuristicKeys;
+        this.successors = successors;
+    }
+
+    /**
+     * Creates a SuccessorIterator that returns a single board. Used when the lookahead discovers
+     * a solution, which is then the sole successor, and by search algorithms that need to place a
+     * starting board alongside other SuccessorIterators.
+     *
+     * @param board The only board the iterator should return
+     */
+    public SuccessorIterator(SudokuBoard board) {
+        this(null, new int[0], -1, -1, new int[]{0}, new long[]{board.getHeuristicKey()},
+                new SudokuBoard[]{board});
+    }
+
+    /**
+     * Creates a SuccessorIterator with no successors. Used when the board is either already
+     * complete or cannot be solved.
+     */
+    SuccessorIterator() {
+        this(null, new int[0], -1, -1, new int[0], new long[0], new SudokuBoard[0]);
+    }
+
+    /**
+     * Checks if there are any successors left.
+     *
+     * @return True if there is at least one more successor and false otherwise
+     */
+    @Override
+    public boolean hasNext() {
+        return index < values.length;
+    }
+
+    /**
+     * Returns the next successor, creating it from the parent board if the lookahead did not keep
+     * it.
+     *
+     * @return The next successor board
+     */
+    @Override
+    public SudokuBoard next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No successors remaining");
+        }
+        SudokuBoard successor = successors[index];
+        successors[index] = null;
+        if (successor == null) {
+            successor = parent.createSuccessor(row, column, values[index]);
+        }
+        index++;
+        // The parent is no longer needed once every successor has been created, so release it
+        if (index == values.length) parent = null;
+        return successor;
+    }
+
+    /**
+     * Returns the successor that would be returned by next() after skipping the given number of
+     * successors, without advancing the iterator. The successor is created from the parent board
+     * if the lookahead did not keep it, and is not kept afterwards.
+     *
+     * @param offset The number of remaining successors to skip. Must be less than remaining().
+     * @return The successor board
+     */
+    public SudokuBoard peek(int offset) {
+        if (offset < 0 || offset >= remaining()) {
+            throw new NoSuchElementException("No successor at offset " + offset);
+        }
+        SudokuBoard successor = successors[index + offset];
+        if (successor == null) {
+            successor = parent.createSuccessor(row, column, values[index + offset]);
+        }
+        return successor;
+    }
+
+    /**
+     * Converts all remaining successors into DeltaNodes without creating the successor boards, and
+     * exhausts this iterator. The nodes are returned in the same order next() would have returned
+     * the boards.
+     * <p>
+     * The given node must be the node of the board this iterator was created from. The successors
+     * share a single node for the parent board, which records any assignments forced by the
+     * lookahead. If that node would be checkpointInterval or more levels away from the nearest
+     * checkpoint, the parent board itself is stored as a new checkpoint instead.
+     *
+     * @param node               The node of the board this iterator was created from
+     * @param checkpointInterval The maximum number of levels between checkpoints. Must be at
+     *                           least 1.
+     * @return A List of DeltaNodes for the remaining successors
+     */
+    public List<DeltaNode> toDeltaNodes(DeltaNode node, int checkpointInterval) {
+        List<DeltaNode> nodes = new ArrayList<>(remaining());
+        if (parent == null) {
+            // The successors are not created from a square of the parent (e.g., the sole
+            // successor is a solution), so store them as they are
+            while (hasNext()) {
+                nodes.add(new DeltaNode(next()));
+            }
+            return nodes;
+        }
+
+        DeltaNode parentNode;
+        if (node.getDepth() + 1 >= checkpointInterval) {
+            parentNode = new DeltaNode(parent);
+        } else if (forcedAssignments.length == 0) {
+            parentNode = node;
+        } else {
+            parentNode = new DeltaNode(node, forcedAssignments, node.getHeuristicKey());
+        }
+        for (; index < values.length; index++) {
+            successors[index] = null;
+            int[] assignment = new int[]{SudokuBoard.packAssignment(row, column, values[index])};
+            nodes.add(new DeltaNode(parentNode, assignment, heuristicKeys[index]));
+        }
+        parent = null;
+        return nodes;
+    }
+
+    /**
+     * Returns the number of successors that have not yet been returned by next().
+     *
+     * @return The number of remaining successors
+     */
+    public int remaining() {
+        return values.length - index;
+    }
+
+    /**
+     * Returns the row of the square that is assigned a value in every successor, or -1 if the
+     * successors were not created from a single square.
+     *
+     * @return The row of the chosen square
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Returns the column of the square that is assigned a value in every successor, or -1 if the
+     * successors were not created from a single square.
+     *
+     * @return The column of the chosen square
+     */
+    public int getColumn() {
+        return column;
+    }
+}
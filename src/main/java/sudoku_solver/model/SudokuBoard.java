@@ -1,6 +1,14 @@
 package sudoku_solver.model;
 
+import sudoku_solver.enums.ValueOrdering;
+
+import java.io.Serial;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
 
 /**
  * This class represents a Sudoku board.
@@ -25,8 +33,9 @@ import java.util.*;
  * <p>
  * This class does not provide any way of directly accessing or modifying squares externally.
  * Rather, it provides a public getSuccessors() function to generate valid successors of the current
- * game. It also implements the Comparable interface and overrides the compareTo method to
- * facilitate the use of searching algorithms that rely on heuristics.
+ * game, along with getSuccessorIterator() which generates the same successors lazily. It also
+ * implements the Comparable interface and overrides the compareTo method to facilitate the use of
+ * searching algorithms that rely on heuristics.
  * <p>
  * Also provided are the solved() and verifySolution() methods that can be used to check if a game
  * has been solved. The solved() function should be used in order to quickly check a game has been
@@ -35,7 +44,7 @@ import java.util.*;
  * returned true.
  *
  * @author Savraj Bassi
- * @version 07/12/2023
+ * @version 19/10/2026
  */
 
 public class SudokuBoard implements Comparable<SudokuBoard> {
@@ -45,10 +54,33 @@ public class SudokuBoard implements Comparable<SudokuBoard> {
     private int BOX_SIZE;
     private int squaresRemaining;
     private int totalNumberOfCandidates;
+    // The candidates of every square as a bit mask in row-major order, kept alongside the
+    // CandidateSets on 16x16 boards so that whole units can be scanned at once, and otherwise null
+    private int[] candidateMasks;
+    // Zobrist hash of the values assigned so far, updated every time a square is assigned a value
+    private long zobristHash;
+    // Whether this board has been released to a BoardPool and so must no longer be used
+    private boolean released;
     private final static int MAX_BOARD_SIZE = 16;
+    // A random key for every possible (row, column, value) assignment, used for Zobrist hashing.
+    // A fixed seed is used so that hashes are reproducible between runs.
+    private final static long[] zobristKeys;
+    // The base 2 logarithm of every possible number of candidates, used for the candidate entropy
+    private final static double[] LOG2 = new double[MAX_BOARD_SIZE + 1];
+    // The pool used to examine the squares of a lookahead in parallel on each thread, if any
+    private final static ThreadLocal<ForkJoinPool> lookaheadPool = new ThreadLocal<>();
+    // Decides between full and cheap lookaheads on each thread, if set
+    private final static ThreadLocal<AdaptiveLookahead> adaptiveLookahead = new ThreadLocal<>();
+    // The failure weights used to choose squares by dom/wdeg on each thread, if set
+    private final static ThreadLocal<ConstraintWeights> constraintWeights = new ThreadLocal<>();
     // 2D arrays to provide efficient access to all BoardPositions for a specific row/column
     private final static BoardPosition[][] rows;
     private final static BoardPosition[][] columns;
+    // The indexes into candidateMasks of the squares of every row, then every column, then every
+    // box of a 16x16 board
+    private final static int[][] units;
+    // Finds the squares of a unit with a given candidate, using the Vector API if it is available
+    private final static UnitMaskScanner maskScanner = UnitMaskScanner.create();
 
     // Initialise the arrays to contain all valid board positions for every row/column of the
     // largest possible board size. If the actual size is less, a copy of these arrays with the
@@ -66,6 +98,28 @@ public class SudokuBoard implements Comparable<SudokuBoard> {
             rows[i] = row;
             columns[i] = column;
         }
+
+        units = new int[3 * MAX_BOARD_SIZE][MAX_BOARD_SIZE];
+        int boxSize = (int) Math.sqrt(MAX_BOARD_SIZE);
+        for (int i = 0; i < MAX_BOARD_SIZE; i++) {
+            int boxRow = i / boxSize * boxSize;
+            int boxColumn = i % boxSize * boxSize;
+            for (int j = 0; j < MAX_BOARD_SIZE; j++) {
+                units[i][j] = i * MAX_BOARD_SIZE + j;
+                units[MAX_BOARD_SIZE + i][j] = j * MAX_BOARD_SIZE + i;
+                units[2 * MAX_BOARD_SIZE + i][j] =
+                        (boxRow + j / boxSize) * MAX_BOARD_SIZE + boxColumn + j % boxSize;
+            }
+        }
+
+        zobristKeys = new long[MAX_BOARD_SIZE * MAX_BOARD_SIZE * (MAX_BOARD_SIZE + 1)];
+        SplittableRandom random = new SplittableRandom(0x5DEECE66DL);
+        for (int i = 0; i < zobristKeys.length; i++) {
+            zobristKeys[i] = random.nextLong();
+        }
+        for (int i = 1; i <= MAX_BOARD_SIZE; i++) {
+            LOG2[i] = Math.log(i) / Math.log(2);
+        }
     }
 
     /**
@@ -91,6 +145,7 @@ public class SudokuBoard implements Comparable<SudokuBoard> {
         squaresRemaining = size * size;
         BOX_SIZE = (int) Math.sqrt(size);
         totalNumberOfCandidates = size * size * size;
+        if (size == MAX_BOARD_SIZE) candidateMasks = new int[size * size];
     }
 
     /**
@@ -163,6 +218,7 @@ public class SudokuBoard implements Comparable<SudokuBoard> {
                 board[row][column] = new CandidateSet(SIZE);
             }
         }
+        if (candidateMasks != null) Arrays.fill(candidateMasks, (1 << SIZE) - 1);
     }
 
     /**
@@ -178,7 +234,9 @@ public class SudokuBoard implements Comparable<SudokuBoard> {
     private boolean setSquareValue(int row, int column, int value) {
         int previousSize = board[row][column].size();
         board[row][column].assignValue(value);
+        if (candidateMasks != null) candidateMasks[row * SIZE + column] = 1 << (value - 1);
         hasValueSet[row][column] = true;
+        zobristHash ^= zobristKeys[(row * MAX_BOARD_SIZE + column) * (MAX_BOARD_SIZE + 1) + value];
         squaresRemaining--;
         totalNumberOfCandidates -= (previousSize - 1);
         return updateBoard(row, column, value);
@@ -200,13 +258,21 @@ public class SudokuBoard implements Comparable<SudokuBoard> {
         // value from excludeValueFromCandidateSets is false, does not bother performing the update
         // to the other squares in the same column/box.
         BoardPosition[] boardRow = getRow(row);
-        if (!excludeValueFromCandidateSets(row, column, assignedValue, boardRow)) return false;
+        if (!excludeValueFromCandidateSets(row, column, assignedValue, boardRow, row)) {
+            return false;
+        }
 
         BoardPosition[] boardColumn = getColumn(column);
-        if (!excludeValueFromCandidateSets(row, column, assignedValue, boardColumn)) return false;
+        if (!excludeValueFromCandidateSets(row, column, assignedValue, boardColumn,
+                SIZE + column)) {
+            return false;
+        }
 
         BoardPosition[] box = getBox(row, column);
-        if (!excludeValueFromCandidateSets(row, column, assignedValue, box)) return false;
+        if (!excludeValueFromCandidateSets(row, column, assignedValue, box,
+                2 * SIZE + getBoxNumber(row, column))) {
+            return false;
+        }
 
         // Attempts to eliminate any naked pairs. Performed on a one-by-one basis as before to
         // prevent unnecessarily performing computation on an unwinnable game.
@@ -221,16 +287,38 @@ public class SudokuBoard implements Comparable<SudokuBoard> {
      * value, so we do not want to remove the value from the set of candidate values of that square.
      * The return value indicates whether the game is potentially winnable after eliminating the
      * candidate value from the other squares.
+     * <p>
+     * On 16x16 boards, the squares of the unit that still have the value are found from their
+     * candidate masks first, so that the value is only removed from those squares. A square that
+     * does not have the value when the unit is scanned cannot gain it afterwards, so the result is
+     * the same as visiting every square.
      *
      * @param row           The row of the square to exclude
      * @param column        The column of the square to exclude
      * @param assignedValue The value that we want to remove from the candidate sets
      * @param squares       An array of the board positions whose sets should have the assigned
      *                      value removed
+     * @param unit          The number of the unit made up of the squares, counting every row, then
+     *                      every column, then every box from 0
      * @return True if the elimination did not result in an unwinnable game and false otherwise
      */
     private boolean excludeValueFromCandidateSets(int row, int column, int assignedValue,
-                                                  BoardPosition[] squares) {
+                                                  BoardPosition[] squares, int unit) {
+        if (candidateMasks != null) {
+            int found = maskScanner.findSquares(candidateMasks, units[unit],
+                    1 << (assignedValue - 1));
+            while (found != 0) {
+                BoardPosition square = squares[Integer.numberOfTrailingZeros(found)];
+                found &= found - 1;
+                if (square.getRow() != row || square.getColumn() != column) {
+                    if (!removeValueFromCandidateSet(assignedValue, square.getRow(),
+                            square.getColumn())) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
         for (BoardPosition square : squares) {
             int currentRow = square.getRow();
             int currentColumn = square.getColumn();
@@ -261,10 +349,17 @@ public class SudokuBoard implements Comparable<SudokuBoard> {
     private boolean removeValueFromCandidateSet(int value, int row, int column) {
         CandidateSet candidateSet = board[row][column];
         boolean removed = candidateSet.remove(value);
-        if (removed) totalNumberOfCandidates--;
+        if (removed) {
+            totalNumberOfCandidates--;
+            if (candidateMasks != null) candidateMasks[row * SIZE + column] &= ~(1 << (value - 1));
+        }
 
-        // No more possible values
-        if (candidateSet.isEmpty()) return false;
+        // No more possible values, so blame the row, column and box of the square
+        if (candidateSet.isEmpty()) {
+            ConstraintWeights weights = constraintWeights.get();
+            if (weights != null) weights.recordWipeout(row, column, getBoxNumber(row, column));
+            return false;
+        }
 
         // This square has now only got 1 possible legal value but was not assigned, so assign it
         if (candidateSet.size() == 1 && !hasValueSet[row][column]) {
@@ -400,6 +495,32 @@ public class SudokuBoard implements Comparable<SudokuBoard> {
         return index / BOX_SIZE * BOX_SIZE;
     }
 
+    /**
+     * Returns the number of the box containing a square, where the boxes are numbered row by row
+     * starting from 0.
+     *
+     * @param row    The row of the square
+     * @param column The column of the square
+     * @return The number of the box containing the square
+     */
+    private int getBoxNumber(int row, int column) {
+        return row / BOX_SIZE * BOX_SIZE + column / BOX_SIZE;
+    }
+
+    /**
+     * Returns the weighted degree of a square under the given ConstraintWeights, or 1 if they are
+     * null so that squares are compared by their number of legal values alone.
+     *
+     * @param weights The ConstraintWeights of the current thread, or null
+     * @param row     The row of the square
+     * @param column  The column of the square
+     * @return The weighted degree of the square
+     */
+    private long getWeightedDegree(ConstraintWeights weights, int row, int column) {
+        if (weights == null) return 1;
+        return weights.getWeightedDegree(row, column, getBoxNumber(row, column));
+    }
+
     /**
      * Checks if every square has been assigned a value. Note that this method does not verify the
      * correctness of the board, just that it has been filled. Runs in O(1) time.
@@ -407,9 +528,92 @@ public class SudokuBoard implements Comparable<SudokuBoard> {
      * @return True if every square has been filled with a single value
      */
     public boolean solved() {
+        checkNotReleased();
         return squaresRemaining == 0;
     }
 
+    /**
+     * Sets the pool used to examine the squares of every lookahead made on the current thread in
+     * parallel, or disables parallel lookahead on the current thread if the pool is null, which is
+     * the default. Parallel lookahead produces exactly the same successors as sequential
+     * lookahead. It does not apply to getSuccessorIterator(valueOrdering, random), whose random
+     * tie-breaking depends on the order in which squares are examined.
+     *
+     * @param pool The pool to examine squares on, or null to examine them one at a time
+     */
+    public static void setLookaheadPool(ForkJoinPool pool) {
+        if (pool == null) {
+            lookaheadPool.remove();
+        } else {
+            lookaheadPool.set(pool);
+        }
+    }
+
+    /**
+     * Returns the pool used to examine the squares of every lookahead made on the current thread
+     * in parallel, or null if parallel lookahead is disabled on the current thread.
+     *
+     * @return The lookahead pool of the current thread
+     */
+    public static ForkJoinPool getLookaheadPool() {
+        return lookaheadPool.get();
+    }
+
+    /**
+     * Sets the AdaptiveLookahead that decides whether each lookahead made on the current thread is
+     * a full or a cheap one, or makes every lookahead on the current thread a full one if it is
+     * null, which is the default. Cheap lookaheads are never made in parallel.
+     *
+     * @param adaptive The AdaptiveLookahead to use, or null to always make full lookaheads
+     */
+    public static void setAdaptiveLookahead(AdaptiveLookahead adaptive) {
+        if (adaptive == null) {
+            adaptiveLookahead.remove();
+        } else {
+            adaptiveLookahead.set(adaptive);
+        }
+    }
+
+    /**
+     * Returns the AdaptiveLookahead used on the current thread, or null if every lookahead on the
+     * current thread is a full one.
+     *
+     * @return The AdaptiveLookahead of the current thread
+     */
+    public static AdaptiveLookahead getAdaptiveLookahead() {
+        return adaptiveLookahead.get();
+    }
+
+    /**
+     * Sets the ConstraintWeights used to choose the square to branch on in every lookahead made on
+     * the current thread, or chooses the square with the fewest legal values if they are null,
+     * which is the default. While they are set, every square left with no candidates by constraint
+     * propagation on the current thread increases the weights of its row, column and box, and the
+     * square with the fewest legal values per unit of weighted degree is chosen. Lookaheads are
+     * never made in parallel while they are set, since the weights learnt depend on the order in
+     * which squares are examined.
+     *
+     * @param weights The ConstraintWeights to use, or null to choose squares by their number of
+     *                legal values alone
+     */
+    public static void setConstraintWeights(ConstraintWeights weights) {
+        if (weights == null) {
+            constraintWeights.remove();
+        } else {
+            constraintWeights.set(weights);
+        }
+    }
+
+    /**
+     * Returns the ConstraintWeights used on the current thread, or null if squares are chosen by
+     * their number of legal values alone.
+     *
+     * @return The ConstraintWeights of the current thread
+     */
+    public static ConstraintWeights getConstraintWeights() {
+        return constraintWeights.get();
+    }
+
     /**
      * Returns a List of successor states of the current board. Only returns the successors of the
      * most constrained variable, that is the square with the fewest legal candidates. If any
@@ -418,47 +622,572 @@ public class SudokuBoard implements Comparable<SudokuBoard> {
      * @return A List of successor states
      */
     public List<SudokuBoard> getSuccessors() {
+        return getSuccessors(ValueOrdering.ASCENDING);
+    }
+
+    /**
+     * Returns a List of successor states of the current board, as with getSuccessors(), with the
+     * successors ordered according to the given ValueOrdering.
+     *
+     * @param valueOrdering The order in which the candidate values of the chosen square are tried
+     * @return A List of successor states
+     */
+    public List<SudokuBoard> getSuccessors(ValueOrdering valueOrdering) {
         List<SudokuBoard> successors = new LinkedList<>();
-        // fewestLegalValues keeps track of the smallest number of legal values, initially set to
-        // SIZE + 1 since we have not yet discovered the smallest number (which at most will be
-        // equal to SIZE).
-        int fewestLegalValues = SIZE + 1;
-        for (int row = 0; row < SIZE; row++) {
-            for (int column = 0; column < SIZE; column++) {
-                if (hasValueSet[row][column]) continue;
-                int[] candidates = board[row][column].getCandidates();
-                List<SudokuBoard> currentSquareSuccessors = new LinkedList<>();
-                for (Integer candidate : candidates) {
-                    SudokuBoard successor = clone();
-                    if (successor.setSquareValue(row, column, candidate)) {
-                        // Just return the solution as the sole successor if we discover it
-                        if (successor.solved()) {
-                            List<SudokuBoard> solution = new LinkedList<>();
-                            solution.add(successor);
-                            return solution;
-                        }
-                        // Since the successor is not a solution, add it to the list of
-                        // successors
-                        currentSquareSuccessors.add(successor);
+        lookahead(true, valueOrdering, null).forEachRemaining(successors::add);
+        return successors;
+    }
+
+    /**
+     * Returns an iterator over the same successor states as getSuccessors(), in the same order.
+     * Unlike getSuccessors(), the successor boards are only created as they are requested, so
+     * searches that do not need every successor at once (such as depth-first search) avoid holding
+     * all of them in memory.
+     *
+     * @return A SuccessorIterator over the successor states
+     */
+    public SuccessorIterator getSuccessorIterator() {
+        return getSuccessorIterator(ValueOrdering.ASCENDING);
+    }
+
+    /**
+     * Returns an iterator over the same successor states as getSuccessors(valueOrdering), in the
+     * same order, creating the successor boards only as they are requested.
+     *
+     * @param valueOrdering The order in which the candidate values of the chosen square are tried
+     * @return A SuccessorIterator over the successor states
+     */
+    public SuccessorIterator getSuccessorIterator(ValueOrdering valueOrdering) {
+        return lookahead(false, valueOrdering, null);
+    }
+
+    /**
+     * Returns an iterator over the successor states of the current board as with
+     * getSuccessorIterator(valueOrdering), except that ties are broken randomly. If several squares
+     * share the fewest legal values, one of them is chosen uniformly at random, and the values of
+     * the chosen square are shuffled before being ordered, so values that the ValueOrdering
+     * considers equal are tried in a random order. With ValueOrdering.ASCENDING, this means the
+     * values are tried in a completely random order.
+     *
+     * @param valueOrdering The order in which the candidate values of the chosen square are tried
+     * @param random        The source of randomness used to break ties
+     * @return A SuccessorIterator over the successor states
+     */
+    public SuccessorIterator getSuccessorIterator(ValueOrdering valueOrdering,
+                                                  RandomGenerator random) {
+        return lookahead(false, valueOrdering, random);
+    }
+
+    /**
+     * Finds the most constrained square by trial assigning every candidate of every empty square
+     * and counting how many of the resulting boards are still potentially winnable. If a square
+     * has only 1 candidate that works, that assignment is made and the search continues from the
+     * resulting board, since all valid successors would have to make that assignment. If any trial
+     * assignment solves the board, that solution is returned as the sole successor.
+     * <p>
+     * The trial assignments also reveal how many candidates each value leaves on the board after
+     * constraint propagation, which is used to order the successors when the least constraining
+     * value ordering is requested.
+     * <p>
+     * If a lookahead pool has been set on the current thread and ties are not broken randomly,
+     * the squares are examined concurrently on that pool with lookaheadSquares, and the results are
+     * then combined in the same order as they would be sequentially. As soon as a square is found
+     * to be solved, unwinnable or forced, the squares after it stop being examined, so the result
+     * is the same as that of examining the squares one at a time.
+     * <p>
+     * If an AdaptiveLookahead has been set on the current thread, it may decide that a cheap
+     * lookahead should be made instead, in which case cheapLookahead is used.
+     * <p>
+     * If ConstraintWeights have been set on the current thread, the square with the smallest ratio
+     * of legal values to weighted degree is chosen instead of the one with the fewest legal values.
+     *
+     * @param keepSuccessors Whether every successor of the chosen square created during the
+     *                       lookahead should be kept. If false, only the successor that will be
+     *                       returned first is kept and the rest are recreated by the returned
+     *                       iterator when needed.
+     * @param valueOrdering  The order in which the successors should be returned
+     * @param random         The source of randomness used to break ties between squares and
+     *                       values, or null to always choose the first of the most constrained
+     *                       squares and order its values deterministically
+     * @return A SuccessorIterator over the successors of the most constrained square
+     */
+    private SuccessorIterator lookahead(boolean keepSuccessors, ValueOrdering valueOrdering,
+                                        RandomGenerator random) {
+        checkNotReleased();
+        boolean leastConstraining = valueOrdering == ValueOrdering.LEAST_CONSTRAINING;
+        AdaptiveLookahead adaptive = adaptiveLookahead.get();
+        if (adaptive != null && !adaptive.useFullLookahead()) {
+            return cheapLookahead(keepSuccessors, leastConstraining, random);
+        }
+        ConstraintWeights weights = constraintWeights.get();
+        // Random tie-breaking and the weights learnt both depend on the order in which squares
+        // are examined, so the lookahead is only run in parallel when neither is used
+        ForkJoinPool pool = random == null && weights == null ? lookaheadPool.get() : null;
+        SudokuBoard current = this;
+        // The assignments made because a square only had 1 legal value, packed with
+        // packAssignment, so that the successors can later be recreated from this board
+        int[] forcedAssignments = new int[SIZE * SIZE];
+        int forcedAssignmentCount = 0;
+        search:
+        while (true) {
+            // fewestLegalValues keeps track of the smallest number of legal values, initially set
+            // to SIZE + 1 since we have not yet discovered the smallest number (which at most will
+            // be equal to SIZE).
+            int fewestLegalValues = SIZE + 1;
+            // The weighted degree of the square chosen so far, which is always 1 without weights
+            long chosenDegree = 1;
+            // The number of squares seen so far with the same ratio as the chosen square
+            int ties = 0;
+            SuccessorIterator successors = new SuccessorIterator();
+            // The boards kept for the square chosen so far, which are released if a better square
+            // is found
+            SudokuBoard[] chosenSuccessors = null;
+            // The results of examining every empty square in parallel, in row-major order, or
+            // null if the squares are examined one at a time below
+            SquareLookahead[] squares = pool == null ? null :
+                    current.lookaheadSquares(pool, keepSuccessors, leastConstraining);
+            int index = 0;
+            for (int row = 0; row < SIZE; row++) {
+                for (int column = 0; column < SIZE; column++) {
+                    if (current.hasValueSet[row][column]) continue;
+                    SquareLookahead square = squares == null ? current.lookaheadSquare(row,
+                            column, keepSuccessors, leastConstraining, null, 0) : squares[index++];
+                    int legalValueCount = square.legalValueCount;
+                    SudokuBoard[] currentSquareSuccessors = square.successors;
+
+                    // Just return the solution as the sole successor if we discover it
+                    if (square.solution != null) {
+                        releaseAll(chosenSuccessors);
+                        releaseAll(squares, index);
+                        if (current != this) current.release();
+                        if (adaptive != null) adaptive.recordFullLookahead(true);
+                        return new SuccessorIterator(square.solution);
+                    }
+
+                    // A square with no legal values means the board cannot be solved, so there is
+                    // no point examining the remaining squares
+                    if (legalValueCount == 0) {
+                        releaseAll(chosenSuccessors);
+                        releaseAll(squares, index);
+                        if (current != this) current.release();
+                        if (adaptive != null) adaptive.recordFullLookahead(true);
+                        return new SuccessorIterator();
+                    }
+
+                    // If there ends up being only 1 candidate value of the current square that
+                    // works, we should only return the successors of that board since all valid
+                    // successors would have to make that assignment.
+                    if (legalValueCount == 1) {
+                        releaseAll(chosenSuccessors);
+                        releaseAll(squares, index);
+                        if (current != this) current.release();
+                        current = currentSquareSuccessors[0];
+                        forcedAssignments[forcedAssignmentCount] =
+                                packAssignment(row, column, square.legalValues[0]);
+                        forcedAssignmentCount++;
+                        continue search;
+                    }
+
+                    // Update the successors and the fewestLegalValues variable, if necessary. The
+                    // ratios of legal values to weighted degree are compared by cross multiplying
+                    long degree = current.getWeightedDegree(weights, row, column);
+                    int comparison = Long.compare(legalValueCount * chosenDegree,
+                            fewestLegalValues * degree);
+                    boolean chosen = comparison < 0;
+                    if (chosen) {
+                        ties = 1;
+                    } else if (random != null && comparison == 0) {
+                        // Reservoir sampling, which ends up choosing each of the squares with the
+                        // fewest legal values with equal probability
+                        ties++;
+                        chosen = random.nextInt(ties) == 0;
+                    }
+                    if (chosen) {
+                        successors = current.toSuccessorIterator(
+                                Arrays.copyOf(forcedAssignments, forcedAssignmentCount), row,
+                                column, square, leastConstraining, random);
+                        releaseAll(chosenSuccessors);
+                        chosenSuccessors = currentSquareSuccessors;
+                        fewestLegalValues = legalValueCount;
+                        chosenDegree = degree;
+                    } else {
+                        releaseAll(currentSquareSuccessors);
                     }
                 }
+            }
+            if (adaptive != null) adaptive.recordFullLookahead(forcedAssignmentCount > 0);
+            return successors;
+        }
+    }
 
-                // If there ends up being only 1 candidate value of the current square that works,
-                // we should only return the successors of that board since all valid successors
-                // would have to make that assignment.
-                if (currentSquareSuccessors.size() == 1) {
-                    return currentSquareSuccessors.get(0).getSuccessors();
+    /**
+     * Chooses the square with the fewest candidates, or the smallest ratio of candidates to
+     * weighted degree if ConstraintWeights have been set on the current thread, without making any
+     * trial assignments, and then trial assigns only the candidates of that square. If only 1 of
+     * them works, that assignment is made and another square is chosen, as with a full lookahead.
+     * This is much cheaper than a full lookahead, but cannot find squares elsewhere on the board
+     * that have 1 legal value or none.
+     *
+     * @param keepSuccessors    Whether every successor of the chosen square should be kept, or
+     *                          only the one that will be returned first
+     * @param leastConstraining Whether the successors should be ordered by the least constraining
+     *                          value ordering
+     * @param random            The source of randomness used to break ties between squares and
+     *                          values, or null to always choose the first square with the fewest
+     *                          candidates and order its values deterministically
+     * @return A SuccessorIterator over the successors of the chosen square
+     */
+    private SuccessorIterator cheapLookahead(boolean keepSuccessors, boolean leastConstraining,
+                                             RandomGenerator random) {
+        ConstraintWeights weights = constraintWeights.get();
+        SudokuBoard current = this;
+        int[] forcedAssignments = new int[SIZE * SIZE];
+        int forcedAssignmentCount = 0;
+        while (true) {
+            int fewestCandidates = SIZE + 1;
+            long chosenDegree = 1;
+            int ties = 0;
+            int chosenRow = -1;
+            int chosenColumn = -1;
+            for (int row = 0; row < SIZE; row++) {
+                for (int column = 0; column < SIZE; column++) {
+                    if (current.hasValueSet[row][column]) continue;
+                    int candidates = current.board[row][column].size();
+                    long degree = current.getWeightedDegree(weights, row, column);
+                    int comparison = Long.compare(candidates * chosenDegree,
+                            fewestCandidates * degree);
+                    boolean chosen = comparison < 0;
+                    if (chosen) {
+                        ties = 1;
+                    } else if (random != null && comparison == 0) {
+                        ties++;
+                        chosen = random.nextInt(ties) == 0;
+                    }
+                    if (chosen) {
+                        fewestCandidates = candidates;
+                        chosenDegree = degree;
+                        chosenRow = row;
+                        chosenColumn = column;
+                    }
                 }
+            }
+            // Only a board that is already complete has no empty squares, since a forced
+            // assignment that completes the board is found as a solution below
+            if (chosenRow < 0) return new SuccessorIterator();
+
+            SquareLookahead square = current.lookaheadSquare(chosenRow, chosenColumn,
+                    keepSuccessors, leastConstraining, null, 0);
+            if (square.solution != null) {
+                if (current != this) current.release();
+                return new SuccessorIterator(square.solution);
+            }
+            if (square.legalValueCount == 0) {
+                if (current != this) current.release();
+                return new SuccessorIterator();
+            }
+            if (square.legalValueCount == 1) {
+                if (current != this) current.release();
+                current = square.successors[0];
+                forcedAssignments[forcedAssignmentCount] =
+                        packAssignment(chosenRow, chosenColumn, square.legalValues[0]);
+                forcedAssignmentCount++;
+                continue;
+            }
+            return current.toSuccessorIterator(
+                    Arrays.copyOf(forcedAssignments, forcedAssignmentCount), chosenRow,
+                    chosenColumn, square, leastConstraining, random);
+        }
+    }
 
-                // Update the List of successors and the fewestLegalValues variable, if necessary
-                if (currentSquareSuccessors.size() < fewestLegalValues) {
-                    successors = currentSquareSuccessors;
-                    fewestLegalValues = currentSquareSuccessors.size();
+    /**
+     * Creates a SuccessorIterator over the legal values of the square chosen by a lookahead, with
+     * this board as the parent. The arrays of the square are copied, although the values of the
+     * square are shuffled in place first if ties are broken randomly.
+     *
+     * @param forcedAssignments The assignments forced by the lookahead to get from the expanded
+     *                          board to this board
+     * @param row               The row of the chosen square
+     * @param column            The column of the chosen square
+     * @param square            The result of trial assigning the candidates of the chosen square
+     * @param leastConstraining Whether the successors should be ordered by the least constraining
+     *                          value ordering
+     * @param random            The source of randomness used to shuffle the values, or null to
+     *                          keep them in ascending order
+     * @return A SuccessorIterator over the successors of the chosen square
+     */
+    private SuccessorIterator toSuccessorIterator(int[] forcedAssignments, int row, int column,
+                                                  SquareLookahead square,
+                                                  boolean leastConstraining,
+                                                  RandomGenerator random) {
+        int count = square.legalValueCount;
+        if (random != null) {
+            shuffle(square.legalValues, square.heuristicKeys, square.successors,
+                    square.remainingCandidates, count, random);
+        }
+        int[] values = Arrays.copyOf(square.legalValues, count);
+        long[] heuristicKeys = Arrays.copyOf(square.heuristicKeys, count);
+        SudokuBoard[] successors = Arrays.copyOf(square.successors, count);
+        if (leastConstraining) {
+            sortByRemainingCandidates(values, heuristicKeys, successors,
+                    square.remainingCandidates);
+        }
+        return new SuccessorIterator(this, forcedAssignments, row, column, values, heuristicKeys,
+                successors);
+    }
+
+    /**
+     * Trial assigns every candidate of the empty square at board[row][column], keeping the
+     * successors that are still potentially winnable. If a trial assignment solves the board, the
+     * remaining candidates are not tried and the solution is returned in the result.
+     * <p>
+     * When called from lookaheadSquares, firstEnding is shared between the squares being examined
+     * in parallel and holds the lowest index of any square that turned out to be solved,
+     * unwinnable or forced. The lookahead ends at that square, so this square gives up and returns
+     * null as soon as an earlier square ends it.
+     *
+     * @param row               The row of the square
+     * @param column            The column of the square
+     * @param keepSuccessors    Whether every successor should be kept, or only the one that will
+     *                          be returned first
+     * @param leastConstraining Whether the successors will be ordered by the least constraining
+     *                          value ordering
+     * @param firstEnding       The lowest index of any square that ends the lookahead, or null if
+     *                          the square is examined on its own
+     * @param index             The index of the square among the empty squares, in row-major
+     *                          order
+     * @return The legal values of the square and their successors, or null if the square was
+     * skipped
+     */
+    private SquareLookahead lookaheadSquare(int row, int column, boolean keepSuccessors,
+                                            boolean leastConstraining, AtomicInteger firstEnding,
+                                            int index) {
+        int[] candidates = board[row][column].getCandidates();
+        SquareLookahead square = new SquareLookahead(candidates.length);
+        // The index of the successor that will be returned first
+        int firstIndex = 0;
+        for (int candidate : candidates) {
+            if (firstEnding != null && firstEnding.get() < index) {
+                releaseAll(square.successors);
+                return null;
+            }
+            SudokuBoard successor = clone();
+            if (successor.setSquareValue(row, column, candidate)) {
+                if (successor.solved()) {
+                    if (firstEnding != null) firstEnding.accumulateAndGet(index, Math::min);
+                    releaseAll(square.successors);
+                    Arrays.fill(square.successors, null);
+                    square.solution = successor;
+                    return square;
+                }
+                int count = square.legalValueCount;
+                square.legalValues[count] = candidate;
+                square.remainingCandidates[count] = successor.totalNumberOfCandidates;
+                square.heuristicKeys[count] = successor.getHeuristicKey();
+                if (leastConstraining && square.remainingCandidates[count] >
+                        square.remainingCandidates[firstIndex]) {
+                    // Only the successor that will be returned first is kept unless all of them
+                    // are wanted
+                    if (!keepSuccessors) {
+                        square.successors[firstIndex].release();
+                        square.successors[firstIndex] = null;
+                    }
+                    firstIndex = count;
                 }
+                if (keepSuccessors || count == firstIndex) {
+                    square.successors[count] = successor;
+                } else {
+                    successor.release();
+                }
+                square.legalValueCount++;
+            } else {
+                successor.release();
             }
+        }
+        if (firstEnding != null && square.legalValueCount <= 1) {
+            firstEnding.accumulateAndGet(index, Math::min);
+        }
+        return square;
+    }
 
+    /**
+     * Examines every empty square of this board with lookaheadSquare, concurrently on the given
+     * pool. Every square is examined from this board, which is only read. Successor boards are
+     * created on the threads of the pool, so they are not taken from any BoardPool open on the
+     * current thread.
+     *
+     * @param pool              The pool to examine the squares on
+     * @param keepSuccessors    Whether every successor should be kept, or only the one that will
+     *                          be returned first
+     * @param leastConstraining Whether the successors will be ordered by the least constraining
+     *                          value ordering
+     * @return The result for every empty square in row-major order, where squares after the first
+     * one to end the lookahead may be null
+     */
+    private SquareLookahead[] lookaheadSquares(ForkJoinPool pool, boolean keepSuccessors,
+                                               boolean leastConstraining) {
+        int[] emptySquares = new int[SIZE * SIZE];
+        int count = 0;
+        for (int row = 0; row < SIZE; row++) {
+            for (int column = 0; column < SIZE; column++) {
+                if (!hasValueSet[row][column]) emptySquares[count++] = row * SIZE + column;
+            }
+        }
+        SquareLookahead[] squares = new SquareLookahead[count];
+        if (count == 0) return squares;
+        pool.invoke(new LookaheadTask(this, emptySquares, squares, 0, count, keepSuccessors,
+                leastConstraining, new AtomicInteger(Integer.MAX_VALUE)));
+        return squares;
+    }
+
+    /**
+     * Shuffles the first count legal values of a square, along with their heuristic keys,
+     * successors and remaining candidates, using the Fisher-Yates shuffle.
+     *
+     * @param values              The legal values of the square
+     * @param heuristicKeys       The heuristic keys of the successors corresponding to each value
+     * @param successors          The successors corresponding to each value, which may be null
+     * @param remainingCandidates The number of candidates left after assigning each value
+     * @param count               The number of legal values
+     * @param random              The source of randomness
+     */
+    private static void shuffle(int[] values, long[] heuristicKeys, SudokuBoard[] successors,
+                                int[] remainingCandidates, int count, RandomGenerator random) {
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+            long heuristicKey = heuristicKeys[i];
+            heuristicKeys[i] = heuristicKeys[j];
+            heuristicKeys[j] = heuristicKey;
+            SudokuBoard successor = successors[i];
+            successors[i] = successors[j];
+            successors[j] = successor;
+            int remaining = remainingCandidates[i];
+            remainingCandidates[i] = remainingCandidates[j];
+            remainingCandidates[j] = remaining;
+        }
+    }
+
+    /**
+     * Releases every board in the given array, skipping null entries.
+     *
+     * @param boards The boards to release, which may be null
+     */
+    private static void releaseAll(SudokuBoard[] boards) {
+        if (boards == null) return;
+        for (SudokuBoard board : boards) {
+            if (board != null) board.release();
+        }
+    }
+
+    /**
+     * Releases every board held by the results of examining squares in parallel, starting from the
+     * given index and skipping null entries.
+     *
+     * @param squares The results to release, which may be null
+     * @param from    The index of the first result to release
+     */
+    private static void releaseAll(SquareLookahead[] squares, int from) {
+        if (squares == null) return;
+        for (int i = from; i < squares.length; i++) {
+            if (squares[i] == null) continue;
+            releaseAll(squares[i].successors);
+            if (squares[i].solution != null) squares[i].solution.release();
         }
-        return successors;
+    }
+
+    /**
+     * Sorts the legal values of a square, along with their heuristic keys and successors, so that
+     * the values leaving the most candidates on the board come first. The sort is stable, so values
+     * that leave the same number of candidates stay in ascending order. Insertion sort is used as
+     * there are at most SIZE values.
+     *
+     * @param values              The legal values of the square
+     * @param heuristicKeys       The heuristic keys of the successors corresponding to each value
+     * @param successors          The successors corresponding to each value, which may be null
+     * @param remainingCandidates The number of candidates left after assigning each value
+     */
+    private static void sortByRemainingCandidates(int[] values, long[] heuristicKeys,
+                                                  SudokuBoard[] successors,
+                                                  int[] remainingCandidates) {
+        for (int i = 1; i < values.length; i++) {
+            int value = values[i];
+            long heuristicKey = heuristicKeys[i];
+            SudokuBoard successor = successors[i];
+            int remaining = remainingCandidates[i];
+            int j = i - 1;
+            while (j >= 0 && remainingCandidates[j] < remaining) {
+                values[j + 1] = values[j];
+                heuristicKeys[j + 1] = heuristicKeys[j];
+                successors[j + 1] = successors[j];
+                remainingCandidates[j + 1] = remainingCandidates[j];
+                j--;
+            }
+            values[j + 1] = value;
+            heuristicKeys[j + 1] = heuristicKey;
+            successors[j + 1] = successor;
+            remainingCandidates[j + 1] = remaining;
+        }
+    }
+
+    /**
+     * Packs the position of a square and the value assigned to it into a single int, so that
+     * sequences of assignments can be stored compactly.
+     *
+     * @param row    The row of the square
+     * @param column The column of the square
+     * @param value  The value assigned to the square
+     * @return The packed assignment
+     */
+    static int packAssignment(int row, int column, int value) {
+        return (row << 16) | (column << 8) | value;
+    }
+
+    /**
+     * Creates a copy of this board with the given packed assignments made in order. Used to
+     * recreate boards from a previously recorded sequence of assignments.
+     *
+     * @param assignments The assignments to make, packed with packAssignment
+     * @return The resulting board
+     */
+    SudokuBoard replay(int[] assignments) {
+        SudokuBoard result = clone();
+        for (int assignment : assignments) {
+            int row = assignment >>> 16;
+            int column = (assignment >>> 8) & 0xFF;
+            int value = assignment & 0xFF;
+            // Constraint propagation is deterministic, so a recorded assignment can only fail if
+            // it was not recorded from this board
+            if (result.hasValueSet[row][column]) {
+                if (result.board[row][column].getOnlyCandidate() != value) {
+                    throw new IllegalStateException("Replayed an illegal assignment.");
+                }
+            } else if (!result.setSquareValue(row, column, value)) {
+                throw new IllegalStateException("Replayed an illegal assignment.");
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates the successor of this board obtained by assigning a value to the square at
+     * board[row][column]. Used by SuccessorIterator to recreate successors that were found to be
+     * valid during the lookahead but not kept.
+     *
+     * @param row    The row of the square
+     * @param column The column of the square
+     * @param value  The value that is to be assigned to the square
+     * @return The successor board
+     */
+    SudokuBoard createSuccessor(int row, int column, int value) {
+        SudokuBoard successor = clone();
+        if (!successor.setSquareValue(row, column, value)) {
+            // Constraint propagation is deterministic, so this can only happen if the value was
+            // not found to be legal by the lookahead
+            throw new IllegalStateException("Successor of an illegal assignment requested.");
+        }
+        return successor;
     }
 
     /**
@@ -469,6 +1198,7 @@ public class SudokuBoard implements Comparable<SudokuBoard> {
      * @return True if the board is a valid solution and false otherwise
      */
     public boolean verifySolution() {
+        checkNotReleased();
         // Check rows
         for (int row = 0; row < SIZE; row++) {
             // Create a Candidate Set of the correct size
@@ -506,6 +1236,254 @@ public class SudokuBoard implements Comparable<SudokuBoard> {
         return true;
     }
 
+    /**
+     * Returns the heuristic value used by compareTo packed into a single long, so that it can be
+     * stored and compared without keeping the board itself. Comparing the keys of two boards gives
+     * the same result as compareTo.
+     *
+     * @return The heuristic key of this board
+     */
+    public long getHeuristicKey() {
+        checkNotReleased();
+        return ((long) squaresRemaining << 32) | totalNumberOfCandidates;
+    }
+
+    /**
+     * Returns the number of squares that have not been assigned a value. Runs in O(1) time.
+     *
+     * @return The number of squares remaining
+     */
+    public int getSquaresRemaining() {
+        checkNotReleased();
+        return squaresRemaining;
+    }
+
+    /**
+     * Returns the base 2 logarithm of the number of ways of filling the squares that have not been
+     * assigned a value if the rows, columns and boxes were ignored, that is the sum of the
+     * logarithms of the candidate counts of those squares. This estimates how much guessing is
+     * still needed more closely than the number of squares remaining does.
+     *
+     * @return The candidate entropy of this board in bits
+     */
+    public double getCandidateEntropy() {
+        checkNotReleased();
+        double entropy = 0;
+        for (int row = 0; row < SIZE; row++) {
+            for (int column = 0; column < SIZE; column++) {
+                if (!hasValueSet[row][column]) entropy += LOG2[board[row][column].size()];
+            }
+        }
+        return entropy;
+    }
+
+    /**
+     * Counts the hidden singles on this board: values that have not been placed in a row, column
+     * or box and can only go in one of its squares. Constraint propagation assigns squares with a
+     * single candidate but not hidden singles, so these are the values that are forced but not yet
+     * assigned. A value that is a hidden single in more than one unit is counted once per unit.
+     *
+     * @return The number of hidden singles
+     */
+    public int countHiddenSingles() {
+        checkNotReleased();
+        int count = 0;
+        for (int unit = 0; unit < SIZE * 3; unit++) {
+            int placed = 0;
+            int once = 0;
+            int twice = 0;
+            for (int i = 0; i < SIZE; i++) {
+                int row;
+                int column;
+                if (unit < SIZE) {
+                    row = unit;
+                    column = i;
+                } else if (unit < SIZE * 2) {
+                    row = i;
+                    column = unit - SIZE;
+                } else {
+                    int box = unit - SIZE * 2;
+                    row = box / BOX_SIZE * BOX_SIZE + i / BOX_SIZE;
+                    column = box % BOX_SIZE * BOX_SIZE + i % BOX_SIZE;
+                }
+                int candidates = board[row][column].toBitMask();
+                if (hasValueSet[row][column]) {
+                    placed |= candidates;
+                } else {
+                    twice |= once & candidates;
+                    once |= candidates;
+                }
+            }
+            count += Integer.bitCount(once & ~twice & ~placed);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the Zobrist hash of this board, which is computed from the values that have been
+     * assigned to its squares. Boards with the same assignments have the same hash regardless of
+     * the order in which the assignments were made. Runs in O(1) time as the hash is updated
+     * incrementally.
+     *
+     * @return The Zobrist hash of this board
+     */
+    public long getZobristHash() {
+        checkNotReleased();
+        return zobristHash;
+    }
+
+    /**
+     * Returns an estimate of the number of bytes of heap memory used by this board, assuming a
+     * 64-bit JVM with compressed references. Used by solvers that need to keep their open list
+     * within a memory budget.
+     *
+     * @return The estimated memory usage of this board in bytes
+     */
+    public long getEstimatedMemoryUsage() {
+        return estimateMemoryUsage(SIZE);
+    }
+
+    /**
+     * Returns an estimate of the number of bytes of heap memory used by a board of the given size,
+     * assuming a 64-bit JVM with compressed references.
+     *
+     * @param size The size of the board (e.g., 9 for a 9 by 9 board)
+     * @return The estimated memory usage of a board of that size in bytes
+     */
+    public static long estimateMemoryUsage(int size) {
+        // Each CandidateSet has a 12 byte header, a reference and an int, plus its boolean array
+        // with a 16 byte header. Everything is padded to a multiple of 8 bytes.
+        long candidateSet = 24 + align(16 + size + 1);
+        // The two 2D arrays are each an array of references to size arrays
+        long boardArray = align(16 + 4L * size) + size * align(16 + 4L * size);
+        long hasValueSetArray = align(16 + 4L * size) + size * align(16 + size);
+        // 16x16 boards also keep the candidates of every square as an int mask
+        long candidateMasksArray = size == MAX_BOARD_SIZE ? align(16 + 4L * size * size) : 0;
+        // The object header and fields of the SudokuBoard itself
+        long fields = 56;
+        return fields + boardArray + hasValueSetArray + candidateMasksArray +
+                (long) size * size * candidateSet;
+    }
+
+    /**
+     * Returns the number of bytes written by writeTo for a board of the given size.
+     *
+     * @param size The size of the board (e.g., 9 for a 9 by 9 board)
+     * @return The size of a serialised board in bytes
+     */
+    public static int getSerialisedSize(int size) {
+        return size * size * Character.BYTES;
+    }
+
+    /**
+     * Writes a compact representation of this board to the given buffer, starting at its current
+     * position, so that the board can be stored outside the Java heap. The candidates of each
+     * square are written as a 16-bit mask in row-major order, taking getSerialisedSize(SIZE) bytes
+     * in total. Everything else about the board can be worked out from the candidates.
+     *
+     * @param buffer The buffer to write to
+     */
+    public void writeTo(ByteBuffer buffer) {
+        checkNotReleased();
+        for (int row = 0; row < SIZE; row++) {
+            for (int column = 0; column < SIZE; column++) {
+                buffer.putChar((char) board[row][column].toBitMask());
+            }
+        }
+    }
+
+    /**
+     * Reads a board of the given size that was written by writeTo, starting at the current position
+     * of the buffer.
+     *
+     * @param buffer The buffer to read from
+     * @param size   The size of the board that was written
+     * @return The board that was written
+     */
+    public static SudokuBoard readFrom(ByteBuffer buffer, int size) {
+        BoardPool pool = BoardPool.current();
+        SudokuBoard result = pool == null ? null : pool.take(size);
+        if (result == null) {
+            result = new SudokuBoard(size);
+            result.initialiseBoard();
+        }
+        result.released = false;
+        result.squaresRemaining = size * size;
+        result.totalNumberOfCandidates = 0;
+        result.zobristHash = 0;
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                CandidateSet candidates = result.board[row][column];
+                int mask = buffer.getChar();
+                candidates.setFromBitMask(mask);
+                if (result.candidateMasks != null) {
+                    result.candidateMasks[row * size + column] = mask;
+                }
+                result.totalNumberOfCandidates += candidates.size();
+                // Propagation always assigns squares left with a single candidate, so those are
+                // exactly the squares that have had their value set
+                boolean valueSet = candidates.size() == 1;
+                result.hasValueSet[row][column] = valueSet;
+                if (valueSet) {
+                    result.squaresRemaining--;
+                    result.zobristHash ^= zobristKeys[(row * MAX_BOARD_SIZE + column) *
+                            (MAX_BOARD_SIZE + 1) + candidates.getOnlyCandidate()];
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates a board in which every square has already been given a value, without performing
+     * any constraint propagation. Used by solvers that find solutions outside of SudokuBoard, for
+     * which parsing a String representation of the solution can take longer than finding it. The
+     * values are not checked against each other, so verifySolution() should be used before relying
+     * on the result.
+     *
+     * @param values The value of every square, each of which must be between 1 and the board size
+     * @return The completed board
+     */
+    public static SudokuBoard fromSolution(int[][] values) {
+        int size = values.length;
+        if (size != 4 && size != 9 && size != 16) {
+            throw new IllegalArgumentException("Invalid board size. Only 4x4, 9x9 and 16x16 " +
+                    "boards are supported.");
+        }
+        SudokuBoard result = new SudokuBoard(size);
+        result.initialiseBoard();
+        for (int row = 0; row < size; row++) {
+            if (values[row].length != size) {
+                throw new IllegalArgumentException("Invalid board size. Only 4x4, 9x9 and 16x16 " +
+                        "boards are supported.");
+            }
+            for (int column = 0; column < size; column++) {
+                int value = values[row][column];
+                // Throws an IllegalArgumentException if the value is out of range
+                result.board[row][column].assignValue(value);
+                if (result.candidateMasks != null) {
+                    result.candidateMasks[row * size + column] = 1 << (value - 1);
+                }
+                result.hasValueSet[row][column] = true;
+                result.zobristHash ^= zobristKeys[(row * MAX_BOARD_SIZE + column) *
+                        (MAX_BOARD_SIZE + 1) + value];
+            }
+        }
+        result.squaresRemaining = 0;
+        result.totalNumberOfCandidates = size * size;
+        return result;
+    }
+
+    /**
+     * Rounds a number of bytes up to the next multiple of 8, as the JVM aligns objects to 8 bytes.
+     *
+     * @param bytes The number of bytes
+     * @return The number of bytes rounded up to a multiple of 8
+     */
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
     /**
      * Returns the size of thisSudokuBoard object.
      *
@@ -522,6 +1500,7 @@ public class SudokuBoard implements Comparable<SudokuBoard> {
      * @return a 2D array representing the values of the Sudoku board.
      */
     public int[][] getValues() {
+        checkNotReleased();
         int[][] values = new int[SIZE][SIZE];
         for (int row = 0; row < SIZE; row++) {
             for (int column = 0; column < SIZE; column++) {
@@ -546,6 +1525,8 @@ public class SudokuBoard implements Comparable<SudokuBoard> {
      */
     @Override
     public int compareTo(SudokuBoard other) {
+        checkNotReleased();
+        other.checkNotReleased();
         if (squaresRemaining < other.squaresRemaining) {
             return -1;
         } else if (squaresRemaining > other.squaresRemaining) {
@@ -606,6 +1587,29 @@ public class SudokuBoard implements Comparable<SudokuBoard> {
         return result.toString();
     }
 
+    /**
+     * Releases this board so that its storage can be reused by the BoardPool open on the current
+     * thread, if there is one. The board must not be used after it has been released; doing so
+     * throws an IllegalStateException unless the pool has already handed the board out again.
+     * Boards should only be released by the code that owns them, once no other references to them
+     * remain.
+     */
+    public void release() {
+        checkNotReleased();
+        released = true;
+        BoardPool pool = BoardPool.current();
+        if (pool != null) pool.put(this);
+    }
+
+    /**
+     * Checks that this board has not been released.
+     */
+    private void checkNotReleased() {
+        if (released) {
+            throw new IllegalStateException("Board used after release.");
+        }
+    }
+
     /**
      * Creates and returns a clone of this instance. Does not call super.clone() as a deep copy
      * must be created.
@@ -614,15 +1618,122 @@ public class SudokuBoard implements Comparable<SudokuBoard> {
      */
     @Override
     public SudokuBoard clone() {
-        SudokuBoard clone = new SudokuBoard(SIZE);
-        for (int row = 0; row < SIZE; row++) {
-            for (int column = 0; column < SIZE; column++) {
-                clone.board[row][column] = board[row][column].clone();
-                clone.hasValueSet[row][column] = hasValueSet[row][column];
+        checkNotReleased();
+        BoardPool pool = BoardPool.current();
+        SudokuBoard clone = pool == null ? null : pool.take(SIZE);
+        if (clone == null) {
+            clone = new SudokuBoard(SIZE);
+            for (int row = 0; row < SIZE; row++) {
+                for (int column = 0; column < SIZE; column++) {
+                    clone.board[row][column] = board[row][column].clone();
+                    clone.hasValueSet[row][column] = hasValueSet[row][column];
+                }
             }
+        } else {
+            // Reuse the CandidateSets and arrays of the released board
+            for (int row = 0; row < SIZE; row++) {
+                for (int column = 0; column < SIZE; column++) {
+                    clone.board[row][column].copyFrom(board[row][column]);
+                }
+                System.arraycopy(hasValueSet[row], 0, clone.hasValueSet[row], 0, SIZE);
+            }
+            clone.released = false;
+        }
+        if (candidateMasks != null) {
+            System.arraycopy(candidateMasks, 0, clone.candidateMasks, 0, candidateMasks.length);
         }
         clone.squaresRemaining = squaresRemaining;
         clone.totalNumberOfCandidates = totalNumberOfCandidates;
+        clone.zobristHash = zobristHash;
         return clone;
     }
-}
\ No newline at end of file
+
+    /**
+     * The result of trial assigning every candidate of a single square during a lookahead.
+     */
+    private static class SquareLookahead {
+        private final int[] legalValues;
+        // The number of candidates left on the board after each legal assignment
+        private final int[] remainingCandidates;
+        private final long[] heuristicKeys;
+        // The successors that were kept, with null entries for those that were not
+        private final SudokuBoard[] successors;
+        private int legalValueCount;
+        // A successor that solves the board, if one was found
+        private SudokuBoard solution;
+
+        /**
+         * Creates a new SquareLookahead for a square with the given number of candidates.
+         *
+         * @param candidateCount The number of candidates of the square
+         */
+        private SquareLookahead(int candidateCount) {
+            legalValues = new int[candidateCount];
+            remainingCandidates = new int[candidateCount];
+            heuristicKeys = new long[candidateCount];
+            successors = new SudokuBoard[candidateCount];
+        }
+    }
+
+    /**
+     * A task that examines a range of the empty squares of a board with lookaheadSquare, splitting
+     * the range in half until each task examines a single square.
+     */
+    private static class LookaheadTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+        private final SudokuBoard board;
+        // The empty squares of the board, numbered row by row
+        private final int[] emptySquares;
+        private final SquareLookahead[] squares;
+        private final int from;
+        private final int to;
+        private final boolean keepSuccessors;
+        private final boolean leastConstraining;
+        // The lowest index of any square that ends the lookahead
+        private final AtomicInteger firstEnding;
+
+        /**
+         * Creates a new LookaheadTask.
+         *
+         * @param board             The board whose squares are examined
+         * @param emptySquares      The empty squares of the board, numbered row by row
+         * @param squares           The array to store the result for each empty square in
+         * @param from              The index of the first empty square to examine
+         * @param to                The index after the last empty square to examine
+         * @param keepSuccessors    Whether every successor should be kept
+         * @param leastConstraining Whether the least constraining value ordering is used
+         * @param firstEnding       The lowest index of any square that ends the lookahead
+         */
+        private LookaheadTask(SudokuBoard board, int[] emptySquares, SquareLookahead[] squares,
+                              int from, int to, boolean keepSuccessors,
+                              boolean leastConstraining, AtomicInteger firstEnding) {
+            this.board = board;
+            this.emptySquares = emptySquares;
+            this.squares = squares;
+            this.from = from;
+            this.to = to;
+            this.keepSuccessors = keepSuccessors;
+            this.leastConstraining = leastConstraining;
+            this.firstEnding = firstEnding;
+        }
+
+        /**
+         * Examines the range of squares, or splits it in half if it holds more than one.
+         */
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                int square = emptySquares[from];
+                squares[from] = board.lookaheadSquare(square / board.SIZE, square % board.SIZE,
+                        keepSuccessors, leastConstraining, firstEnding, from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new LookaheadTask(board, emptySquares, squares, from, middle,
+                            keepSuccessors, leastConstraining, firstEnding),
+                    new LookaheadTask(board, emptySquares, squares, middle, to, keepSuccessors,
+                            leastConstraining, firstEnding));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package sudoku_solver.model;
+
+/**
+ * This interface represents a way of finding which squares of a row, column or box still have a
+ * given candidate, used by SudokuBoard to eliminate an assigned value from the units of 16x16
+ * boards.
+ * <p>
+ * The candidates of every square are held as a bit mask in an int array in row-major order, where
+ * bit (i - 1) is set if i is a candidate. Instead of visiting each CandidateSet of a unit in turn,
+ * SudokuBoard asks a UnitMaskScanner for the squares of the unit whose mask contains the value and
+ * only removes the value from those.
+ * <p>
+ * Two implementations are provided. ScalarUnitMaskScanner tests one mask at a time and always
+ * works. VectorUnitMaskScanner gathers and tests the masks of a whole unit with the Vector API, so
+ * it can only be used when the jdk.incubator.vector module is present, which requires the JVM to
+ * be started with --add-modules jdk.incubator.vector. The create method picks the vector
+ * implementation when the module is present and the scalar one otherwise.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+interface UnitMaskScanner {
+    String VECTOR_MODULE = "jdk.incubator.vector";
+    String VECTOR_SCANNER = "sudoku_solver.model.VectorUnitMaskScanner";
+
+    /**
+     * Finds the squares of a unit whose masks have any of the given bits set.
+     *
+     * @param masks   The candidate masks of every square of the board, in row-major order
+     * @param squares The indexes into masks of the squares of the unit, of which there are at most
+     *                32
+     * @param bits    The bits to look for
+     * @return A bit mask in which bit i is set if the mask of squares[i] has any of the bits set
+     */
+    int findSquares(int[] masks, int[] squares, int bits);
+
+    /**
+     * Returns the vector implementation if the jdk.incubator.vector module is present and could be
+     * loaded, and the scalar implementation otherwise.
+     *
+     * @return The fastest UnitMaskScanner available
+     */
+    static UnitMaskScanner create() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                return (UnitMaskScanner) Class.forName(VECTOR_SCANNER)
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // The vector implementation was left out of the build, so fall back
+            }
+        }
+        return new ScalarUnitMaskScanner();
+    }
+}
@@ -0,0 +1,49 @@
+package sudoku_solver.model;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class finds the squares of a unit that have a given candidate using the Vector API. The
+ * masks of as many squares as fit in a vector are gathered at once, tested against the bits and
+ * turned into a bit mask with a single comparison, so a 16 square unit takes one pass with 512-bit
+ * vectors and two with 256-bit vectors.
+ * <p>
+ * The class can only be loaded when the jdk.incubator.vector module is present, so it is only ever
+ * created by UnitMaskScanner.create, and must be compiled with --add-modules jdk.incubator.vector.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+class VectorUnitMaskScanner implements UnitMaskScanner {
+    // The preferred species, unless it is wider than a 16x16 unit
+    private static final VectorSpecies<Integer> SPECIES =
+            IntVector.SPECIES_PREFERRED.length() > 16 ? IntVector.SPECIES_512 :
+                    IntVector.SPECIES_PREFERRED;
+
+    /**
+     * Finds the squares of a unit whose masks have any of the given bits set.
+     *
+     * @param masks   The candidate masks of every square of the board, in row-major order
+     * @param squares The indexes into masks of the squares of the unit, of which there are at most
+     *                32
+     * @param bits    The bits to look for
+     * @return A bit mask in which bit i is set if the mask of squares[i] has any of the bits set
+     */
+    @Override
+    public int findSquares(int[] masks, int[] squares, int bits) {
+        int found = 0;
+        int i = 0;
+        for (; i <= squares.length - SPECIES.length(); i += SPECIES.length()) {
+            IntVector unit = IntVector.fromArray(SPECIES, masks, 0, squares, i);
+            found |= (int) unit.and(bits).compare(VectorOperators.NE, 0).toLong() << i;
+        }
+        // Any squares left over if the unit is not a multiple of the vector length
+        for (; i < squares.length; i++) {
+            if ((masks[squares[i]] & bits) != 0) found |= 1 << i;
+        }
+        return found;
+    }
+}
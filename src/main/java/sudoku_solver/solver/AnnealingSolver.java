@@ -0,0 +1,399 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.model.SudokuBoard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class represents a Sudoku solver that uses simulated annealing, a form of stochastic local
+ * search, instead of searching a tree of boards.
+ * <p>
+ * Each box is filled with a random permutation of the values it is missing, so that every box is
+ * always valid. The number of conflicts is the number of values missing from each row and column,
+ * and the search minimises it by swapping two squares that were not filled in the puzzle within the
+ * same box. The number of occurrences of every value in every row and column is kept up to date
+ * after each swap, so the change in conflicts caused by a swap is found in constant time. Swaps
+ * that remove conflicts are always made, and swaps that add conflicts are made with a probability
+ * that falls as the temperature is lowered. If a chain stops improving, its temperature is raised
+ * again to escape the local minimum.
+ * <p>
+ * Several independent chains, each with its own random numbers, are run on separate threads and
+ * the first to reach zero conflicts wins, once its board has passed verifySolution(). Local search
+ * cannot prove that a puzzle has no solution, so if no chain finds one within the time budget,
+ * null is returned. Puzzles that SudokuBoard can already show to be unsolvable still throw an
+ * exception.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class AnnealingSolver extends SudokuSolver {
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 10_000;
+    public static final long DEFAULT_SEED = 0;
+    private static final double COOLING_RATE = 0.99;
+    // The number of cooling steps without a new best number of conflicts before reheating
+    private static final int REHEAT_AFTER = 400;
+    private final int chains;
+    private final long timeBudgetMillis;
+    private final long seed;
+    private long nodesExpanded;
+
+    /**
+     * Constructs a new AnnealingSolver object that runs one chain per available processor with the
+     * default time budget and seed.
+     */
+    public AnnealingSolver() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_TIME_BUDGET_MILLIS, DEFAULT_SEED);
+    }
+
+    /**
+     * Constructs a new AnnealingSolver object.
+     *
+     * @param chains           The number of independent chains to run at once. Must be positive.
+     * @param timeBudgetMillis The time after which the search gives up. Must be positive.
+     * @param seed             The seed from which the random numbers of every chain are generated
+     */
+    public AnnealingSolver(int chains, long timeBudgetMillis, long seed) {
+        if (chains <= 0 || timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException("Chains and time budget must be positive");
+        }
+        this.chains = chains;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.seed = seed;
+    }
+
+    /**
+     * Solves the Sudoku puzzle specified by the String board using simulated annealing.
+     *
+     * @param board The String representation of the Sudoku board
+     * @return A solved SudokuBoard object if one was found within the time budget and otherwise
+     * null
+     */
+    @Override
+    public SudokuBoard solve(String board) {
+        nodesExpanded = 0;
+        long startTime = System.currentTimeMillis();
+        SudokuBoard initial = new SudokuBoard(board);
+        if (initial.solved() && initial.verifySolution()) {
+            recordTime(board, System.currentTimeMillis() - startTime);
+            System.out.println("Solver was given a game that was already solved or that was " +
+                    "solved by constraint propagation within SudokuBoard");
+            return initial;
+        }
+
+        int[][] values = initial.getValues();
+        long deadline = startTime + timeBudgetMillis;
+        AtomicBoolean stop = new AtomicBoolean();
+        SplittableRandom random = new SplittableRandom(seed);
+        ExecutorService executor = Executors.newFixedThreadPool(chains, runnable -> {
+            Thread thread = new Thread(runnable, "Annealing chain");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<Chain> completionService = new ExecutorCompletionService<>(executor);
+        try {
+            for (int i = 0; i < chains; i++) {
+                Chain chain = new Chain(values, random.split(), deadline, stop);
+                completionService.submit(chain, chain);
+            }
+            for (int i = 0; i < chains; i++) {
+                Chain chain = completionService.take().get();
+                if (!chain.solved) continue;
+                SudokuBoard solution = new SudokuBoard(chain.toBoardString());
+                if (solution.solved() && solution.verifySolution()) {
+                    stop.set(true);
+                    nodesExpanded = chain.iterations;
+                    recordTime(board, System.currentTimeMillis() - startTime);
+                    return solution;
+                }
+            }
+            return null;
+        } catch (InterruptedException e) {
+            // Keep the interrupt so that the caller can see the solve was cancelled
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Annealing chain failed", e.getCause());
+        } finally {
+            stop.set(true);
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * A single simulated annealing chain. Squares are numbered row by row and values are stored
+     * from 1, with the counts of each value in each row and column indexed by
+     * row * size + value - 1.
+     */
+    private static class Chain implements Runnable {
+        private final int size;
+        private final int[] grid;
+        // The squares of each box that were not filled in the puzzle, which may be swapped
+        private final int[][] freeSquares;
+        private final int[] swappableBoxes;
+        private final int[] rowCounts;
+        private final int[] columnCounts;
+        private final SplittableRandom random;
+        private final long deadline;
+        private final AtomicBoolean stop;
+        private int conflicts;
+        private long iterations;
+        private boolean solved;
+
+        /**
+         * Creates a new Chain, filling every box with a random permutation of its missing values.
+         *
+         * @param values   The values of the board, where 0 is an empty square
+         * @param random   The random numbers used by this chain
+         * @param deadline The time at which to give up
+         * @param stop     Set once any chain has found a solution
+         */
+        private Chain(int[][] values, SplittableRandom random, long deadline, AtomicBoolean stop) {
+            this.random = random;
+            this.deadline = deadline;
+            this.stop = stop;
+            size = values.length;
+            int boxSize = (int) Math.sqrt(size);
+            grid = new int[size * size];
+            rowCounts = new int[size * size];
+            columnCounts = new int[size * size];
+            freeSquares = new int[size][];
+            List<Integer> swappable = new ArrayList<>();
+            for (int box = 0; box < size; box++) {
+                int firstRow = box / boxSize * boxSize;
+                int firstColumn = box % boxSize * boxSize;
+                boolean[] present = new boolean[size + 1];
+                int[] free = new int[size];
+                int freeCount = 0;
+                for (int i = 0; i < size; i++) {
+                    int square = (firstRow + i / boxSize) * size + firstColumn + i % boxSize;
+                    int value = values[square / size][square % size];
+                    grid[square] = value;
+                    if (value == 0) {
+                        free[freeCount++] = square;
+                    } else {
+                        present[value] = true;
+                    }
+                }
+                // Fill the free squares with the missing values in a random order
+                int[] missing = new int[freeCount];
+                for (int value = 1, i = 0; value <= size; value++) {
+                    if (!present[value]) missing[i++] = value;
+                }
+                for (int i = freeCount - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    int swap = missing[i];
+                    missing[i] = missing[j];
+                    missing[j] = swap;
+                }
+                for (int i = 0; i < freeCount; i++) {
+                    grid[free[i]] = missing[i];
+                }
+                freeSquares[box] = Arrays.copyOf(free, freeCount);
+                if (freeCount >= 2) swappable.add(box);
+            }
+            swappableBoxes = swappable.stream().mapToInt(Integer::intValue).toArray();
+
+            for (int square = 0; square < size * size; square++) {
+                rowCounts[square / size * size + grid[square] - 1]++;
+                columnCounts[square % size * size + grid[square] - 1]++;
+            }
+            for (int i = 0; i < size; i++) {
+                for (int value = 0; value < size; value++) {
+                    if (rowCounts[i * size + value] == 0) conflicts++;
+                    if (columnCounts[i * size + value] == 0) conflicts++;
+                }
+            }
+        }
+
+        /**
+         * Runs the chain until it finds a solution, another chain finds one or the deadline
+         * passes.
+         */
+        @Override
+        public void run() {
+            if (conflicts == 0) {
+                solved = true;
+                return;
+            }
+            if (swappableBoxes.length == 0) return;
+            double initialTemperature = initialTemperature();
+            double temperature = initialTemperature;
+            int movesPerStep = 0;
+            for (int[] free : freeSquares) movesPerStep += free.length;
+            int bestConflicts = conflicts;
+            int stepsWithoutImprovement = 0;
+
+            while (true) {
+                if (stop.get() || Thread.currentThread().isInterrupted() ||
+                        System.currentTimeMillis() >= deadline) {
+                    return;
+                }
+                for (int move = 0; move < movesPerStep; move++) {
+                    iterations++;
+                    int[] free = freeSquares[swappableBoxes[random.nextInt(swappableBoxes.length)]];
+                    int first = free[random.nextInt(free.length)];
+                    int second = free[random.nextInt(free.length - 1)];
+                    if (second == first) second = free[free.length - 1];
+                    int delta = delta(first, second);
+                    if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                        swap(first, second);
+                        conflicts += delta;
+                        if (conflicts == 0) {
+                            solved = true;
+                            return;
+                        }
+                    }
+                }
+                if (conflicts < bestConflicts) {
+                    bestConflicts = conflicts;
+                    stepsWithoutImprovement = 0;
+                } else if (++stepsWithoutImprovement >= REHEAT_AFTER) {
+                    temperature = initialTemperature;
+                    bestConflicts = conflicts;
+                    stepsWithoutImprovement = 0;
+                }
+                temperature *= COOLING_RATE;
+            }
+        }
+
+        /**
+         * Estimates a starting temperature as the standard deviation of the change in conflicts
+         * over a sample of random swaps, none of which are made.
+         *
+         * @return The starting temperature
+         */
+        private double initialTemperature() {
+            int samples = 200;
+            double sum = 0;
+            double sumOfSquares = 0;
+            for (int i = 0; i < samples; i++) {
+                int[] free = freeSquares[swappableBoxes[random.nextInt(swappableBoxes.length)]];
+                int first = free[random.nextInt(free.length)];
+                int second = free[random.nextInt(free.length - 1)];
+                if (second == first) second = free[free.length - 1];
+                int delta = delta(first, second);
+                sum += delta;
+                sumOfSquares += delta * delta;
+            }
+            double mean = sum / samples;
+            return Math.max(0.5, Math.sqrt(sumOfSquares / samples - mean * mean));
+        }
+
+        /**
+         * Returns the change in the number of conflicts if two squares of the same box were
+         * swapped.
+         *
+         * @param first  The first square
+         * @param second The second square
+         * @return The change in the number of conflicts
+         */
+        private int delta(int first, int second) {
+            int a = grid[first];
+            int b = grid[second];
+            int firstRow = first / size;
+            int secondRow = second / size;
+            int firstColumn = first % size;
+            int secondColumn = second % size;
+            int delta = 0;
+            if (firstRow != secondRow) {
+                delta += delta(rowCounts, firstRow, a, b) + delta(rowCounts, secondRow, b, a);
+            }
+            if (firstColumn != secondColumn) {
+                delta += delta(columnCounts, firstColumn, a, b) +
+                        delta(columnCounts, secondColumn, b, a);
+            }
+            return delta;
+        }
+
+        /**
+         * Returns the change in the number of values missing from a row or column if one value is
+         * replaced by another.
+         *
+         * @param counts  The counts of the values in every row or every column
+         * @param line    The row or column
+         * @param removed The value removed
+         * @param added   The value added
+         * @return The change in the number of conflicts
+         */
+        private int delta(int[] counts, int line, int removed, int added) {
+            int delta = 0;
+            if (counts[line * size + removed - 1] == 1) delta++;
+            if (counts[line * size + added - 1] == 0) delta--;
+            return delta;
+        }
+
+        /**
+         * Swaps the values of two squares, updating the counts of the values in their rows and
+         * columns.
+         *
+         * @param first  The first square
+         * @param second The second square
+         */
+        private void swap(int first, int second) {
+            int a = grid[first];
+            int b = grid[second];
+            move(first, a, b);
+            move(second, b, a);
+            grid[first] = b;
+            grid[second] = a;
+        }
+
+        /**
+         * Updates the counts of the row and column of a square when its value changes.
+         *
+         * @param square  The square
+         * @param removed The old value
+         * @param added   The new value
+         */
+        private void move(int square, int removed, int added) {
+            int row = square / size;
+            int column = square % size;
+            rowCounts[row * size + removed - 1]--;
+            rowCounts[row * size + added - 1]++;
+            columnCounts[column * size + removed - 1]--;
+            columnCounts[column * size + added - 1]++;
+        }
+
+        /**
+         * Returns the String representation of the board accepted by SudokuBoard.
+         *
+         * @return The String representation of the board
+         */
+        private String toBoardString() {
+            StringBuilder result = new StringBuilder();
+            for (int square = 0; square < size * size; square++) {
+                result.append(grid[square]);
+                result.append(square % size == size - 1 ? '\n' : ',');
+            }
+            return result.toString();
+        }
+    }
+
+    /**
+     * Returns the number of swaps considered by the winning chain during the most recent call to
+     * solve, or 0 if no solution was found.
+     *
+     * @return The number of swaps considered
+     */
+    @Override
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    /**
+     * Returns false, as local search gives up once its time budget runs out and so cannot prove
+     * that a puzzle has no solution.
+     *
+     * @return False
+     */
+    @Override
+    public boolean isComplete() {
+        return false;
+    }
+}
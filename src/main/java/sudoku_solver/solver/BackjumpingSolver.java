@@ -0,0 +1,615 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.model.SudokuBoard;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a depth-first Sudoku solver that uses conflict-directed backjumping and
+ * learns nogoods.
+ * <p>
+ * When a branch of DepthFirstSolver fails, the solver simply tries the next sibling on its stack,
+ * even if the failure had nothing to do with the most recent guess. This solver instead records,
+ * for every candidate it eliminates, the set of decision levels (guesses) that caused the
+ * elimination. When a square runs out of candidates, or a value has nowhere left to go in a row,
+ * column or box, the union of these sets tells the solver which guesses were responsible. It then
+ * jumps straight back to the deepest responsible guess, undoing every guess in between, and rules
+ * out the guessed value there with the remaining guesses as its explanation.
+ * <p>
+ * Each set of guesses responsible for a failure is also a nogood: a combination of assignments
+ * that can never appear in a solution. Nogoods with at most maxNogoodSize assignments are kept in
+ * a store of bounded capacity, replacing the oldest nogood once it is full. Whenever all but one
+ * of the assignments of a stored nogood hold, the last one is ruled out, which prunes branches
+ * elsewhere in the tree that share the same cause of failure.
+ * <p>
+ * The solver does not search an open list of SudokuBoards. The puzzle is parsed into a SudokuBoard
+ * to check it and apply its constraint propagation, and then searched using a compact
+ * representation of its own with a trail of changes that is undone on backtracking. Constraint
+ * propagation assigns squares with a single candidate left and values with a single square left in
+ * a row, column or box. Squares are chosen by fewest candidates and values are tried in ascending
+ * order, so the value ordering of the solver is ignored.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class BackjumpingSolver extends SudokuSolver {
+    public static final int DEFAULT_MAX_NOGOOD_SIZE = 8;
+    public static final int DEFAULT_NOGOOD_CAPACITY = 10_000;
+    private final int maxNogoodSize;
+    private final int nogoodCapacity;
+    private long nodesExpanded;
+    private long backjumps;
+    private long nogoodsLearned;
+    private long nogoodPrunings;
+
+    /**
+     * Constructs a new BackjumpingSolver object with the default nogood size and capacity.
+     */
+    public BackjumpingSolver() {
+        this(DEFAULT_MAX_NOGOOD_SIZE, DEFAULT_NOGOOD_CAPACITY);
+    }
+
+    /**
+     * Constructs a new BackjumpingSolver object.
+     *
+     * @param maxNogoodSize  The maximum number of assignments in a nogood that is stored. Must not
+     *                       be negative.
+     * @param nogoodCapacity The maximum number of nogoods stored at once, or 0 to disable nogood
+     *                       learning. Must not be negative.
+     */
+    public BackjumpingSolver(int maxNogoodSize, int nogoodCapacity) {
+        if (maxNogoodSize < 0 || nogoodCapacity < 0) {
+            throw new IllegalArgumentException("Nogood size and capacity must not be negative");
+        }
+        this.maxNogoodSize = maxNogoodSize;
+        this.nogoodCapacity = nogoodCapacity;
+    }
+
+    /**
+     * Solves the Sudoku puzzle specified by the String board using depth-first search with
+     * conflict-directed backjumping.
+     *
+     * @param board The String representation of the Sudoku board
+     * @return A solved SudokuBoard object if it exists and otherwise null
+     */
+    @Override
+    public SudokuBoard solve(String board) {
+        nodesExpanded = 0;
+        backjumps = 0;
+        nogoodsLearned = 0;
+        nogoodPrunings = 0;
+        long startTime = System.currentTimeMillis();
+        SudokuBoard initial = new SudokuBoard(board);
+        if (initial.solved() && initial.verifySolution()) {
+            recordTime(board, System.currentTimeMillis() - startTime);
+            System.out.println("Solver was given a game that was already solved or that was " +
+                    "solved by constraint propagation within SudokuBoard");
+            return initial;
+        }
+
+        int[][] values = new Search(initial.getValues()).run();
+        if (values == null) return null;
+        SudokuBoard solution = new SudokuBoard(toBoardString(values));
+        recordTime(board, System.currentTimeMillis() - startTime);
+        return solution;
+    }
+
+    /**
+     * Converts a 2D array of values into the String representation accepted by SudokuBoard.
+     *
+     * @param values The values of the board
+     * @return The String representation of the board
+     */
+    private static String toBoardString(int[][] values) {
+        StringBuilder result = new StringBuilder();
+        for (int[] row : values) {
+            for (int column = 0; column < row.length; column++) {
+                if (column > 0) result.append(',');
+                result.append(row[column]);
+            }
+            result.append('\n');
+        }
+        return result.toString();
+    }
+
+    /**
+     * The state of a single search. Squares are numbered row by row, and a literal is the
+     * assignment of a value to a square, numbered square * size + value - 1. Explanations are sets
+     * of decision levels stored as words bits in a long array, where level l is bit l.
+     */
+    private class Search {
+        private final int size;
+        private final int squares;
+        private final int words;
+        // The candidates of every square as a bit mask, where value v is bit v - 1
+        private final int[] candidates;
+        // The value assigned to every square, or 0 if it has not been assigned
+        private final int[] assigned;
+        // The explanation of every eliminated literal and of every assigned square
+        private final long[] eliminationReasons;
+        private final long[] assignmentReasons;
+        // Every change made to the candidates and assignments, so that they can be undone. An
+        // elimination is stored as its literal and an assignment as -(square + 1).
+        private final int[] trail;
+        private int trailSize;
+        // The size of the trail when the decision at each level was made
+        private final int[] levelStarts;
+        private final int[] decisionSquares;
+        private final int[] decisionValues;
+        private int level;
+        // Squares that have been assigned but whose value has not yet been propagated
+        private final int[] queue;
+        private int queueHead;
+        private int queueTail;
+        // The row, column and box containing each square, and the squares in each of them
+        private final int[][] units;
+        private final int[][] squareUnits;
+        private final int[][] peers;
+        // The explanation of the most recent failure
+        private final long[] conflict;
+        private final long[] scratch;
+        private final long[] refutation;
+        // The stored nogoods, replaced in order once the store is full, and the indexes of the
+        // nogoods that contain each literal. The index may refer to nogoods that have since been
+        // replaced, which are removed when they are found.
+        private final int[][] nogoods;
+        private int nextNogood;
+        private final int[][] nogoodIndex;
+        private final int[] nogoodIndexSizes;
+
+        /**
+         * Creates a new Search for the board with the given values.
+         *
+         * @param values The values of the board, where 0 is an empty square
+         */
+        private Search(int[][] values) {
+            size = values.length;
+            squares = size * size;
+            words = (squares + 1 + 63) / 64;
+            candidates = new int[squares];
+            assigned = new int[squares];
+            eliminationReasons = new long[squares * size * words];
+            assignmentReasons = new long[squares * words];
+            trail = new int[squares * size + squares];
+            levelStarts = new int[squares + 1];
+            decisionSquares = new int[squares + 1];
+            decisionValues = new int[squares + 1];
+            queue = new int[squares];
+            conflict = new long[words];
+            scratch = new long[words];
+            refutation = new long[words];
+            nogoods = new int[nogoodCapacity][];
+            nogoodIndex = new int[squares * size][];
+            nogoodIndexSizes = new int[squares * size];
+
+            int boxSize = (int) Math.sqrt(size);
+            units = new int[size * 3][size];
+            squareUnits = new int[squares][3];
+            for (int square = 0; square < squares; square++) {
+                int row = square / size;
+                int column = square % size;
+                int box = row / boxSize * boxSize + column / boxSize;
+                int boxIndex = row % boxSize * boxSize + column % boxSize;
+                units[row][column] = square;
+                units[size + column][row] = square;
+                units[2 * size + box][boxIndex] = square;
+                squareUnits[square] = new int[]{row, size + column, 2 * size + box};
+            }
+            peers = new int[squares][];
+            for (int square = 0; square < squares; square++) {
+                boolean[] isPeer = new boolean[squares];
+                int count = 0;
+                for (int unit : squareUnits[square]) {
+                    for (int other : units[unit]) {
+                        if (other != square && !isPeer[other]) {
+                            isPeer[other] = true;
+                            count++;
+                        }
+                    }
+                }
+                peers[square] = new int[count];
+                for (int other = 0, i = 0; other < squares; other++) {
+                    if (isPeer[other]) peers[square][i++] = other;
+                }
+            }
+
+            int allCandidates = (1 << size) - 1;
+            Arrays.fill(candidates, allCandidates);
+            for (int square = 0; square < squares; square++) {
+                int value = values[square / size][square % size];
+                if (value != 0) assign(square, value, scratch, 0);
+            }
+        }
+
+        /**
+         * Searches for a solution.
+         *
+         * @return The values of the solution, or null if there is no solution or the search was
+         * interrupted
+         */
+        private int[][] run() {
+            boolean consistent = propagate();
+            while (true) {
+                while (!consistent) {
+                    queueHead = 0;
+                    queueTail = 0;
+                    int deepest = deepestLevel(conflict);
+                    // The failure does not depend on any guess, so there is no solution
+                    if (deepest == 0) return null;
+                    if (deepest < level) backjumps++;
+                    learn();
+                    int square = decisionSquares[deepest];
+                    int value = decisionValues[deepest];
+                    undo(levelStarts[deepest]);
+                    level = deepest - 1;
+                    // The other guesses responsible for the failure rule out the guessed value
+                    System.arraycopy(conflict, 0, refutation, 0, words);
+                    refutation[deepest >>> 6] &= ~(1L << deepest);
+                    consistent = eliminate(square, value, refutation, 0) && propagate();
+                }
+
+                // Terminate the thread execution if an interrupt is issued
+                if (Thread.currentThread().isInterrupted()) return null;
+                int square = chooseSquare();
+                if (square == -1) return getValues();
+                nodesExpanded++;
+                level++;
+                levelStarts[level] = trailSize;
+                decisionSquares[level] = square;
+                decisionValues[level] = Integer.numberOfTrailingZeros(candidates[square]) + 1;
+                Arrays.fill(scratch, 0);
+                scratch[level >>> 6] |= 1L << level;
+                assign(square, decisionValues[level], scratch, 0);
+                consistent = propagate();
+            }
+        }
+
+        /**
+         * Returns the unassigned square with the fewest candidates.
+         *
+         * @return The square, or -1 if every square has been assigned
+         */
+        private int chooseSquare() {
+            int best = -1;
+            int bestCount = Integer.MAX_VALUE;
+            for (int square = 0; square < squares; square++) {
+                if (assigned[square] == 0) {
+                    int count = Integer.bitCount(candidates[square]);
+                    if (count < bestCount) {
+                        best = square;
+                        bestCount = count;
+                        if (count == 2) break;
+                    }
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Assigns a value to a square and queues it for propagation.
+         *
+         * @param square The square
+         * @param value  The value
+         * @param reason The array containing the explanation of the assignment
+         * @param offset The offset of the explanation in the array
+         */
+        private void assign(int square, int value, long[] reason, int offset) {
+            assigned[square] = value;
+            System.arraycopy(reason, offset, assignmentReasons, square * words, words);
+            trail[trailSize++] = -(square + 1);
+            queue[queueTail++] = square;
+        }
+
+        /**
+         * Propagates every queued assignment, ruling the value out of its peers and checking the
+         * stored nogoods.
+         *
+         * @return True if no failure was found and false otherwise, in which case its explanation
+         * is in conflict
+         */
+        private boolean propagate() {
+            while (queueHead < queueTail) {
+                int square = queue[queueHead++];
+                int value = assigned[square];
+                int offset = square * words;
+                int others = candidates[square] & ~(1 << (value - 1));
+                while (others != 0) {
+                    int other = Integer.numberOfTrailingZeros(others) + 1;
+                    others &= others - 1;
+                    if (!eliminate(square, other, assignmentReasons, offset)) return false;
+                }
+                for (int peer : peers[square]) {
+                    if (!eliminate(peer, value, assignmentReasons, offset)) return false;
+                }
+                if (!checkNogoods(square * size + value - 1)) return false;
+            }
+            queueHead = 0;
+            queueTail = 0;
+            return true;
+        }
+
+        /**
+         * Rules a value out of a square, assigning the square if only one candidate remains and
+         * assigning the value to another square if it is the only place left for it in a row,
+         * column or box.
+         *
+         * @param square The square
+         * @param value  The value to rule out
+         * @param reason The array containing the explanation of the elimination
+         * @param offset The offset of the explanation in the array
+         * @return True if no failure was found and false otherwise, in which case its explanation
+         * is in conflict
+         */
+        private boolean eliminate(int square, int value, long[] reason, int offset) {
+            int bit = 1 << (value - 1);
+            if ((candidates[square] & bit) == 0) return true;
+            candidates[square] &= ~bit;
+            int literal = square * size + value - 1;
+            System.arraycopy(reason, offset, eliminationReasons, literal * words, words);
+            trail[trailSize++] = literal;
+
+            int remaining = candidates[square];
+            if (remaining == 0) {
+                explainSquare(square, conflict);
+                return false;
+            }
+            if (assigned[square] == 0 && Integer.bitCount(remaining) == 1) {
+                explainSquare(square, scratch);
+                assign(square, Integer.numberOfTrailingZeros(remaining) + 1, scratch, 0);
+            }
+
+            for (int unit : squareUnits[square]) {
+                int place = -1;
+                int count = 0;
+                for (int other : units[unit]) {
+                    if ((candidates[other] & bit) != 0) {
+                        place = other;
+                        if (++count > 1) break;
+                    }
+                }
+                if (count == 0) {
+                    explainValue(unit, value, -1, conflict);
+                    return false;
+                }
+                if (count == 1 && assigned[place] != value) {
+                    explainValue(unit, value, place, scratch);
+                    if (assigned[place] != 0) {
+                        // The only place left for the value already has another value
+                        or(scratch, assignmentReasons, place * words);
+                        System.arraycopy(scratch, 0, conflict, 0, words);
+                        return false;
+                    }
+                    assign(place, value, scratch, 0);
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Stores the union of the explanations of every value ruled out of a square.
+         *
+         * @param square      The square
+         * @param explanation The array to store the explanation in
+         */
+        private void explainSquare(int square, long[] explanation) {
+            Arrays.fill(explanation, 0);
+            int eliminated = ((1 << size) - 1) & ~candidates[square];
+            while (eliminated != 0) {
+                int value = Integer.numberOfTrailingZeros(eliminated);
+                eliminated &= eliminated - 1;
+                or(explanation, eliminationReasons, (square * size + value) * words);
+            }
+        }
+
+        /**
+         * Stores the union of the explanations of a value being ruled out of every square of a
+         * unit except one.
+         *
+         * @param unit        The row, column or box
+         * @param value       The value
+         * @param except      The square to leave out, or -1 to include every square
+         * @param explanation The array to store the explanation in
+         */
+        private void explainValue(int unit, int value, int except, long[] explanation) {
+            Arrays.fill(explanation, 0);
+            for (int other : units[unit]) {
+                if (other != except) {
+                    or(explanation, eliminationReasons, (other * size + value - 1) * words);
+                }
+            }
+        }
+
+        /**
+         * Checks the stored nogoods that contain a literal which has just been assigned. A nogood
+         * whose assignments all hold is a failure, and a nogood with one assignment left that is
+         * still possible rules it out.
+         *
+         * @param literal The literal that was assigned
+         * @return True if no failure was found and false otherwise, in which case its explanation
+         * is in conflict
+         */
+        private boolean checkNogoods(int literal) {
+            int[] index = nogoodIndex[literal];
+            for (int i = 0; i < nogoodIndexSizes[literal]; i++) {
+                int[] nogood = nogoods[index[i]];
+                if (!contains(nogood, literal)) {
+                    // The nogood has been replaced since it was indexed
+                    index[i--] = index[--nogoodIndexSizes[literal]];
+                    continue;
+                }
+                int open = -1;
+                boolean unit = true;
+                Arrays.fill(scratch, 0);
+                for (int other : nogood) {
+                    int square = other / size;
+                    int value = other % size + 1;
+                    if (assigned[square] == value) {
+                        or(scratch, assignmentReasons, square * words);
+                    } else if (assigned[square] != 0 ||
+                            (candidates[square] & (1 << (value - 1))) == 0 || open != -1) {
+                        // The nogood cannot be violated, or needs more than one more assignment
+                        unit = false;
+                        break;
+                    } else {
+                        open = other;
+                    }
+                }
+                if (!unit) continue;
+                nogoodPrunings++;
+                if (open == -1) {
+                    System.arraycopy(scratch, 0, conflict, 0, words);
+                    return false;
+                }
+                if (!eliminate(open / size, open % size + 1, scratch, 0)) return false;
+            }
+            return true;
+        }
+
+        /**
+         * Stores the guesses responsible for the most recent failure as a nogood, if it is small
+         * enough and nogood learning is enabled.
+         */
+        private void learn() {
+            if (nogoodCapacity == 0) return;
+            int count = 0;
+            for (long word : conflict) count += Long.bitCount(word);
+            if (count > maxNogoodSize) return;
+
+            int[] nogood = new int[count];
+            int i = 0;
+            for (int w = 0; w < words; w++) {
+                long word = conflict[w];
+                while (word != 0) {
+                    int decision = w * 64 + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    nogood[i++] = decisionSquares[decision] * size + decisionValues[decision] - 1;
+                }
+            }
+            int slot = nextNogood;
+            nextNogood = (nextNogood + 1) % nogoodCapacity;
+            nogoods[slot] = nogood;
+            for (int literal : nogood) {
+                int[] index = nogoodIndex[literal];
+                if (index == null) {
+                    index = new int[4];
+                } else if (nogoodIndexSizes[literal] == index.length) {
+                    index = Arrays.copyOf(index, index.length * 2);
+                }
+                index[nogoodIndexSizes[literal]++] = slot;
+                nogoodIndex[literal] = index;
+            }
+            nogoodsLearned++;
+        }
+
+        /**
+         * Undoes every change made since the trail had the given size.
+         *
+         * @param trailStart The size of the trail to return to
+         */
+        private void undo(int trailStart) {
+            while (trailSize > trailStart) {
+                int entry = trail[--trailSize];
+                if (entry >= 0) {
+                    candidates[entry / size] |= 1 << (entry % size);
+                } else {
+                    assigned[-entry - 1] = 0;
+                }
+            }
+        }
+
+        /**
+         * Returns the values of every square as a 2D array.
+         *
+         * @return The values of the board
+         */
+        private int[][] getValues() {
+            int[][] values = new int[size][size];
+            for (int square = 0; square < squares; square++) {
+                values[square / size][square % size] = assigned[square];
+            }
+            return values;
+        }
+
+        /**
+         * Returns the deepest decision level in an explanation.
+         *
+         * @param explanation The explanation
+         * @return The deepest level, or 0 if the explanation contains no decisions
+         */
+        private int deepestLevel(long[] explanation) {
+            for (int w = words - 1; w >= 0; w--) {
+                if (explanation[w] != 0) {
+                    return w * 64 + 63 - Long.numberOfLeadingZeros(explanation[w]);
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Adds an explanation stored in another array to the given explanation.
+         *
+         * @param explanation The explanation to add to
+         * @param source      The array containing the other explanation
+         * @param offset      The offset of the other explanation in the array
+         */
+        private void or(long[] explanation, long[] source, int offset) {
+            for (int w = 0; w < words; w++) {
+                explanation[w] |= source[offset + w];
+            }
+        }
+    }
+
+    /**
+     * Checks whether an array contains a value.
+     *
+     * @param array The array
+     * @param value The value
+     * @return True if the array contains the value and false otherwise
+     */
+    private static boolean contains(int[] array, int value) {
+        for (int element : array) {
+            if (element == value) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of guesses made during the most recent call to solve.
+     *
+     * @return The number of guesses
+     */
+    @Override
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    /**
+     * Returns the number of failures during the most recent call to solve that jumped back past at
+     * least one guess that was not responsible for them.
+     *
+     * @return The number of backjumps
+     */
+    public long getBackjumps() {
+        return backjumps;
+    }
+
+    /**
+     * Returns the number of nogoods stored during the most recent call to solve.
+     *
+     * @return The number of nogoods learned
+     */
+    public long getNogoodsLearned() {
+        return nogoodsLearned;
+    }
+
+    /**
+     * Returns the number of times a stored nogood ruled out an assignment or detected a failure
+     * during the most recent call to solve.
+     *
+     * @return The number of prunings by nogoods
+     */
+    public long getNogoodPrunings() {
+        return nogoodPrunings;
+    }
+}
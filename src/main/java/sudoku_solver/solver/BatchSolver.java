@@ -0,0 +1,354 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.model.SudokuBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents a solver for large batches of 9x9 Sudoku puzzles that propagates 64
+ * puzzles at once.
+ * <p>
+ * Solving a batch one puzzle at a time spends much of its time creating boards and searching, even
+ * though most easy and medium puzzles need no guessing at all. This solver instead stores the
+ * candidates of 64 puzzles bit-sliced: there is one long for every value of every square, and bit
+ * i of that long is set if the value is still a candidate for the square in the i-th puzzle (lane)
+ * of the block. Each step of constraint propagation is then a handful of bitwise operations that
+ * apply to all 64 puzzles at once. Squares with a single candidate left (naked singles) rule their
+ * value out of their peers, and values with a single square left in a row, column or box (hidden
+ * singles) are assigned to it, until nothing changes.
+ * <p>
+ * Puzzles solved by propagation are returned directly, using SudokuBoard.fromSolution rather than
+ * parsing the solution, which would cost more than the propagation itself. Any lane that is not
+ * finished is handed to the scalar fallback solver, starting from the values found by
+ * propagation. Puzzles that are not 9x9 are passed to the fallback solver unchanged.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class BatchSolver {
+    private static final int SIZE = 9;
+    private static final int SQUARES = SIZE * SIZE;
+    private static final int LANES = Long.SIZE;
+    // The 27 rows, columns and boxes, and the 20 peers of every square
+    private static final int[][] UNITS = new int[SIZE * 3][SIZE];
+    private static final int[][] PEERS = new int[SQUARES][20];
+    private final SudokuSolver fallback;
+    private long solvedByPropagation;
+    private long solvedByFallback;
+
+    static {
+        for (int square = 0; square < SQUARES; square++) {
+            int row = square / SIZE;
+            int column = square % SIZE;
+            int box = row / 3 * 3 + column / 3;
+            UNITS[row][column] = square;
+            UNITS[SIZE + column][row] = square;
+            UNITS[2 * SIZE + box][row % 3 * 3 + column % 3] = square;
+        }
+        for (int square = 0; square < SQUARES; square++) {
+            int count = 0;
+            for (int other = 0; other < SQUARES; other++) {
+                boolean sameRow = other / SIZE == square / SIZE;
+                boolean sameColumn = other % SIZE == square % SIZE;
+                boolean sameBox = other / SIZE / 3 == square / SIZE / 3 &&
+                        other % SIZE / 3 == square % SIZE / 3;
+                if (other != square && (sameRow || sameColumn || sameBox)) {
+                    PEERS[square][count++] = other;
+                }
+            }
+        }
+    }
+
+    /**
+     * Constructs a new BatchSolver object that hands unfinished puzzles to a DepthFirstSolver.
+     */
+    public BatchSolver() {
+        this(new DepthFirstSolver());
+    }
+
+    /**
+     * Constructs a new BatchSolver object.
+     *
+     * @param fallback The solver used for puzzles that propagation does not finish
+     */
+    public BatchSolver(SudokuSolver fallback) {
+        this.fallback = fallback;
+    }
+
+    /**
+     * Solves every puzzle in a batch.
+     *
+     * @param puzzles The String representations of the Sudoku boards, in the same format accepted
+     *                by the SudokuBoard constructor
+     * @return The solved boards in the same order as the puzzles, with null for any puzzle that
+     * has no solution
+     */
+    public List<SudokuBoard> solveAll(List<String> puzzles) {
+        solvedByPropagation = 0;
+        solvedByFallback = 0;
+        List<SudokuBoard> solutions = new ArrayList<>(puzzles.size());
+        for (int start = 0; start < puzzles.size(); start += LANES) {
+            solveBlock(puzzles.subList(start, Math.min(start + LANES, puzzles.size())), solutions);
+        }
+        return solutions;
+    }
+
+    /**
+     * Solves a block of at most 64 puzzles, adding the solutions to the given List.
+     *
+     * @param block     The puzzles
+     * @param solutions The List to add the solutions to
+     */
+    private void solveBlock(List<String> block, List<SudokuBoard> solutions) {
+        // The candidates of each value of each square, indexed by square * SIZE + value - 1
+        long[] candidates = new long[SQUARES * SIZE];
+        // The lanes in which the value of a square has been ruled out of its peers
+        long[] propagated = new long[SQUARES * SIZE];
+        long lanes = 0;
+        for (int lane = 0; lane < block.size(); lane++) {
+            int[] values = parse(block.get(lane));
+            if (values == null) continue;
+            long bit = 1L << lane;
+            lanes |= bit;
+            for (int square = 0; square < SQUARES; square++) {
+                for (int value = 1; value <= SIZE; value++) {
+                    if (values[square] == 0 || values[square] == value) {
+                        candidates[square * SIZE + value - 1] |= bit;
+                    }
+                }
+            }
+        }
+
+        long contradictions = propagate(candidates, propagated, lanes);
+        // A lane is solved if every square has exactly one candidate
+        long solved = lanes & ~contradictions;
+        for (int square = 0; square < SQUARES && solved != 0; square++) {
+            long one = 0;
+            long two = 0;
+            for (int value = 0; value < SIZE; value++) {
+                long lane = candidates[square * SIZE + value];
+                two |= one & lane;
+                one |= lane;
+            }
+            solved &= one & ~two;
+        }
+
+        for (int lane = 0; lane < block.size(); lane++) {
+            long bit = 1L << lane;
+            if ((solved & bit) != 0) {
+                solvedByPropagation++;
+                solutions.add(SudokuBoard.fromSolution(toValues(candidates, bit)));
+            } else if ((lanes & ~contradictions & bit) != 0) {
+                solutions.add(solveWithFallback(toBoardString(candidates, bit)));
+            } else {
+                // Let the fallback solver report puzzles that are not 9x9 or have no solution
+                solutions.add(solveWithFallback(block.get(lane)));
+            }
+        }
+    }
+
+    /**
+     * Propagates naked and hidden singles in every lane until nothing changes.
+     *
+     * @param candidates The candidates of each value of each square
+     * @param propagated The lanes in which each value of each square has been propagated
+     * @param lanes      The lanes containing puzzles
+     * @return The lanes in which a square has no candidates or a value has no square left in a
+     * row, column or box
+     */
+    private static long propagate(long[] candidates, long[] propagated, long lanes) {
+        long contradictions = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+
+            // Naked singles: rule the only candidate of a square out of its peers
+            for (int square = 0; square < SQUARES; square++) {
+                int base = square * SIZE;
+                long one = 0;
+                long two = 0;
+                for (int value = 0; value < SIZE; value++) {
+                    long lane = candidates[base + value];
+                    two |= one & lane;
+                    one |= lane;
+                }
+                contradictions |= lanes & ~one;
+                long single = one & ~two;
+                if (single == 0) continue;
+                for (int value = 0; value < SIZE; value++) {
+                    long assigned = single & candidates[base + value] & ~propagated[base + value];
+                    if (assigned == 0) continue;
+                    propagated[base + value] |= assigned;
+                    for (int peer : PEERS[square]) {
+                        candidates[peer * SIZE + value] &= ~assigned;
+                    }
+                    changed = true;
+                }
+            }
+
+            // Hidden singles: assign a value to the only square of a unit it can go in
+            for (int[] unit : UNITS) {
+                for (int value = 0; value < SIZE; value++) {
+                    long one = 0;
+                    long two = 0;
+                    for (int square : unit) {
+                        long lane = candidates[square * SIZE + value];
+                        two |= one & lane;
+                        one |= lane;
+                    }
+                    contradictions |= lanes & ~one;
+                    long single = one & ~two;
+                    if (single == 0) continue;
+                    for (int square : unit) {
+                        long assigned = single & candidates[square * SIZE + value];
+                        if (assigned == 0) continue;
+                        for (int other = 0; other < SIZE; other++) {
+                            int index = square * SIZE + other;
+                            if (other != value && (candidates[index] & assigned) != 0) {
+                                candidates[index] &= ~assigned;
+                                changed = true;
+                            }
+                        }
+                    }
+                }
+            }
+            // Each contradiction only needs to be found once
+            lanes &= ~contradictions;
+        }
+        return contradictions;
+    }
+
+    /**
+     * Solves a single puzzle with the fallback solver.
+     *
+     * @param puzzle The String representation of the Sudoku board
+     * @return The solved board, or null if the puzzle has no solution
+     */
+    private SudokuBoard solveWithFallback(String puzzle) {
+        solvedByFallback++;
+        try {
+            return fallback.solve(puzzle);
+        } catch (IllegalStateException e) {
+            // The puzzle was found to be unsolvable
+            return null;
+        }
+    }
+
+    /**
+     * Parses a 9x9 puzzle into an array of the values of every square, without creating a
+     * SudokuBoard. Also used by BitboardSolver.
+     *
+     * @param puzzle The String representation of the Sudoku board
+     * @return The values of the squares, where 0 is an empty square, or null if the puzzle is not
+     * a valid 9x9 board
+     */
+    static int[] parse(String puzzle) {
+        return parse(puzzle, SIZE);
+    }
+
+    /**
+     * Parses a puzzle of the given size into an array of the values of every square, without
+     * creating a SudokuBoard.
+     *
+     * @param puzzle The String representation of the Sudoku board
+     * @param size   The expected size of the board
+     * @return The values of the squares, where 0 is an empty square, or null if the puzzle is not
+     * a valid board of the given size
+     */
+    static int[] parse(String puzzle, int size) {
+        String[] rows = puzzle.split("\n");
+        if (rows.length != size) return null;
+        int[] values = new int[size * size];
+        for (int row = 0; row < size; row++) {
+            String[] squares = rows[row].split(",");
+            if (squares.length != size) return null;
+            for (int column = 0; column < size; column++) {
+                String square = squares[column];
+                if (!Character.isDigit(square.charAt(0))) continue;
+                int value = 0;
+                for (int i = 0; i < square.length() && value <= size; i++) {
+                    char digit = square.charAt(i);
+                    if (!Character.isDigit(digit)) return null;
+                    value = value * 10 + digit - '0';
+                }
+                if (value < 1 || value > size) return null;
+                values[row * size + column] = value;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns the String representation of a lane, with empty squares for squares that have more
+     * than one candidate left.
+     *
+     * @param candidates The candidates of each value of each square
+     * @param lane       The bit of the lane
+     * @return The String representation of the board
+     */
+    private static String toBoardString(long[] candidates, long lane) {
+        StringBuilder result = new StringBuilder(SQUARES * 2);
+        for (int square = 0; square < SQUARES; square++) {
+            int found = 0;
+            for (int value = 0; value < SIZE; value++) {
+                if ((candidates[square * SIZE + value] & lane) != 0) {
+                    found = found == 0 ? value + 1 : -1;
+                }
+            }
+            result.append(found > 0 ? (char) ('0' + found) : '*');
+            result.append(square % SIZE == SIZE - 1 ? '\n' : ',');
+        }
+        return result.toString();
+    }
+
+    /**
+     * Returns the values of a solved lane.
+     *
+     * @param candidates The candidates of each value of each square
+     * @param lane       The bit of the lane
+     * @return The values of every square
+     */
+    private static int[][] toValues(long[] candidates, long lane) {
+        int[][] values = new int[SIZE][SIZE];
+        for (int square = 0; square < SQUARES; square++) {
+            for (int value = 0; value < SIZE; value++) {
+                if ((candidates[square * SIZE + value] & lane) != 0) {
+                    values[square / SIZE][square % SIZE] = value + 1;
+                    break;
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns the fallback solver used for puzzles that propagation does not finish.
+     *
+     * @return The fallback solver
+     */
+    public SudokuSolver getFallback() {
+        return fallback;
+    }
+
+    /**
+     * Returns the number of puzzles solved by propagation alone during the most recent call to
+     * solveAll.
+     *
+     * @return The number of puzzles solved by propagation
+     */
+    public long getSolvedByPropagation() {
+        return solvedByPropagation;
+    }
+
+    /**
+     * Returns the number of puzzles handed to the fallback solver during the most recent call to
+     * solveAll.
+     *
+     * @return The number of puzzles handed to the fallback solver
+     */
+    public long getSolvedByFallback() {
+        return solvedByFallback;
+    }
+}
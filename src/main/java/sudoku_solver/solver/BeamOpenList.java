@@ -0,0 +1,356 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.enums.ValueOrdering;
+import sudoku_solver.model.SudokuBoard;
+import sudoku_solver.model.SuccessorIterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This class represents an open list for beam search, which holds at most a fixed number of
+ * boards (the width of the beam) at each depth.
+ * <p>
+ * Boards are processed one level at a time. The successors of the boards in the current level are
+ * scored as they are generated and offered to the next level, which keeps the best width boards in
+ * a bounded max-heap, so the worst board is replaced whenever a better one arrives. Boards that
+ * are replaced or turned away are released straight away. Once every board in the current level
+ * has been removed, the next level becomes the current one, best first. The list therefore never
+ * holds more than two levels of width boards, however hard the puzzle is.
+ * <p>
+ * As boards are discarded, an empty list does not prove that a puzzle has no solution unless no
+ * board was ever pruned, which getBoardsPruned reports. Boards passed to add() join the next level
+ * like any other. Restored boards return to the levels they were taken from, or all form the
+ * current level if no state was saved with them, so that none are lost.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class BeamOpenList implements OpenList {
+    private final HeuristicScorer scorer;
+    private int width;
+    // The current level, best first, and the index of the next board to remove from it
+    private List<SudokuBoard> current = new ArrayList<>();
+    private int position;
+    // The next level as a max-heap on (score, order), so the worst board is at the root
+    private SudokuBoard[] next;
+    private long[] scores;
+    private long[] sequence;
+    private int nextSize;
+    private long added;
+    private int depth;
+    private long boardsPruned;
+    // Whether the list has been cleared since a board was last added, in which case the next board
+    // starts a new search
+    private boolean cleared = true;
+
+    /**
+     * Constructs a new BeamOpenList object.
+     *
+     * @param width  The maximum number of boards to keep at each depth. Must be positive.
+     * @param scorer The heuristic used to choose which boards to keep
+     */
+    public BeamOpenList(int width, HeuristicScorer scorer) {
+        this.scorer = scorer;
+        setWidth(width);
+    }
+
+    /**
+     * Changes the maximum number of boards kept at each depth. Should only be called while the
+     * list is empty.
+     *
+     * @param width The maximum number of boards to keep at each depth. Must be positive.
+     */
+    public void setWidth(int width) {
+        if (width < 1) {
+            throw new IllegalArgumentException("Beam width must be positive");
+        }
+        this.width = width;
+        next = new SudokuBoard[width];
+        scores = new long[width];
+        sequence = new long[width];
+        nextSize = 0;
+    }
+
+    /**
+     * Offers a board to the next level.
+     *
+     * @param board The board to add
+     */
+    @Override
+    public void add(SudokuBoard board) {
+        offer(board);
+    }
+
+    /**
+     * Generates the successors of the given board one at a time and offers each to the next
+     * level, so that no more than width of them are held at once. The board is released
+     * afterwards as the list does not refer to it.
+     *
+     * @param board         The board whose successors should be added
+     * @param valueOrdering The order in which the candidate values of a square are tried
+     */
+    @Override
+    public void addSuccessors(SudokuBoard board, ValueOrdering valueOrdering) {
+        SuccessorIterator successors = board.getSuccessorIterator(valueOrdering);
+        while (successors.hasNext()) {
+            offer(successors.next());
+        }
+        board.release();
+    }
+
+    /**
+     * Scores a board and adds it to the next level if it is among the best width boards offered
+     * so far, releasing whichever board is dropped. Solved boards are instead made the next board
+     * to be removed, so that they are returned without expanding the rest of the current level.
+     *
+     * @param board The board to offer
+     */
+    private void offer(SudokuBoard board) {
+        if (cleared) start();
+        if (board.solved()) {
+            // Return a solution straight away rather than after the rest of the current level
+            current.add(position, board);
+            return;
+        }
+        long score = scorer.score(board, depth + 1);
+        long order = added++;
+        if (nextSize < width) {
+            // Sift up
+            int index = nextSize++;
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!isWorse(score, order, scores[parent], sequence[parent])) break;
+                set(index, next[parent], scores[parent], sequence[parent]);
+                index = parent;
+            }
+            set(index, board, score, order);
+            return;
+        }
+        boardsPruned++;
+        if (!isWorse(scores[0], sequence[0], score, order)) {
+            board.release();
+            return;
+        }
+        next[0].release();
+        // Sift down from the root
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= nextSize) break;
+            int right = child + 1;
+            if (right < nextSize &&
+                    isWorse(scores[right], sequence[right], scores[child], sequence[child])) {
+                child = right;
+            }
+            if (!isWorse(scores[child], sequence[child], score, order)) break;
+            set(index, next[child], scores[child], sequence[child]);
+            index = child;
+        }
+        set(index, board, score, order);
+    }
+
+    /**
+     * Resets the statistics when the first board of a new search is added.
+     */
+    private void start() {
+        cleared = false;
+        boardsPruned = 0;
+    }
+
+    /**
+     * Checks whether a board is worse than another, comparing scores and then the order in which
+     * they were offered.
+     *
+     * @param score      The score of the board
+     * @param order      The sequence number of the board
+     * @param otherScore The score of the other board
+     * @param otherOrder The sequence number of the other board
+     * @return True if the board is worse and false otherwise
+     */
+    private static boolean isWorse(long score, long order, long otherScore, long otherOrder) {
+        return score > otherScore || (score == otherScore && order > otherOrder);
+    }
+
+    /**
+     * Stores a board at an index of the next level.
+     *
+     * @param index The index
+     * @param board The board
+     * @param score The score of the board
+     * @param order The sequence number of the board
+     */
+    private void set(int index, SudokuBoard board, long score, long order) {
+        next[index] = board;
+        scores[index] = score;
+        sequence[index] = order;
+    }
+
+    /**
+     * Removes and returns the next board of the current level, moving on to the next level first
+     * if the current one has been used up.
+     *
+     * @return The next board to be processed
+     */
+    @Override
+    public SudokuBoard remove() {
+        if (position == current.size()) nextLevel();
+        SudokuBoard board = current.get(position);
+        current.set(position++, null);
+        return board;
+    }
+
+    /**
+     * Makes the next level the current one, ordered best first.
+     */
+    private void nextLevel() {
+        Integer[] indexes = nextOrder();
+        current = new ArrayList<>(nextSize);
+        for (int index : indexes) {
+            current.add(next[index]);
+        }
+        Arrays.fill(next, 0, nextSize, null);
+        nextSize = 0;
+        position = 0;
+        depth++;
+    }
+
+    /**
+     * Returns the indexes of the boards in the next level, best first.
+     *
+     * @return The indexes of the next level in order
+     */
+    private Integer[] nextOrder() {
+        Integer[] indexes = new Integer[nextSize];
+        for (int i = 0; i < nextSize; i++) {
+            indexes[i] = i;
+        }
+        Arrays.sort(indexes, Comparator.<Integer>comparingLong(i -> scores[i])
+                .thenComparingLong(i -> sequence[i]));
+        return indexes;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return True if there are no boards left to process and false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of boards in the current and next levels.
+     *
+     * @return The number of boards left to process
+     */
+    @Override
+    public int size() {
+        return current.size() - position + nextSize;
+    }
+
+    /**
+     * Removes all boards from the list and resets it to the first level. The number of boards
+     * pruned is kept until the next board is added, so it can still be read once a search has
+     * finished.
+     */
+    @Override
+    public void clear() {
+        current = new ArrayList<>();
+        position = 0;
+        Arrays.fill(next, 0, nextSize, null);
+        nextSize = 0;
+        depth = 0;
+        added = 0;
+        cleared = true;
+    }
+
+    /**
+     * Returns the remaining boards of the current level followed by the next level, best first,
+     * without removing them.
+     *
+     * @return The boards in the list
+     */
+    @Override
+    public List<SudokuBoard> snapshot() {
+        List<SudokuBoard> boards = new ArrayList<>(current.subList(position, current.size()));
+        for (int index : nextOrder()) {
+            boards.add(next[index]);
+        }
+        return boards;
+    }
+
+    /**
+     * Returns the width of the beam, the depth of the current level, how many of the boards
+     * returned by snapshot() belong to the current level and the number of boards pruned so far,
+     * capped at the largest int.
+     *
+     * @return The state of the list
+     */
+    @Override
+    public int[] snapshotState() {
+        return new int[]{width, depth, current.size() - position,
+                (int) Math.min(boardsPruned, Integer.MAX_VALUE)};
+    }
+
+    /**
+     * Adds boards returned by snapshot() with the state returned by snapshotState(), so that the
+     * list keeps its width, its depth and its count of pruned boards, and the boards of the next
+     * level are scored again at the same depth.
+     *
+     * @param boards The boards to add, in the order they should be removed
+     * @param state  The state of the list when the boards were taken, or an empty array to make
+     *               every board part of the current level
+     */
+    @Override
+    public void restore(List<SudokuBoard> boards, int[] state) {
+        if (state.length == 0) {
+            restore(boards);
+            return;
+        }
+        setWidth(state[0]);
+        start();
+        depth = state[1];
+        current = new ArrayList<>(boards.subList(0, state[2]));
+        position = 0;
+        for (SudokuBoard board : boards.subList(state[2], boards.size())) {
+            offer(board);
+        }
+        boardsPruned = state[3];
+    }
+
+    /**
+     * Makes the given boards the current level, in order, regardless of the width of the beam.
+     *
+     * @param boards The boards to add, in the order they should be removed
+     */
+    @Override
+    public void restore(List<SudokuBoard> boards) {
+        if (cleared) start();
+        current = new ArrayList<>(boards);
+        position = 0;
+    }
+
+    /**
+     * Returns the maximum number of boards kept at each depth.
+     *
+     * @return The width of the beam
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the number of boards dropped from the beam since the list was last cleared and
+     * then added to.
+     *
+     * @return The number of boards pruned
+     */
+    public long getBoardsPruned() {
+        return boardsPruned;
+    }
+}
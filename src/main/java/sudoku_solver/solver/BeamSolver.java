@@ -0,0 +1,193 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.enums.Heuristic;
+import sudoku_solver.model.SudokuBoard;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * This class represents a Sudoku solver based on beam search, which uses a fixed amount of memory
+ * however hard the puzzle is.
+ * <p>
+ * The solver searches one depth at a time using a BeamOpenList, keeping only the best boards at
+ * each depth according to a HeuristicScorer (by default, the ordering of the compareTo method of
+ * SudokuBoard). Memory use is therefore bounded by the width of the beam rather than by the size
+ * of the search tree, but the search is incomplete: the boards leading to the solution may be
+ * dropped. If the beam empties without finding a solution after pruning boards, the solver can
+ * widen the beam by a constant factor and try again from the start, up to a maximum width. A
+ * search that empties without pruning any boards was exhaustive, so it proves there is no
+ * solution.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class BeamSolver extends SudokuSolver {
+    public static final int DEFAULT_WIDTH = 4;
+    public static final int DEFAULT_MAX_WIDTH = 1 << 20;
+    public static final int WIDENING_FACTOR = 4;
+    private final int width;
+    private final int maxWidth;
+    private long totalNodesExpanded;
+    private long totalCheckpointsWritten;
+    private int widenings;
+
+    /**
+     * Constructs a new BeamSolver object with the default width, which widens the beam up to the
+     * default maximum width if it empties without a solution.
+     */
+    public BeamSolver() {
+        this(DEFAULT_WIDTH, DEFAULT_MAX_WIDTH, Heuristic.SQUARES_REMAINING);
+    }
+
+    /**
+     * Constructs a new BeamSolver object that never widens the beam.
+     *
+     * @param width The maximum number of boards to keep at each depth. Must be positive.
+     */
+    public BeamSolver(int width) {
+        this(width, width, Heuristic.SQUARES_REMAINING);
+    }
+
+    /**
+     * Constructs a new BeamSolver object.
+     *
+     * @param width    The maximum number of boards to keep at each depth to begin with. Must be
+     *                 positive.
+     * @param maxWidth The width up to which the beam is widened if it empties without a solution.
+     *                 Must be at least width. If it equals width, the beam is never widened.
+     * @param scorer   The heuristic used to choose which boards to keep
+     */
+    public BeamSolver(int width, int maxWidth, HeuristicScorer scorer) {
+        super(new BeamOpenList(width, scorer));
+        if (maxWidth < width) {
+            throw new IllegalArgumentException("Maximum beam width cannot be less than the width");
+        }
+        this.width = width;
+        this.maxWidth = maxWidth;
+    }
+
+    /**
+     * Solves the Sudoku puzzle specified by the String board, widening the beam and starting
+     * again whenever it empties without a solution after pruning boards.
+     *
+     * @param board The String representation of the Sudoku board
+     * @return A solved SudokuBoard object if one is found and otherwise null
+     */
+    @Override
+    public SudokuBoard solve(String board) {
+        ((BeamOpenList) getOpenList()).setWidth(width);
+        totalNodesExpanded = 0;
+        totalCheckpointsWritten = 0;
+        widenings = 0;
+        return widen(board, super.solve(board));
+    }
+
+    /**
+     * Resumes a solve from a checkpoint file. The search that was running when the checkpoint was
+     * taken is finished with the width saved in the checkpoint, after which the beam is widened
+     * and the search starts again from the puzzle, as in solve.
+     *
+     * @param checkpointFile The checkpoint file to resume from
+     * @return A solved SudokuBoard object if one is found and otherwise null
+     * @throws IOException If the checkpoint file could not be read
+     */
+    @Override
+    public SudokuBoard resume(Path checkpointFile) throws IOException {
+        // Read first, as the checkpoint is deleted once the resumed search finishes
+        String board = SolverCheckpoint.readPuzzle(checkpointFile);
+        totalNodesExpanded = 0;
+        totalCheckpointsWritten = 0;
+        widenings = 0;
+        return widen(board, super.resume(checkpointFile));
+    }
+
+    /**
+     * Widens the beam and starts again from the puzzle until a search finds a solution, prunes
+     * no boards or reaches the maximum width.
+     *
+     * @param board    The String representation of the Sudoku board
+     * @param solution The result of the search that has just run
+     * @return A solved SudokuBoard object if one is found and otherwise null
+     */
+    private SudokuBoard widen(String board, SudokuBoard solution) {
+        BeamOpenList beam = (BeamOpenList) getOpenList();
+        while (true) {
+            totalNodesExpanded += super.getNodesExpanded();
+            totalCheckpointsWritten += super.getCheckpointsWritten();
+            if (isFinished(solution)) return solution;
+            beam.setWidth((int) Math.min(maxWidth, (long) beam.getWidth() * WIDENING_FACTOR));
+            widenings++;
+            solution = super.solve(board);
+        }
+    }
+
+    /**
+     * Checks whether a search that ran to completion is the last one, so that the checkpoint is
+     * kept until the search with a wider beam replaces it. A search that finishes as the thread is
+     * interrupted keeps its checkpoint, so that resuming it goes on to widen the beam.
+     *
+     * @param solution The solution found by the search, or null if none was found
+     * @return True if the beam would not be widened
+     */
+    @Override
+    protected boolean isLastSearch(SudokuBoard solution) {
+        BeamOpenList beam = (BeamOpenList) getOpenList();
+        return solution != null || beam.getBoardsPruned() == 0 || beam.getWidth() >= maxWidth;
+    }
+
+    /**
+     * Checks whether the solver should stop after a search, because it was the last one or the
+     * thread was interrupted.
+     *
+     * @param solution The result of the search
+     * @return True if the beam should not be widened
+     */
+    private boolean isFinished(SudokuBoard solution) {
+        return isLastSearch(solution) || Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Returns the number of checkpoints written during the most recent call to solve or resume,
+     * over every width of the beam that was tried.
+     *
+     * @return The number of checkpoints written
+     */
+    @Override
+    public long getCheckpointsWritten() {
+        return totalCheckpointsWritten;
+    }
+
+    /**
+     * Returns the number of nodes expanded during the most recent call to solve, over every width
+     * of the beam that was tried.
+     *
+     * @return The number of nodes expanded
+     */
+    @Override
+    public long getNodesExpanded() {
+        return totalNodesExpanded;
+    }
+
+    /**
+     * Returns the number of times the beam was widened during the most recent call to solve or
+     * resume.
+     *
+     * @return The number of times the beam was widened
+     */
+    public int getWidenings() {
+        return widenings;
+    }
+
+    /**
+     * Returns false, as the beam may stop widening at its maximum width after pruning the boards
+     * that lead to a solution.
+     *
+     * @return False
+     */
+    @Override
+    public boolean isComplete() {
+        return false;
+    }
+}
@@ -1,18 +1,17 @@
 package sudoku_solver.solver;
 
-import sudoku_solver.model.SudokuBoard;
-
 import java.util.PriorityQueue;
 
 /**
  * This class represents a Sudoku solver based on best-first search algorithm.
  * <p>
  * It extends the SudokuSolver abstract class and maintains an open list of Sudoku boards
- * represented as a PriorityQueue. It provides methods to solve a Sudoku puzzle using best-first
- * search and retrieve the next Sudoku board from the open list.
+ * represented as a PriorityQueue, so the board with the best heuristic value (as defined by the
+ * compareTo method of SudokuBoard) is always processed next. Other heuristics can be plugged in
+ * with a HeuristicScorer, such as the constants of the Heuristic enum.
  *
  * @author Savraj Bassi
- * @version 04/03/2024
+ * @version 19/10/2026
  */
 
 public class BestFirstSolver extends SudokuSolver {
@@ -21,16 +20,40 @@ public class BestFirstSolver extends SudokuSolver {
      * Constructs a new BestFirstSolver object, initialising the openList as an empty PriorityQueue.
      */
     public BestFirstSolver() {
-        super(new PriorityQueue<>());
+        super(new QueueOpenList(new PriorityQueue<>()));
+    }
+
+    /**
+     * Constructs a new BestFirstSolver object that orders boards by the given heuristic. Each board
+     * is scored once when it is added to the open list, rather than compared on every sift.
+     *
+     * @param scorer The heuristic used to score boards, such as one of the Heuristic constants
+     */
+    public BestFirstSolver(HeuristicScorer scorer) {
+        super(new ScoredOpenList(scorer));
+    }
+
+    /**
+     * Constructs a new BestFirstSolver object whose open list stores boards compactly as
+     * DeltaNodes, which are recreated when removed. This allows far larger open lists to fit in
+     * memory at the cost of replaying constraint propagation for each board that is processed.
+     *
+     * @param checkpointInterval The maximum number of levels between boards that are stored in
+     *                           full. Smaller values use more memory but less time recreating
+     *                           boards.
+     */
+    public BestFirstSolver(int checkpointInterval) {
+        super(DeltaOpenList.createBestFirst(checkpointInterval));
     }
 
     /**
-     * Retrieves the next Sudoku board from the open list, using the remove method.
+     * Constructs a new BestFirstSolver object that uses the given open list, which must return
+     * boards in best-first order. For example, an OffHeapOpenList can be used to keep very large
+     * open lists outside the Java heap.
      *
-     * @return The next Sudoku board to be processed
+     * @param openList The OpenList to be used for storing SudokuBoard objects
      */
-    @Override
-    protected SudokuBoard getNextBoard() {
-        return ((PriorityQueue<SudokuBoard>) getOpenList()).remove();
+    public BestFirstSolver(OpenList openList) {
+        super(openList);
     }
 }
@@ -0,0 +1,337 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.model.SudokuBoard;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a depth-first solver specialised for 16x16 Sudoku puzzles that stores the
+ * board digit-major, in the same way as BitboardSolver does for 9x9 puzzles.
+ * <p>
+ * Each digit has a 256-bit plane of the squares in which it is still a candidate, stored in four
+ * longs. Every row covers 16 bits, so each long holds four whole rows and therefore also four whole
+ * boxes. Removing a digit from a row, column and box is four AND-NOTs against a precomputed mask of
+ * the peers of the square, rather than a loop over 48 CandidateSets. Naked singles are found by
+ * counting the planes bit-sliced across 64 squares at a time, hidden singles by intersecting a
+ * plane with a precomputed mask of a unit, and the square with the fewest candidates by a
+ * bit-sliced counter that covers 64 squares at a time. The board is 68 longs and the search copies
+ * it onto a preallocated stack.
+ * <p>
+ * The search branches on a square with the fewest candidates, trying its digits in ascending
+ * order. Puzzles that are not 16x16 are solved by a Table4Solver instead, which looks up 4x4
+ * puzzles in a table of every 4x4 grid. If the search finds no solution, the puzzle is parsed
+ * into a SudokuBoard, so that invalid puzzles throw the same exceptions as the other solvers.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class Bitboard16Solver extends SudokuSolver {
+    private static final int SIZE = 16;
+    private static final int BOX_SIZE = 4;
+    private static final int SQUARES = SIZE * SIZE;
+    private static final int WORDS = SQUARES / Long.SIZE;
+    private static final int UNITS = SIZE * 3;
+    private static final long ALL_UNITS = (1L << UNITS) - 1;
+    // The board is stored as the four longs of each digit plane followed by the four longs of the
+    // mask of squares that have been given a digit
+    private static final int SOLVED = SIZE * WORDS;
+    private static final int STATE_SIZE = SOLVED + WORDS;
+    // The peers of each square and the squares of each unit, four longs each
+    private static final long[] PEERS = new long[SQUARES * WORDS];
+    private static final long[] UNIT_SQUARES = new long[UNITS * WORDS];
+    // The row, column and box of every square as a mask of unit indexes
+    private static final long[] SQUARE_UNITS = new long[SQUARES];
+    private final SudokuSolver fallback = new Table4Solver();
+    // One board for every level of the search, plus the initial board
+    private final long[] stack = new long[(SQUARES + 1) * STATE_SIZE];
+    // The units of each digit plane that have changed since they were last checked for hidden
+    // singles
+    private final long[] dirtyUnits = new long[SIZE];
+    private long nodesExpanded;
+
+    static {
+        for (int square = 0; square < SQUARES; square++) {
+            int row = square / SIZE;
+            int column = square % SIZE;
+            int box = row / BOX_SIZE * BOX_SIZE + column / BOX_SIZE;
+            int[] units = {row, SIZE + column, 2 * SIZE + box};
+            for (int unit : units) {
+                SQUARE_UNITS[square] |= 1L << unit;
+                UNIT_SQUARES[unit * WORDS + square / Long.SIZE] |= 1L << square;
+            }
+        }
+        for (int square = 0; square < SQUARES; square++) {
+            long units = SQUARE_UNITS[square];
+            while (units != 0) {
+                int unit = Long.numberOfTrailingZeros(units);
+                units &= units - 1;
+                for (int word = 0; word < WORDS; word++) {
+                    PEERS[square * WORDS + word] |= UNIT_SQUARES[unit * WORDS + word];
+                }
+            }
+            PEERS[square * WORDS + square / Long.SIZE] &= ~(1L << square);
+        }
+    }
+
+    /**
+     * Constructs a new Bitboard16Solver object.
+     */
+    public Bitboard16Solver() {
+    }
+
+    /**
+     * Solves the Sudoku puzzle specified by the String board using digit planes.
+     *
+     * @param board The String representation of the Sudoku board
+     * @return A solved SudokuBoard object if it exists and otherwise null
+     */
+    @Override
+    public SudokuBoard solve(String board) {
+        nodesExpanded = 0;
+        long startTime = System.currentTimeMillis();
+        int[] values = BatchSolver.parse(board, SIZE);
+        if (values == null) {
+            // The fallback throws an exception if the puzzle is invalid
+            SudokuBoard solution = solveWith(fallback, board);
+            nodesExpanded = fallback.getNodesExpanded();
+            return solution;
+        }
+
+        Arrays.fill(stack, 0, SOLVED, -1L);
+        Arrays.fill(stack, SOLVED, STATE_SIZE, 0);
+        Arrays.fill(dirtyUnits, ALL_UNITS);
+        boolean consistent = true;
+        for (int square = 0; square < SQUARES && consistent; square++) {
+            if (values[square] != 0) {
+                consistent = place(0, square, values[square] - 1);
+            }
+        }
+        if (!consistent || !search(0)) {
+            // Throws an IllegalStateException if SudokuBoard can also tell there is no solution
+            new SudokuBoard(board);
+            return null;
+        }
+
+        int[][] solution = new int[SIZE][SIZE];
+        for (int digit = 0; digit < SIZE; digit++) {
+            for (int word = 0; word < WORDS; word++) {
+                long plane = stack[digit * WORDS + word];
+                while (plane != 0) {
+                    int square = word * Long.SIZE + Long.numberOfTrailingZeros(plane);
+                    plane &= plane - 1;
+                    solution[square / SIZE][square % SIZE] = digit + 1;
+                }
+            }
+        }
+        recordTime(board, System.currentTimeMillis() - startTime);
+        return SudokuBoard.fromSolution(solution);
+    }
+
+    /**
+     * Searches for a solution from the board at the given level of the stack. When a solution is
+     * found, it is copied to the bottom of the stack.
+     *
+     * @param level The level of the board in the stack
+     * @return True if a solution was found and false otherwise
+     */
+    private boolean search(int level) {
+        int offset = level * STATE_SIZE;
+        if (!propagate(offset)) return false;
+        boolean solved = true;
+        for (int word = 0; word < WORDS && solved; word++) {
+            solved = stack[offset + SOLVED + word] == -1L;
+        }
+        if (solved) {
+            if (level > 0) System.arraycopy(stack, offset, stack, 0, STATE_SIZE);
+            return true;
+        }
+        // Terminate the search if an interrupt is issued
+        if (Thread.currentThread().isInterrupted()) return false;
+
+        int square = chooseSquare(offset);
+        int next = offset + STATE_SIZE;
+        for (int digit = 0; digit < SIZE; digit++) {
+            if (!isCandidate(offset, square, digit)) continue;
+            nodesExpanded++;
+            System.arraycopy(stack, offset, stack, next, STATE_SIZE);
+            // Anything left over from a failed sibling no longer applies
+            Arrays.fill(dirtyUnits, 0);
+            if (place(next, square, digit) && search(level + 1)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Places a digit in a square, removing every other digit from the square and the digit from
+     * the peers of the square, and marks the units that may now contain hidden singles.
+     *
+     * @param offset The offset of the board in the stack
+     * @param square The square
+     * @param digit  The digit, starting from 0
+     * @return False if the digit is no longer a candidate for the square and true otherwise
+     */
+    private boolean place(int offset, int square, int digit) {
+        if (!isCandidate(offset, square, digit)) return false;
+        long squareUnits = SQUARE_UNITS[square];
+        int word = square / Long.SIZE;
+        long bit = 1L << square;
+        for (int other = 0; other < SIZE; other++) {
+            dirtyUnits[other] |= squareUnits;
+            stack[offset + other * WORDS + word] &= ~bit;
+        }
+        dirtyUnits[digit] = ALL_UNITS;
+        int plane = offset + digit * WORDS;
+        int peers = square * WORDS;
+        for (int i = 0; i < WORDS; i++) {
+            stack[plane + i] &= ~PEERS[peers + i];
+        }
+        stack[plane + word] |= bit;
+        stack[offset + SOLVED + word] |= bit;
+        return true;
+    }
+
+    /**
+     * Places every naked and hidden single until none are left.
+     *
+     * @param offset The offset of the board in the stack
+     * @return False if a square has no candidates or a digit has no square left in a row, column
+     * or box, and true otherwise
+     */
+    private boolean propagate(int offset) {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+
+            for (int word = 0; word < WORDS; word++) {
+                // Count the candidates of 64 squares at once, saturating at two
+                long one = 0;
+                long two = 0;
+                for (int digit = 0; digit < SIZE; digit++) {
+                    long plane = stack[offset + digit * WORDS + word];
+                    two |= one & plane;
+                    one |= plane;
+                }
+                if (one != -1L) return false;
+
+                long singles = one & ~two & ~stack[offset + SOLVED + word];
+                while (singles != 0) {
+                    int square = word * Long.SIZE + Long.numberOfTrailingZeros(singles);
+                    singles &= singles - 1;
+                    // An earlier single may have taken the only candidate of this square
+                    int digit = 0;
+                    while (digit < SIZE && !isCandidate(offset, square, digit)) digit++;
+                    if (digit == SIZE || !place(offset, square, digit)) return false;
+                    changed = true;
+                }
+            }
+            if (changed) continue;
+
+            for (int digit = 0; digit < SIZE; digit++) {
+                long units = dirtyUnits[digit];
+                dirtyUnits[digit] = 0;
+                int plane = offset + digit * WORDS;
+                while (units != 0) {
+                    int unit = Long.numberOfTrailingZeros(units);
+                    units &= units - 1;
+                    int count = 0;
+                    int square = -1;
+                    for (int word = 0; word < WORDS; word++) {
+                        long squares = stack[plane + word] & UNIT_SQUARES[unit * WORDS + word];
+                        if (squares != 0) {
+                            count += Long.bitCount(squares);
+                            square = word * Long.SIZE + Long.numberOfTrailingZeros(squares);
+                        }
+                    }
+                    if (count == 0) return false;
+                    if (count > 1) continue;
+                    if (!isSolved(offset, square)) {
+                        place(offset, square, digit);
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns an unsolved square with the fewest candidates.
+     *
+     * @param offset The offset of the board in the stack
+     * @return The square
+     */
+    private int chooseSquare(int offset) {
+        int best = -1;
+        int bestCount = SIZE + 1;
+        for (int word = 0; word < WORDS; word++) {
+            // Count the candidates of 64 squares at once in a five bit counter per square
+            long bit0 = 0;
+            long bit1 = 0;
+            long bit2 = 0;
+            long bit3 = 0;
+            long bit4 = 0;
+            for (int digit = 0; digit < SIZE; digit++) {
+                long carry = stack[offset + digit * WORDS + word];
+                long next = bit0 & carry;
+                bit0 ^= carry;
+                carry = next;
+                next = bit1 & carry;
+                bit1 ^= carry;
+                carry = next;
+                next = bit2 & carry;
+                bit2 ^= carry;
+                carry = next;
+                next = bit3 & carry;
+                bit3 ^= carry;
+                bit4 |= next;
+            }
+            long unsolved = ~stack[offset + SOLVED + word];
+            for (int count = 2; count < bestCount; count++) {
+                long squares = unsolved & ((count & 1) != 0 ? bit0 : ~bit0) &
+                        ((count & 2) != 0 ? bit1 : ~bit1) & ((count & 4) != 0 ? bit2 : ~bit2) &
+                        ((count & 8) != 0 ? bit3 : ~bit3) & ((count & 16) != 0 ? bit4 : ~bit4);
+                if (squares != 0) {
+                    best = word * Long.SIZE + Long.numberOfTrailingZeros(squares);
+                    bestCount = count;
+                    break;
+                }
+            }
+            if (bestCount == 2) break;
+        }
+        return best;
+    }
+
+    /**
+     * Checks whether a digit is a candidate for a square.
+     *
+     * @param offset The offset of the board in the stack
+     * @param square The square
+     * @param digit  The digit, starting from 0
+     * @return True if the digit is a candidate and false otherwise
+     */
+    private boolean isCandidate(int offset, int square, int digit) {
+        return (stack[offset + digit * WORDS + square / Long.SIZE] >>> square & 1) != 0;
+    }
+
+    /**
+     * Checks whether a square has been given a digit.
+     *
+     * @param offset The offset of the board in the stack
+     * @param square The square
+     * @return True if the square has been given a digit and false otherwise
+     */
+    private boolean isSolved(int offset, int square) {
+        return (stack[offset + SOLVED + square / Long.SIZE] >>> square & 1) != 0;
+    }
+
+    /**
+     * Returns the number of guesses made during the most recent call to solve.
+     *
+     * @return The number of guesses
+     */
+    @Override
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+}
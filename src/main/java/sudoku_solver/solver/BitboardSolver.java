@@ -0,0 +1,512 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.model.SudokuBoard;
+
+/**
+ * This class represents a depth-first solver specialised for 9x9 Sudoku puzzles that stores the
+ * board digit-major rather than square-major.
+ * <p>
+ * SudokuBoard gives every square its own CandidateSet. This solver instead keeps one plane per
+ * digit: an 81-bit mask of the squares in which the digit is still a candidate, stored in two
+ * longs. The plane is split into three 27-bit bands of three rows each. The low long holds the top
+ * band in its lower half and the middle band in its upper half, and the high long holds the bottom
+ * band. Placing a digit then takes one AND-NOT per long against a precomputed mask of the peers of
+ * the square to remove the digit from its row, column and box, plus one AND-NOT per other digit
+ * to clear the square.
+ * <p>
+ * Every band of a plane must hold the digit once in each of its three rows and once in each of
+ * its three boxes, so the rows and boxes that still have the digit pick out which of the six ways
+ * of doing so remain. A table indexed by those nine bits gives the squares that any remaining way
+ * uses, so one lookup removes candidates that are locked to a row or box and finds bands with no
+ * way left. Only the bands that changed since they were last looked up are revisited, and a
+ * digit with a single square left in a row or box of a band (a hidden single) is found by
+ * intersecting the band with a mask of the unit. Hidden singles in columns are found by counting
+ * the rows of a plane bit-sliced, and squares with a single candidate (naked singles) by counting
+ * the planes bit-sliced across all 81 squares at once. The whole board is 20 longs, so the search
+ * copies it onto a preallocated stack instead of creating boards, and tries the last candidate
+ * of a square on the board it already has.
+ * <p>
+ * The search branches on a square with the fewest candidates, trying its digits in ascending
+ * order, so the value ordering of the solver is not used. Puzzles that are not 9x9 are solved by
+ * a Bitboard16Solver instead, which uses digit planes for 16x16 puzzles and passes 4x4 puzzles
+ * on to a Table4Solver. If the search finds no solution, the puzzle is parsed into a SudokuBoard,
+ * so that invalid puzzles throw the same exceptions as the other solvers.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class BitboardSolver extends SudokuSolver {
+    private static final int SIZE = 9;
+    private static final int SQUARES = SIZE * SIZE;
+    private static final int BANDS = 3;
+    private static final int BAND_SQUARES = SQUARES / BANDS;
+    // The bands start at bits 0 and 32 of the low long and bit 0 of the high long
+    private static final int BAND_BITS = Integer.SIZE;
+    private static final int ROW = (1 << SIZE) - 1;
+    private static final int BAND = (1 << BAND_SQUARES) - 1;
+    private static final long LOW_SQUARES = BAND | (long) BAND << BAND_BITS;
+    private static final long LOW_ROWS = ROW | (long) ROW << BAND_BITS;
+    // The board is stored as the low and high longs of each digit plane followed by the low and
+    // high longs of the mask of squares that have been given a digit
+    private static final int HIGH = SIZE;
+    private static final int SOLVED_LOW = 2 * SIZE;
+    private static final int SOLVED_HIGH = 2 * SIZE + 1;
+    private static final int STATE_SIZE = 2 * SIZE + 2;
+    // The bands of the digit planes are numbered digit * BANDS + band
+    private static final int ALL_PLANES = (1 << SIZE * BANDS) - 1;
+    private static final int ALL_DIGITS = (1 << SIZE) - 1;
+    private static final long[] PEERS_LOW = new long[SQUARES];
+    private static final long[] PEERS_HIGH = new long[SQUARES];
+    private static final long[] COLUMNS_LOW = new long[SIZE];
+    private static final long[] COLUMNS_HIGH = new long[SIZE];
+    // The squares of each row and box of a band
+    private static final int[] BAND_UNITS = new int[2 * BANDS];
+    // The boxes of a row of a band that have any of the squares of the row
+    private static final int[] ROW_BOXES = new int[1 << SIZE];
+    // For the nine bits of which rows of a band have the digit in which boxes, the squares that
+    // the digit can still take
+    private static final int[] BAND_CANDIDATES = new int[1 << SIZE];
+    private final SudokuSolver fallback = new Bitboard16Solver();
+    // One board for every level of the search, plus the initial board
+    private final long[] stack = new long[(SQUARES + 1) * STATE_SIZE];
+    // The bands of the digit planes that have changed since they were last looked up, and the
+    // digits that have changed since their columns were last checked for hidden singles.
+    // Propagation always runs until nothing changes, so these do not need to be stored for every
+    // level of the stack.
+    private int dirtyPlanes;
+    private int dirtyDigits;
+    private long nodesExpanded;
+
+    static {
+        for (int square = 0; square < BAND_SQUARES; square++) {
+            int row = square / SIZE;
+            int column = square % SIZE;
+            BAND_UNITS[row] |= 1 << square;
+            BAND_UNITS[BANDS + column / 3] |= 1 << square;
+        }
+        for (int square = 0; square < SQUARES; square++) {
+            int row = square / SIZE;
+            int column = square % SIZE;
+            int index = toIndex(square);
+            for (int peer = 0; peer < SQUARES; peer++) {
+                int peerRow = peer / SIZE;
+                int peerColumn = peer % SIZE;
+                boolean seen = peerRow == row || peerColumn == column ||
+                        (peerRow / 3 == row / 3 && peerColumn / 3 == column / 3);
+                if (!seen || peer == square) continue;
+                int peerIndex = toIndex(peer);
+                if (peerIndex < Long.SIZE) {
+                    PEERS_LOW[square] |= 1L << peerIndex;
+                } else {
+                    PEERS_HIGH[square] |= 1L << peerIndex;
+                }
+            }
+            if (index < Long.SIZE) {
+                COLUMNS_LOW[column] |= 1L << index;
+            } else {
+                COLUMNS_HIGH[column] |= 1L << index;
+            }
+        }
+        for (int row = 0; row <= ROW; row++) {
+            for (int box = 0; box < BANDS; box++) {
+                if ((row & BAND_UNITS[BANDS + box]) != 0) ROW_BOXES[row] |= 1 << box;
+            }
+        }
+        int[][] ways = {{0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+        for (int shape = 0; shape < BAND_CANDIDATES.length; shape++) {
+            for (int[] way : ways) {
+                int squares = 0;
+                for (int row = 0; row < BANDS; row++) {
+                    if ((shape >>> (row * BANDS + way[row]) & 1) == 0) {
+                        squares = 0;
+                        break;
+                    }
+                    squares |= BAND_UNITS[row] & BAND_UNITS[BANDS + way[row]];
+                }
+                BAND_CANDIDATES[shape] |= squares;
+            }
+        }
+    }
+
+    /**
+     * Constructs a new BitboardSolver object.
+     */
+    public BitboardSolver() {
+    }
+
+    /**
+     * Solves the Sudoku puzzle specified by the String board using digit planes.
+     *
+     * @param board The String representation of the Sudoku board
+     * @return A solved SudokuBoard object if it exists and otherwise null
+     */
+    @Override
+    public SudokuBoard solve(String board) {
+        nodesExpanded = 0;
+        long startTime = System.currentTimeMillis();
+        int[] values = BatchSolver.parse(board);
+        if (values == null) {
+            // The fallback throws an exception if the puzzle is invalid
+            SudokuBoard solution = solveWith(fallback, board);
+            nodesExpanded = fallback.getNodesExpanded();
+            return solution;
+        }
+
+        for (int digit = 0; digit < SIZE; digit++) {
+            stack[digit] = LOW_SQUARES;
+            stack[HIGH + digit] = BAND;
+        }
+        stack[SOLVED_LOW] = 0;
+        stack[SOLVED_HIGH] = 0;
+        dirtyPlanes = ALL_PLANES;
+        dirtyDigits = ALL_DIGITS;
+        boolean consistent = true;
+        for (int square = 0; square < SQUARES && consistent; square++) {
+            if (values[square] != 0) {
+                consistent = place(0, square, values[square] - 1);
+            }
+        }
+        if (!consistent || !search(0)) {
+            // Throws an IllegalStateException if SudokuBoard can also tell there is no solution
+            new SudokuBoard(board);
+            return null;
+        }
+
+        int[][] solution = new int[SIZE][SIZE];
+        for (int digit = 0; digit < SIZE; digit++) {
+            long low = stack[digit];
+            while (low != 0) {
+                int square = toSquare(Long.numberOfTrailingZeros(low));
+                low &= low - 1;
+                solution[square / SIZE][square % SIZE] = digit + 1;
+            }
+            long high = stack[HIGH + digit];
+            while (high != 0) {
+                int square = toSquare(Long.SIZE + Long.numberOfTrailingZeros(high));
+                high &= high - 1;
+                solution[square / SIZE][square % SIZE] = digit + 1;
+            }
+        }
+        recordTime(board, System.currentTimeMillis() - startTime);
+        return SudokuBoard.fromSolution(solution);
+    }
+
+    /**
+     * Searches for a solution from the board at the given level of the stack. When a solution is
+     * found, it is copied to the bottom of the stack.
+     *
+     * @param level The level of the board in the stack
+     * @return True if a solution was found and false otherwise
+     */
+    private boolean search(int level) {
+        int offset = level * STATE_SIZE;
+        if (!propagate(offset)) return false;
+        if (stack[offset + SOLVED_LOW] == LOW_SQUARES && stack[offset + SOLVED_HIGH] == BAND) {
+            if (level > 0) System.arraycopy(stack, offset, stack, 0, STATE_SIZE);
+            return true;
+        }
+        // Terminate the search if an interrupt is issued
+        if (Thread.currentThread().isInterrupted()) return false;
+
+        int square = chooseSquare(offset);
+        int index = toIndex(square);
+        int word = offset + (index >>> 6) * HIGH;
+        int digits = 0;
+        for (int digit = 0; digit < SIZE; digit++) {
+            digits |= (int) (stack[word + digit] >>> index & 1) << digit;
+        }
+        int next = offset + STATE_SIZE;
+        while (digits != 0) {
+            int digit = Integer.numberOfTrailingZeros(digits);
+            digits &= digits - 1;
+            nodesExpanded++;
+            // Anything left over from a failed sibling no longer applies
+            dirtyPlanes = 0;
+            dirtyDigits = 0;
+            if (digits == 0) {
+                // Nothing else needs this board, so the last digit is tried without a copy
+                return place(offset, square, digit) && search(level);
+            }
+            System.arraycopy(stack, offset, stack, next, STATE_SIZE);
+            if (place(next, square, digit) && search(level + 1)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Places a digit in a square, removing every other digit from the square and the digit from
+     * the peers of the square, and marks the bands and digits that changed.
+     *
+     * @param offset The offset of the board in the stack
+     * @param square The square
+     * @param digit  The digit, starting from 0
+     * @return False if the digit is no longer a candidate for the square and true otherwise
+     */
+    private boolean place(int offset, int square, int digit) {
+        int band = square / BAND_SQUARES;
+        int index = toIndex(square);
+        int word = offset + (index >>> 6) * HIGH;
+        long bit = 1L << index;
+        if ((stack[word + digit] & bit) == 0) return false;
+        // The planes are marked without branching, since whether a digit had the square is
+        // unpredictable
+        int planes = 0;
+        int digits = 0;
+        for (int other = 0; other < SIZE; other++) {
+            long squares = stack[word + other];
+            int had = (int) (squares >>> index & 1);
+            stack[word + other] = squares & ~bit;
+            planes |= had << (other * BANDS + band);
+            digits |= had << other;
+        }
+        stack[word + digit] |= bit;
+        dirtyPlanes |= planes;
+        dirtyDigits |= digits;
+        claim(offset, square, digit);
+        return true;
+    }
+
+    /**
+     * Gives a square a digit that is its only candidate, removing the digit from the peers of the
+     * square, and marks the bands that changed.
+     *
+     * @param offset The offset of the board in the stack
+     * @param square The square
+     * @param digit  The digit, starting from 0
+     */
+    private void claim(int offset, int square, int digit) {
+        int index = toIndex(square);
+        long low = stack[offset + digit];
+        long high = stack[offset + HIGH + digit];
+        stack[offset + digit] = low & ~PEERS_LOW[square];
+        stack[offset + HIGH + digit] = high & ~PEERS_HIGH[square];
+        stack[offset + SOLVED_LOW + (index >>> 6)] |= 1L << index;
+        // Mark each band of the plane that lost the digit from a peer
+        low &= PEERS_LOW[square];
+        high &= PEERS_HIGH[square];
+        dirtyPlanes |= (int) (-(low & BAND) >>> 63 | -(low >>> BAND_BITS) >>> 63 << 1 |
+                -high >>> 63 << 2) << digit * BANDS;
+        dirtyDigits |= 1 << digit;
+    }
+
+    /**
+     * Places every naked and hidden single until none are left.
+     *
+     * @param offset The offset of the board in the stack
+     * @return False if a square has no candidates or a digit has no square left in a row, column
+     * or box, and true otherwise
+     */
+    private boolean propagate(int offset) {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+
+            while (dirtyPlanes != 0) {
+                int plane = Integer.numberOfTrailingZeros(dirtyPlanes);
+                dirtyPlanes &= dirtyPlanes - 1;
+                int digit = plane / BANDS;
+                int band = plane % BANDS;
+                int word = offset + (band >>> 1) * HIGH + digit;
+                int shift = (band & 1) * BAND_BITS;
+                int squares = (int) (stack[word] >>> shift) & BAND;
+                int shape = ROW_BOXES[squares & ROW] | ROW_BOXES[squares >>> SIZE & ROW] << 3 |
+                        ROW_BOXES[squares >>> 2 * SIZE] << 6;
+                int remaining = squares & BAND_CANDIDATES[shape];
+                if (remaining == 0) return false;
+                if (remaining != squares) {
+                    stack[word] &= ~((long) (squares & ~remaining) << shift);
+                    dirtyDigits |= 1 << digit;
+                }
+
+                // A unit with at most one square left keeps its square, without branching
+                int singles = 0;
+                for (int unit : BAND_UNITS) {
+                    int unitSquares = remaining & unit;
+                    singles |= unitSquares & ((unitSquares & (unitSquares - 1)) - 1) >> 31;
+                }
+                singles &= ~(int) (stack[offset + SOLVED_LOW + (band >>> 1)] >>> shift);
+                while (singles != 0) {
+                    int square = band * BAND_SQUARES + Integer.numberOfTrailingZeros(singles);
+                    singles &= singles - 1;
+                    // A single in another unit of the band may have taken the square
+                    if (!place(offset, square, digit)) return false;
+                }
+            }
+
+            // Count the candidates of every square at once, saturating at two
+            long oneLow = 0;
+            long twoLow = 0;
+            long oneHigh = 0;
+            long twoHigh = 0;
+            for (int digit = 0; digit < SIZE; digit++) {
+                long low = stack[offset + digit];
+                long high = stack[offset + HIGH + digit];
+                twoLow |= oneLow & low;
+                oneLow |= low;
+                twoHigh |= oneHigh & high;
+                oneHigh |= high;
+            }
+            if (oneLow != LOW_SQUARES || oneHigh != BAND) return false;
+
+            long singlesLow = oneLow & ~twoLow & ~stack[offset + SOLVED_LOW];
+            long singlesHigh = oneHigh & ~twoHigh & ~stack[offset + SOLVED_HIGH];
+            for (int digit = 0; digit < SIZE && (singlesLow | singlesHigh) != 0; digit++) {
+                long low = singlesLow & stack[offset + digit];
+                long high = singlesHigh & stack[offset + HIGH + digit];
+                singlesLow &= ~low;
+                singlesHigh &= ~high;
+                while (low != 0) {
+                    int index = Long.numberOfTrailingZeros(low);
+                    low &= low - 1;
+                    // An earlier single in the same unit may have taken the digit
+                    if ((stack[offset + digit] >>> index & 1) == 0) return false;
+                    claim(offset, toSquare(index), digit);
+                    changed = true;
+                }
+                while (high != 0) {
+                    int index = Long.numberOfTrailingZeros(high);
+                    high &= high - 1;
+                    if ((stack[offset + HIGH + digit] >>> index & 1) == 0) return false;
+                    claim(offset, toSquare(Long.SIZE + index), digit);
+                    changed = true;
+                }
+            }
+            if (changed) continue;
+
+            while (dirtyDigits != 0) {
+                int digit = Integer.numberOfTrailingZeros(dirtyDigits);
+                dirtyDigits &= dirtyDigits - 1;
+                if (!placeColumnSingles(offset, digit)) return false;
+                changed |= dirtyPlanes != 0;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Places every hidden single of a digit in a column, found by counting the rows of its plane
+     * bit-sliced, saturating at two.
+     *
+     * @param offset The offset of the board in the stack
+     * @param digit  The digit, starting from 0
+     * @return False if the digit has no square left in a column or a single was taken by another,
+     * and true otherwise
+     */
+    private boolean placeColumnSingles(int offset, int digit) {
+        long low = stack[offset + digit];
+        long high = stack[offset + HIGH + digit];
+        // The top and middle bands are counted together in the halves of the low long
+        long first = low & LOW_ROWS;
+        long second = low >>> SIZE & LOW_ROWS;
+        long third = low >>> 2 * SIZE & LOW_ROWS;
+        long oneLow = first | second | third;
+        long twoLow = (first & second) | ((first | second) & third);
+        int top = (int) oneLow;
+        int middle = (int) (oneLow >>> BAND_BITS);
+        int bottom = (int) (high | high >>> SIZE | high >>> 2 * SIZE) & ROW;
+        int one = top | middle | bottom;
+        if (one != ROW) return false;
+        int two = (int) twoLow | (int) (twoLow >>> BAND_BITS) | (top & middle) |
+                ((top | middle) & bottom) | (int) ((high & high >>> SIZE) |
+                ((high | high >>> SIZE) & high >>> 2 * SIZE)) & ROW;
+
+        long openLow = low & ~stack[offset + SOLVED_LOW];
+        long openHigh = high & ~stack[offset + SOLVED_HIGH];
+        openLow |= openLow >>> SIZE | openLow >>> 2 * SIZE;
+        openHigh |= openHigh >>> SIZE | openHigh >>> 2 * SIZE;
+        int open = (int) (openLow | openLow >>> BAND_BITS | openHigh) & ROW;
+
+        int singles = one & ~two & open;
+        while (singles != 0) {
+            int column = Integer.numberOfTrailingZeros(singles);
+            singles &= singles - 1;
+            long squares = stack[offset + digit] & COLUMNS_LOW[column];
+            int index = Long.numberOfTrailingZeros(squares);
+            if (squares == 0) {
+                squares = stack[offset + HIGH + digit] & COLUMNS_HIGH[column];
+                index = Long.SIZE + Long.numberOfTrailingZeros(squares);
+            }
+            // An earlier single in the same row or box may have taken the last square
+            if (squares == 0 || !place(offset, toSquare(index), digit)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns an unsolved square with the fewest candidates, preferring squares with exactly two.
+     *
+     * @param offset The offset of the board in the stack
+     * @return The square
+     */
+    private int chooseSquare(int offset) {
+        // Count the candidates of every square at once, saturating at three
+        long oneLow = 0;
+        long twoLow = 0;
+        long threeLow = 0;
+        long oneHigh = 0;
+        long twoHigh = 0;
+        long threeHigh = 0;
+        for (int digit = 0; digit < SIZE; digit++) {
+            long low = stack[offset + digit];
+            long high = stack[offset + HIGH + digit];
+            threeLow |= twoLow & low;
+            twoLow |= oneLow & low;
+            oneLow |= low;
+            threeHigh |= twoHigh & high;
+            twoHigh |= oneHigh & high;
+            oneHigh |= high;
+        }
+        long pairsLow = twoLow & ~threeLow;
+        if (pairsLow != 0) return toSquare(Long.numberOfTrailingZeros(pairsLow));
+        long pairsHigh = twoHigh & ~threeHigh;
+        if (pairsHigh != 0) return toSquare(Long.SIZE + Long.numberOfTrailingZeros(pairsHigh));
+
+        int best = -1;
+        int bestCount = Integer.MAX_VALUE;
+        for (int square = 0; square < SQUARES; square++) {
+            int index = toIndex(square);
+            int word = offset + (index >>> 6) * HIGH;
+            if ((stack[offset + SOLVED_LOW + (index >>> 6)] >>> index & 1) != 0) continue;
+            int count = 0;
+            for (int digit = 0; digit < SIZE; digit++) {
+                count += (int) (stack[word + digit] >>> index & 1);
+            }
+            if (count < bestCount) {
+                best = square;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the bit of a square in a digit plane, where bits 64 and up are in the high long.
+     *
+     * @param square The square
+     * @return The bit of the square
+     */
+    private static int toIndex(int square) {
+        return square / BAND_SQUARES * BAND_BITS + square % BAND_SQUARES;
+    }
+
+    /**
+     * Returns the square of a bit in a digit plane, where bits 64 and up are in the high long.
+     *
+     * @param index The bit of the square
+     * @return The square
+     */
+    private static int toSquare(int index) {
+        return index / BAND_BITS * BAND_SQUARES + index % BAND_BITS;
+    }
+
+    /**
+     * Returns the number of guesses made during the most recent call to solve.
+     *
+     * @return The number of guesses
+     */
+    @Override
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+}
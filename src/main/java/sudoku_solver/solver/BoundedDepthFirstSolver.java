@@ -0,0 +1,151 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.model.SudokuBoard;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * This class represents a depth-first Sudoku solver that searches again and again with a growing
+ * limit on the cost of the boards it visits.
+ * <p>
+ * Each iteration is a depth-first search over a BoundedSuccessorStack, which skips the boards
+ * whose cost exceeds the current limit. If an iteration finds no solution but skipped some
+ * boards, the limit is raised by one and the search starts again from the initial board. An
+ * iteration that skips nothing was exhaustive, so it proves that there is no solution. The boards
+ * near the root are expanded again in every iteration, but memory use stays proportional to the
+ * depth of the search, as for DepthFirstSolver.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public abstract class BoundedDepthFirstSolver extends SudokuSolver {
+    private long totalNodesExpanded;
+    private long totalCheckpointsWritten;
+    private int iterations;
+
+    /**
+     * Constructs a new BoundedDepthFirstSolver object.
+     *
+     * @param countDiscrepancies True if the cost of a board is the number of discrepancies on the
+     *                           path to it and false if it is its depth
+     */
+    protected BoundedDepthFirstSolver(boolean countDiscrepancies) {
+        super(new BoundedSuccessorStack(countDiscrepancies));
+    }
+
+    /**
+     * Solves the Sudoku puzzle specified by the String board, raising the limit and starting again
+     * whenever an iteration skips boards without finding a solution.
+     *
+     * @param board The String representation of the Sudoku board
+     * @return A solved SudokuBoard object if it exists and otherwise null
+     */
+    @Override
+    public SudokuBoard solve(String board) {
+        totalNodesExpanded = 0;
+        totalCheckpointsWritten = 0;
+        iterations = 0;
+        return deepen(board, 0);
+    }
+
+    /**
+     * Resumes a solve from a checkpoint file. The iteration that was running when the checkpoint
+     * was taken is finished with the limit saved in the checkpoint, after which the limit is raised
+     * and the search starts again from the puzzle, as in solve.
+     *
+     * @param checkpointFile The checkpoint file to resume from
+     * @return A solved SudokuBoard object if it exists and otherwise null
+     * @throws IOException If the checkpoint file could not be read
+     */
+    @Override
+    public SudokuBoard resume(Path checkpointFile) throws IOException {
+        BoundedSuccessorStack stack = (BoundedSuccessorStack) getOpenList();
+        // Read first, as the checkpoint is deleted once the resumed iteration finishes
+        String board = SolverCheckpoint.readPuzzle(checkpointFile);
+        totalNodesExpanded = 0;
+        totalCheckpointsWritten = 0;
+        iterations = 1;
+        SudokuBoard solution = super.resume(checkpointFile);
+        totalNodesExpanded += super.getNodesExpanded();
+        totalCheckpointsWritten += super.getCheckpointsWritten();
+        if (isFinished(solution)) return solution;
+        return deepen(board, stack.getLimit() + 1);
+    }
+
+    /**
+     * Runs iterations with a growing limit until one finds a solution or skips no boards.
+     *
+     * @param board      The String representation of the Sudoku board
+     * @param firstLimit The limit of the first iteration
+     * @return A solved SudokuBoard object if it exists and otherwise null
+     */
+    private SudokuBoard deepen(String board, int firstLimit) {
+        BoundedSuccessorStack stack = (BoundedSuccessorStack) getOpenList();
+        for (int limit = firstLimit; ; limit++) {
+            stack.setLimit(limit);
+            iterations++;
+            SudokuBoard solution = super.solve(board);
+            totalNodesExpanded += super.getNodesExpanded();
+            totalCheckpointsWritten += super.getCheckpointsWritten();
+            if (isFinished(solution)) return solution;
+        }
+    }
+
+    /**
+     * Checks whether an iteration that ran to completion is the last one, so that the checkpoint
+     * is kept until the next iteration replaces it. An iteration that finishes as the thread is
+     * interrupted keeps its checkpoint, so that resuming it goes on to raise the limit.
+     *
+     * @param solution The solution found by the iteration, or null if none was found
+     * @return True if no further iterations would be run
+     */
+    @Override
+    protected boolean isLastSearch(SudokuBoard solution) {
+        return solution != null || !((BoundedSuccessorStack) getOpenList()).wasCutOff();
+    }
+
+    /**
+     * Checks whether the search should stop after an iteration, because it was the last one or
+     * the thread was interrupted.
+     *
+     * @param solution The result of the iteration
+     * @return True if no further iterations should be run
+     */
+    private boolean isFinished(SudokuBoard solution) {
+        return isLastSearch(solution) || Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Returns the number of nodes expanded during the most recent call to solve, over every
+     * iteration.
+     *
+     * @return The number of nodes expanded
+     */
+    @Override
+    public long getNodesExpanded() {
+        return totalNodesExpanded;
+    }
+
+    /**
+     * Returns the number of checkpoints written during the most recent call to solve or resume,
+     * over every iteration.
+     *
+     * @return The number of checkpoints written
+     */
+    @Override
+    public long getCheckpointsWritten() {
+        return totalCheckpointsWritten;
+    }
+
+    /**
+     * Returns the number of iterations of the most recent call to solve, which is the final limit
+     * plus one, or of the most recent call to resume, counting the resumed iteration.
+     *
+     * @return The number of iterations
+     */
+    public int getIterations() {
+        return iterations;
+    }
+}
@@ -0,0 +1,297 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.enums.ValueOrdering;
+import sudoku_solver.model.SuccessorIterator;
+import sudoku_solver.model.SudokuBoard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * This class represents an open list for depth-first search that skips every board whose cost
+ * exceeds a limit.
+ * <p>
+ * Like SuccessorStack, the stack holds a lazy SuccessorIterator for each expanded board. Every
+ * board also has a cost, which is either its depth (the number of guesses made to reach it), as
+ * used by iterative deepening, or the number of discrepancies on the path to it, as used by
+ * limited discrepancy search. A discrepancy is any value other than the first one the
+ * ValueOrdering prefers. The costs of the successors of a board never decrease along the
+ * iterator, so once the next successor of an iterator exceeds the limit, the whole iterator is
+ * dropped. wasCutOff() reports whether any board was skipped in this way, since an exhausted
+ * stack only proves that a puzzle has no solution if none were.
+ * <p>
+ * Boards passed to add() have a cost of 0. Restored boards keep the costs, limit and cut-off flag
+ * saved by snapshotState().
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class BoundedSuccessorStack implements OpenList {
+    private static final int INITIAL_CAPACITY = 16;
+    private final boolean countDiscrepancies;
+    private SuccessorIterator[] iterators = new SuccessorIterator[INITIAL_CAPACITY];
+    // The cost of the board each iterator was created from and of the next successor it returns
+    private int[] parentCosts = new int[INITIAL_CAPACITY];
+    private int[] costs = new int[INITIAL_CAPACITY];
+    private int size;
+    private int limit;
+    private int lastRemovedCost;
+    private boolean cutOff;
+    // Whether the stack has been cleared since a board was last added, in which case the next
+    // board starts a new search
+    private boolean cleared = true;
+
+    /**
+     * Constructs a new BoundedSuccessorStack object with a limit of 0.
+     *
+     * @param countDiscrepancies True if the cost of a board is the number of discrepancies on the
+     *                           path to it and false if it is its depth
+     */
+    public BoundedSuccessorStack(boolean countDiscrepancies) {
+        this.countDiscrepancies = countDiscrepancies;
+    }
+
+    /**
+     * Pushes a single board with a cost of 0 on to the stack.
+     *
+     * @param board The board to add
+     */
+    @Override
+    public void add(SudokuBoard board) {
+        if (cleared) start();
+        push(new SuccessorIterator(board), 0, 0);
+    }
+
+    /**
+     * Pushes a lazy iterator over the successors of the given board on to the stack, unless they
+     * would exceed the limit. In that case the board is released and the stack is marked as cut
+     * off, without checking whether the board had any successors to skip.
+     *
+     * @param board         The board whose successors should be added
+     * @param valueOrdering The order in which the candidate values of a square are tried
+     */
+    @Override
+    public void addSuccessors(SudokuBoard board, ValueOrdering valueOrdering) {
+        int cost = countDiscrepancies ? lastRemovedCost : lastRemovedCost + 1;
+        if (cost > limit) {
+            cutOff = true;
+            board.release();
+            return;
+        }
+        push(board.getSuccessorIterator(valueOrdering), lastRemovedCost, cost);
+    }
+
+    /**
+     * Resets the statistics when the first board of a new search is added.
+     */
+    private void start() {
+        cleared = false;
+        cutOff = false;
+    }
+
+    /**
+     * Pushes an iterator on to the stack. The iterator is ignored if it has no successors.
+     *
+     * @param successors The successors to add
+     * @param parentCost The cost of the board the successors were generated from
+     * @param cost       The cost of the first successor
+     */
+    private void push(SuccessorIterator successors, int parentCost, int cost) {
+        if (!successors.hasNext()) return;
+        if (size == iterators.length) {
+            int capacity = size * 2;
+            iterators = Arrays.copyOf(iterators, capacity);
+            parentCosts = Arrays.copyOf(parentCosts, capacity);
+            costs = Arrays.copyOf(costs, capacity);
+        }
+        iterators[size] = successors;
+        parentCosts[size] = parentCost;
+        costs[size] = cost;
+        size++;
+    }
+
+    /**
+     * Creates and returns the next successor of the iterator on top of the stack. The iterator is
+     * then dropped if it is exhausted or if its remaining successors exceed the limit.
+     *
+     * @return The next board to be processed
+     */
+    @Override
+    public SudokuBoard remove() {
+        if (size == 0) {
+            throw new NoSuchElementException("The open list is empty");
+        }
+        int top = size - 1;
+        SuccessorIterator successors = iterators[top];
+        SudokuBoard board = successors.next();
+        lastRemovedCost = costs[top];
+        if (countDiscrepancies) costs[top] = parentCosts[top] + 1;
+        if (!successors.hasNext()) {
+            iterators[--size] = null;
+        } else if (costs[top] > limit) {
+            cutOff = true;
+            iterators[--size] = null;
+        }
+        return board;
+    }
+
+    /**
+     * Checks if the stack is empty.
+     *
+     * @return True if there are no boards left to process and false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of boards that remain to be created across every iterator on the stack,
+     * including any that exceed the limit. Runs in time proportional to the depth of the stack.
+     *
+     * @return The number of boards left to process
+     */
+    @Override
+    public int size() {
+        int remaining = 0;
+        for (int i = 0; i < size; i++) {
+            remaining += iterators[i].remaining();
+        }
+        return remaining;
+    }
+
+    /**
+     * Returns every board that remains to be created and does not exceed the limit, in the order
+     * remove() would return them, without advancing any of the iterators.
+     *
+     * @return The boards in the open list
+     */
+    @Override
+    public List<SudokuBoard> snapshot() {
+        List<SudokuBoard> boards = new ArrayList<>();
+        for (int i = size - 1; i >= 0; i--) {
+            SuccessorIterator successors = iterators[i];
+            // The next successor never exceeds the limit, but later ones may if they are
+            // discrepancies
+            boards.add(successors.peek(0));
+            int laterCost = countDiscrepancies ? parentCosts[i] + 1 : costs[i];
+            if (laterCost > limit) continue;
+            for (int offset = 1; offset < successors.remaining(); offset++) {
+                boards.add(successors.peek(offset));
+            }
+        }
+        return boards;
+    }
+
+    /**
+     * Returns the limit, whether any board has been skipped so far, and the cost of every board
+     * returned by snapshot(), in the same order. Boards that snapshot() leaves out for exceeding
+     * the limit count as skipped.
+     *
+     * @return The state of the stack
+     */
+    @Override
+    public int[] snapshotState() {
+        List<Integer> boardCosts = new ArrayList<>();
+        boolean skipped = cutOff;
+        for (int i = size - 1; i >= 0; i--) {
+            boardCosts.add(costs[i]);
+            int laterCost = countDiscrepancies ? parentCosts[i] + 1 : costs[i];
+            int later = iterators[i].remaining() - 1;
+            if (later > 0 && laterCost > limit) {
+                skipped = true;
+                continue;
+            }
+            for (int offset = 0; offset < later; offset++) {
+                boardCosts.add(laterCost);
+            }
+        }
+        int[] state = new int[2 + boardCosts.size()];
+        state[0] = limit;
+        state[1] = skipped ? 1 : 0;
+        for (int i = 0; i < boardCosts.size(); i++) {
+            state[2 + i] = boardCosts.get(i);
+        }
+        return state;
+    }
+
+    /**
+     * Adds boards returned by snapshot() with the state returned by snapshotState(), so that they
+     * keep their costs and the stack keeps its limit and cut-off flag.
+     *
+     * @param boards The boards to add, in the order they should be removed
+     * @param state  The state of the stack when the boards were taken, or an empty array to give
+     *               every board a cost of 0
+     */
+    @Override
+    public void restore(List<SudokuBoard> boards, int[] state) {
+        restore(boards);
+        if (state.length == 0) return;
+        limit = state[0];
+        cutOff = state[1] != 0;
+        // The boards were pushed in reverse order, so the first is on top of the stack
+        for (int i = 0; i < boards.size(); i++) {
+            costs[size - 1 - i] = state[2 + i];
+        }
+    }
+
+    /**
+     * Adds boards returned by snapshot() so that remove() returns them in the same order again, by
+     * pushing them in reverse order. Each has a cost of 0.
+     *
+     * @param boards The boards to add, in the order they should be removed
+     */
+    @Override
+    public void restore(List<SudokuBoard> boards) {
+        for (int i = boards.size() - 1; i >= 0; i--) {
+            add(boards.get(i));
+        }
+    }
+
+    /**
+     * Removes all iterators from the stack. Whether the stack was cut off is kept until the next
+     * board is added, so it can still be read once a search has finished.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(iterators, 0, size, null);
+        size = 0;
+        lastRemovedCost = 0;
+        cleared = true;
+    }
+
+    /**
+     * Returns the highest cost of any board that is not skipped.
+     *
+     * @return The limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Sets the highest cost of any board that is not skipped. Should only be called while the
+     * stack is empty.
+     *
+     * @param limit The limit. Must not be negative.
+     */
+    public void setLimit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        this.limit = limit;
+    }
+
+    /**
+     * Checks whether any board was skipped for exceeding the limit since the stack was last
+     * cleared and then added to.
+     *
+     * @return True if any board was skipped and false otherwise
+     */
+    public boolean wasCutOff() {
+        return cutOff;
+    }
+}
@@ -1,19 +1,15 @@
 package sudoku_solver.solver;
 
-import sudoku_solver.model.SudokuBoard;
-
 import java.util.LinkedList;
-import java.util.Queue;
 
 /**
  * This class represents a Sudoku solver based on breadth-first search algorithm.
  * <p>
  * It extends the SudokuSolver abstract class and maintains an open list of Sudoku boards
- * represented as a Queue. It provides methods to solve a Sudoku puzzle using breadth-first search
- * and retrieve the next Sudoku board from the open list.
+ * represented as a Queue, so boards are processed in the order they were generated.
  *
  * @author Savraj Bassi
- * @version 04/03/2024
+ * @version 19/10/2026
  */
 
 public class BreadthFirstSolver extends SudokuSolver {
@@ -22,15 +18,30 @@ public class BreadthFirstSolver extends SudokuSolver {
      * Constructs a new BreadthFirstSolver object, initialising the openList as an empty LinkedList.
      */
     public BreadthFirstSolver() {
-        super(new LinkedList<>());
+        super(new QueueOpenList(new LinkedList<>()));
+    }
+
+    /**
+     * Constructs a new BreadthFirstSolver object whose open list stores boards compactly as
+     * DeltaNodes, which are recreated when removed. This allows far larger open lists to fit in
+     * memory at the cost of replaying constraint propagation for each board that is processed.
+     *
+     * @param checkpointInterval The maximum number of levels between boards that are stored in
+     *                           full. Smaller values use more memory but less time recreating
+     *                           boards.
+     */
+    public BreadthFirstSolver(int checkpointInterval) {
+        super(DeltaOpenList.createBreadthFirst(checkpointInterval));
     }
 
     /**
-     * Retrieves the next Sudoku board from the open list, using the remove method.
-     * @return The next Sudoku board to be processed
+     * Constructs a new BreadthFirstSolver object that uses the given open list, which must return
+     * boards in the order they were added. For example, a SpillingOpenList can be used to spill
+     * very large open lists to disk.
+     *
+     * @param openList The OpenList to be used for storing SudokuBoard objects
      */
-    @Override
-    protected SudokuBoard getNextBoard() {
-        return ((Queue<SudokuBoard>) getOpenList()).remove();
+    public BreadthFirstSolver(OpenList openList) {
+        super(openList);
     }
 }
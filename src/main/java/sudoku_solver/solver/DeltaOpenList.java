@@ -0,0 +1,161 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.enums.ValueOrdering;
+import sudoku_solver.model.DeltaNode;
+import sudoku_solver.model.SudokuBoard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+/**
+ * This class represents an open list that stores boards as DeltaNodes rather than as full boards.
+ * <p>
+ * Each successor is stored as a reference to a node shared with its siblings plus the single
+ * assignment that distinguishes it, and is only turned back into a full board when it is removed.
+ * This allows the open list to hold orders of magnitude more boards in the same amount of memory,
+ * at the cost of replaying constraint propagation for every removed board. A full board is stored
+ * as a checkpoint every checkpointInterval levels to bound the amount of replaying needed.
+ * <p>
+ * The order of the nodes is determined by the Queue passed to the constructor. Use
+ * createBreadthFirst and createBestFirst to create open lists for breadth-first and best-first
+ * search respectively.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class DeltaOpenList implements OpenList {
+    private final Queue<DeltaNode> queue;
+    private final int checkpointInterval;
+    // The node and board most recently returned by remove(). The node is the parent of any
+    // successors added by the next call to addSuccessors.
+    private DeltaNode lastRemoved;
+    private SudokuBoard lastRemovedBoard;
+
+    /**
+     * Constructs a new DeltaOpenList object backed by the given queue.
+     *
+     * @param queue              The queue used to store the nodes
+     * @param checkpointInterval The maximum number of levels between boards that are stored in
+     *                           full. Must be at least 1.
+     */
+    public DeltaOpenList(Queue<DeltaNode> queue, int checkpointInterval) {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be at least 1");
+        }
+        this.queue = queue;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Creates a DeltaOpenList that returns boards in the order they were added.
+     *
+     * @param checkpointInterval The maximum number of levels between boards that are stored in
+     *                           full
+     * @return A DeltaOpenList for breadth-first search
+     */
+    public static DeltaOpenList createBreadthFirst(int checkpointInterval) {
+        return new DeltaOpenList(new ArrayDeque<>(), checkpointInterval);
+    }
+
+    /**
+     * Creates a DeltaOpenList that returns the board with the best heuristic value first, using
+     * the same ordering as the compareTo method of SudokuBoard.
+     *
+     * @param checkpointInterval The maximum number of levels between boards that are stored in
+     *                           full
+     * @return A DeltaOpenList for best-first search
+     */
+    public static DeltaOpenList createBestFirst(int checkpointInterval) {
+        return new DeltaOpenList(new PriorityQueue<>(
+                Comparator.comparingLong(DeltaNode::getHeuristicKey)), checkpointInterval);
+    }
+
+    /**
+     * Adds a board to the open list as a checkpoint.
+     *
+     * @param board The board to add
+     */
+    @Override
+    public void add(SudokuBoard board) {
+        queue.add(new DeltaNode(board));
+    }
+
+    /**
+     * Adds the successors of the given board as DeltaNodes, without creating the successor boards.
+     *
+     * @param board         The board whose successors should be added
+     * @param valueOrdering The order in which the candidate values of a square are tried
+     */
+    @Override
+    public void addSuccessors(SudokuBoard board, ValueOrdering valueOrdering) {
+        DeltaNode node = lastRemoved;
+        if (board != lastRemovedBoard) {
+            // The board was not returned by remove(), so it has to be stored in full
+            node = new DeltaNode(board);
+        }
+        queue.addAll(board.getSuccessorIterator(valueOrdering)
+                .toDeltaNodes(node, checkpointInterval));
+    }
+
+    /**
+     * Removes the next node and recreates its board.
+     *
+     * @return The next board to be processed
+     */
+    @Override
+    public SudokuBoard remove() {
+        lastRemoved = queue.remove();
+        lastRemovedBoard = lastRemoved.materialise();
+        return lastRemovedBoard;
+    }
+
+    /**
+     * Checks if the open list is empty.
+     *
+     * @return True if there are no boards left to process and false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    /**
+     * Returns the number of nodes in the open list.
+     *
+     * @return The number of boards left to process
+     */
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Removes all nodes from the open list.
+     */
+    @Override
+    public void clear() {
+        queue.clear();
+        lastRemoved = null;
+        lastRemovedBoard = null;
+    }
+
+    /**
+     * Returns the boards of every node without removing them, in the iteration order of the queue.
+     * Every board is recreated, so taking a snapshot is as expensive as removing every node.
+     *
+     * @return The boards in the open list
+     */
+    @Override
+    public List<SudokuBoard> snapshot() {
+        List<SudokuBoard> boards = new ArrayList<>(queue.size());
+        for (DeltaNode node : queue) {
+            boards.add(node.materialise());
+        }
+        return boards;
+    }
+}
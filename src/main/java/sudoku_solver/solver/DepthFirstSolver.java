@@ -1,36 +1,24 @@
 package sudoku_solver.solver;
 
-import sudoku_solver.model.SudokuBoard;
-
-import java.util.Stack;
-
 /**
  * This class represents a Sudoku solver based on depth-first search algorithm.
  * <p>
- * It extends the SudokuSolver abstract class and maintains an open list of Sudoku boards
- * represented as a Stack. It provides methods to solve a Sudoku puzzle using depth-first search
- * and retrieve the next Sudoku board from the open list.
+ * It extends the SudokuSolver abstract class and maintains an open list represented as a
+ * SuccessorStack. Rather than generating every successor of a board up front, it pushes a lazy
+ * SuccessorIterator for each expanded board, so sibling boards are only created if the search
+ * backtracks to them.
  *
  * @author Savraj Bassi
- * @version 04/03/2024
+ * @version 19/10/2026
  */
 
 public class DepthFirstSolver extends SudokuSolver {
 
     /**
-     * Constructs a new DepthFirstSolver object, initialising the openList as an empty Stack.
+     * Constructs a new DepthFirstSolver object, initialising the openList as an empty
+     * SuccessorStack.
      */
     public DepthFirstSolver() {
-        super(new Stack<>());
-    }
-
-    /**
-     * Retrieves the next Sudoku board from the open list, using the pop method.
-     *
-     * @return The next Sudoku board to be processed
-     */
-    @Override
-    protected SudokuBoard getNextBoard() {
-        return ((Stack<SudokuBoard>) getOpenList()).pop();
+        super(new SuccessorStack());
     }
 }
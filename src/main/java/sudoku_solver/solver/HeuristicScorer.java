@@ -0,0 +1,48 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.model.SudokuBoard;
+
+/**
+ * This interface represents a heuristic used by a best-first search to decide which board to
+ * expand next.
+ * <p>
+ * A scorer turns a board into a single long, where lower scores are expanded first. The score is
+ * computed once when a board is added to a ScoredOpenList and stored alongside it, so scorers are
+ * free to do more work than a comparison could afford to repeat on every sift of a priority queue.
+ * The built-in scorers are the constants of the Heuristic enum.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+@FunctionalInterface
+public interface HeuristicScorer {
+    // Fractional scores are stored as fixed-point numbers with 20 bits after the point
+    double FIXED_POINT_SCALE = 1 << 20;
+
+    /**
+     * Scores a board.
+     *
+     * @param board The board to score
+     * @param depth The number of guesses made to reach the board from the initial board
+     * @return The score of the board, where lower scores are expanded first
+     */
+    long score(SudokuBoard board, int depth);
+
+    /**
+     * Returns a weighted A* scorer, which scores a board as g + w * h, where g is the number of
+     * guesses made so far, h is the candidate entropy of the board (an estimate of the number of
+     * guesses still needed) and w is the weight. A weight of 1 balances the two, while larger
+     * weights approach a greedy search on the entropy alone.
+     *
+     * @param weight The weight of the estimate of the guesses still needed. Must be positive.
+     * @return The scorer
+     */
+    static HeuristicScorer weightedAStar(double weight) {
+        if (!(weight > 0)) {
+            throw new IllegalArgumentException("Weight must be positive");
+        }
+        return (board, depth) ->
+                Math.round((depth + weight * board.getCandidateEntropy()) * FIXED_POINT_SCALE);
+    }
+}
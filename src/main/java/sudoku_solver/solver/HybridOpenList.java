@@ -0,0 +1,187 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.model.SudokuBoard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * This class represents an open list that behaves like a breadth-first queue until it grows too
+ * large, and then like a depth-first stack until it has shrunk again.
+ * <p>
+ * Boards are always added to the tail of a deque. While in breadth-first mode, boards are removed
+ * from the head, so they are processed in the order they were generated. Once the number of boards
+ * reaches the high-water mark, the list switches to depth-first mode and removes boards from the
+ * tail instead. Depth-first expansion only adds a bounded number of boards per level, so the list
+ * stays close to the high-water mark. Once it drains to the low-water mark, it switches back to
+ * breadth-first mode.
+ * <p>
+ * The high-water mark can be given as a number of boards, as an estimated number of bytes, or
+ * both, in which case whichever is reached first applies. The byte limit is converted into a
+ * number of boards when the first board is added, as that is when the board size is known.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class HybridOpenList implements OpenList {
+    private final Deque<SudokuBoard> deque = new ArrayDeque<>();
+    private final int maxBoards;
+    private final long maxBytes;
+    private final double lowWaterFraction;
+    private int highWaterMark;
+    private int lowWaterMark;
+    private boolean depthFirst;
+    private int switchesToDepthFirst;
+    private int peakSize;
+
+    /**
+     * Constructs a new HybridOpenList object.
+     *
+     * @param maxBoards        The maximum number of boards to hold before switching to depth-first
+     *                         mode, or 0 for no limit on the number of boards
+     * @param maxBytes         The estimated number of bytes of boards to hold before switching to
+     *                         depth-first mode, or 0 for no limit on the memory usage
+     * @param lowWaterFraction The fraction of the high-water mark the list must drain to before
+     *                         switching back to breadth-first mode. Must be between 0 and 1.
+     */
+    public HybridOpenList(int maxBoards, long maxBytes, double lowWaterFraction) {
+        if (maxBoards < 0 || maxBytes < 0) {
+            throw new IllegalArgumentException("Open list limits cannot be negative");
+        }
+        if (maxBoards == 0 && maxBytes == 0) {
+            throw new IllegalArgumentException("At least one open list limit must be set");
+        }
+        if (lowWaterFraction < 0 || lowWaterFraction > 1) {
+            throw new IllegalArgumentException("Low-water fraction must be between 0 and 1");
+        }
+        this.maxBoards = maxBoards;
+        this.maxBytes = maxBytes;
+        this.lowWaterFraction = lowWaterFraction;
+    }
+
+    /**
+     * Adds a board to the tail of the list, switching to depth-first mode if the high-water mark
+     * has been reached.
+     *
+     * @param board The board to add
+     */
+    @Override
+    public void add(SudokuBoard board) {
+        if (highWaterMark == 0) start(board);
+        deque.addLast(board);
+        int size = deque.size();
+        if (size > peakSize) peakSize = size;
+        if (!depthFirst && size >= highWaterMark) {
+            depthFirst = true;
+            switchesToDepthFirst++;
+        }
+    }
+
+    /**
+     * Prepares the list for a new search when the first board is added after it was created or
+     * cleared. Resets the statistics and computes the high and low-water marks in number of boards,
+     * using the given board to estimate the memory used by each board.
+     *
+     * @param board A board of the size that will be stored in the list
+     */
+    private void start(SudokuBoard board) {
+        switchesToDepthFirst = 0;
+        peakSize = 0;
+        long limit = maxBoards == 0 ? Integer.MAX_VALUE : maxBoards;
+        if (maxBytes != 0) {
+            limit = Math.min(limit, maxBytes / board.getEstimatedMemoryUsage());
+        }
+        highWaterMark = (int) Math.max(1, limit);
+        lowWaterMark = (int) (highWaterMark * lowWaterFraction);
+    }
+
+    /**
+     * Removes a board from the head of the list in breadth-first mode, or from the tail in
+     * depth-first mode, switching back to breadth-first mode if the low-water mark is reached.
+     *
+     * @return The next board to be processed
+     */
+    @Override
+    public SudokuBoard remove() {
+        SudokuBoard board = depthFirst ? deque.removeLast() : deque.removeFirst();
+        if (depthFirst && deque.size() <= lowWaterMark) depthFirst = false;
+        return board;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return True if there are no boards left to process and false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return deque.isEmpty();
+    }
+
+    /**
+     * Returns the number of boards in the list.
+     *
+     * @return The number of boards left to process
+     */
+    @Override
+    public int size() {
+        return deque.size();
+    }
+
+    /**
+     * Returns every board in the list from front to back without removing them, regardless of the
+     * current mode. When restored into an empty list, the boards end up in the same positions and
+     * the list switches to depth-first mode if they reach the high-water mark, as it would when
+     * adding any board.
+     *
+     * @return The boards in the list
+     */
+    @Override
+    public List<SudokuBoard> snapshot() {
+        return new ArrayList<>(deque);
+    }
+
+    /**
+     * Removes all boards from the list and resets it to breadth-first mode. The statistics are
+     * kept until the next board is added, so they can still be read once a search has finished.
+     */
+    @Override
+    public void clear() {
+        deque.clear();
+        depthFirst = false;
+        highWaterMark = 0;
+        lowWaterMark = 0;
+    }
+
+    /**
+     * Checks if the list is currently in depth-first mode.
+     *
+     * @return True if boards are being removed from the tail and false otherwise
+     */
+    public boolean isDepthFirst() {
+        return depthFirst;
+    }
+
+    /**
+     * Returns the number of times the list has switched to depth-first mode during the current or
+     * most recent search.
+     *
+     * @return The number of switches to depth-first mode
+     */
+    public int getSwitchesToDepthFirst() {
+        return switchesToDepthFirst;
+    }
+
+    /**
+     * Returns the largest number of boards the list has held during the current or most recent
+     * search.
+     *
+     * @return The peak size of the list
+     */
+    public int getPeakSize() {
+        return peakSize;
+    }
+}
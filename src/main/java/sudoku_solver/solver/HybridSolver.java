@@ -0,0 +1,61 @@
+package sudoku_solver.solver;
+
+/**
+ * This class represents a Sudoku solver that searches breadth-first while its open list is small
+ * and depth-first once it grows too large.
+ * <p>
+ * It extends the SudokuSolver abstract class and maintains a HybridOpenList, which keeps the open
+ * list within a configurable number of boards and estimated memory budget. Puzzles that only need
+ * a shallow search are therefore solved in breadth-first order, while sparse puzzles that would
+ * make a breadth-first search run out of memory fall back to depth-first search.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class HybridSolver extends SudokuSolver {
+    public static final int DEFAULT_MAX_BOARDS = 10_000;
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    public static final double DEFAULT_LOW_WATER_FRACTION = 0.5;
+
+    /**
+     * Constructs a new HybridSolver object using the default limits of 10,000 boards or an
+     * estimated 64 MB, whichever is reached first, and switching back to breadth-first search once
+     * the open list has halved in size.
+     */
+    public HybridSolver() {
+        this(DEFAULT_MAX_BOARDS, DEFAULT_MAX_BYTES, DEFAULT_LOW_WATER_FRACTION);
+    }
+
+    /**
+     * Constructs a new HybridSolver object with the given open list limits.
+     *
+     * @param maxBoards        The maximum number of boards in the open list before switching to
+     *                         depth-first search, or 0 for no limit on the number of boards
+     * @param maxBytes         The estimated number of bytes of boards in the open list before
+     *                         switching to depth-first search, or 0 for no limit on memory usage
+     * @param lowWaterFraction The fraction of the limit the open list must drain to before
+     *                         switching back to breadth-first search
+     */
+    public HybridSolver(int maxBoards, long maxBytes, double lowWaterFraction) {
+        super(new HybridOpenList(maxBoards, maxBytes, lowWaterFraction));
+    }
+
+    /**
+     * Returns the number of times the search switched to depth-first during the most recent solve.
+     *
+     * @return The number of switches to depth-first search
+     */
+    public int getSwitchesToDepthFirst() {
+        return ((HybridOpenList) getOpenList()).getSwitchesToDepthFirst();
+    }
+
+    /**
+     * Returns the largest number of boards held in the open list during the most recent solve.
+     *
+     * @return The peak size of the open list
+     */
+    public int getPeakOpenListSize() {
+        return ((HybridOpenList) getOpenList()).getPeakSize();
+    }
+}
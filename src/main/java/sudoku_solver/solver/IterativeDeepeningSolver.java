@@ -0,0 +1,22 @@
+package sudoku_solver.solver;
+
+/**
+ * This class represents a Sudoku solver based on iterative deepening depth-first search.
+ * <p>
+ * Each iteration is a depth-first search that makes at most a fixed number of guesses, one more
+ * than the previous iteration. Shallow solutions are found without committing to a deep subtree,
+ * while memory use stays proportional to the depth limit.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class IterativeDeepeningSolver extends BoundedDepthFirstSolver {
+
+    /**
+     * Constructs a new IterativeDeepeningSolver object.
+     */
+    public IterativeDeepeningSolver() {
+        super(false);
+    }
+}
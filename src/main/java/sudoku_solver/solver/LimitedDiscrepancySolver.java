@@ -0,0 +1,24 @@
+package sudoku_solver.solver;
+
+/**
+ * This class represents a Sudoku solver based on limited discrepancy search.
+ * <p>
+ * Depth-first search trusts the preferred value of every square until it is proven wrong, so a
+ * single bad choice near the root can trap it in a huge subtree. Limited discrepancy search
+ * instead first follows the preferred value at every square, then tries every path that deviates
+ * from it once, then twice, and so on. A solution that the value ordering gets almost right is
+ * therefore found early, wherever along the path the wrong choices are.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class LimitedDiscrepancySolver extends BoundedDepthFirstSolver {
+
+    /**
+     * Constructs a new LimitedDiscrepancySolver object.
+     */
+    public LimitedDiscrepancySolver() {
+        super(true);
+    }
+}
@@ -0,0 +1,308 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.enums.ValueOrdering;
+import sudoku_solver.model.SudokuBoard;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class represents a best-first open list that stores boards outside the Java heap.
+ * <p>
+ * Every board is serialised with SudokuBoard.writeTo into a fixed-size slot of a direct
+ * ByteBuffer, and only recreated when it is removed. The order of the boards is kept in a binary
+ * heap of (heuristic key, slot) pairs held in primitive arrays, so the garbage collector never has
+ * to trace the boards in the open list no matter how large it grows. Boards are removed in the same
+ * order as the compareTo method of SudokuBoard.
+ * <p>
+ * The slots are spread across buffers of at most CHUNK_BYTES bytes, which are allocated as they
+ * are needed. The total size of the slots is capped by the maxBytes passed to the constructor, and
+ * adding a board once the cap has been reached throws an IllegalStateException. Note that the JVM
+ * also limits the total size of direct buffers, which can be raised with -XX:MaxDirectMemorySize.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class OffHeapOpenList implements OpenList {
+    public static final long DEFAULT_MAX_BYTES = 1L << 30;
+    private static final int CHUNK_BYTES = 1 << 22;
+    private static final int INITIAL_CAPACITY = 64;
+    private final long maxBytes;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    // The size of the boards in the open list, or 0 if no board has been added since it was last
+    // cleared
+    private int boardSize;
+    private int slotSize;
+    private int slotsPerChunk;
+    private int maxSlots;
+    // The number of slots that have been handed out at least once. Slots below this are either in
+    // use or in freeSlots.
+    private int slotsUsed;
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeSlotCount;
+    private long[] heapKeys = new long[INITIAL_CAPACITY];
+    private int[] heapSlots = new int[INITIAL_CAPACITY];
+    private int heapSize;
+    private int peakSize;
+
+    /**
+     * Constructs a new OffHeapOpenList object that can use up to DEFAULT_MAX_BYTES bytes of
+     * off-heap memory.
+     */
+    public OffHeapOpenList() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Constructs a new OffHeapOpenList object that can use up to the given number of bytes of
+     * off-heap memory for its slots.
+     *
+     * @param maxBytes The maximum number of bytes of off-heap memory to use. Must be positive.
+     */
+    public OffHeapOpenList(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Maximum off-heap memory must be positive");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Works out the slot layout for boards of the given size. Called when a board is added to an
+     * empty open list.
+     *
+     * @param size The size of the boards that will be stored
+     */
+    private void start(int size) {
+        boardSize = size;
+        slotSize = SudokuBoard.getSerialisedSize(size);
+        slotsPerChunk = CHUNK_BYTES / slotSize;
+        // The heap arrays are indexed by int, so there can never be more than Integer.MAX_VALUE - 8
+        // slots regardless of the memory cap
+        maxSlots = (int) Math.min(maxBytes / slotSize, Integer.MAX_VALUE - 8);
+        peakSize = 0;
+    }
+
+    /**
+     * Serialises a board into a free slot and adds it to the heap. The board itself is not kept,
+     * so the caller remains free to release it.
+     *
+     * @param board The board to add
+     */
+    @Override
+    public void add(SudokuBoard board) {
+        if (boardSize == 0) {
+            start(board.getSIZE());
+        } else if (board.getSIZE() != boardSize) {
+            throw new IllegalArgumentException("All boards in an open list must be the same size");
+        }
+        int slot = takeSlot();
+        ByteBuffer buffer = bufferFor(slot);
+        board.writeTo(buffer);
+        push(board.getHeuristicKey(), slot);
+    }
+
+    /**
+     * Adds every successor of the given board, releasing the successors and the board once they
+     * have been serialised.
+     *
+     * @param board         The board whose successors should be added
+     * @param valueOrdering The order in which the candidate values of a square are tried
+     */
+    @Override
+    public void addSuccessors(SudokuBoard board, ValueOrdering valueOrdering) {
+        for (SudokuBoard successor : board.getSuccessors(valueOrdering)) {
+            add(successor);
+            successor.release();
+        }
+        board.release();
+    }
+
+    /**
+     * Removes the board with the best heuristic value and recreates it from its slot.
+     *
+     * @return The next board to be processed
+     */
+    @Override
+    public SudokuBoard remove() {
+        int slot = pop();
+        SudokuBoard board = SudokuBoard.readFrom(bufferFor(slot), boardSize);
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeSlotCount++] = slot;
+        return board;
+    }
+
+    /**
+     * Returns a free slot, allocating a new chunk of memory if every existing slot is in use.
+     *
+     * @return The index of a free slot
+     */
+    private int takeSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (slotsUsed == maxSlots) {
+            throw new IllegalStateException("Off-heap open list is full. At most " + maxSlots +
+                    " boards of size " + boardSize + " fit in " + maxBytes + " bytes.");
+        }
+        int slot = slotsUsed++;
+        if (slot / slotsPerChunk == chunks.size()) {
+            int slots = Math.min(slotsPerChunk, maxSlots - slot);
+            chunks.add(ByteBuffer.allocateDirect(slots * slotSize));
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the buffer containing the given slot, positioned at the start of the slot.
+     *
+     * @param slot The index of the slot
+     * @return The buffer containing the slot
+     */
+    private ByteBuffer bufferFor(int slot) {
+        ByteBuffer buffer = chunks.get(slot / slotsPerChunk);
+        buffer.position(slot % slotsPerChunk * slotSize);
+        return buffer;
+    }
+
+    /**
+     * Adds a (key, slot) pair to the heap.
+     *
+     * @param key  The heuristic key of the board in the slot
+     * @param slot The index of the slot
+     */
+    private void push(long key, int slot) {
+        if (heapSize == heapKeys.length) {
+            heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+            heapSlots = Arrays.copyOf(heapSlots, heapSize * 2);
+        }
+        // Sift up
+        int index = heapSize++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heapKeys[parent] <= key) break;
+            heapKeys[index] = heapKeys[parent];
+            heapSlots[index] = heapSlots[parent];
+            index = parent;
+        }
+        heapKeys[index] = key;
+        heapSlots[index] = slot;
+        peakSize = Math.max(peakSize, heapSize);
+    }
+
+    /**
+     * Removes the pair with the smallest key from the heap.
+     *
+     * @return The slot of the removed pair
+     */
+    private int pop() {
+        int result = heapSlots[0];
+        heapSize--;
+        long key = heapKeys[heapSize];
+        int slot = heapSlots[heapSize];
+        // Sift the last pair down from the root
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) child++;
+            if (key <= heapKeys[child]) break;
+            heapKeys[index] = heapKeys[child];
+            heapSlots[index] = heapSlots[child];
+            index = child;
+        }
+        heapKeys[index] = key;
+        heapSlots[index] = slot;
+        return result;
+    }
+
+    /**
+     * Checks if the open list is empty.
+     *
+     * @return True if there are no boards left to process and false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return heapSize == 0;
+    }
+
+    /**
+     * Returns the number of boards in the open list.
+     *
+     * @return The number of boards left to process
+     */
+    @Override
+    public int size() {
+        return heapSize;
+    }
+
+    /**
+     * Returns every board in the open list without removing them, in the order of the heap. This is
+     * not the order remove() returns them, but restore() adds them back by priority. Each board is
+     * recreated from its slot only when it is read from the returned list, so the open list is
+     * never copied on to the Java heap. The list is only valid until the open list is next changed.
+     *
+     * @return The boards in the open list
+     */
+    @Override
+    public List<SudokuBoard> snapshot() {
+        return new AbstractList<>() {
+            @Override
+            public SudokuBoard get(int index) {
+                if (index < 0 || index >= heapSize) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                return SudokuBoard.readFrom(bufferFor(heapSlots[index]), boardSize);
+            }
+
+            @Override
+            public int size() {
+                return heapSize;
+            }
+        };
+    }
+
+    /**
+     * Removes all boards from the open list and frees its off-heap memory once the buffers are
+     * garbage collected. The peak size is kept so that it can be read after a solve.
+     */
+    @Override
+    public void clear() {
+        chunks.clear();
+        boardSize = 0;
+        slotsUsed = 0;
+        freeSlotCount = 0;
+        heapSize = 0;
+        freeSlots = new int[INITIAL_CAPACITY];
+        heapKeys = new long[INITIAL_CAPACITY];
+        heapSlots = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Returns the largest number of boards held at once since the first board was added after the
+     * open list was last cleared.
+     *
+     * @return The peak size of the open list
+     */
+    public int getPeakSize() {
+        return peakSize;
+    }
+
+    /**
+     * Returns the number of bytes of off-heap memory currently allocated for slots.
+     *
+     * @return The number of bytes allocated
+     */
+    public long getAllocatedBytes() {
+        long bytes = 0;
+        for (ByteBuffer chunk : chunks) {
+            bytes += chunk.capacity();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,135 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.enums.ValueOrdering;
+import sudoku_solver.model.SudokuBoard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This interface represents the open list used by a SudokuSolver, that is the collection of boards
+ * that have been generated but not yet processed.
+ * <p>
+ * The order in which boards are returned by remove() determines the search strategy of the solver.
+ * Implementations are free to store boards however they like, as long as every board that is added
+ * is eventually returned by remove() unless the open list is cleared. Implementations can also
+ * control how boards are expanded by overriding addSuccessors, for example to store successors
+ * lazily or in a compact form.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public interface OpenList {
+
+    /**
+     * Adds a board to the open list.
+     *
+     * @param board The board to add
+     */
+    void add(SudokuBoard board);
+
+    /**
+     * Adds every board in the given collection to the open list, in iteration order.
+     *
+     * @param boards The boards to add
+     */
+    default void addAll(Collection<SudokuBoard> boards) {
+        for (SudokuBoard board : boards) {
+            add(board);
+        }
+    }
+
+    /**
+     * Expands the given board and adds its successors to the open list. The board must be the one
+     * most recently returned by remove(). By default, every successor is generated up front and
+     * added with add(), after which the board is released as the open list no longer refers to it.
+     * Open lists that keep a reference to the board must override this method.
+     *
+     * @param board         The board whose successors should be added
+     * @param valueOrdering The order in which the candidate values of a square are tried
+     */
+    default void addSuccessors(SudokuBoard board, ValueOrdering valueOrdering) {
+        addAll(board.getSuccessors(valueOrdering));
+        board.release();
+    }
+
+    /**
+     * Removes and returns the next board to be processed. Should only be called when the open list
+     * is not empty.
+     *
+     * @return The next board to be processed
+     */
+    SudokuBoard remove();
+
+    /**
+     * Checks if the open list is empty.
+     *
+     * @return True if there are no boards left to process and false otherwise
+     */
+    boolean isEmpty();
+
+    /**
+     * Returns the number of boards in the open list.
+     *
+     * @return The number of boards left to process
+     */
+    int size();
+
+    /**
+     * Removes all boards from the open list.
+     */
+    void clear();
+
+    /**
+     * Returns every board in the open list without removing them, in an order that restore()
+     * accepts. Used to take checkpoints of a solve. By default, the boards are removed in the order
+     * remove() returns them and then put back with restore(). Open lists that store boards lazily
+     * or outside the Java heap should override this method, as draining them would create every
+     * board at once.
+     *
+     * @return The boards in the open list
+     */
+    default List<SudokuBoard> snapshot() {
+        List<SudokuBoard> boards = new ArrayList<>(size());
+        while (!isEmpty()) {
+            boards.add(remove());
+        }
+        restore(boards);
+        return boards;
+    }
+
+    /**
+     * Adds boards returned by snapshot() so that remove() returns them in the same order again. By
+     * default they are added in order with add(), which is correct for open lists that return
+     * boards in the order they were added or by priority.
+     *
+     * @param boards The boards to add, in the order they should be removed
+     */
+    default void restore(List<SudokuBoard> boards) {
+        addAll(boards);
+    }
+
+    /**
+     * Returns any state, beyond the boards themselves, that the open list needs to restore the
+     * boards returned by snapshot() exactly, such as the depth of each board. Must be called before
+     * the open list is next changed. By default there is no such state.
+     *
+     * @return The state of the open list
+     */
+    default int[] snapshotState() {
+        return new int[0];
+    }
+
+    /**
+     * Adds boards returned by snapshot() together with the state returned by snapshotState() at
+     * the same time. By default the state is ignored and the boards are passed to restore().
+     *
+     * @param boards The boards to add, in the order they should be removed
+     * @param state  The state of the open list when the boards were taken
+     */
+    default void restore(List<SudokuBoard> boards, int[] state) {
+        restore(boards);
+    }
+}
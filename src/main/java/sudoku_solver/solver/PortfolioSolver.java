@@ -0,0 +1,202 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.enums.SolverType;
+import sudoku_solver.model.SudokuBoard;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * This class represents a Sudoku solver that races several other solvers against each other.
+ * <p>
+ * Which solver is fastest varies a great deal from puzzle to puzzle, so rather than picking one in
+ * advance, the portfolio runs a new solver of every type in its composition on a separate thread.
+ * Each solver creates its own boards from the puzzle String, so they share no state. The first
+ * solution that passes verifySolution() is returned, and the remaining solvers are interrupted,
+ * which makes them stop at their next check. A null result from a complete solver proves that the
+ * puzzle has no solution, so it also ends the race. A solver that throws (for example by running
+ * out of memory) is dropped from the race, and only if every solver throws is the first exception
+ * rethrown.
+ * <p>
+ * The type of the winning solver is recorded after each solve, along with a count of wins for each
+ * type, so that the composition of the portfolio can be tuned. By default the portfolio contains
+ * every other SolverType except BREADTH_FIRST, whose open list grows without bound.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class PortfolioSolver extends SudokuSolver {
+    // The solver types to race, or null to race the default set
+    private final List<SolverType> engines;
+    // Not an EnumMap, as portfolios are created while SolverType itself is being initialised
+    private final Map<SolverType, Long> wins = new HashMap<>();
+    private SolverType lastWinner;
+    private long nodesExpanded;
+
+    /**
+     * Constructs a new PortfolioSolver object that races every other SolverType except
+     * BREADTH_FIRST.
+     */
+    public PortfolioSolver() {
+        this.engines = null;
+    }
+
+    /**
+     * Constructs a new PortfolioSolver object that races the given solver types.
+     *
+     * @param engines The solver types to race. Must not be empty or contain PORTFOLIO.
+     */
+    public PortfolioSolver(List<SolverType> engines) {
+        if (engines.isEmpty() || engines.contains(SolverType.PORTFOLIO)) {
+            throw new IllegalArgumentException("A portfolio must contain at least one solver " +
+                    "type other than PORTFOLIO");
+        }
+        this.engines = List.copyOf(engines);
+    }
+
+    /**
+     * The result of a single solver in the portfolio.
+     */
+    private static class Result {
+        private final SolverType type;
+        private final SudokuSolver solver;
+        private final SudokuBoard solution;
+
+        /**
+         * Creates a new Result.
+         *
+         * @param type     The type of the solver
+         * @param solver   The solver
+         * @param solution The board returned by the solver, which may be null
+         */
+        private Result(SolverType type, SudokuSolver solver, SudokuBoard solution) {
+            this.type = type;
+            this.solver = solver;
+            this.solution = solution;
+        }
+    }
+
+    /**
+     * Solves the Sudoku puzzle specified by the String board by racing every solver in the
+     * portfolio, returning the first verified solution.
+     *
+     * @param board The String representation of the Sudoku board
+     * @return A solved SudokuBoard object if it exists and otherwise null
+     */
+    @Override
+    public SudokuBoard solve(String board) {
+        lastWinner = null;
+        nodesExpanded = 0;
+        List<SolverType> types = getEngines();
+        long startTime = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(types.size(), runnable -> {
+            Thread thread = new Thread(runnable, "Portfolio solver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<Result> completionService = new ExecutorCompletionService<>(executor);
+        try {
+            for (SolverType type : types) {
+                SudokuSolver solver = type.createSolver();
+                completionService.submit(() -> new Result(type, solver, solver.solve(board)));
+            }
+
+            Throwable failure = null;
+            boolean anySucceeded = false;
+            for (int i = 0; i < types.size(); i++) {
+                Result result;
+                try {
+                    result = completionService.take().get();
+                } catch (ExecutionException e) {
+                    // Drop only the failed solver, as another may still find the solution
+                    if (failure == null) failure = e.getCause();
+                    continue;
+                }
+                anySucceeded = true;
+                SudokuBoard solution = result.solution;
+                if (solution != null && solution.solved() && solution.verifySolution()) {
+                    lastWinner = result.type;
+                    nodesExpanded = result.solver.getNodesExpanded();
+                    wins.merge(result.type, 1L, Long::sum);
+                    recordTime(board, System.currentTimeMillis() - startTime);
+                    return solution;
+                }
+                // A complete solver only gives up once it has proven there is no solution
+                if (solution == null && result.solver.isComplete()) return null;
+            }
+            if (failure != null && !anySucceeded) {
+                if (failure instanceof Error error) throw error;
+                if (failure instanceof RuntimeException runtimeException) throw runtimeException;
+                throw new IllegalStateException(failure);
+            }
+            return null;
+        } catch (InterruptedException e) {
+            // Keep the interrupt so that the caller can see the solve was cancelled
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            // Interrupt any solvers that are still running
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the solver types raced by this portfolio.
+     *
+     * @return The solver types in the portfolio
+     */
+    public List<SolverType> getEngines() {
+        if (engines != null) return engines;
+        List<SolverType> types = new ArrayList<>();
+        for (SolverType type : SolverType.values()) {
+            if (type != SolverType.PORTFOLIO && type != SolverType.BREADTH_FIRST) types.add(type);
+        }
+        return types;
+    }
+
+    /**
+     * Returns the type of the solver that found the solution during the most recent call to solve,
+     * or null if no solution was found.
+     *
+     * @return The type of the winning solver
+     */
+    public SolverType getLastWinner() {
+        return lastWinner;
+    }
+
+    /**
+     * Returns the number of solves won by each solver type since this portfolio was created. Types
+     * that have never won are not included.
+     *
+     * @return A Map from each solver type to its number of wins
+     */
+    public Map<SolverType, Long> getWins() {
+        return Collections.unmodifiableMap(new HashMap<>(wins));
+    }
+
+    /**
+     * Returns the number of boards expanded by the winning solver during the most recent call to
+     * solve, or 0 if no solution was found.
+     *
+     * @return The number of boards expanded
+     */
+    @Override
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    /**
+     * Returns whether any solver in the portfolio is complete, in which case a null result proves
+     * that the puzzle has no solution.
+     *
+     * @return True if any solver in the portfolio is complete
+     */
+    @Override
+    public boolean isComplete() {
+        for (SolverType type : getEngines()) {
+            if (type.getSolver().isComplete()) return true;
+        }
+        return false;
+    }
+}
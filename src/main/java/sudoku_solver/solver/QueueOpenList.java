@@ -0,0 +1,91 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.model.SudokuBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * This class represents an open list backed by a Queue of Sudoku boards.
+ * <p>
+ * The order of the boards is entirely determined by the Queue that is passed to the constructor.
+ * For example, a LinkedList results in breadth-first order and a PriorityQueue results in
+ * best-first order.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class QueueOpenList implements OpenList {
+    private final Queue<SudokuBoard> queue;
+
+    /**
+     * Constructs a new QueueOpenList object backed by the given queue.
+     *
+     * @param queue The queue used to store the boards
+     */
+    public QueueOpenList(Queue<SudokuBoard> queue) {
+        this.queue = queue;
+    }
+
+    /**
+     * Adds a board to the underlying queue.
+     *
+     * @param board The board to add
+     */
+    @Override
+    public void add(SudokuBoard board) {
+        queue.add(board);
+    }
+
+    /**
+     * Removes and returns the head of the underlying queue.
+     *
+     * @return The next board to be processed
+     */
+    @Override
+    public SudokuBoard remove() {
+        return queue.remove();
+    }
+
+    /**
+     * Checks if the underlying queue is empty.
+     *
+     * @return True if there are no boards left to process and false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    /**
+     * Returns the number of boards in the underlying queue.
+     *
+     * @return The number of boards left to process
+     */
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Removes all boards from the underlying queue.
+     */
+    @Override
+    public void clear() {
+        queue.clear();
+    }
+
+    /**
+     * Returns every board in the queue without removing them, in the iteration order of the queue.
+     * This is the removal order for FIFO queues, while a PriorityQueue puts the boards back in
+     * priority order when they are restored.
+     *
+     * @return The boards in the open list
+     */
+    @Override
+    public List<SudokuBoard> snapshot() {
+        return new ArrayList<>(queue);
+    }
+}
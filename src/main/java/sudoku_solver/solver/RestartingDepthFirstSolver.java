@@ -0,0 +1,138 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.enums.RestartSchedule;
+import sudoku_solver.model.SudokuBoard;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * This class represents a depth-first Sudoku solver that periodically restarts its search.
+ * <p>
+ * The runtime of depth-first search is heavy-tailed: an unlucky choice near the root can cost
+ * orders of magnitude more boards than a lucky one. This solver breaks ties between equally
+ * constrained squares, and between the values of the chosen square, at random. Once a run has
+ * expanded the number of boards allowed by its RestartSchedule, the search is thrown away and
+ * started again from the initial board, where the random tie-breaking will usually lead it down a
+ * different path. Since the limits grow without bound, the search remains complete: a run that
+ * exhausts the open list without reaching its limit proves that there is no solution.
+ * <p>
+ * The random numbers are generated from a fixed seed at the start of every solve, so solving the
+ * same puzzle with the same settings always expands the same boards.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class RestartingDepthFirstSolver extends DepthFirstSolver {
+    public static final long DEFAULT_SEED = 0;
+    public static final long DEFAULT_BASE_LIMIT = 256;
+    private final long seed;
+    private final RestartSchedule schedule;
+    private final long baseLimit;
+    private SplittableRandom random;
+    // A copy of the initial board of the current solve, which every restart begins from
+    private SudokuBoard root;
+    private int restarts;
+    private long runLimit;
+    private long runNodesExpanded;
+
+    /**
+     * Constructs a new RestartingDepthFirstSolver object that uses the Luby restart schedule with
+     * the default seed and base limit.
+     */
+    public RestartingDepthFirstSolver() {
+        this(DEFAULT_SEED, RestartSchedule.LUBY, DEFAULT_BASE_LIMIT);
+    }
+
+    /**
+     * Constructs a new RestartingDepthFirstSolver object.
+     *
+     * @param seed      The seed used to generate the random numbers for tie-breaking
+     * @param schedule  The schedule that determines how many boards each run may expand
+     * @param baseLimit The number of boards corresponding to a multiple of 1 in the schedule. Must
+     *                  be positive.
+     */
+    public RestartingDepthFirstSolver(long seed, RestartSchedule schedule, long baseLimit) {
+        if (baseLimit <= 0) {
+            throw new IllegalArgumentException("Base restart limit must be positive");
+        }
+        this.seed = seed;
+        this.schedule = schedule;
+        this.baseLimit = baseLimit;
+    }
+
+    /**
+     * Solves the Sudoku puzzle specified by the String board, restarting the search whenever a run
+     * reaches its limit.
+     *
+     * @param board The String representation of the Sudoku board
+     * @return A solved SudokuBoard object if it exists and otherwise null
+     */
+    @Override
+    public SudokuBoard solve(String board) {
+        start();
+        return super.solve(board);
+    }
+
+    /**
+     * Resumes a solve from a checkpoint file. The random numbers and the restart schedule start
+     * again from the beginning, and restarts begin from the puzzle in the checkpoint rather than
+     * from the first board expanded after resuming, which may be deep in the search tree.
+     *
+     * @param checkpointFile The checkpoint file to resume from
+     * @return A solved SudokuBoard object if it exists and otherwise null
+     * @throws IOException If the checkpoint file could not be read
+     */
+    @Override
+    public SudokuBoard resume(Path checkpointFile) throws IOException {
+        start();
+        root = new SudokuBoard(SolverCheckpoint.readPuzzle(checkpointFile));
+        return super.resume(checkpointFile);
+    }
+
+    /**
+     * Resets the random numbers and the restart schedule before a solve.
+     */
+    private void start() {
+        random = new SplittableRandom(seed);
+        root = null;
+        restarts = 0;
+        runLimit = schedule.getLimit(0, baseLimit);
+        runNodesExpanded = 0;
+    }
+
+    /**
+     * Pushes the successors of the given board, with ties broken randomly, onto the stack. If the
+     * current run has reached its limit, the stack is cleared and the initial board is expanded
+     * instead.
+     *
+     * @param board The board whose successors should be added to the open list
+     */
+    @Override
+    protected void addSuccessors(SudokuBoard board) {
+        if (root == null) {
+            root = board.clone();
+        } else if (runNodesExpanded >= runLimit) {
+            getOpenList().clear();
+            board.release();
+            board = root.clone();
+            restarts++;
+            runLimit = schedule.getLimit(restarts, baseLimit);
+            runNodesExpanded = 0;
+        }
+        runNodesExpanded++;
+        ((SuccessorStack) getOpenList()).push(
+                board.getSuccessorIterator(getValueOrdering(), random));
+    }
+
+    /**
+     * Returns the number of times the search was restarted during the most recent call to solve.
+     *
+     * @return The number of restarts
+     */
+    public int getRestarts() {
+        return restarts;
+    }
+}
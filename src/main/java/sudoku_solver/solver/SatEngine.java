@@ -0,0 +1,621 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.enums.RestartSchedule;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a conflict-driven clause learning (CDCL) SAT solver.
+ * <p>
+ * Variables are numbered from 0 and a literal is stored as 2 * variable for the positive literal
+ * and 2 * variable + 1 for the negative literal. Clauses are stored back to back in a single int
+ * array, with their start and size kept in parallel arrays, so the clause database holds no
+ * objects other than the arrays themselves.
+ * <p>
+ * Unit propagation uses two watched literals: only the first two literals of each clause are
+ * watched, and a clause is only visited when one of them becomes false. On a conflict, a clause
+ * is learnt by resolving back to the first unique implication point (1-UIP), and the search jumps
+ * back to the second highest decision level in the learnt clause. Variables are chosen by VSIDS,
+ * which favours variables involved in recent conflicts, and are given the value they last had
+ * (phase saving). The search restarts after a number of conflicts given by a Luby
+ * RestartSchedule, and half of the learnt clauses are deleted at a restart once there are too
+ * many of them.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class SatEngine {
+    public static final long DEFAULT_RESTART_BASE = 100;
+    private static final double VARIABLE_DECAY = 0.95;
+    private static final double CLAUSE_DECAY = 0.999;
+    private static final int UNASSIGNED = -1;
+    private final int variables;
+    private final long restartBase;
+    // The clause database
+    private int[] literals = new int[1024];
+    private int literalsSize;
+    private int[] clauseStarts = new int[256];
+    private int[] clauseSizes = new int[256];
+    private boolean[] clauseLearnt = new boolean[256];
+    private double[] clauseActivities = new double[256];
+    private int clauses;
+    private int learntClauses;
+    private double clauseIncrement = 1;
+    // The clauses watching each literal
+    private final int[][] watches;
+    private final int[] watchSizes;
+    // The value of each variable (0, 1 or UNASSIGNED), its decision level and the clause that
+    // implied it, or -1 for a decision
+    private final int[] values;
+    private final int[] levels;
+    private final int[] reasons;
+    private final boolean[] phases;
+    // The assigned literals in order, and the size of the trail at the start of each level
+    private final int[] trail;
+    private int trailSize;
+    private int propagated;
+    private final int[] levelStarts;
+    private int level;
+    // VSIDS activities and a max-heap of the variables ordered by them
+    private final double[] activities;
+    private double variableIncrement = 1;
+    private final int[] heap;
+    private final int[] heapIndexes;
+    private int heapSize;
+    // Set once a conflict is found at level 0, after which the formula is unsatisfiable
+    private boolean unsatisfiable;
+    private final boolean[] seen;
+    private long decisions;
+    private long conflicts;
+    private long restarts;
+
+    /**
+     * Creates a new SatEngine with no clauses and the default restart base.
+     *
+     * @param variables The number of variables
+     */
+    public SatEngine(int variables) {
+        this(variables, DEFAULT_RESTART_BASE);
+    }
+
+    /**
+     * Creates a new SatEngine with no clauses.
+     *
+     * @param variables   The number of variables
+     * @param restartBase The number of conflicts corresponding to a multiple of 1 in the Luby
+     *                    restart schedule. Must be positive.
+     */
+    public SatEngine(int variables, long restartBase) {
+        if (restartBase <= 0) {
+            throw new IllegalArgumentException("Restart base must be positive");
+        }
+        this.variables = variables;
+        this.restartBase = restartBase;
+        watches = new int[variables * 2][];
+        watchSizes = new int[variables * 2];
+        values = new int[variables];
+        Arrays.fill(values, UNASSIGNED);
+        levels = new int[variables];
+        reasons = new int[variables];
+        phases = new boolean[variables];
+        trail = new int[variables];
+        levelStarts = new int[variables + 1];
+        activities = new double[variables];
+        heap = new int[variables];
+        heapIndexes = new int[variables];
+        seen = new boolean[variables];
+        for (int variable = 0; variable < variables; variable++) {
+            heapIndexes[variable] = variable;
+            heap[variable] = variable;
+        }
+        heapSize = variables;
+    }
+
+    /**
+     * Returns the literal that is true when the given variable has the given value.
+     *
+     * @param variable The variable
+     * @param value    The value of the variable
+     * @return The literal
+     */
+    public static int literal(int variable, boolean value) {
+        return variable * 2 + (value ? 0 : 1);
+    }
+
+    /**
+     * Adds a clause to the formula. Must be called before solve. Duplicate literals are not
+     * allowed.
+     *
+     * @param clause The literals of the clause, at least one of which must be true
+     */
+    public void addClause(int... clause) {
+        if (unsatisfiable) return;
+        if (clause.length == 0) {
+            unsatisfiable = true;
+        } else if (clause.length == 1) {
+            int value = valueOf(clause[0]);
+            if (value == 0) {
+                unsatisfiable = true;
+            } else if (value == UNASSIGNED) {
+                assign(clause[0], -1);
+            }
+        } else {
+            attach(store(clause, clause.length, false));
+        }
+    }
+
+    /**
+     * Searches for a satisfying assignment.
+     *
+     * @return True if the formula is satisfiable, false if it is unsatisfiable and null if the
+     * search was interrupted
+     */
+    public Boolean solve() {
+        if (unsatisfiable) return false;
+        int[] learnt = new int[variables];
+        long runLimit = RestartSchedule.LUBY.getLimit(0, restartBase);
+        long runConflicts = 0;
+        int maxLearntClauses = Math.max(clauses / 3, 1000);
+
+        while (true) {
+            int conflict = propagate();
+            if (conflict != -1) {
+                conflicts++;
+                runConflicts++;
+                if (level == 0) {
+                    unsatisfiable = true;
+                    return false;
+                }
+                int size = analyse(conflict, learnt);
+                int backjumpLevel = size == 1 ? 0 : levels[learnt[1] >> 1];
+                cancelUntil(backjumpLevel);
+                if (size == 1) {
+                    assign(learnt[0], -1);
+                } else {
+                    int clause = store(learnt, size, true);
+                    attach(clause);
+                    bumpClause(clause);
+                    assign(learnt[0], clause);
+                }
+                variableIncrement /= VARIABLE_DECAY;
+                clauseIncrement /= CLAUSE_DECAY;
+            } else {
+                if (runConflicts >= runLimit) {
+                    cancelUntil(0);
+                    restarts++;
+                    runLimit = RestartSchedule.LUBY.getLimit((int) restarts, restartBase);
+                    runConflicts = 0;
+                    if (learntClauses > maxLearntClauses) {
+                        reduceLearntClauses();
+                        maxLearntClauses += maxLearntClauses / 10;
+                    }
+                }
+                // Terminate the thread execution if an interrupt is issued
+                if (Thread.currentThread().isInterrupted()) return null;
+                int variable = nextDecisionVariable();
+                if (variable == -1) return true;
+                decisions++;
+                levelStarts[++level] = trailSize;
+                assign(literal(variable, phases[variable]), -1);
+            }
+        }
+    }
+
+    /**
+     * Returns the value of a variable in the satisfying assignment found by solve.
+     *
+     * @param variable The variable
+     * @return The value of the variable
+     */
+    public boolean getValue(int variable) {
+        return values[variable] == 1;
+    }
+
+    /**
+     * Stores a clause in the clause database without watching it.
+     *
+     * @param clause The array containing the literals of the clause
+     * @param size   The number of literals in the clause
+     * @param learnt Whether the clause was learnt
+     * @return The index of the clause
+     */
+    private int store(int[] clause, int size, boolean learnt) {
+        if (literalsSize + size > literals.length) {
+            literals = Arrays.copyOf(literals, Math.max(literals.length * 2, literalsSize + size));
+        }
+        if (clauses == clauseStarts.length) {
+            int capacity = clauses * 2;
+            clauseStarts = Arrays.copyOf(clauseStarts, capacity);
+            clauseSizes = Arrays.copyOf(clauseSizes, capacity);
+            clauseLearnt = Arrays.copyOf(clauseLearnt, capacity);
+            clauseActivities = Arrays.copyOf(clauseActivities, capacity);
+        }
+        System.arraycopy(clause, 0, literals, literalsSize, size);
+        clauseStarts[clauses] = literalsSize;
+        clauseSizes[clauses] = size;
+        clauseLearnt[clauses] = learnt;
+        clauseActivities[clauses] = 0;
+        literalsSize += size;
+        if (learnt) learntClauses++;
+        return clauses++;
+    }
+
+    /**
+     * Watches the first two literals of a clause.
+     *
+     * @param clause The index of the clause
+     */
+    private void attach(int clause) {
+        int start = clauseStarts[clause];
+        watch(literals[start], clause);
+        watch(literals[start + 1], clause);
+    }
+
+    /**
+     * Adds a clause to the watch list of a literal.
+     *
+     * @param literal The literal
+     * @param clause  The index of the clause
+     */
+    private void watch(int literal, int clause) {
+        int[] list = watches[literal];
+        if (list == null) {
+            list = new int[4];
+            watches[literal] = list;
+        } else if (watchSizes[literal] == list.length) {
+            list = Arrays.copyOf(list, list.length * 2);
+            watches[literal] = list;
+        }
+        list[watchSizes[literal]++] = clause;
+    }
+
+    /**
+     * Returns the value of a literal.
+     *
+     * @param literal The literal
+     * @return 1 if the literal is true, 0 if it is false and UNASSIGNED otherwise
+     */
+    private int valueOf(int literal) {
+        int value = values[literal >> 1];
+        return value == UNASSIGNED ? UNASSIGNED : value ^ (literal & 1);
+    }
+
+    /**
+     * Makes a literal true at the current decision level.
+     *
+     * @param literal The literal
+     * @param reason  The clause that implied the literal, or -1 for a decision
+     */
+    private void assign(int literal, int reason) {
+        int variable = literal >> 1;
+        values[variable] = (literal & 1) ^ 1;
+        levels[variable] = level;
+        reasons[variable] = reason;
+        trail[trailSize++] = literal;
+    }
+
+    /**
+     * Propagates every literal on the trail that has not yet been propagated.
+     *
+     * @return The index of a clause whose literals are all false, or -1 if there is none
+     */
+    private int propagate() {
+        while (propagated < trailSize) {
+            int falseLiteral = trail[propagated++] ^ 1;
+            int[] list = watches[falseLiteral];
+            int size = watchSizes[falseLiteral];
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int clause = list[i];
+                int start = clauseStarts[clause];
+                // Keep the false literal in the second position
+                if (literals[start] == falseLiteral) {
+                    literals[start] = literals[start + 1];
+                    literals[start + 1] = falseLiteral;
+                }
+                int first = literals[start];
+                if (valueOf(first) == 1) {
+                    list[kept++] = clause;
+                    continue;
+                }
+
+                // Look for another literal to watch
+                boolean moved = false;
+                int end = start + clauseSizes[clause];
+                for (int k = start + 2; k < end; k++) {
+                    if (valueOf(literals[k]) != 0) {
+                        literals[start + 1] = literals[k];
+                        literals[k] = falseLiteral;
+                        watch(literals[start + 1], clause);
+                        moved = true;
+                        break;
+                    }
+                }
+                if (moved) continue;
+
+                list[kept++] = clause;
+                if (valueOf(first) == 0) {
+                    // Every literal is false, so keep the rest of the watch list and stop
+                    while (++i < size) list[kept++] = list[i];
+                    watchSizes[falseLiteral] = kept;
+                    propagated = trailSize;
+                    return clause;
+                }
+                assign(first, clause);
+            }
+            watchSizes[falseLiteral] = kept;
+        }
+        return -1;
+    }
+
+    /**
+     * Learns a clause from a conflict by resolving the conflicting clause with the reasons of the
+     * literals assigned at the current level, until only one literal of the current level remains
+     * (the first unique implication point). The asserting literal is placed first and the literal
+     * with the highest level of the rest second.
+     *
+     * @param conflict The index of the conflicting clause
+     * @param learnt   The array to store the learnt clause in
+     * @return The number of literals in the learnt clause
+     */
+    private int analyse(int conflict, int[] learnt) {
+        int size = 1;
+        int pathCount = 0;
+        int literal = -1;
+        int index = trailSize - 1;
+        int clause = conflict;
+        do {
+            if (clauseLearnt[clause]) bumpClause(clause);
+            int start = clauseStarts[clause];
+            int end = start + clauseSizes[clause];
+            // The first literal of a reason is the literal it implied, which is being resolved on
+            for (int k = literal == -1 ? start : start + 1; k < end; k++) {
+                int other = literals[k];
+                int variable = other >> 1;
+                if (!seen[variable] && levels[variable] > 0) {
+                    seen[variable] = true;
+                    bumpVariable(variable);
+                    if (levels[variable] == level) {
+                        pathCount++;
+                    } else {
+                        learnt[size++] = other;
+                    }
+                }
+            }
+            // Resolve on the most recently assigned literal of the current level
+            while (!seen[trail[index] >> 1]) index--;
+            literal = trail[index--];
+            clause = reasons[literal >> 1];
+            seen[literal >> 1] = false;
+            pathCount--;
+        } while (pathCount > 0);
+        learnt[0] = literal ^ 1;
+
+        int highest = 1;
+        for (int i = 1; i < size; i++) {
+            seen[learnt[i] >> 1] = false;
+            if (levels[learnt[i] >> 1] > levels[learnt[highest] >> 1]) highest = i;
+        }
+        if (size > 1) {
+            int swap = learnt[1];
+            learnt[1] = learnt[highest];
+            learnt[highest] = swap;
+        }
+        return size;
+    }
+
+    /**
+     * Undoes every assignment made above the given decision level, saving their values as the
+     * phases to try next.
+     *
+     * @param target The decision level to return to
+     */
+    private void cancelUntil(int target) {
+        if (level <= target) return;
+        for (int i = trailSize - 1; i >= levelStarts[target + 1]; i--) {
+            int variable = trail[i] >> 1;
+            phases[variable] = values[variable] == 1;
+            values[variable] = UNASSIGNED;
+            if (heapIndexes[variable] == -1) heapInsert(variable);
+        }
+        trailSize = levelStarts[target + 1];
+        propagated = trailSize;
+        level = target;
+    }
+
+    /**
+     * Returns the unassigned variable with the highest activity.
+     *
+     * @return The variable, or -1 if every variable is assigned
+     */
+    private int nextDecisionVariable() {
+        while (heapSize > 0) {
+            int variable = heapRemoveMax();
+            if (values[variable] == UNASSIGNED) return variable;
+        }
+        return -1;
+    }
+
+    /**
+     * Deletes the less active half of the learnt clauses, apart from those with two literals and
+     * those that are the reason for an assignment. Only called at level 0, after which the clause
+     * database is compacted and every watch list rebuilt.
+     */
+    private void reduceLearntClauses() {
+        double[] sorted = new double[learntClauses];
+        int count = 0;
+        for (int clause = 0; clause < clauses; clause++) {
+            if (clauseLearnt[clause]) sorted[count++] = clauseActivities[clause];
+        }
+        Arrays.sort(sorted, 0, count);
+        double threshold = sorted[count / 2];
+
+        boolean[] locked = new boolean[clauses];
+        for (int i = 0; i < trailSize; i++) {
+            int reason = reasons[trail[i] >> 1];
+            if (reason != -1) locked[reason] = true;
+        }
+        int[] newIndexes = new int[clauses];
+        int kept = 0;
+        int keptLiterals = 0;
+        learntClauses = 0;
+        for (int clause = 0; clause < clauses; clause++) {
+            if (clauseLearnt[clause] && clauseSizes[clause] > 2 && !locked[clause] &&
+                    clauseActivities[clause] < threshold) {
+                newIndexes[clause] = -1;
+                continue;
+            }
+            int start = clauseStarts[clause];
+            int size = clauseSizes[clause];
+            System.arraycopy(literals, start, literals, keptLiterals, size);
+            clauseStarts[kept] = keptLiterals;
+            clauseSizes[kept] = size;
+            clauseLearnt[kept] = clauseLearnt[clause];
+            clauseActivities[kept] = clauseActivities[clause];
+            if (clauseLearnt[kept]) learntClauses++;
+            newIndexes[clause] = kept++;
+            keptLiterals += size;
+        }
+        clauses = kept;
+        literalsSize = keptLiterals;
+        for (int i = 0; i < trailSize; i++) {
+            int variable = trail[i] >> 1;
+            if (reasons[variable] != -1) reasons[variable] = newIndexes[reasons[variable]];
+        }
+        Arrays.fill(watchSizes, 0);
+        for (int clause = 0; clause < clauses; clause++) {
+            attach(clause);
+        }
+    }
+
+    /**
+     * Increases the activity of a variable, rescaling every activity if they grow too large.
+     *
+     * @param variable The variable
+     */
+    private void bumpVariable(int variable) {
+        activities[variable] += variableIncrement;
+        if (activities[variable] > 1e100) {
+            for (int i = 0; i < variables; i++) activities[i] *= 1e-100;
+            variableIncrement *= 1e-100;
+        }
+        if (heapIndexes[variable] != -1) heapUp(heapIndexes[variable]);
+    }
+
+    /**
+     * Increases the activity of a learnt clause, rescaling every activity if they grow too large.
+     *
+     * @param clause The index of the clause
+     */
+    private void bumpClause(int clause) {
+        clauseActivities[clause] += clauseIncrement;
+        if (clauseActivities[clause] > 1e20) {
+            for (int i = 0; i < clauses; i++) clauseActivities[i] *= 1e-20;
+            clauseIncrement *= 1e-20;
+        }
+    }
+
+    /**
+     * Adds a variable to the heap.
+     *
+     * @param variable The variable
+     */
+    private void heapInsert(int variable) {
+        heap[heapSize] = variable;
+        heapIndexes[variable] = heapSize;
+        heapUp(heapSize++);
+    }
+
+    /**
+     * Removes and returns the variable with the highest activity from the heap.
+     *
+     * @return The variable
+     */
+    private int heapRemoveMax() {
+        int variable = heap[0];
+        heapIndexes[variable] = -1;
+        if (--heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapIndexes[heap[0]] = 0;
+            heapDown(0);
+        }
+        return variable;
+    }
+
+    /**
+     * Moves the variable at the given position of the heap up until the heap is ordered.
+     *
+     * @param position The position of the variable
+     */
+    private void heapUp(int position) {
+        int variable = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (activities[heap[parent]] >= activities[variable]) break;
+            heap[position] = heap[parent];
+            heapIndexes[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = variable;
+        heapIndexes[variable] = position;
+    }
+
+    /**
+     * Moves the variable at the given position of the heap down until the heap is ordered.
+     *
+     * @param position The position of the variable
+     */
+    private void heapDown(int position) {
+        int variable = heap[position];
+        while (true) {
+            int child = position * 2 + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && activities[heap[child + 1]] > activities[heap[child]]) {
+                child++;
+            }
+            if (activities[heap[child]] <= activities[variable]) break;
+            heap[position] = heap[child];
+            heapIndexes[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = variable;
+        heapIndexes[variable] = position;
+    }
+
+    /**
+     * Returns the number of decisions made by the most recent call to solve.
+     *
+     * @return The number of decisions
+     */
+    public long getDecisions() {
+        return decisions;
+    }
+
+    /**
+     * Returns the number of conflicts found by the most recent call to solve.
+     *
+     * @return The number of conflicts
+     */
+    public long getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Returns the number of restarts made by the most recent call to solve.
+     *
+     * @return The number of restarts
+     */
+    public long getRestarts() {
+        return restarts;
+    }
+
+    /**
+     * Returns the number of learnt clauses currently in the clause database.
+     *
+     * @return The number of learnt clauses
+     */
+    public int getLearntClauses() {
+        return learntClauses;
+    }
+}
@@ -0,0 +1,182 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.model.SudokuBoard;
+
+/**
+ * This class represents a Sudoku solver that encodes the puzzle as a boolean satisfiability (SAT)
+ * problem and solves it with a SatEngine.
+ * <p>
+ * There is one variable for every value of every square, which is true if the square has that
+ * value. Every square must have at least one value and at most one value, and every value must
+ * appear at least once and at most once in every row, column and box. The values of the squares
+ * filled in by SudokuBoard, either given in the puzzle or found by its constraint propagation,
+ * are added as clauses with a single literal.
+ * <p>
+ * Rather than expanding boards, the engine learns a new clause from every conflict and so never
+ * repeats the same mistake, which makes it far less sensitive to the size of the board than the
+ * other solvers. The number of boards expanded is reported as the number of decisions made by the
+ * engine. The value ordering of the solver is not used.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class SatSolver extends SudokuSolver {
+    private long nodesExpanded;
+    private long conflicts;
+    private long restarts;
+
+    /**
+     * Constructs a new SatSolver object.
+     */
+    public SatSolver() {
+    }
+
+    /**
+     * Solves the Sudoku puzzle specified by the String board by encoding it as a SAT problem.
+     *
+     * @param board The String representation of the Sudoku board
+     * @return A solved SudokuBoard object if it exists and otherwise null
+     */
+    @Override
+    public SudokuBoard solve(String board) {
+        nodesExpanded = 0;
+        conflicts = 0;
+        restarts = 0;
+        long startTime = System.currentTimeMillis();
+        SudokuBoard initial = new SudokuBoard(board);
+        if (initial.solved() && initial.verifySolution()) {
+            recordTime(board, System.currentTimeMillis() - startTime);
+            System.out.println("Solver was given a game that was already solved or that was " +
+                    "solved by constraint propagation within SudokuBoard");
+            return initial;
+        }
+
+        int[][] values = initial.getValues();
+        int size = values.length;
+        SatEngine engine = encode(values);
+        Boolean satisfiable = engine.solve();
+        nodesExpanded = engine.getDecisions();
+        conflicts = engine.getConflicts();
+        restarts = engine.getRestarts();
+        if (satisfiable == null || !satisfiable) return null;
+
+        StringBuilder solution = new StringBuilder();
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                if (column > 0) solution.append(',');
+                for (int value = 0; value < size; value++) {
+                    if (engine.getValue(variable(size, row, column, value))) {
+                        solution.append(value + 1);
+                        break;
+                    }
+                }
+            }
+            solution.append('\n');
+        }
+        SudokuBoard result = new SudokuBoard(solution.toString());
+        recordTime(board, System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    /**
+     * Encodes a board as a SAT problem.
+     *
+     * @param values The values of the board, where 0 is an empty square
+     * @return A SatEngine containing the clauses of the board
+     */
+    static SatEngine encode(int[][] values) {
+        int size = values.length;
+        int boxSize = (int) Math.sqrt(size);
+        SatEngine engine = new SatEngine(size * size * size);
+
+        // The literals of every square having each value, grouped by square and by each row,
+        // column and box having a value
+        int[][] groups = new int[size * size * 4][size];
+        int group = 0;
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                for (int value = 0; value < size; value++) {
+                    groups[group][value] =
+                            SatEngine.literal(variable(size, row, column, value), true);
+                }
+                group++;
+            }
+        }
+        for (int value = 0; value < size; value++) {
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    int boxRow = i / boxSize * boxSize + j / boxSize;
+                    int boxColumn = i % boxSize * boxSize + j % boxSize;
+                    groups[group][j] = SatEngine.literal(variable(size, i, j, value), true);
+                    groups[group + 1][j] = SatEngine.literal(variable(size, j, i, value), true);
+                    groups[group + 2][j] =
+                            SatEngine.literal(variable(size, boxRow, boxColumn, value), true);
+                }
+                group += 3;
+            }
+        }
+
+        // Exactly one literal of every group is true
+        for (int[] literals : groups) {
+            engine.addClause(literals);
+            for (int i = 0; i < size; i++) {
+                for (int j = i + 1; j < size; j++) {
+                    engine.addClause(literals[i] ^ 1, literals[j] ^ 1);
+                }
+            }
+        }
+
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                int value = values[row][column];
+                if (value != 0) {
+                    engine.addClause(SatEngine.literal(variable(size, row, column, value - 1),
+                            true));
+                }
+            }
+        }
+        return engine;
+    }
+
+    /**
+     * Returns the variable for a square having a value.
+     *
+     * @param size   The size of the board
+     * @param row    The row of the square
+     * @param column The column of the square
+     * @param value  The value, starting from 0
+     * @return The variable
+     */
+    private static int variable(int size, int row, int column, int value) {
+        return (row * size + column) * size + value;
+    }
+
+    /**
+     * Returns the number of decisions made by the SAT engine during the most recent call to solve.
+     *
+     * @return The number of decisions
+     */
+    @Override
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    /**
+     * Returns the number of conflicts found by the SAT engine during the most recent call to solve.
+     *
+     * @return The number of conflicts
+     */
+    public long getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Returns the number of times the SAT engine restarted during the most recent call to solve.
+     *
+     * @return The number of restarts
+     */
+    public long getRestarts() {
+        return restarts;
+    }
+}
@@ -0,0 +1,291 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.enums.ValueOrdering;
+import sudoku_solver.model.SudokuBoard;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This class represents an open list that returns the board with the lowest score first, where
+ * scores are given by a HeuristicScorer.
+ * <p>
+ * A PriorityQueue of boards calls compareTo on every sift, recomputing the comparison each time.
+ * This list instead scores each board once when it is added and keeps the score as a primitive
+ * key in a binary heap stored in parallel arrays, so sifting only compares longs. Boards with the
+ * same score are returned in the order they were added, which makes the search deterministic and
+ * lets snapshot() and restore() reproduce the order exactly.
+ * <p>
+ * The list also tracks the depth of every board, that is the number of guesses made to reach it,
+ * for scorers such as weighted A* that use it. Boards added with add() rather than addSuccessors
+ * are given a depth of 0. The depths are part of the state saved by snapshotState(), so restored
+ * boards keep their depths and scores.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class ScoredOpenList implements OpenList {
+    private static final int INITIAL_CAPACITY = 16;
+    private final HeuristicScorer scorer;
+    private SudokuBoard[] boards = new SudokuBoard[INITIAL_CAPACITY];
+    private long[] scores = new long[INITIAL_CAPACITY];
+    // The number of boards added before each board, used to break ties between equal scores
+    private long[] sequence = new long[INITIAL_CAPACITY];
+    private int[] depths = new int[INITIAL_CAPACITY];
+    private int size;
+    private long added;
+    private int lastRemovedDepth;
+
+    /**
+     * Constructs a new ScoredOpenList object.
+     *
+     * @param scorer The heuristic used to score boards
+     */
+    public ScoredOpenList(HeuristicScorer scorer) {
+        this.scorer = scorer;
+    }
+
+    /**
+     * Adds a board to the list with a depth of 0.
+     *
+     * @param board The board to add
+     */
+    @Override
+    public void add(SudokuBoard board) {
+        push(board, 0);
+    }
+
+    /**
+     * Expands the given board and adds its successors to the list, one level deeper than the
+     * board. The board is released afterwards as the list does not refer to it.
+     *
+     * @param board         The board whose successors should be added
+     * @param valueOrdering The order in which the candidate values of a square are tried
+     */
+    @Override
+    public void addSuccessors(SudokuBoard board, ValueOrdering valueOrdering) {
+        int depth = lastRemovedDepth + 1;
+        for (SudokuBoard successor : board.getSuccessors(valueOrdering)) {
+            push(successor, depth);
+        }
+        board.release();
+    }
+
+    /**
+     * Scores a board and adds it to the heap.
+     *
+     * @param board The board to add
+     * @param depth The number of guesses made to reach the board
+     */
+    private void push(SudokuBoard board, int depth) {
+        if (size == boards.length) {
+            int capacity = size * 2;
+            boards = Arrays.copyOf(boards, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+            sequence = Arrays.copyOf(sequence, capacity);
+            depths = Arrays.copyOf(depths, capacity);
+        }
+        long score = scorer.score(board, depth);
+        long order = added++;
+        // Sift up
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!isBefore(score, order, parent)) break;
+            move(parent, index);
+            index = parent;
+        }
+        set(index, board, score, order, depth);
+    }
+
+    /**
+     * Removes and returns the board with the lowest score.
+     *
+     * @return The next board to be processed
+     */
+    @Override
+    public SudokuBoard remove() {
+        SudokuBoard result = boards[0];
+        lastRemovedDepth = depths[0];
+        size--;
+        SudokuBoard board = boards[size];
+        long score = scores[size];
+        long order = sequence[size];
+        int depth = depths[size];
+        boards[size] = null;
+        if (size > 0) {
+            // Sift down the last board from the root
+            int index = 0;
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) break;
+                if (child + 1 < size && isBefore(scores[child + 1], sequence[child + 1], child)) {
+                    child++;
+                }
+                if (!isBefore(scores[child], sequence[child], score, order)) break;
+                move(child, index);
+                index = child;
+            }
+            set(index, board, score, order, depth);
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether a board with the given score and sequence number comes before the board at
+     * an index of the heap.
+     *
+     * @param score The score of the board
+     * @param order The sequence number of the board
+     * @param index The index of the other board
+     * @return True if the board comes first and false otherwise
+     */
+    private boolean isBefore(long score, long order, int index) {
+        return isBefore(score, order, scores[index], sequence[index]);
+    }
+
+    /**
+     * Checks whether a board comes before another, comparing scores and then sequence numbers.
+     *
+     * @param score      The score of the board
+     * @param order      The sequence number of the board
+     * @param otherScore The score of the other board
+     * @param otherOrder The sequence number of the other board
+     * @return True if the board comes first and false otherwise
+     */
+    private static boolean isBefore(long score, long order, long otherScore, long otherOrder) {
+        return score < otherScore || (score == otherScore && order < otherOrder);
+    }
+
+    /**
+     * Moves the entry at one index of the heap to another.
+     *
+     * @param from The index to move from
+     * @param to   The index to move to
+     */
+    private void move(int from, int to) {
+        set(to, boards[from], scores[from], sequence[from], depths[from]);
+    }
+
+    /**
+     * Stores an entry at an index of the heap.
+     *
+     * @param index The index
+     * @param board The board
+     * @param score The score of the board
+     * @param order The sequence number of the board
+     * @param depth The depth of the board
+     */
+    private void set(int index, SudokuBoard board, long score, long order, int depth) {
+        boards[index] = board;
+        scores[index] = score;
+        sequence[index] = order;
+        depths[index] = depth;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return True if there are no boards left to process and false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of boards in the list.
+     *
+     * @return The number of boards left to process
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns every board in the list without removing them, in the order remove() would return
+     * them.
+     *
+     * @return The boards in the list
+     */
+    @Override
+    public List<SudokuBoard> snapshot() {
+        int[] order = removalOrder();
+        SudokuBoard[] result = new SudokuBoard[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = boards[order[i]];
+        }
+        return Arrays.asList(result);
+    }
+
+    /**
+     * Returns the depth of every board returned by snapshot(), in the same order.
+     *
+     * @return The depths of the boards in the list
+     */
+    @Override
+    public int[] snapshotState() {
+        int[] order = removalOrder();
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = depths[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the indexes of the heap sorted into the order remove() would return their boards.
+     *
+     * @return The indexes of the heap in removal order
+     */
+    private int[] removalOrder() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        // Sequence numbers are unique, so no two boards compare as equal
+        Arrays.sort(order, Comparator.<Integer>comparingLong(index -> scores[index])
+                .thenComparingLong(index -> sequence[index]));
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = order[i];
+        }
+        return result;
+    }
+
+    /**
+     * Adds boards returned by snapshot() with the depths returned by snapshotState(), so that they
+     * are given the same scores and removed in the same order again.
+     *
+     * @param boards The boards to add, in the order they should be removed
+     * @param state  The depths of the boards, or an empty array to give every board a depth of 0
+     */
+    @Override
+    public void restore(List<SudokuBoard> boards, int[] state) {
+        for (int i = 0; i < boards.size(); i++) {
+            push(boards.get(i), state.length == 0 ? 0 : state[i]);
+        }
+    }
+
+    /**
+     * Removes all boards from the list.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(boards, 0, size, null);
+        size = 0;
+        lastRemovedDepth = 0;
+    }
+
+    /**
+     * Returns the heuristic used to score boards.
+     *
+     * @return The scorer
+     */
+    public HeuristicScorer getScorer() {
+        return scorer;
+    }
+}
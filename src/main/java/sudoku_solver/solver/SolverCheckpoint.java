@@ -0,0 +1,223 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.model.SudokuBoard;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents a snapshot of a solve in progress, which can be written to a file and later
+ * used to resume the search in another process.
+ * <p>
+ * A checkpoint records the puzzle being solved, the class of the solver, the number of boards
+ * expanded and the time spent so far, along with every board in the open list in the order they
+ * would have been removed and any extra state the open list needs to put them back, such as the
+ * depth of each board. Boards are stored in the compact format of SudokuBoard.writeTo.
+ * <p>
+ * Checkpoints are written to a temporary file in the same directory which then replaces the
+ * checkpoint file, so a process killed while writing a checkpoint leaves the previous checkpoint
+ * intact.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class SolverCheckpoint {
+    // Identifies checkpoint files, and is changed whenever the format changes
+    private static final int MAGIC = 0x53444B32;
+    private final String puzzle;
+    private final String solverClass;
+    private final long nodesExpanded;
+    private final long elapsedMillis;
+    private final List<SudokuBoard> boards;
+    private final int[] state;
+
+    /**
+     * Creates a new SolverCheckpoint with no open list state.
+     *
+     * @param puzzle        The String representation of the puzzle being solved
+     * @param solverClass   The name of the class of the solver
+     * @param nodesExpanded The number of boards expanded so far
+     * @param elapsedMillis The time spent solving so far in milliseconds
+     * @param boards        The boards in the open list, in the order they would be removed
+     */
+    public SolverCheckpoint(String puzzle, String solverClass, long nodesExpanded,
+                            long elapsedMillis, List<SudokuBoard> boards) {
+        this(puzzle, solverClass, nodesExpanded, elapsedMillis, boards, new int[0]);
+    }
+
+    /**
+     * Creates a new SolverCheckpoint.
+     *
+     * @param puzzle        The String representation of the puzzle being solved
+     * @param solverClass   The name of the class of the solver
+     * @param nodesExpanded The number of boards expanded so far
+     * @param elapsedMillis The time spent solving so far in milliseconds
+     * @param boards        The boards in the open list, in the order they would be removed
+     * @param state         The state returned by the snapshotState method of the open list
+     */
+    public SolverCheckpoint(String puzzle, String solverClass, long nodesExpanded,
+                            long elapsedMillis, List<SudokuBoard> boards, int[] state) {
+        this.puzzle = puzzle;
+        this.solverClass = solverClass;
+        this.nodesExpanded = nodesExpanded;
+        this.elapsedMillis = elapsedMillis;
+        this.boards = boards;
+        this.state = state;
+    }
+
+    /**
+     * Writes this checkpoint to the given file, replacing any existing checkpoint.
+     *
+     * @param file The file to write to
+     * @throws IOException If the checkpoint could not be written
+     */
+    public void write(Path file) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        Path temporary = Files.createTempFile(absolute.getParent(), "checkpoint", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeUTF(puzzle);
+                out.writeUTF(solverClass);
+                out.writeLong(nodesExpanded);
+                out.writeLong(elapsedMillis);
+                out.writeInt(boards.size());
+                if (!boards.isEmpty()) {
+                    int size = boards.get(0).getSIZE();
+                    out.writeInt(size);
+                    ByteBuffer buffer = ByteBuffer.allocate(SudokuBoard.getSerialisedSize(size));
+                    for (SudokuBoard board : boards) {
+                        buffer.clear();
+                        board.writeTo(buffer);
+                        out.write(buffer.array());
+                    }
+                }
+                out.writeInt(state.length);
+                for (int value : state) {
+                    out.writeInt(value);
+                }
+            }
+            Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Reads a checkpoint that was written by write().
+     *
+     * @param file The file to read from
+     * @return The checkpoint
+     * @throws IOException If the file could not be read or is not a checkpoint
+     */
+    public static SolverCheckpoint read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a checkpoint file");
+            }
+            String puzzle = in.readUTF();
+            String solverClass = in.readUTF();
+            long nodesExpanded = in.readLong();
+            long elapsedMillis = in.readLong();
+            int count = in.readInt();
+            List<SudokuBoard> boards = new ArrayList<>(count);
+            if (count > 0) {
+                int size = in.readInt();
+                ByteBuffer buffer = ByteBuffer.allocate(SudokuBoard.getSerialisedSize(size));
+                for (int i = 0; i < count; i++) {
+                    in.readFully(buffer.array());
+                    buffer.clear();
+                    boards.add(SudokuBoard.readFrom(buffer, size));
+                }
+            }
+            int[] state = new int[in.readInt()];
+            for (int i = 0; i < state.length; i++) {
+                state[i] = in.readInt();
+            }
+            return new SolverCheckpoint(puzzle, solverClass, nodesExpanded, elapsedMillis,
+                    boards, state);
+        }
+    }
+
+    /**
+     * Reads only the puzzle from a checkpoint that was written by write(), without reading the
+     * boards in the open list.
+     *
+     * @param file The file to read from
+     * @return The String representation of the puzzle being solved
+     * @throws IOException If the file could not be read or is not a checkpoint
+     */
+    public static String readPuzzle(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a checkpoint file");
+            }
+            return in.readUTF();
+        }
+    }
+
+    /**
+     * Returns the String representation of the puzzle being solved.
+     *
+     * @return The puzzle
+     */
+    public String getPuzzle() {
+        return puzzle;
+    }
+
+    /**
+     * Returns the name of the class of the solver that wrote this checkpoint.
+     *
+     * @return The solver class name
+     */
+    public String getSolverClass() {
+        return solverClass;
+    }
+
+    /**
+     * Returns the number of boards that had been expanded when this checkpoint was taken.
+     *
+     * @return The number of boards expanded
+     */
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    /**
+     * Returns the time spent solving when this checkpoint was taken.
+     *
+     * @return The elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Returns the boards in the open list, in the order they would have been removed.
+     *
+     * @return The boards in the open list
+     */
+    public List<SudokuBoard> getBoards() {
+        return boards;
+    }
+
+    /**
+     * Returns the extra state the open list needs to put the boards back, as returned by its
+     * snapshotState method.
+     *
+     * @return The state of the open list
+     */
+    public int[] getState() {
+        return state;
+    }
+}
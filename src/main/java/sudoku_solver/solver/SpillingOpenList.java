@@ -0,0 +1,333 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.model.SudokuBoard;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * This class represents a breadth-first open list that spills boards to disk once it grows too
+ * large to keep in memory.
+ * <p>
+ * The open list is split into three parts: a head of boards that will be removed next, a sequence
+ * of segment files on disk, and a tail of the boards most recently added. Boards are first added to
+ * the head until it holds headCapacity boards. After that they are added to the tail, and every
+ * time the tail reaches segmentSize boards it is written to a new segment file using
+ * SudokuBoard.writeTo. When the head runs out, the oldest segment is read back in its entirety
+ * (or, if there are none, the tail becomes the new head). Since boards are removed in the order
+ * they were added, every segment is written once and read once from start to finish, so all disk
+ * access is sequential.
+ * <p>
+ * Segment files are created in a new temporary directory, which is deleted along with any
+ * remaining segments when the open list is cleared. SudokuSolver clears its open list at the end of
+ * every solve, including when the solve is interrupted, so no files are left behind.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class SpillingOpenList implements OpenList {
+    public static final int DEFAULT_HEAD_CAPACITY = 10_000;
+    public static final int DEFAULT_SEGMENT_SIZE = 10_000;
+    private final int headCapacity;
+    private final int segmentSize;
+    // The directory in which the temporary directory is created, or null for the default
+    private final Path parentDirectory;
+    private ArrayDeque<SudokuBoard> head = new ArrayDeque<>();
+    private ArrayDeque<SudokuBoard> tail = new ArrayDeque<>();
+    // The segment files that have been written but not yet read, oldest first
+    private final ArrayDeque<Path> segments = new ArrayDeque<>();
+    private Path directory;
+    private ByteBuffer buffer;
+    // The size of the boards in the open list, or 0 if no board has been added since it was last
+    // cleared
+    private int boardSize;
+    private int segmentsCreated;
+    private long segmentsWritten;
+    private long bytesWritten;
+
+    /**
+     * Constructs a new SpillingOpenList object with the default head capacity and segment size,
+     * which creates its segments in the default temporary-file directory.
+     */
+    public SpillingOpenList() {
+        this(DEFAULT_HEAD_CAPACITY, DEFAULT_SEGMENT_SIZE, null);
+    }
+
+    /**
+     * Constructs a new SpillingOpenList object.
+     *
+     * @param headCapacity    The number of boards that are added to the head before any are added
+     *                        to the tail. Must be positive.
+     * @param segmentSize     The number of boards written to each segment file. At most this many
+     *                        boards are held in the tail. Must be positive.
+     * @param parentDirectory The directory in which to create the temporary directory holding the
+     *                        segment files, or null to use the default temporary-file directory
+     */
+    public SpillingOpenList(int headCapacity, int segmentSize, Path parentDirectory) {
+        if (headCapacity <= 0 || segmentSize <= 0) {
+            throw new IllegalArgumentException("Head capacity and segment size must be positive");
+        }
+        this.headCapacity = headCapacity;
+        this.segmentSize = segmentSize;
+        this.parentDirectory = parentDirectory;
+    }
+
+    /**
+     * Adds a board to the end of the open list, spilling the tail to disk if it is full.
+     *
+     * @param board The board to add
+     */
+    @Override
+    public void add(SudokuBoard board) {
+        if (boardSize == 0) {
+            boardSize = board.getSIZE();
+        } else if (board.getSIZE() != boardSize) {
+            throw new IllegalArgumentException("All boards in an open list must be the same size");
+        }
+        // Boards can only go straight to the head if nothing has been added after it
+        if (segments.isEmpty() && tail.isEmpty() && head.size() < headCapacity) {
+            head.add(board);
+            return;
+        }
+        tail.add(board);
+        if (tail.size() == segmentSize) {
+            writeSegment();
+        }
+    }
+
+    /**
+     * Removes and returns the board that was added earliest, reading the oldest segment back from
+     * disk if the head is empty.
+     *
+     * @return The next board to be processed
+     */
+    @Override
+    public SudokuBoard remove() {
+        if (head.isEmpty()) {
+            if (!segments.isEmpty()) {
+                readSegment();
+            } else {
+                ArrayDeque<SudokuBoard> empty = head;
+                head = tail;
+                tail = empty;
+            }
+        }
+        return head.remove();
+    }
+
+    /**
+     * Writes every board in the tail to a new segment file and releases them.
+     */
+    private void writeSegment() {
+        ByteBuffer buffer = getBuffer();
+        for (SudokuBoard board : tail) {
+            board.writeTo(buffer);
+            board.release();
+        }
+        tail.clear();
+        buffer.flip();
+        try {
+            if (directory == null) {
+                directory = parentDirectory == null
+                        ? Files.createTempDirectory("sudoku-open-list")
+                        : Files.createTempDirectory(parentDirectory, "sudoku-open-list");
+            }
+            Path segment = directory.resolve("segment-" + segmentsCreated++);
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    bytesWritten += channel.write(buffer);
+                }
+            }
+            segments.add(segment);
+            segmentsWritten++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write open list segment", e);
+        }
+    }
+
+    /**
+     * Reads the oldest segment file into the head and deletes it.
+     */
+    private void readSegment() {
+        Path segment = segments.remove();
+        ByteBuffer buffer = getBuffer();
+        try {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) break;
+                }
+            }
+            Files.delete(segment);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read open list segment", e);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            head.add(SudokuBoard.readFrom(buffer, boardSize));
+        }
+    }
+
+    /**
+     * Returns the buffer used to read and write segments, cleared and large enough to hold a full
+     * segment of boards of the current size.
+     *
+     * @return The segment buffer
+     */
+    private ByteBuffer getBuffer() {
+        int capacity = segmentSize * SudokuBoard.getSerialisedSize(boardSize);
+        if (buffer == null || buffer.capacity() != capacity) {
+            buffer = ByteBuffer.allocateDirect(capacity);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Checks if the open list is empty.
+     *
+     * @return True if there are no boards left to process and false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return head.isEmpty() && segments.isEmpty() && tail.isEmpty();
+    }
+
+    /**
+     * Returns the number of boards in the open list, including those on disk.
+     *
+     * @return The number of boards left to process
+     */
+    @Override
+    public int size() {
+        return head.size() + segments.size() * segmentSize + tail.size();
+    }
+
+    /**
+     * Returns every board in the open list without removing them, in the order remove() would
+     * return them. The boards in segment files are read from disk only when they are read from the
+     * returned list, one segment at a time, and the segment files are left in place. The list is
+     * only valid until the open list is next changed.
+     *
+     * @return The boards in the open list
+     */
+    @Override
+    public List<SudokuBoard> snapshot() {
+        SudokuBoard[] headBoards = head.toArray(new SudokuBoard[0]);
+        Path[] segmentFiles = segments.toArray(new Path[0]);
+        SudokuBoard[] tailBoards = tail.toArray(new SudokuBoard[0]);
+        int size = boardSize;
+        int serialisedSize = size == 0 ? 0 : SudokuBoard.getSerialisedSize(size);
+        return new AbstractList<>() {
+            // The segment most recently read from disk, and its index
+            private ByteBuffer segmentBuffer;
+            private int loadedSegment = -1;
+
+            @Override
+            public SudokuBoard get(int index) {
+                if (index < 0 || index >= size()) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                if (index < headBoards.length) return headBoards[index];
+                index -= headBoards.length;
+                int segment = index / segmentSize;
+                if (segment >= segmentFiles.length) {
+                    return tailBoards[index - segmentFiles.length * segmentSize];
+                }
+                if (segment != loadedSegment) {
+                    loadSegment(segment);
+                }
+                segmentBuffer.position(index % segmentSize * serialisedSize);
+                return SudokuBoard.readFrom(segmentBuffer, size);
+            }
+
+            @Override
+            public int size() {
+                return headBoards.length + segmentFiles.length * segmentSize + tailBoards.length;
+            }
+
+            /**
+             * Reads a segment file into the segment buffer without deleting it.
+             *
+             * @param segment The index of the segment among those in the snapshot
+             */
+            private void loadSegment(int segment) {
+                if (segmentBuffer == null) {
+                    segmentBuffer = ByteBuffer.allocate(segmentSize * serialisedSize);
+                }
+                segmentBuffer.clear();
+                try (FileChannel channel = FileChannel.open(segmentFiles[segment],
+                        StandardOpenOption.READ)) {
+                    while (segmentBuffer.hasRemaining()) {
+                        if (channel.read(segmentBuffer) < 0) break;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not read open list segment", e);
+                }
+                loadedSegment = segment;
+            }
+        };
+    }
+
+    /**
+     * Removes all boards from the open list and deletes any segment files along with the temporary
+     * directory. The statistics are kept so that they can be read after a solve.
+     */
+    @Override
+    public void clear() {
+        head.clear();
+        tail.clear();
+        boardSize = 0;
+        try {
+            for (Path segment : segments) {
+                Files.deleteIfExists(segment);
+            }
+            segments.clear();
+            if (directory != null) {
+                Files.deleteIfExists(directory);
+                directory = null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete open list segments", e);
+        }
+        segmentsCreated = 0;
+        buffer = null;
+    }
+
+    /**
+     * Returns the directory holding the segment files, or null if no segment has been written
+     * since the open list was last cleared.
+     *
+     * @return The directory holding the segment files
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the total number of segment files written by this open list.
+     *
+     * @return The number of segments written
+     */
+    public long getSegmentsWritten() {
+        return segmentsWritten;
+    }
+
+    /**
+     * Returns the total number of bytes written to segment files by this open list.
+     *
+     * @return The number of bytes written
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+}
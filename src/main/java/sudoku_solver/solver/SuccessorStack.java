@@ -0,0 +1,152 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.enums.ValueOrdering;
+import sudoku_solver.model.SuccessorIterator;
+import sudoku_solver.model.SudokuBoard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class represents an open list for depth-first search that stores SuccessorIterators rather
+ * than Sudoku boards.
+ * <p>
+ * Each entry on the stack is a cursor over the remaining successors of a board that has already
+ * been expanded. Boards are only created when remove() is called, so the stack never holds more
+ * than one parent board per level of the search, no matter how many siblings each level has.
+ * Exhausted iterators are removed from the stack straight away, so every entry on the stack always
+ * has at least one successor remaining.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class SuccessorStack implements OpenList {
+    private final Deque<SuccessorIterator> stack = new ArrayDeque<>();
+
+    /**
+     * Pushes a single board on to the stack.
+     *
+     * @param board The board to add
+     */
+    @Override
+    public void add(SudokuBoard board) {
+        stack.push(new SuccessorIterator(board));
+    }
+
+    /**
+     * Pushes a lazy iterator over the successors of the given board on to the stack.
+     *
+     * @param board         The board whose successors should be added
+     * @param valueOrdering The order in which the candidate values of a square are tried
+     */
+    @Override
+    public void addSuccessors(SudokuBoard board, ValueOrdering valueOrdering) {
+        push(board.getSuccessorIterator(valueOrdering));
+    }
+
+    /**
+     * Pushes an iterator over the successors of a board on to the stack. The iterator is ignored if
+     * it has no successors.
+     *
+     * @param successors The successors to add
+     */
+    public void push(SuccessorIterator successors) {
+        if (successors.hasNext()) stack.push(successors);
+    }
+
+    /**
+     * Creates and returns the next successor of the iterator on top of the stack.
+     *
+     * @return The next board to be processed
+     */
+    @Override
+    public SudokuBoard remove() {
+        SuccessorIterator top = stack.peek();
+        if (top == null) {
+            throw new NoSuchElementException("The open list is empty");
+        }
+        SudokuBoard board = top.next();
+        if (!top.hasNext()) stack.pop();
+        return board;
+    }
+
+    /**
+     * Checks if the stack is empty.
+     *
+     * @return True if there are no boards left to process and false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return stack.isEmpty();
+    }
+
+    /**
+     * Returns the number of boards that remain to be created across every iterator on the stack.
+     * Runs in time proportional to the depth of the stack.
+     *
+     * @return The number of boards left to process
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (SuccessorIterator successors : stack) {
+            size += successors.remaining();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of iterators on the stack, which is at most the depth of the search.
+     *
+     * @return The number of iterators on the stack
+     */
+    public int getDepth() {
+        return stack.size();
+    }
+
+    /**
+     * Returns every board that remains to be created, in the order remove() would return them,
+     * without advancing any of the iterators. The boards the lookahead did not keep are created
+     * for the snapshot only, so the stack keeps its lazy iterators.
+     *
+     * @return The boards in the open list
+     */
+    @Override
+    public List<SudokuBoard> snapshot() {
+        List<SudokuBoard> boards = new ArrayList<>(size());
+        // Iteration starts from the top of the stack
+        for (SuccessorIterator successors : stack) {
+            for (int i = 0; i < successors.remaining(); i++) {
+                boards.add(successors.peek(i));
+            }
+        }
+        return boards;
+    }
+
+    /**
+     * Adds boards returned by snapshot() so that remove() returns them in the same order again, by
+     * pushing them in reverse order.
+     *
+     * @param boards The boards to add, in the order they should be removed
+     */
+    @Override
+    public void restore(List<SudokuBoard> boards) {
+        ListIterator<SudokuBoard> iterator = boards.listIterator(boards.size());
+        while (iterator.hasPrevious()) {
+            add(iterator.previous());
+        }
+    }
+
+    /**
+     * Removes all iterators from the stack.
+     */
+    @Override
+    public void clear() {
+        stack.clear();
+    }
+}
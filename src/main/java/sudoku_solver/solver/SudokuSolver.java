@@ -1,39 +1,79 @@
 package sudoku_solver.solver;
 
+import sudoku_solver.enums.ValueOrdering;
+import sudoku_solver.enums.VariableOrdering;
+import sudoku_solver.model.AdaptiveLookahead;
+import sudoku_solver.model.BoardPool;
+import sudoku_solver.model.ConstraintWeights;
 import sudoku_solver.model.SudokuBoard;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This class is an abstract class for a Sudoku solver.
  * <p>
  * It provides methods to solve a Sudoku puzzle using an open list of Sudoku boards, and to
- * retrieve a list of all the times taken to solve a particular puzzle.
+ * retrieve a list of all the times taken to solve a particular puzzle. The number of boards
+ * expanded during the most recent solve is also recorded, and the order in which the candidate
+ * values of a square are tried can be configured with setValueOrdering. Boards discarded during a
+ * solve can optionally be recycled through a BoardPool to reduce allocation, and the squares of
+ * each lookahead can optionally be examined in parallel. An AdaptiveLookahead can also be set to
+ * skip full lookaheads while they are not paying off, and the square that is branched on can be
+ * chosen by dom/wdeg with setVariableOrdering.
+ * <p>
+ * Long solves can be checkpointed to a file every so many expanded boards with setCheckpointing,
+ * and resumed from that file in another process with resume.
  *
  * @author Savraj Bassi
- * @version 04/03/2024
+ * @version 19/10/2026
  */
 
 public abstract class SudokuSolver {
-    private final Collection<SudokuBoard> openList;
+    private final OpenList openList;
     private final Map<String, ArrayList<Long>> timesMap = new HashMap<>();
+    private ValueOrdering valueOrdering = ValueOrdering.ASCENDING;
+    private VariableOrdering variableOrdering = VariableOrdering.FEWEST_LEGAL_VALUES;
+    private ConstraintWeights constraintWeights;
+    private long nodesExpanded;
+    private boolean boardPooling;
+    private boolean checkedBoardPooling;
+    private boolean parallelLookahead;
+    private AdaptiveLookahead adaptiveLookahead;
+    private long boardsReused;
+    private long boardsReleased;
+    private Path checkpointFile;
+    private long checkpointInterval;
+    private long checkpointsWritten;
 
     /**
      * Constructs a new SudokuSolver object with the specified openList.
      *
-     * @param openList The collection of SudokuBoard objects to be used as the open list for solving
-     *                 Sudoku puzzles
+     * @param openList The OpenList to be used for storing SudokuBoard objects while solving Sudoku
+     *                 puzzles
      */
-    public SudokuSolver(Collection<SudokuBoard> openList) {
+    public SudokuSolver(OpenList openList) {
         this.openList = openList;
     }
 
+    /**
+     * Constructs a new SudokuSolver object without an open list. Used by solvers that do not search
+     * an open list of boards, which must override solve and record their times with recordTime.
+     */
+    protected SudokuSolver() {
+        this(null);
+    }
+
     /**
      * Retrieves the open list of SudokuBoard objects.
      *
-     * @return The collection of SudokuBoard objects used as the open list
+     * @return The OpenList used to store SudokuBoard objects
      */
-    protected Collection<SudokuBoard> getOpenList() {
+    protected OpenList getOpenList() {
         return openList;
     }
 
@@ -44,51 +84,470 @@ public abstract class SudokuSolver {
      * @return A solved SudokuBoard object if it exists and otherwise null
      */
     public SudokuBoard solve(String board) {
+        return run(board, null);
+    }
+
+    /**
+     * Resumes a solve from a checkpoint file written by a solver of the same class, continuing the
+     * search from where the checkpoint was taken. The file should not be modified while the solve
+     * is running, as it may be overwritten by new checkpoints.
+     *
+     * @param checkpointFile The checkpoint file to resume from
+     * @return A solved SudokuBoard object if it exists and otherwise null
+     * @throws IOException If the checkpoint file could not be read
+     */
+    public SudokuBoard resume(Path checkpointFile) throws IOException {
+        if (openList == null) {
+            throw new UnsupportedOperationException(getClass().getSimpleName() +
+                    " does not support checkpoints");
+        }
+        SolverCheckpoint checkpoint = SolverCheckpoint.read(checkpointFile);
+        if (!checkpoint.getSolverClass().equals(getClass().getName())) {
+            throw new IllegalArgumentException("Checkpoint was written by " +
+                    checkpoint.getSolverClass() + " and cannot be resumed by " +
+                    getClass().getName());
+        }
+        return run(checkpoint.getPuzzle(), checkpoint);
+    }
+
+    /**
+     * Enables parallel and adaptive lookahead and dom/wdeg variable ordering on the current thread
+     * if they are enabled for this solver and then searches for a solution.
+     *
+     * @param board      The String representation of the Sudoku board
+     * @param checkpoint The checkpoint to resume from, or null to start a new search
+     * @return A solved SudokuBoard object if it exists and otherwise null
+     */
+    private SudokuBoard run(String board, SolverCheckpoint checkpoint) {
+        boolean weighted = variableOrdering == VariableOrdering.DOM_WDEG;
+        constraintWeights = weighted ? new ConstraintWeights() : null;
+        if (!parallelLookahead && adaptiveLookahead == null && !weighted) {
+            return pooledSearch(board, checkpoint);
+        }
+        ForkJoinPool previousPool = SudokuBoard.getLookaheadPool();
+        AdaptiveLookahead previousAdaptive = SudokuBoard.getAdaptiveLookahead();
+        ConstraintWeights previousWeights = SudokuBoard.getConstraintWeights();
+        if (parallelLookahead) SudokuBoard.setLookaheadPool(ForkJoinPool.commonPool());
+        if (adaptiveLookahead != null) {
+            adaptiveLookahead.reset();
+            SudokuBoard.setAdaptiveLookahead(adaptiveLookahead);
+        }
+        if (weighted) SudokuBoard.setConstraintWeights(constraintWeights);
+        try {
+            return pooledSearch(board, checkpoint);
+        } finally {
+            SudokuBoard.setLookaheadPool(previousPool);
+            SudokuBoard.setAdaptiveLookahead(previousAdaptive);
+            SudokuBoard.setConstraintWeights(previousWeights);
+        }
+    }
+
+    /**
+     * Opens a BoardPool if board pooling is enabled and then searches for a solution.
+     *
+     * @param board      The String representation of the Sudoku board
+     * @param checkpoint The checkpoint to resume from, or null to start a new search
+     * @return A solved SudokuBoard object if it exists and otherwise null
+     */
+    private SudokuBoard pooledSearch(String board, SolverCheckpoint checkpoint) {
+        boardsReused = 0;
+        boardsReleased = 0;
+        checkpointsWritten = 0;
+        if (!boardPooling) {
+            return search(board, checkpoint);
+        }
+        try (BoardPool pool = BoardPool.open(checkedBoardPooling)) {
+            try {
+                return search(board, checkpoint);
+            } finally {
+                boardsReused = pool.getBoardsReused();
+                boardsReleased = pool.getBoardsReleased();
+            }
+        }
+    }
+
+    /**
+     * Searches for a solution to the Sudoku puzzle specified by the String board. Used by the
+     * solve and resume methods once any BoardPool has been opened.
+     *
+     * @param board      The String representation of the Sudoku board
+     * @param checkpoint The checkpoint to resume from, or null to start a new search
+     * @return A solved SudokuBoard object if it exists and otherwise null
+     */
+    private SudokuBoard search(String board, SolverCheckpoint checkpoint) {
         openList.clear();
+        nodesExpanded = 0;
         long startTime = System.currentTimeMillis();
 
-        // The initial starting board, which may already even be complete
-        SudokuBoard sudokuBoard = new SudokuBoard(board);
-        openList.add(sudokuBoard);
+        if (checkpoint == null) {
+            // The initial starting board, which may already even be complete
+            SudokuBoard sudokuBoard = new SudokuBoard(board);
+            openList.add(sudokuBoard);
+        } else {
+            openList.restore(checkpoint.getBoards(), checkpoint.getState());
+            nodesExpanded = checkpoint.getNodesExpanded();
+            startTime -= checkpoint.getElapsedMillis();
+        }
+        long nextCheckpoint = nodesExpanded + checkpointInterval;
+        // Whether the search ran to completion, in which case the checkpoint may not be needed
+        boolean finished = false;
+        SudokuBoard solution = null;
 
-        while (!openList.isEmpty()) {
-            // Terminate the thread execution if an interrupt is issued (this may happen if a board
-            // is taking too long to solve)
-            if (Thread.currentThread().isInterrupted()) {
-                return null;
-            }
-            SudokuBoard current = getNextBoard();
-            if (current.solved() && current.verifySolution()) {
-                long endTime = System.currentTimeMillis();
-                long timeTaken = endTime - startTime;
-                if (timesMap.containsKey(board)) {
-                    ArrayList<Long> times = timesMap.get(board);
-                    times.add(timeTaken);
-                } else {
-                    ArrayList<Long> times = new ArrayList<>();
-                    times.add(timeTaken);
-                    timesMap.put(board, times);
+        try {
+            while (!openList.isEmpty()) {
+                // Terminate the thread execution if an interrupt is issued (this may happen if a
+                // board is taking too long to solve)
+                if (Thread.currentThread().isInterrupted()) {
+                    return null;
+                }
+                if (checkpointFile != null && nodesExpanded >= nextCheckpoint) {
+                    writeCheckpoint(board, System.currentTimeMillis() - startTime);
+                    nextCheckpoint = nodesExpanded + checkpointInterval;
                 }
-                System.out.println("time taken: " + timeTaken + " ms");
-                if (current == sudokuBoard) {
-                    System.out.println("Solver was given a game that was already solved or that " +
-                            "was solved by constraint propagation within SudokuBoard");
+                SudokuBoard current = getNextBoard();
+                if (current.solved() && current.verifySolution()) {
+                    long endTime = System.currentTimeMillis();
+                    recordTime(board, endTime - startTime);
+                    // Boards may be recycled, so check whether any were expanded rather than
+                    // comparing against the starting board
+                    if (nodesExpanded == 0) {
+                        System.out.println("Solver was given a game that was already solved or " +
+                                "that was solved by constraint propagation within SudokuBoard");
+                    }
+                    finished = true;
+                    solution = current;
+                    return current;
+                }
+                nodesExpanded++;
+                addSuccessors(current);
+            }
+            finished = true;
+        } finally {
+            // Solvers are reused between puzzles, so release any remaining boards straight away
+            // rather than holding on to them until the next call
+            openList.clear();
+            if (finished && checkpointFile != null && isLastSearch(solution)) {
+                try {
+                    Files.deleteIfExists(checkpointFile);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not delete checkpoint", e);
                 }
-                return current;
             }
-            openList.addAll(current.getSuccessors());
         }
 
         return null;
     }
 
     /**
-     * Gets the next Sudoku board from the open list. Different subclasses can use different data
-     * structures and therefore may return a different SudokuBoard.
+     * Checks whether a search that ran to completion finished the solve, so that the checkpoint
+     * file can be deleted. Solvers that run several searches per solve override this method to keep
+     * the checkpoint of an earlier search until a later one replaces it.
+     *
+     * @param solution The solution found by the search, or null if none was found
+     * @return True if no further searches will be run for this solve
+     */
+    protected boolean isLastSearch(SudokuBoard solution) {
+        return true;
+    }
+
+    /**
+     * Records the time taken to solve a puzzle, so that it is included in the result of getTimes.
+     *
+     * @param board     The String representation of the Sudoku board that was solved
+     * @param timeTaken The time taken to solve the board in milliseconds
+     */
+    protected void recordTime(String board, long timeTaken) {
+        storeTime(board, timeTaken);
+        System.out.println("time taken: " + timeTaken + " ms");
+    }
+
+    /**
+     * Adds a time to the result of getTimes without printing it.
+     *
+     * @param board     The String representation of the Sudoku board that was solved
+     * @param timeTaken The time taken to solve the board in milliseconds
+     */
+    private void storeTime(String board, long timeTaken) {
+        if (timesMap.containsKey(board)) {
+            ArrayList<Long> times = timesMap.get(board);
+            times.add(timeTaken);
+        } else {
+            ArrayList<Long> times = new ArrayList<>();
+            times.add(timeTaken);
+            timesMap.put(board, times);
+        }
+    }
+
+    /**
+     * Solves a puzzle with another solver, which validates the puzzle and records and prints the
+     * time taken itself. The time it records is also added to the result of getTimes for this
+     * solver, without being printed again. Used by solvers that pass puzzles of other sizes on to
+     * a fallback solver.
+     *
+     * @param solver The solver to pass the puzzle on to
+     * @param board  The String representation of the Sudoku board
+     * @return The result of the other solver
+     */
+    protected SudokuBoard solveWith(SudokuSolver solver, String board) {
+        List<Long> before = solver.getTimes(board);
+        int recorded = before == null ? 0 : before.size();
+        SudokuBoard solution = solver.solve(board);
+        List<Long> times = solver.getTimes(board);
+        if (times != null && times.size() > recorded) {
+            storeTime(board, times.get(times.size() - 1));
+        }
+        return solution;
+    }
+
+    /**
+     * Writes the current state of the search to the checkpoint file.
+     *
+     * @param board         The String representation of the Sudoku board being solved
+     * @param elapsedMillis The time spent solving so far in milliseconds
+     */
+    private void writeCheckpoint(String board, long elapsedMillis) {
+        SolverCheckpoint checkpoint = new SolverCheckpoint(board, getClass().getName(),
+                nodesExpanded, elapsedMillis, openList.snapshot(), openList.snapshotState());
+        try {
+            checkpoint.write(checkpointFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write checkpoint", e);
+        }
+        checkpointsWritten++;
+    }
+
+    /**
+     * Gets the next Sudoku board from the open list. Different subclasses can use different open
+     * lists and therefore may return a different SudokuBoard.
      *
      * @return The next Sudoku board to be processed
      */
-    protected abstract SudokuBoard getNextBoard();
+    protected SudokuBoard getNextBoard() {
+        return openList.remove();
+    }
+
+    /**
+     * Expands the given board and adds its successors to the open list. How the successors are
+     * generated and stored is up to the open list.
+     *
+     * @param board The board whose successors should be added to the open list
+     */
+    protected void addSuccessors(SudokuBoard board) {
+        openList.addSuccessors(board, valueOrdering);
+    }
+
+    /**
+     * Sets the file that the state of the search is written to every checkpointInterval expanded
+     * boards, so that the solve can be resumed with resume() if the process is stopped. Each
+     * checkpoint replaces the previous one, and the file is deleted once a solve runs to
+     * completion. It is kept if the solve is interrupted or fails. Passing a null file disables
+     * checkpointing, which is the default.
+     * <p>
+     * Taking a checkpoint pauses the search while every board in the open list is written, so the
+     * interval should be large enough for the pauses to be negligible.
+     *
+     * @param checkpointFile     The file to write checkpoints to, or null to disable checkpointing
+     * @param checkpointInterval The number of boards to expand between checkpoints. Must be
+     *                           positive.
+     */
+    public void setCheckpointing(Path checkpointFile, long checkpointInterval) {
+        if (checkpointFile != null && checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        this.checkpointFile = checkpointFile;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Returns the file that checkpoints are written to, or null if checkpointing is disabled.
+     *
+     * @return The checkpoint file
+     */
+    public Path getCheckpointFile() {
+        return checkpointFile;
+    }
+
+    /**
+     * Returns the number of boards expanded between checkpoints.
+     *
+     * @return The checkpoint interval
+     */
+    public long getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    /**
+     * Returns the number of checkpoints written during the most recent call to solve or resume.
+     *
+     * @return The number of checkpoints written
+     */
+    public long getCheckpointsWritten() {
+        return checkpointsWritten;
+    }
+
+    /**
+     * Checks if boards discarded during a solve are recycled through a BoardPool.
+     *
+     * @return True if board pooling is enabled and false otherwise
+     */
+    public boolean isBoardPooling() {
+        return boardPooling;
+    }
+
+    /**
+     * Sets whether boards discarded during a solve are recycled through a BoardPool, which is
+     * opened at the start of every solve and closed at the end. Disabled by default.
+     *
+     * @param boardPooling Whether board pooling should be enabled
+     */
+    public void setBoardPooling(boolean boardPooling) {
+        this.boardPooling = boardPooling;
+    }
+
+    /**
+     * Sets whether the BoardPool used when board pooling is enabled runs in checked mode, in which
+     * released boards are never reused so that any use of a released board throws an
+     * IllegalStateException. Intended for tests. Disabled by default.
+     *
+     * @param checkedBoardPooling Whether the BoardPool should run in checked mode
+     */
+    public void setCheckedBoardPooling(boolean checkedBoardPooling) {
+        this.checkedBoardPooling = checkedBoardPooling;
+    }
+
+    /**
+     * Checks if the squares of each lookahead are examined in parallel.
+     *
+     * @return True if parallel lookahead is enabled and false otherwise
+     */
+    public boolean isParallelLookahead() {
+        return parallelLookahead;
+    }
+
+    /**
+     * Sets whether the squares of each lookahead made while generating successors are examined in
+     * parallel on the common ForkJoinPool, rather than one at a time. This mostly pays off for
+     * 16x16 boards, where each lookahead makes up to 4096 trial assignments, and only on machines
+     * with several cores. Parallel lookahead is not used when ties are broken randomly. Disabled
+     * by default.
+     *
+     * @param parallelLookahead Whether parallel lookahead should be enabled
+     */
+    public void setParallelLookahead(boolean parallelLookahead) {
+        this.parallelLookahead = parallelLookahead;
+    }
+
+    /**
+     * Returns the AdaptiveLookahead that decides whether each lookahead is a full or a cheap one,
+     * or null if every lookahead is a full one.
+     *
+     * @return The AdaptiveLookahead used by this solver
+     */
+    public AdaptiveLookahead getAdaptiveLookahead() {
+        return adaptiveLookahead;
+    }
+
+    /**
+     * Sets the AdaptiveLookahead that decides whether each lookahead made while generating
+     * successors is a full or a cheap one. It is reset at the start of every solve, so its
+     * counters can be read afterwards. Passing null makes every lookahead a full one, which is
+     * the default.
+     *
+     * @param adaptiveLookahead The AdaptiveLookahead to be used by this solver
+     */
+    public void setAdaptiveLookahead(AdaptiveLookahead adaptiveLookahead) {
+        this.adaptiveLookahead = adaptiveLookahead;
+    }
+
+    /**
+     * Returns the number of released boards that were reused during the most recent call to
+     * solve. Always 0 if board pooling is disabled.
+     *
+     * @return The number of boards reused
+     */
+    public long getBoardsReused() {
+        return boardsReused;
+    }
+
+    /**
+     * Returns the number of boards that were released to the BoardPool during the most recent call
+     * to solve. Always 0 if board pooling is disabled.
+     *
+     * @return The number of boards released
+     */
+    public long getBoardsReleased() {
+        return boardsReleased;
+    }
+
+    /**
+     * Returns the order in which the candidate values of a square are tried when generating
+     * successors.
+     *
+     * @return The value ordering used by this solver
+     */
+    public ValueOrdering getValueOrdering() {
+        return valueOrdering;
+    }
+
+    /**
+     * Sets the order in which the candidate values of a square are tried when generating
+     * successors. Defaults to ValueOrdering.ASCENDING.
+     *
+     * @param valueOrdering The value ordering to be used by this solver
+     */
+    public void setValueOrdering(ValueOrdering valueOrdering) {
+        this.valueOrdering = valueOrdering;
+    }
+
+    /**
+     * Returns how the square that is branched on is chosen when generating successors.
+     *
+     * @return The variable ordering used by this solver
+     */
+    public VariableOrdering getVariableOrdering() {
+        return variableOrdering;
+    }
+
+    /**
+     * Sets how the square that is branched on is chosen when generating successors. With
+     * VariableOrdering.DOM_WDEG, fresh ConstraintWeights are learnt during every solve, and
+     * lookahead is never run in parallel. Defaults to VariableOrdering.FEWEST_LEGAL_VALUES.
+     *
+     * @param variableOrdering The variable ordering to be used by this solver
+     */
+    public void setVariableOrdering(VariableOrdering variableOrdering) {
+        this.variableOrdering = variableOrdering;
+    }
+
+    /**
+     * Returns the ConstraintWeights learnt during the most recent call to solve, or null if it
+     * did not use the VariableOrdering.DOM_WDEG variable ordering.
+     *
+     * @return The ConstraintWeights of the most recent solve
+     */
+    public ConstraintWeights getConstraintWeights() {
+        return constraintWeights;
+    }
+
+    /**
+     * Returns the number of boards that were expanded (had their successors generated) during the
+     * most recent call to solve.
+     *
+     * @return The number of boards expanded
+     */
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    /**
+     * Returns whether the search of this solver is complete, so that a null result from an
+     * uninterrupted call to solve proves that the puzzle has no solution.
+     *
+     * @return True if a null result proves the puzzle is unsolvable
+     */
+    public boolean isComplete() {
+        return true;
+    }
 
     /**
      * Gets a list of all the times taken to solve a particular puzzle represented by the given
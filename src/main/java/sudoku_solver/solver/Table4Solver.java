@@ -0,0 +1,211 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.model.SudokuBoard;
+
+/**
+ * This class represents a solver for 4x4 Sudoku puzzles that looks the solution up in a table of
+ * every valid 4x4 grid rather than searching for it.
+ * <p>
+ * There are only 288 valid 4x4 grids. Each is packed into an int at class initialisation, with two
+ * bits per square holding the value of the square minus one. A puzzle is packed the same way along
+ * with a mask that has both bits of every given square set, so a grid is a solution of the puzzle
+ * exactly when the grid and the mask give the packed puzzle. Solving, checking uniqueness and
+ * counting solutions are each a single pass over the table, without creating any boards other than
+ * the solution.
+ * <p>
+ * Puzzles that are not 4x4 are solved by a BackjumpingSolver instead. The solution returned is
+ * the first matching grid in the table, which is ordered by the values of the squares from the top
+ * left, so a puzzle with several solutions always gives the same one.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class Table4Solver extends SudokuSolver {
+    private static final int SIZE = 4;
+    private static final int BOX_SIZE = 2;
+    private static final int SQUARES = SIZE * SIZE;
+    // The number of valid 4x4 grids
+    public static final int GRID_COUNT = 288;
+    private static final int[] GRIDS = new int[GRID_COUNT];
+    private final SudokuSolver fallback = new BackjumpingSolver();
+    private long nodesExpanded;
+
+    static {
+        int count = fillGrids(0, 0, new int[SIZE], new int[SIZE], new int[SIZE], 0);
+        if (count != GRID_COUNT) {
+            throw new IllegalStateException("Found " + count + " 4x4 grids instead of " +
+                    GRID_COUNT);
+        }
+    }
+
+    /**
+     * Constructs a new Table4Solver object.
+     */
+    public Table4Solver() {
+    }
+
+    /**
+     * Adds every valid grid that extends a partially filled grid to the table, in order.
+     *
+     * @param square  The next square to fill
+     * @param grid    The packed values of the squares filled so far
+     * @param rows    The values used in each row, as bit masks
+     * @param columns The values used in each column, as bit masks
+     * @param boxes   The values used in each box, as bit masks
+     * @param count   The number of grids already in the table
+     * @return The number of grids in the table afterwards
+     */
+    private static int fillGrids(int square, int grid, int[] rows, int[] columns, int[] boxes,
+                                 int count) {
+        if (square == SQUARES) {
+            GRIDS[count] = grid;
+            return count + 1;
+        }
+        int row = square / SIZE;
+        int column = square % SIZE;
+        int box = row / BOX_SIZE * BOX_SIZE + column / BOX_SIZE;
+        for (int value = 0; value < SIZE; value++) {
+            int bit = 1 << value;
+            if (((rows[row] | columns[column] | boxes[box]) & bit) != 0) continue;
+            rows[row] |= bit;
+            columns[column] |= bit;
+            boxes[box] |= bit;
+            count = fillGrids(square + 1, grid | value << (2 * square), rows, columns, boxes,
+                    count);
+            rows[row] &= ~bit;
+            columns[column] &= ~bit;
+            boxes[box] &= ~bit;
+        }
+        return count;
+    }
+
+    /**
+     * Solves the Sudoku puzzle specified by the String board by looking it up in the table of
+     * valid grids.
+     *
+     * @param board The String representation of the Sudoku board
+     * @return A solved SudokuBoard object if it exists and otherwise null
+     */
+    @Override
+    public SudokuBoard solve(String board) {
+        nodesExpanded = 0;
+        long startTime = System.currentTimeMillis();
+        int[] values = BatchSolver.parse(board, SIZE);
+        if (values == null) {
+            // The fallback throws an exception if the puzzle is invalid
+            SudokuBoard solution = solveWith(fallback, board);
+            nodesExpanded = fallback.getNodesExpanded();
+            return solution;
+        }
+
+        int mask = mask(values);
+        int given = pack(values);
+        for (int grid : GRIDS) {
+            if ((grid & mask) == given) {
+                recordTime(board, System.currentTimeMillis() - startTime);
+                return SudokuBoard.fromSolution(unpack(grid));
+            }
+        }
+        // Throws an IllegalStateException if SudokuBoard can also tell there is no solution
+        new SudokuBoard(board);
+        return null;
+    }
+
+    /**
+     * Counts the solutions of a 4x4 puzzle.
+     *
+     * @param board The String representation of the Sudoku board
+     * @return The number of solutions, from 0 up to GRID_COUNT for the empty board
+     */
+    public int countSolutions(String board) {
+        return countSolutions(board, GRID_COUNT);
+    }
+
+    /**
+     * Checks whether a 4x4 puzzle has exactly one solution.
+     *
+     * @param board The String representation of the Sudoku board
+     * @return True if the puzzle has exactly one solution and false otherwise
+     */
+    public boolean hasUniqueSolution(String board) {
+        return countSolutions(board, 2) == 1;
+    }
+
+    /**
+     * Counts the solutions of a 4x4 puzzle, stopping once a limit is reached.
+     *
+     * @param board The String representation of the Sudoku board
+     * @param limit The number of solutions after which to stop counting
+     * @return The number of solutions, or the limit if there are at least that many
+     */
+    private int countSolutions(String board, int limit) {
+        int[] values = BatchSolver.parse(board, SIZE);
+        if (values == null) {
+            // Throws an exception if the puzzle is invalid
+            new SudokuBoard(board);
+            throw new IllegalArgumentException("Solutions can only be counted for 4x4 boards.");
+        }
+        int mask = mask(values);
+        int given = pack(values);
+        int count = 0;
+        for (int i = 0; i < GRID_COUNT && count < limit; i++) {
+            if ((GRIDS[i] & mask) == given) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Packs the values of a board into an int, with two bits per square. Empty squares are packed
+     * as zeros.
+     *
+     * @param values The values of the squares, where 0 is an empty square
+     * @return The packed values
+     */
+    private static int pack(int[] values) {
+        int packed = 0;
+        for (int square = 0; square < SQUARES; square++) {
+            if (values[square] != 0) packed |= (values[square] - 1) << (2 * square);
+        }
+        return packed;
+    }
+
+    /**
+     * Returns the mask with both bits of every given square set.
+     *
+     * @param values The values of the squares, where 0 is an empty square
+     * @return The mask of the given squares
+     */
+    private static int mask(int[] values) {
+        int mask = 0;
+        for (int square = 0; square < SQUARES; square++) {
+            if (values[square] != 0) mask |= 3 << (2 * square);
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the values of a packed grid.
+     *
+     * @param grid The packed grid
+     * @return The values of every square
+     */
+    private static int[][] unpack(int grid) {
+        int[][] values = new int[SIZE][SIZE];
+        for (int square = 0; square < SQUARES; square++) {
+            values[square / SIZE][square % SIZE] = (grid >>> (2 * square) & 3) + 1;
+        }
+        return values;
+    }
+
+    /**
+     * Returns the number of guesses made during the most recent call to solve, which is always 0
+     * for 4x4 boards.
+     *
+     * @return The number of guesses
+     */
+    @Override
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+}
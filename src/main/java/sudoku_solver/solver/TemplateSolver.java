@@ -0,0 +1,281 @@
+package sudoku_solver.solver;
+
+import sudoku_solver.model.SudokuBoard;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a solver for 9x9 Sudoku puzzles that works on whole digits at a time
+ * rather than on squares, using pattern overlays (templates).
+ * <p>
+ * A template is one valid way of placing all nine copies of a digit: one square in every row,
+ * column and box. There are only 46,656 of them, and they are precomputed at class initialisation
+ * as 81-bit masks stored in two longs. For each digit, the solver keeps the templates that contain
+ * every square given that digit and no square given another digit. It then repeatedly prunes the
+ * lists against each other:
+ * <ul>
+ *     <li>The squares shared by every template of a digit must hold that digit, so the templates
+ *     of the other digits that use any of them are removed.</li>
+ *     <li>A square covered by the templates of only one digit must hold that digit, so the
+ *     templates of that digit that miss the square are removed.</li>
+ * </ul>
+ * If pruning empties a list or leaves a square that no digit can cover, the puzzle has no
+ * solution. Otherwise, if a digit still has more than one template, the solver branches on the
+ * digit with the fewest, trying each of its templates in turn. Every step works on masks of the
+ * whole board, so it often finds placements that propagating one square at a time misses.
+ * <p>
+ * Puzzles that are not 9x9 are solved by a BackjumpingSolver instead. If the search finds no
+ * solution, the puzzle is parsed into a SudokuBoard, so that invalid puzzles throw the same
+ * exceptions as the other solvers.
+ *
+ * @author Savraj Bassi
+ * @version 19/10/2026
+ */
+
+public class TemplateSolver extends SudokuSolver {
+    private static final int SIZE = 9;
+    private static final int SQUARES = SIZE * SIZE;
+    // The 17 squares stored in the high long
+    private static final long HIGH_SQUARES = (1L << (SQUARES - 64)) - 1;
+    // The number of ways of placing a single digit on a 9x9 board
+    public static final int TEMPLATE_COUNT = 46_656;
+    private static final long[] TEMPLATES_LOW = new long[TEMPLATE_COUNT];
+    private static final long[] TEMPLATES_HIGH = new long[TEMPLATE_COUNT];
+    private final SudokuSolver fallback = new BackjumpingSolver();
+    private long nodesExpanded;
+
+    static {
+        int count = fillTemplates(0, 0, 0, 0, 0, 0);
+        if (count != TEMPLATE_COUNT) {
+            throw new IllegalStateException("Found " + count + " templates instead of " +
+                    TEMPLATE_COUNT);
+        }
+    }
+
+    /**
+     * Constructs a new TemplateSolver object.
+     */
+    public TemplateSolver() {
+    }
+
+    /**
+     * Adds every template that extends a partial template covering the rows above the given row.
+     *
+     * @param row     The next row to place the digit in
+     * @param columns The columns used so far, as a bit mask
+     * @param boxes   The boxes used so far, as a bit mask
+     * @param low     The squares of the partial template stored in the low long
+     * @param high    The squares of the partial template stored in the high long
+     * @param count   The number of templates already found
+     * @return The number of templates found afterwards
+     */
+    private static int fillTemplates(int row, int columns, int boxes, long low, long high,
+                                     int count) {
+        if (row == SIZE) {
+            TEMPLATES_LOW[count] = low;
+            TEMPLATES_HIGH[count] = high;
+            return count + 1;
+        }
+        for (int column = 0; column < SIZE; column++) {
+            int box = row / 3 * 3 + column / 3;
+            if ((columns >> column & 1) != 0 || (boxes >> box & 1) != 0) continue;
+            int square = row * SIZE + column;
+            count = fillTemplates(row + 1, columns | 1 << column, boxes | 1 << box,
+                    square < 64 ? low | 1L << square : low,
+                    square < 64 ? high : high | 1L << (square - 64), count);
+        }
+        return count;
+    }
+
+    /**
+     * Solves the Sudoku puzzle specified by the String board by combining digit templates.
+     *
+     * @param board The String representation of the Sudoku board
+     * @return A solved SudokuBoard object if it exists and otherwise null
+     */
+    @Override
+    public SudokuBoard solve(String board) {
+        nodesExpanded = 0;
+        long startTime = System.currentTimeMillis();
+        int[] values = BatchSolver.parse(board);
+        if (values == null) {
+            // The fallback throws an exception if the puzzle is invalid
+            SudokuBoard solution = solveWith(fallback, board);
+            nodesExpanded = fallback.getNodesExpanded();
+            return solution;
+        }
+
+        // Keep the templates of each digit that fit the givens
+        long[] givenLow = new long[SIZE];
+        long[] givenHigh = new long[SIZE];
+        long allLow = 0;
+        long allHigh = 0;
+        for (int square = 0; square < SQUARES; square++) {
+            if (values[square] == 0) continue;
+            if (square < 64) {
+                givenLow[values[square] - 1] |= 1L << square;
+                allLow |= 1L << square;
+            } else {
+                givenHigh[values[square] - 1] |= 1L << (square - 64);
+                allHigh |= 1L << (square - 64);
+            }
+        }
+        int[][] templates = new int[SIZE][];
+        for (int digit = 0; digit < SIZE; digit++) {
+            long forbiddenLow = allLow & ~givenLow[digit];
+            long forbiddenHigh = allHigh & ~givenHigh[digit];
+            int[] kept = new int[TEMPLATE_COUNT];
+            int count = 0;
+            for (int template = 0; template < TEMPLATE_COUNT; template++) {
+                long low = TEMPLATES_LOW[template];
+                long high = TEMPLATES_HIGH[template];
+                if ((low & forbiddenLow) == 0 && (high & forbiddenHigh) == 0 &&
+                        (low & givenLow[digit]) == givenLow[digit] &&
+                        (high & givenHigh[digit]) == givenHigh[digit]) {
+                    kept[count++] = template;
+                }
+            }
+            templates[digit] = Arrays.copyOf(kept, count);
+        }
+
+        int[][] solution = search(templates);
+        if (solution == null) {
+            // Throws an IllegalStateException if SudokuBoard can also tell there is no solution
+            new SudokuBoard(board);
+            return null;
+        }
+        int[][] result = new int[SIZE][SIZE];
+        for (int digit = 0; digit < SIZE; digit++) {
+            int template = solution[digit][0];
+            for (int square = 0; square < SQUARES; square++) {
+                long squares = square < 64 ? TEMPLATES_LOW[template] >>> square
+                        : TEMPLATES_HIGH[template] >>> (square - 64);
+                if ((squares & 1) != 0) result[square / SIZE][square % SIZE] = digit + 1;
+            }
+        }
+        recordTime(board, System.currentTimeMillis() - startTime);
+        return SudokuBoard.fromSolution(result);
+    }
+
+    /**
+     * Prunes the templates of every digit and then branches on the digit with the fewest templates
+     * left until every digit has exactly one.
+     *
+     * @param templates The indexes of the templates still possible for each digit
+     * @return The single template of each digit in a solution, or null if there is no solution
+     */
+    private int[][] search(int[][] templates) {
+        if (!prune(templates)) return null;
+        int branchDigit = -1;
+        for (int digit = 0; digit < SIZE; digit++) {
+            int count = templates[digit].length;
+            if (count > 1 && (branchDigit == -1 || count < templates[branchDigit].length)) {
+                branchDigit = digit;
+            }
+        }
+        if (branchDigit == -1) return templates;
+        // Terminate the search if an interrupt is issued
+        if (Thread.currentThread().isInterrupted()) return null;
+
+        for (int template : templates[branchDigit]) {
+            nodesExpanded++;
+            int[][] child = templates.clone();
+            child[branchDigit] = new int[]{template};
+            int[][] solution = search(child);
+            if (solution != null) return solution;
+        }
+        return null;
+    }
+
+    /**
+     * Removes templates that conflict with the squares every other digit must cover, or that miss
+     * a square only their digit can cover, until nothing changes. The lists are replaced rather
+     * than modified, so lists shared with a parent in the search are left intact.
+     *
+     * @param templates The indexes of the templates still possible for each digit
+     * @return False if a digit has no templates left or a square cannot be covered by any digit,
+     * and true otherwise
+     */
+    private boolean prune(int[][] templates) {
+        long[] unionLow = new long[SIZE];
+        long[] unionHigh = new long[SIZE];
+        long[] sharedLow = new long[SIZE];
+        long[] sharedHigh = new long[SIZE];
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            long oneLow = 0;
+            long twoLow = 0;
+            long oneHigh = 0;
+            long twoHigh = 0;
+            long fixedLow = 0;
+            long fixedHigh = 0;
+            for (int digit = 0; digit < SIZE; digit++) {
+                if (templates[digit].length == 0) return false;
+                long orLow = 0;
+                long orHigh = 0;
+                long andLow = -1L;
+                long andHigh = HIGH_SQUARES;
+                for (int template : templates[digit]) {
+                    orLow |= TEMPLATES_LOW[template];
+                    orHigh |= TEMPLATES_HIGH[template];
+                    andLow &= TEMPLATES_LOW[template];
+                    andHigh &= TEMPLATES_HIGH[template];
+                }
+                unionLow[digit] = orLow;
+                unionHigh[digit] = orHigh;
+                sharedLow[digit] = andLow;
+                sharedHigh[digit] = andHigh;
+                // Count the digits that can cover each square, saturating at two
+                twoLow |= oneLow & orLow;
+                oneLow |= orLow;
+                twoHigh |= oneHigh & orHigh;
+                oneHigh |= orHigh;
+                fixedLow |= andLow;
+                fixedHigh |= andHigh;
+            }
+            if (oneLow != -1L || oneHigh != HIGH_SQUARES) return false;
+            long onlyLow = oneLow & ~twoLow;
+            long onlyHigh = oneHigh & ~twoHigh;
+
+            for (int digit = 0; digit < SIZE; digit++) {
+                long forbiddenLow = fixedLow & ~sharedLow[digit];
+                long forbiddenHigh = fixedHigh & ~sharedHigh[digit];
+                long requiredLow = onlyLow & unionLow[digit] & ~sharedLow[digit];
+                long requiredHigh = onlyHigh & unionHigh[digit] & ~sharedHigh[digit];
+                if (((forbiddenLow & unionLow[digit]) | (forbiddenHigh & unionHigh[digit]) |
+                        requiredLow | requiredHigh) == 0) {
+                    continue;
+                }
+                int[] current = templates[digit];
+                int[] kept = new int[current.length];
+                int count = 0;
+                for (int template : current) {
+                    long low = TEMPLATES_LOW[template];
+                    long high = TEMPLATES_HIGH[template];
+                    if ((low & forbiddenLow) == 0 && (high & forbiddenHigh) == 0 &&
+                            (low & requiredLow) == requiredLow &&
+                            (high & requiredHigh) == requiredHigh) {
+                        kept[count++] = template;
+                    }
+                }
+                if (count == 0) return false;
+                if (count < current.length) {
+                    templates[digit] = Arrays.copyOf(kept, count);
+                    changed = true;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of templates tried during the most recent call to solve.
+     *
+     * @return The number of templates tried
+     */
+    @Override
+    public long getNodesExpanded() {
+        return nodesExpanded;
+    }
+}
@@ -1,8 +1,16 @@
 package sudoku_solver.model;
 
 import org.junit.jupiter.api.Test;
+import sudoku_solver.enums.ValueOrdering;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -879,6 +887,598 @@ public class SudokuBoardTest {
         }
     }
 
+    @Test
+    public void testSuccessorIterator() {
+        String game = """
+                *,1,4,*,6,*,3,*,*
+                6,2,*,*,*,4,*,*,9
+                *,8,*,*,5,*,6,*,*
+                *,6,*,2,*,*,*,*,3
+                *,7,*,*,1,*,*,5,*
+                5,*,*,*,*,9,*,6,*
+                *,*,6,*,2,*,*,3,*
+                1,*,*,5,*,*,*,9,2
+                *,*,7,*,9,*,4,1,*
+                """;
+
+        SudokuBoard board = new SudokuBoard(game);
+        List<SudokuBoard> successors = board.getSuccessors();
+        SuccessorIterator iterator = board.getSuccessorIterator();
+        assertEquals(successors.size(), iterator.remaining());
+
+        // The iterator should lazily produce exactly the same successors in the same order
+        for (SudokuBoard successor : successors) {
+            assertTrue(iterator.hasNext());
+            assertArrayEquals(successor.getValues(), iterator.next().getValues());
+        }
+        assertFalse(iterator.hasNext());
+        assertEquals(0, iterator.remaining());
+        assertThrows(NoSuchElementException.class, iterator::next);
+
+        // A solved board has no successors
+        String solved = """
+                1,2,3,4,
+                3,4,1,2,
+                2,1,4,3,
+                4,3,2,1,
+                """;
+        assertFalse(new SudokuBoard(solved).getSuccessorIterator().hasNext());
+    }
+
+    @Test
+    public void testLeastConstrainingValueOrdering() {
+        String game = """
+                *,1,4,*,6,*,3,*,*
+                6,2,*,*,*,4,*,*,9
+                *,8,*,*,5,*,6,*,*
+                *,6,*,2,*,*,*,*,3
+                *,7,*,*,1,*,*,5,*
+                5,*,*,*,*,9,*,6,*
+                *,*,6,*,2,*,*,3,*
+                1,*,*,5,*,*,*,9,2
+                *,*,7,*,9,*,4,1,*
+                """;
+
+        SudokuBoard board = new SudokuBoard(game);
+        List<SudokuBoard> ascending = board.getSuccessors(ValueOrdering.ASCENDING);
+        List<SudokuBoard> leastConstraining =
+                board.getSuccessors(ValueOrdering.LEAST_CONSTRAINING);
+
+        // The same successors should be generated, just possibly in a different order
+        assertEquals(ascending.size(), leastConstraining.size());
+        for (SudokuBoard successor : leastConstraining) {
+            assertTrue(ascending.stream().anyMatch(other ->
+                    Arrays.deepEquals(other.getValues(), successor.getValues())));
+        }
+
+        // The lazy iterator should follow the same order as the List
+        SuccessorIterator iterator = board.getSuccessorIterator(ValueOrdering.LEAST_CONSTRAINING);
+        for (SudokuBoard successor : leastConstraining) {
+            assertArrayEquals(successor.getValues(), iterator.next().getValues());
+        }
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testRandomTieBreaking() {
+        String game = """
+                *,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                """;
+        SudokuBoard board = new SudokuBoard(game);
+        Set<String> squares = new HashSet<>();
+        Set<String> orders = new HashSet<>();
+        for (long seed = 0; seed < 20; seed++) {
+            SuccessorIterator iterator =
+                    board.getSuccessorIterator(ValueOrdering.ASCENDING, new SplittableRandom(seed));
+            SuccessorIterator repeat =
+                    board.getSuccessorIterator(ValueOrdering.ASCENDING, new SplittableRandom(seed));
+            int row = iterator.getRow();
+            int column = iterator.getColumn();
+            squares.add(row + "," + column);
+            // Every square of the empty board is equally constrained, so every value is legal
+            assertEquals(9, iterator.remaining());
+            StringBuilder order = new StringBuilder();
+            Set<Integer> values = new HashSet<>();
+            while (iterator.hasNext()) {
+                int value = iterator.next().getValues()[row][column];
+                assertEquals(value, repeat.next().getValues()[row][column]);
+                values.add(value);
+                order.append(value);
+            }
+            assertEquals(9, values.size());
+            orders.add(order.toString());
+        }
+        // Ties should be broken differently for different seeds
+        assertTrue(squares.size() > 1);
+        assertTrue(orders.size() > 1);
+    }
+
+    @Test
+    public void testParallelLookahead() {
+        String game = """
+                8,*,*,*,*,*,*,*,*
+                *,*,3,6,*,*,*,*,*
+                *,7,*,*,9,*,2,*,*
+                *,5,*,*,*,7,*,*,*
+                *,*,*,*,4,5,7,*,*
+                *,*,*,1,*,*,*,3,*
+                *,*,1,*,*,*,*,6,8
+                *,*,8,5,*,*,*,1,*
+                *,9,*,*,*,*,4,*,*
+                """;
+        String bigGame = """
+                *,*,*,*,*,*,*,*,7,*,*,*,*,*,*,*
+                7,*,*,*,11,*,*,*,*,*,*,*,*,*,*,*
+                1,*,*,*,16,*,14,*,3,*,11,*,2,*,*,*
+                *,*,2,*,*,*,5,*,*,*,*,*,*,*,*,*
+                2,*,*,*,*,*,*,*,*,*,*,*,16,*,*,*
+                *,*,11,*,1,*,12,*,14,*,*,*,*,*,*,*
+                15,*,*,*,*,*,16,*,*,*,*,*,*,*,*,*
+                *,*,*,*,5,*,*,*,2,*,*,*,*,*,7,*
+                *,*,*,*,4,*,*,*,*,*,*,*,*,*,8,*
+                *,*,*,*,8,*,6,*,*,*,14,*,*,*,3,*
+                *,*,*,*,13,*,15,*,11,*,16,*,5,*,4,*
+                *,*,16,*,*,*,9,*,12,*,*,*,*,*,*,*
+                *,*,*,*,*,*,13,*,6,*,*,*,*,*,*,*
+                14,*,*,*,*,*,10,*,*,*,12,*,11,*,*,*
+                *,*,*,*,3,*,*,*,5,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*,*,1,*,*,*,16,*
+                 """;
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (String start : new String[]{game, bigGame}) {
+                for (ValueOrdering valueOrdering : ValueOrdering.values()) {
+                    // Follow the last successor of every board down to a solution or a dead end,
+                    // so that the lookahead meets forced, unwinnable and solved squares on the way
+                    SudokuBoard board = new SudokuBoard(start);
+                    while (!board.solved()) {
+                        List<SudokuBoard> sequential = board.getSuccessors(valueOrdering);
+                        SudokuBoard.setLookaheadPool(pool);
+                        List<SudokuBoard> parallel;
+                        SuccessorIterator iterator;
+                        try {
+                            parallel = board.getSuccessors(valueOrdering);
+                            iterator = board.getSuccessorIterator(valueOrdering);
+                        } finally {
+                            SudokuBoard.setLookaheadPool(null);
+                        }
+                        assertEquals(sequential.size(), parallel.size());
+                        assertEquals(sequential.size(), iterator.remaining());
+                        for (int i = 0; i < sequential.size(); i++) {
+                            assertArrayEquals(sequential.get(i).getValues(),
+                                    parallel.get(i).getValues());
+                            assertArrayEquals(sequential.get(i).getValues(),
+                                    iterator.next().getValues());
+                        }
+                        if (sequential.isEmpty()) break;
+                        board = sequential.get(sequential.size() - 1);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertNull(SudokuBoard.getLookaheadPool());
+    }
+
+    @Test
+    public void testAdaptiveLookahead() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLookahead(-0.1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLookahead(1.1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLookahead(0.5, 0));
+
+        String game = """
+                8,*,*,*,*,*,*,*,*
+                *,*,3,6,*,*,*,*,*
+                *,7,*,*,9,*,2,*,*
+                *,5,*,*,*,7,*,*,*
+                *,*,*,*,4,5,7,*,*
+                *,*,*,1,*,*,*,3,*
+                *,*,1,*,*,*,*,6,8
+                *,*,8,5,*,*,*,1,*
+                *,9,*,*,*,*,4,*,*
+                """;
+        SudokuBoard board = new SudokuBoard(game);
+        List<SudokuBoard> full = board.getSuccessors();
+
+        // A threshold of 0 always makes full lookaheads, which behave as if none was set
+        AdaptiveLookahead alwaysFull = new AdaptiveLookahead(0, 1);
+        SudokuBoard.setAdaptiveLookahead(alwaysFull);
+        try {
+            List<SudokuBoard> successors = board.getSuccessors();
+            assertEquals(full.size(), successors.size());
+            for (int i = 0; i < full.size(); i++) {
+                assertArrayEquals(full.get(i).getValues(), successors.get(i).getValues());
+            }
+        } finally {
+            SudokuBoard.setAdaptiveLookahead(null);
+        }
+        assertEquals(1, alwaysFull.getFullLookaheads());
+        assertEquals(0, alwaysFull.getCheapLookaheads());
+
+        // Once full lookaheads stop paying off, a full one is only made after every 3 cheap ones.
+        // The first full lookahead of the hard game finds no forced squares, so does not pay off.
+        AdaptiveLookahead adaptive = new AdaptiveLookahead(1, 3);
+        SudokuBoard.setAdaptiveLookahead(adaptive);
+        try {
+            for (int i = 0; i < 9; i++) {
+                // Cheap lookaheads branch on a square with the fewest candidates, and every
+                // successor they return is potentially winnable
+                SuccessorIterator iterator = board.getSuccessorIterator();
+                int row = iterator.getRow();
+                int column = iterator.getColumn();
+                while (iterator.hasNext()) {
+                    SudokuBoard successor = iterator.next();
+                    assertTrue(successor.getSuccessorIterator().hasNext());
+                    assertTrue(successor.getValues()[row][column] > 0);
+                }
+            }
+        } finally {
+            SudokuBoard.setAdaptiveLookahead(null);
+        }
+        assertTrue(adaptive.getCheapLookaheads() > 0);
+        assertTrue(adaptive.getFullLookaheads() > 1);
+        assertTrue(adaptive.getFullLookaheadsPaidOff() < adaptive.getFullLookaheads());
+        adaptive.reset();
+        assertEquals(0, adaptive.getFullLookaheads() + adaptive.getCheapLookaheads());
+        assertNull(SudokuBoard.getAdaptiveLookahead());
+    }
+
+    @Test
+    public void testConstraintWeights() {
+        String game = """
+                8,*,*,*,*,*,*,*,*
+                *,*,3,6,*,*,*,*,*
+                *,7,*,*,9,*,2,*,*
+                *,5,*,*,*,7,*,*,*
+                *,*,*,*,4,5,7,*,*
+                *,*,*,1,*,*,*,3,*
+                *,*,1,*,*,*,*,6,8
+                *,*,8,5,*,*,*,1,*
+                *,9,*,*,*,*,4,*,*
+                """;
+        SudokuBoard board = new SudokuBoard(game);
+        assertNotEquals(0, board.getSuccessorIterator().getRow());
+
+        // The trial assignments of a lookahead that fail increase the weights of the units of
+        // the squares they leave with no candidates. None of them fail on the first board.
+        ConstraintWeights weights = new ConstraintWeights();
+        SudokuBoard.setConstraintWeights(weights);
+        try {
+            SudokuBoard current = board;
+            for (int depth = 0; depth < 2; depth++) {
+                assertEquals(0, weights.getWipeouts());
+                current = current.getSuccessors().get(0);
+            }
+            current.getSuccessors();
+            assertTrue(weights.getWipeouts() > 0);
+            long rowWeights = 0;
+            long columnWeights = 0;
+            long boxWeights = 0;
+            for (int i = 0; i < 9; i++) {
+                rowWeights += weights.getRowWeight(i);
+                columnWeights += weights.getColumnWeight(i);
+                boxWeights += weights.getBoxWeight(i);
+            }
+            assertEquals(9 + weights.getWipeouts(), rowWeights);
+            assertEquals(9 + weights.getWipeouts(), columnWeights);
+            assertEquals(9 + weights.getWipeouts(), boxWeights);
+
+            // A heavily weighted row is branched on even though its squares have more legal
+            // values, and every successor is still potentially winnable
+            for (int i = 0; i < 1_000_000; i++) weights.recordWipeout(0, 0, 0);
+            SuccessorIterator iterator = board.getSuccessorIterator();
+            assertEquals(0, iterator.getRow());
+            int column = iterator.getColumn();
+            while (iterator.hasNext()) {
+                SudokuBoard successor = iterator.next();
+                assertTrue(successor.getValues()[0][column] > 0);
+                assertTrue(successor.getSuccessorIterator().hasNext());
+            }
+        } finally {
+            SudokuBoard.setConstraintWeights(null);
+        }
+        weights.reset();
+        assertEquals(0, weights.getWipeouts());
+        assertEquals(1, weights.getRowWeight(0));
+        assertNull(SudokuBoard.getConstraintWeights());
+    }
+
+    @Test
+    public void testFromSolution() {
+        String easy = """
+                2,3,*,9,1,5,*,*,*
+                *,*,*,2,*,*,5,4,*
+                6,*,7,*,*,*,*,*,*
+                *,*,1,*,*,*,*,*,9
+                8,9,*,5,*,3,*,1,7
+                5,*,*,*,*,*,6,*,*
+                *,*,*,*,*,*,9,*,5
+                *,1,6,*,*,7,*,*,*
+                *,*,*,3,2,9,*,*,1
+                """;
+        SudokuBoard parsed = new SudokuBoard(easy);
+        SudokuBoard board = SudokuBoard.fromSolution(parsed.getValues());
+        assertTrue(board.solved());
+        assertTrue(board.verifySolution());
+        assertArrayEquals(parsed.getValues(), board.getValues());
+        assertEquals(parsed.getZobristHash(), board.getZobristHash());
+        assertEquals(parsed.toString(), board.toString());
+        assertEquals(0, board.compareTo(parsed));
+
+        // The values are not checked against each other, but verifySolution catches mistakes
+        int[][] values = parsed.getValues();
+        int swap = values[0][0];
+        values[0][0] = values[0][1];
+        values[0][1] = swap;
+        assertFalse(SudokuBoard.fromSolution(values).verifySolution());
+
+        values[0][0] = 0;
+        assertThrows(IllegalArgumentException.class, () -> SudokuBoard.fromSolution(values));
+        assertThrows(IllegalArgumentException.class,
+                () -> SudokuBoard.fromSolution(new int[5][5]));
+    }
+
+    @Test
+    public void testHeuristicStatistics() {
+        String empty = """
+                *,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                """;
+        SudokuBoard board = new SudokuBoard(empty);
+        assertEquals(81, board.getSquaresRemaining());
+        assertEquals(81 * Math.log(9) / Math.log(2), board.getCandidateEntropy(), 1e-9);
+        assertEquals(0, board.countHiddenSingles());
+
+        // The 9s rule out every square of the first box except the third square of the third row,
+        // which is the only place for a 9 in that box, row and column
+        String hiddenSingle = """
+                *,*,*,*,*,9,*,*,*
+                *,*,*,*,*,*,*,9,*
+                *,*,*,*,*,*,*,*,*
+                9,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                *,9,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*
+                """;
+        board = new SudokuBoard(hiddenSingle);
+        assertEquals(77, board.getSquaresRemaining());
+        assertEquals(3, board.countHiddenSingles());
+        assertTrue(board.getCandidateEntropy() < 77 * Math.log(9) / Math.log(2));
+
+        SudokuBoard solved = new SudokuBoard(empty).getSuccessors().get(0);
+        while (!solved.solved()) solved = solved.getSuccessors().get(0);
+        assertEquals(0, solved.getCandidateEntropy());
+        assertEquals(0, solved.countHiddenSingles());
+    }
+
+    @Test
+    public void testSerialisation() {
+        String game = """
+                *,1,4,*,6,*,3,*,*
+                6,2,*,*,*,4,*,*,9
+                *,8,*,*,5,*,6,*,*
+                *,6,*,2,*,*,*,*,3
+                *,7,*,*,1,*,*,5,*
+                5,*,*,*,*,9,*,6,*
+                *,*,6,*,2,*,*,3,*
+                1,*,*,5,*,*,*,9,2
+                *,*,7,*,9,*,4,1,*
+                """;
+        SudokuBoard board = new SudokuBoard(game);
+        List<SudokuBoard> boards = board.getSuccessors();
+        boards.add(board);
+        ByteBuffer buffer = ByteBuffer.allocate(boards.size() * SudokuBoard.getSerialisedSize(9));
+        for (SudokuBoard original : boards) {
+            original.writeTo(buffer);
+        }
+        assertFalse(buffer.hasRemaining());
+
+        buffer.flip();
+        for (SudokuBoard original : boards) {
+            SudokuBoard copy = SudokuBoard.readFrom(buffer, 9);
+            assertEquals(original.toString(), copy.toString());
+            assertEquals(original.getHeuristicKey(), copy.getHeuristicKey());
+            assertEquals(original.getZobristHash(), copy.getZobristHash());
+            assertEquals(original.solved(), copy.solved());
+            // The copy should behave exactly like the original when searched
+            assertEquals(original.getSuccessors().size(), copy.getSuccessors().size());
+        }
+    }
+
+    // 16x16 boards eliminate values using candidate masks kept alongside the CandidateSets, so
+    // boards that were read back or built from recycled storage must search exactly like the
+    // originals
+    @Test
+    public void testCandidateMasks() {
+        String game = """
+                1,2,3,4,5,6,7,8,9,10,11,12,13,14,15,16
+                *,*,*,*,*,*,*,*,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*,*,*,*,*,*,*,*
+                5,*,*,*,1,*,*,*,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*,*,*,*,*,*,*,*
+                9,*,*,*,*,*,*,*,1,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*,*,*,*,*,*,*,*
+                13,*,*,*,*,*,*,*,*,*,*,*,1,*,*,*
+                *,*,*,*,*,*,*,*,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*,*,*,*,*,*,*,*
+                *,*,*,*,*,*,*,*,*,*,*,*,*,*,*,*
+                """;
+        SudokuBoard board = new SudokuBoard(game);
+        List<SudokuBoard> boards = board.getSuccessors();
+        boards.add(board);
+        ByteBuffer buffer = ByteBuffer.allocate(boards.size() * SudokuBoard.getSerialisedSize(16));
+        for (SudokuBoard original : boards) {
+            original.writeTo(buffer);
+        }
+
+        buffer.flip();
+        try (BoardPool ignored = BoardPool.open(false)) {
+            for (SudokuBoard original : boards) {
+                SudokuBoard copy = SudokuBoard.readFrom(buffer, 16);
+                List<SudokuBoard> expected = original.getSuccessors();
+                List<SudokuBoard> successors = copy.getSuccessors();
+                assertEquals(expected.size(), successors.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.get(i).toString(), successors.get(i).toString());
+                    assertEquals(0, expected.get(i).compareTo(successors.get(i)));
+                    successors.get(i).release();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBoardPool() {
+        String game = """
+                *,1,4,*,6,*,3,*,*
+                6,2,*,*,*,4,*,*,9
+                *,8,*,*,5,*,6,*,*
+                *,6,*,2,*,*,*,*,3
+                *,7,*,*,1,*,*,5,*
+                5,*,*,*,*,9,*,6,*
+                *,*,6,*,2,*,*,3,*
+                1,*,*,5,*,*,*,9,2
+                *,*,7,*,9,*,4,1,*
+                """;
+        SudokuBoard board = new SudokuBoard(game);
+        List<SudokuBoard> expected = board.getSuccessors();
+
+        // A released board cannot be used, even without a pool
+        SudokuBoard released = board.clone();
+        released.release();
+        assertThrows(IllegalStateException.class, released::clone);
+        assertThrows(IllegalStateException.class, released::getSuccessors);
+        assertThrows(IllegalStateException.class, released::release);
+
+        try (BoardPool pool = BoardPool.open(false)) {
+            // Boards created from recycled storage should match those created from scratch
+            List<SudokuBoard> successors = board.getSuccessors();
+            assertTrue(pool.getBoardsReleased() > 0);
+            assertTrue(pool.getBoardsReused() > 0);
+            assertEquals(expected.size(), successors.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertArrayEquals(expected.get(i).getValues(), successors.get(i).getValues());
+                assertEquals(expected.get(i).getZobristHash(),
+                        successors.get(i).getZobristHash());
+                assertEquals(0, expected.get(i).compareTo(successors.get(i)));
+            }
+
+            // A released board is handed out again by the next clone
+            SudokuBoard discarded = board.clone();
+            discarded.release();
+            assertThrows(IllegalStateException.class, discarded::getValues);
+            SudokuBoard reused = board.clone();
+            assertSame(discarded, reused);
+            assertArrayEquals(board.getValues(), reused.getValues());
+        }
+        assertNull(BoardPool.current());
+
+        // Checked pools never reuse boards
+        try (BoardPool pool = BoardPool.open(true)) {
+            SudokuBoard discarded = board.clone();
+            discarded.release();
+            assertNotSame(discarded, board.clone());
+            assertEquals(0, pool.getBoardsReused());
+            assertThrows(IllegalStateException.class, discarded::solved);
+        }
+    }
+
+    @Test
+    public void testDeltaNodes() {
+        String game = """
+                *,1,4,*,6,*,3,*,*
+                6,2,*,*,*,4,*,*,9
+                *,8,*,*,5,*,6,*,*
+                *,6,*,2,*,*,*,*,3
+                *,7,*,*,1,*,*,5,*
+                5,*,*,*,*,9,*,6,*
+                *,*,6,*,2,*,*,3,*
+                1,*,*,5,*,*,*,9,2
+                *,*,7,*,9,*,4,1,*
+                """;
+
+        SudokuBoard board = new SudokuBoard(game);
+        DeltaNode root = new DeltaNode(board);
+        assertTrue(root.isCheckpoint());
+        assertSame(board, root.materialise());
+        assertEquals(board.getHeuristicKey(), root.getHeuristicKey());
+
+        // Recreated successors should be identical to the ones generated directly, two levels deep
+        for (int checkpointInterval : new int[]{1, 2, 16}) {
+            List<SudokuBoard> successors = board.getSuccessors();
+            List<DeltaNode> nodes =
+                    board.getSuccessorIterator().toDeltaNodes(root, checkpointInterval);
+            assertEquals(successors.size(), nodes.size());
+            for (int i = 0; i < nodes.size(); i++) {
+                SudokuBoard successor = successors.get(i);
+                SudokuBoard recreated = nodes.get(i).materialise();
+                assertArrayEquals(successor.getValues(), recreated.getValues());
+                assertEquals(successor.getHeuristicKey(), nodes.get(i).getHeuristicKey());
+                assertEquals(successor.getZobristHash(), recreated.getZobristHash());
+                assertEquals(0, successor.compareTo(recreated));
+
+                List<SudokuBoard> grandchildren = successor.getSuccessors();
+                List<DeltaNode> grandchildNodes = recreated.getSuccessorIterator()
+                        .toDeltaNodes(nodes.get(i), checkpointInterval);
+                for (int j = 0; j < grandchildNodes.size(); j++) {
+                    assertArrayEquals(grandchildren.get(j).getValues(),
+                            grandchildNodes.get(j).materialise().getValues());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testZobristHash() {
+        String game = """
+                1,*,*,*,
+                *,*,*,*,
+                *,*,*,*,
+                *,*,*,*,
+                """;
+        String sameAssignments = """
+                *,*,*,*,
+                *,*,*,*,
+                *,*,*,*,
+                *,*,*,*,
+                """;
+
+        SudokuBoard board = new SudokuBoard(game);
+        assertEquals(board.getZobristHash(), board.clone().getZobristHash());
+        assertNotEquals(board.getZobristHash(), new SudokuBoard(sameAssignments).getZobristHash());
+
+        // Every successor assigns at least one more value, so must have a different hash
+        for (SudokuBoard successor : board.getSuccessors()) {
+            assertNotEquals(board.getZobristHash(), successor.getZobristHash());
+        }
+
+        // Boards created from the same String should always have the same hash
+        assertEquals(board.getZobristHash(), new SudokuBoard(game).getZobristHash());
+    }
+
     @Test
     public void testVerifySolution() {
         String game = """
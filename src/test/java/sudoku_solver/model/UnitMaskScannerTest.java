@@ -0,0 +1,52 @@
+package sudoku_solver.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UnitMaskScannerTest {
+
+    @Test
+    public void testCreate() {
+        // The vector implementation should be used whenever the module is present
+        boolean vectorPresent = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        UnitMaskScanner scanner = UnitMaskScanner.create();
+        assertEquals(vectorPresent ? "VectorUnitMaskScanner" : "ScalarUnitMaskScanner",
+                scanner.getClass().getSimpleName());
+    }
+
+    @Test
+    public void testScalarScanner() {
+        int[] masks = {0b101, 0b010, 0b100, 0, 0b111};
+        UnitMaskScanner scanner = new ScalarUnitMaskScanner();
+        assertEquals(0b10101, scanner.findSquares(masks, new int[]{0, 1, 2, 3, 4}, 0b100));
+        assertEquals(0b10011, scanner.findSquares(masks, new int[]{0, 1, 2, 3, 4}, 0b011));
+        // Bit i of the result refers to squares[i], not masks[i]
+        assertEquals(0b01, scanner.findSquares(masks, new int[]{1, 3}, 0b010));
+        assertEquals(0, scanner.findSquares(masks, new int[]{3}, 0b111));
+    }
+
+    // Whichever implementation is in use should agree with the scalar one, including for units
+    // that are not a multiple of the vector length
+    @Test
+    public void testScannersAgree() {
+        SplittableRandom random = new SplittableRandom(42);
+        UnitMaskScanner scalar = new ScalarUnitMaskScanner();
+        UnitMaskScanner scanner = UnitMaskScanner.create();
+        int[] masks = new int[256];
+        for (int trial = 0; trial < 1000; trial++) {
+            for (int i = 0; i < masks.length; i++) {
+                masks[i] = random.nextInt(1 << 16);
+            }
+            int[] squares = new int[random.nextInt(1, 33)];
+            for (int i = 0; i < squares.length; i++) {
+                squares[i] = random.nextInt(masks.length);
+            }
+            int bits = 1 << random.nextInt(16);
+            assertEquals(scalar.findSquares(masks, squares, bits),
+                    scanner.findSquares(masks, squares, bits));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package sudoku_solver.solver;
+
+import org.junit.jupiter.api.Test;
+import sudoku_solver.model.SudokuBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchSolverTest {
+    // Solved by naked and hidden singles alone
+    private final String easy = """
+            2,3,*,9,1,5,*,*,*
+            *,*,*,2,*,*,5,4,*
+            6,*,7,*,*,*,*,*,*
+            *,*,1,*,*,*,*,*,9
+            8,9,*,5,*,3,*,1,7
+            5,*,*,*,*,*,6,*,*
+            *,*,*,*,*,*,9,*,5
+            *,1,6,*,*,7,*,*,*
+            *,*,*,3,2,9,*,*,1
+            """;
+    // Requires guessing
+    private final String hard = """
+            8,*,*,*,*,*,*,*,*
+            *,*,3,6,*,*,*,*,*
+            *,7,*,*,9,*,2,*,*
+            *,5,*,*,*,7,*,*,*
+            *,*,*,*,4,5,7,*,*
+            *,*,*,1,*,*,*,3,*
+            *,*,1,*,*,*,*,6,8
+            *,*,8,5,*,*,*,1,*
+            *,9,*,*,*,*,4,*,*
+            """;
+    // Has no solution, as the last two squares of the first row both need a 9
+    private final String unsolvable = """
+            1,2,3,4,5,6,7,*,*
+            *,*,*,*,*,*,*,9,*
+            *,*,*,*,*,*,*,*,*
+            *,*,*,*,*,*,*,*,*
+            *,*,*,*,*,*,*,*,*
+            *,*,*,*,*,*,*,*,9
+            *,*,*,*,*,*,*,*,*
+            *,*,*,*,*,*,*,*,*
+            *,*,*,*,*,*,*,*,*
+            """;
+    private final String small = """
+            *,2,3,4,
+            4,3,*,1,
+            3,*,4,2,
+            2,4,1,*
+            """;
+
+    @Test
+    public void testSolveAll() {
+        // More than one block of 64 puzzles, with the puzzles in different lanes of each block
+        List<String> puzzles = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            puzzles.add(i % 3 == 0 ? hard : easy);
+        }
+        BatchSolver solver = new BatchSolver();
+        List<SudokuBoard> solutions = solver.solveAll(puzzles);
+        assertEquals(puzzles.size(), solutions.size());
+        SudokuBoard easySolution = new SudokuBoard(easy);
+        SudokuBoard hardSolution = new DepthFirstSolver().solve(hard);
+        for (int i = 0; i < puzzles.size(); i++) {
+            SudokuBoard solution = solutions.get(i);
+            assertTrue(solution.solved());
+            assertTrue(solution.verifySolution());
+            SudokuBoard expected = i % 3 == 0 ? hardSolution : easySolution;
+            assertArrayEquals(expected.getValues(), solution.getValues());
+        }
+        assertEquals(100, solver.getSolvedByPropagation());
+        assertEquals(50, solver.getSolvedByFallback());
+    }
+
+    @Test
+    public void testUnsolvableAndOtherSizes() {
+        BatchSolver solver = new BatchSolver(new BackjumpingSolver());
+        List<SudokuBoard> solutions = solver.solveAll(List.of(easy, unsolvable, small, easy));
+        assertTrue(solutions.get(0).verifySolution());
+        assertNull(solutions.get(1));
+        assertTrue(solutions.get(2).verifySolution());
+        assertEquals(4, solutions.get(2).getSIZE());
+        assertTrue(solutions.get(3).verifySolution());
+        assertEquals(2, solver.getSolvedByPropagation());
+        assertTrue(solver.getFallback() instanceof BackjumpingSolver);
+        assertTrue(solver.solveAll(List.of()).isEmpty());
+    }
+
+    @Test
+    public void testParse() {
+        int[] values = BatchSolver.parse(small, 4);
+        assertArrayEquals(new int[]{0, 2, 3, 4, 4, 3, 0, 1, 3, 0, 4, 2, 2, 4, 1, 0}, values);
+        assertNull(BatchSolver.parse(small));
+        assertNull(BatchSolver.parse(small.replace("4,3,*,1", "4,3,5,1"), 4));
+        assertNull(BatchSolver.parse(small.replace("4,3,*,1", "4,3,1x,1"), 4));
+        assertEquals(8, BatchSolver.parse(easy)[9 * 4]);
+    }
+}
@@ -0,0 +1,82 @@
+package sudoku_solver.solver;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SatEngineTest {
+
+    /**
+     * Creates an engine for placing the given number of pigeons into the given number of holes,
+     * with no two pigeons in the same hole. Variable pigeon * holes + hole is true if the pigeon
+     * is in the hole.
+     *
+     * @param pigeons     The number of pigeons
+     * @param holes       The number of holes
+     * @param restartBase The restart base of the engine
+     * @return The engine
+     */
+    private SatEngine pigeonhole(int pigeons, int holes, long restartBase) {
+        SatEngine engine = new SatEngine(pigeons * holes, restartBase);
+        for (int pigeon = 0; pigeon < pigeons; pigeon++) {
+            int[] clause = new int[holes];
+            for (int hole = 0; hole < holes; hole++) {
+                clause[hole] = SatEngine.literal(pigeon * holes + hole, true);
+            }
+            engine.addClause(clause);
+        }
+        for (int hole = 0; hole < holes; hole++) {
+            for (int i = 0; i < pigeons; i++) {
+                for (int j = i + 1; j < pigeons; j++) {
+                    engine.addClause(SatEngine.literal(i * holes + hole, false),
+                            SatEngine.literal(j * holes + hole, false));
+                }
+            }
+        }
+        return engine;
+    }
+
+    @Test
+    public void testSatisfiable() {
+        SatEngine engine = pigeonhole(5, 5, SatEngine.DEFAULT_RESTART_BASE);
+        assertTrue(engine.solve());
+        for (int hole = 0; hole < 5; hole++) {
+            int pigeons = 0;
+            for (int pigeon = 0; pigeon < 5; pigeon++) {
+                if (engine.getValue(pigeon * 5 + hole)) pigeons++;
+            }
+            assertEquals(1, pigeons);
+        }
+    }
+
+    // Proving that 7 pigeons do not fit into 6 holes requires many conflicts, so also exercises
+    // restarts and the deletion of learnt clauses
+    @Test
+    public void testUnsatisfiable() {
+        SatEngine engine = pigeonhole(7, 6, 1);
+        assertFalse(engine.solve());
+        assertTrue(engine.getConflicts() > 0);
+        assertTrue(engine.getRestarts() > 0);
+        // Once unsatisfiable, the engine stays unsatisfiable
+        assertFalse(engine.solve());
+    }
+
+    @Test
+    public void testUnitClauses() {
+        SatEngine engine = new SatEngine(3);
+        engine.addClause(SatEngine.literal(0, false));
+        engine.addClause(SatEngine.literal(0, true), SatEngine.literal(1, true));
+        engine.addClause(SatEngine.literal(1, false), SatEngine.literal(2, true));
+        assertTrue(engine.solve());
+        assertFalse(engine.getValue(0));
+        assertTrue(engine.getValue(1));
+        assertTrue(engine.getValue(2));
+        assertEquals(0, engine.getDecisions());
+
+        SatEngine contradiction = new SatEngine(1);
+        contradiction.addClause(SatEngine.literal(0, true));
+        contradiction.addClause(SatEngine.literal(0, false));
+        assertFalse(contradiction.solve());
+        assertThrows(IllegalArgumentException.class, () -> new SatEngine(1, 0));
+    }
+}
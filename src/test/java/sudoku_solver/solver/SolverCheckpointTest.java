@@ -0,0 +1,368 @@
+package sudoku_solver.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sudoku_solver.enums.Heuristic;
+import sudoku_solver.enums.RestartSchedule;
+import sudoku_solver.enums.ValueOrdering;
+import sudoku_solver.model.SudokuBoard;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SolverCheckpointTest {
+    private final String hard = """
+            8,*,*,*,*,*,*,*,*
+            *,*,3,6,*,*,*,*,*
+            *,7,*,*,9,*,2,*,*
+            *,5,*,*,*,7,*,*,*
+            *,*,*,*,4,5,7,*,*
+            *,*,*,1,*,*,*,3,*
+            *,*,1,*,*,*,*,6,8
+            *,*,8,5,*,*,*,1,*
+            *,9,*,*,*,*,4,*,*
+            """;
+    private final String empty = """
+            *,*,*,*,*,*,*,*,*
+            *,*,*,*,*,*,*,*,*
+            *,*,*,*,*,*,*,*,*
+            *,*,*,*,*,*,*,*,*
+            *,*,*,*,*,*,*,*,*
+            *,*,*,*,*,*,*,*,*
+            *,*,*,*,*,*,*,*,*
+            *,*,*,*,*,*,*,*,*
+            *,*,*,*,*,*,*,*,*
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    // The solvers below stop the search by interrupting themselves once a given number of boards
+    // have been expanded, which has the same effect on the checkpoint file as killing the process
+
+    static class KillableBreadthFirstSolver extends BreadthFirstSolver {
+        private final long killAfter;
+
+        KillableBreadthFirstSolver(long killAfter) {
+            this.killAfter = killAfter;
+        }
+
+        @Override
+        protected void addSuccessors(SudokuBoard board) {
+            if (getNodesExpanded() == killAfter) Thread.currentThread().interrupt();
+            super.addSuccessors(board);
+        }
+    }
+
+    static class KillableDepthFirstSolver extends DepthFirstSolver {
+        private final long killAfter;
+
+        KillableDepthFirstSolver(long killAfter) {
+            this.killAfter = killAfter;
+        }
+
+        @Override
+        protected void addSuccessors(SudokuBoard board) {
+            if (getNodesExpanded() == killAfter) Thread.currentThread().interrupt();
+            super.addSuccessors(board);
+        }
+    }
+
+    static class KillableBestFirstSolver extends BestFirstSolver {
+        private final long killAfter;
+
+        KillableBestFirstSolver(long killAfter) {
+            this.killAfter = killAfter;
+        }
+
+        KillableBestFirstSolver(long killAfter, HeuristicScorer scorer) {
+            super(scorer);
+            this.killAfter = killAfter;
+        }
+
+        @Override
+        protected void addSuccessors(SudokuBoard board) {
+            if (getNodesExpanded() == killAfter) Thread.currentThread().interrupt();
+            super.addSuccessors(board);
+        }
+    }
+
+    static class KillableRestartingDepthFirstSolver extends RestartingDepthFirstSolver {
+        private final long killAfter;
+
+        KillableRestartingDepthFirstSolver(long killAfter) {
+            super(7, RestartSchedule.LUBY, 4);
+            this.killAfter = killAfter;
+        }
+
+        @Override
+        protected void addSuccessors(SudokuBoard board) {
+            if (getNodesExpanded() == killAfter) Thread.currentThread().interrupt();
+            super.addSuccessors(board);
+        }
+    }
+
+    // getNodesExpanded() of the bounded solvers is only updated between iterations, so these
+    // solvers count the boards they expand themselves
+
+    static class KillableLimitedDiscrepancySolver extends LimitedDiscrepancySolver {
+        private final long killAfter;
+        private long expanded;
+
+        KillableLimitedDiscrepancySolver(long killAfter) {
+            this.killAfter = killAfter;
+        }
+
+        @Override
+        protected void addSuccessors(SudokuBoard board) {
+            if (++expanded == killAfter) Thread.currentThread().interrupt();
+            super.addSuccessors(board);
+        }
+    }
+
+    static class KillableIterativeDeepeningSolver extends IterativeDeepeningSolver {
+        private final long killAfter;
+        private long expanded;
+
+        KillableIterativeDeepeningSolver(long killAfter) {
+            this.killAfter = killAfter;
+        }
+
+        @Override
+        protected void addSuccessors(SudokuBoard board) {
+            if (++expanded == killAfter) Thread.currentThread().interrupt();
+            super.addSuccessors(board);
+        }
+    }
+
+    static class KillableBeamSolver extends BeamSolver {
+        private final long killAfter;
+        private long expanded;
+
+        KillableBeamSolver(long killAfter) {
+            super(1, DEFAULT_MAX_WIDTH, Heuristic.SQUARES_REMAINING);
+            this.killAfter = killAfter;
+        }
+
+        @Override
+        protected void addSuccessors(SudokuBoard board) {
+            if (++expanded == killAfter) Thread.currentThread().interrupt();
+            super.addSuccessors(board);
+        }
+    }
+
+    /**
+     * Kills a solve midway, resumes it with a new solver from the checkpoint and checks that it
+     * reaches the same solution as a solve that was never killed.
+     *
+     * @param killed   The solver that is killed
+     * @param resumed  A new solver of the same class that resumes the solve
+     * @param complete A new solver of the same class that solves the game without being killed
+     * @param game     The game to solve
+     * @return The number of boards expanded by the complete and resumed solves
+     */
+    private long[] killAndResume(SudokuSolver killed, SudokuSolver resumed,
+                                 SudokuSolver complete, String game) throws IOException {
+        Path checkpointFile = tempDir.resolve("solve.checkpoint");
+        SudokuBoard expected = complete.solve(game);
+
+        killed.setCheckpointing(checkpointFile, 3);
+        assertNull(killed.solve(game));
+        assertTrue(Thread.interrupted());
+        assertTrue(killed.getCheckpointsWritten() > 0);
+        assertTrue(Files.exists(checkpointFile));
+        assertTrue(SolverCheckpoint.read(checkpointFile).getNodesExpanded() > 0);
+
+        resumed.setCheckpointing(checkpointFile, 3);
+        SudokuBoard solution = resumed.resume(checkpointFile);
+        assertTrue(solution.verifySolution());
+        assertArrayEquals(expected.getValues(), solution.getValues());
+        // The checkpoint is no longer needed once the solve has finished
+        assertFalse(Files.exists(checkpointFile));
+        return new long[]{complete.getNodesExpanded(), resumed.getNodesExpanded()};
+    }
+
+    @Test
+    public void testKillAndResumeBreadthFirst() throws IOException {
+        long[] nodes = killAndResume(new KillableBreadthFirstSolver(10),
+                new KillableBreadthFirstSolver(-1), new KillableBreadthFirstSolver(-1), hard);
+        assertEquals(nodes[0], nodes[1]);
+    }
+
+    @Test
+    public void testKillAndResumeDepthFirst() throws IOException {
+        // The empty board has many solutions, so the same one is only found if the resumed search
+        // explores the boards in exactly the same order
+        long[] nodes = killAndResume(new KillableDepthFirstSolver(10),
+                new KillableDepthFirstSolver(-1), new KillableDepthFirstSolver(-1), empty);
+        assertEquals(nodes[0], nodes[1]);
+    }
+
+    @Test
+    public void testKillAndResumeBestFirst() throws IOException {
+        killAndResume(new KillableBestFirstSolver(10), new KillableBestFirstSolver(-1),
+                new KillableBestFirstSolver(-1), hard);
+    }
+
+    // The depths of the boards should survive the checkpoint, so the resumed search gives every
+    // board the same score and expands the same boards
+    @Test
+    public void testKillAndResumeDepthAwareScorer() throws IOException {
+        // Boards at odd depths are expanded before boards at even depths, so a restored board
+        // given the wrong depth is expanded in the wrong order
+        HeuristicScorer oddDepthsFirst = (board, depth) ->
+                (depth % 2 == 0 ? 1000 : 0) + board.getSquaresRemaining();
+        long[] nodes = killAndResume(new KillableBestFirstSolver(10, oddDepthsFirst),
+                new KillableBestFirstSolver(-1, oddDepthsFirst),
+                new KillableBestFirstSolver(-1, oddDepthsFirst), empty);
+        assertEquals(nodes[0], nodes[1]);
+
+        HeuristicScorer weightedAStar = HeuristicScorer.weightedAStar(1);
+        nodes = killAndResume(new KillableBestFirstSolver(10, weightedAStar),
+                new KillableBestFirstSolver(-1, weightedAStar),
+                new KillableBestFirstSolver(-1, weightedAStar), hard);
+        assertEquals(nodes[0], nodes[1]);
+    }
+
+    // The resumed iteration should keep its limit and the costs of its boards, and the limit
+    // should keep rising afterwards, even when the solve is killed as an iteration finishes. The
+    // kills start after the first checkpoint has been written.
+    @Test
+    public void testKillAndResumeBoundedDepthFirst() throws IOException {
+        for (long killAfter = 8; killAfter < 76; killAfter++) {
+            killAndResume(new KillableLimitedDiscrepancySolver(killAfter),
+                    new KillableLimitedDiscrepancySolver(-1),
+                    new KillableLimitedDiscrepancySolver(-1), hard);
+        }
+        for (long killAfter = 8; killAfter < 113; killAfter++) {
+            killAndResume(new KillableIterativeDeepeningSolver(killAfter),
+                    new KillableIterativeDeepeningSolver(-1),
+                    new KillableIterativeDeepeningSolver(-1), hard);
+        }
+    }
+
+    // The resumed search should keep the width of the beam and the levels of its boards, and the
+    // beam should keep widening afterwards, even when the solve is killed as a search finishes
+    @Test
+    public void testKillAndResumeBeam() throws IOException {
+        for (long killAfter = 4; killAfter < 54; killAfter++) {
+            killAndResume(new KillableBeamSolver(killAfter),
+                    new KillableBeamSolver(-1), new KillableBeamSolver(-1), hard);
+        }
+    }
+
+    // Restarts after resuming should begin from the puzzle rather than from the first board
+    // expanded after resuming, wherever the solve was killed
+    @Test
+    public void testKillAndResumeRestartingDepthFirst() throws IOException {
+        for (long killAfter = 2; killAfter <= 25; killAfter++) {
+            Path checkpointFile = tempDir.resolve("solve.checkpoint");
+            KillableRestartingDepthFirstSolver killed =
+                    new KillableRestartingDepthFirstSolver(killAfter);
+            killed.setCheckpointing(checkpointFile, 1);
+            SudokuBoard solution = killed.solve(hard);
+            if (!Thread.interrupted()) {
+                // Solved before it could be killed
+                assertTrue(solution.verifySolution());
+                continue;
+            }
+            assertNull(solution);
+
+            KillableRestartingDepthFirstSolver resumed = new KillableRestartingDepthFirstSolver(-1);
+            resumed.setCheckpointing(checkpointFile, 1);
+            solution = resumed.resume(checkpointFile);
+            assertNotNull(solution, "Resumed solve killed after " + killAfter + " boards");
+            assertTrue(solution.verifySolution());
+            assertFalse(Files.exists(checkpointFile));
+        }
+    }
+
+    // Taking a checkpoint should not turn the lazy iterators on the stack into boards
+    @Test
+    public void testDepthFirstSnapshotKeepsIterators() {
+        SuccessorStack stack = new SuccessorStack();
+        SudokuBoard board = new SudokuBoard(empty);
+        stack.addSuccessors(board, ValueOrdering.ASCENDING);
+        stack.addSuccessors(stack.remove(), ValueOrdering.ASCENDING);
+        int depth = stack.getDepth();
+        int size = stack.size();
+        assertTrue(size > depth);
+
+        List<SudokuBoard> boards = stack.snapshot();
+        assertEquals(size, boards.size());
+        assertEquals(depth, stack.getDepth());
+        assertEquals(size, stack.size());
+        for (SudokuBoard expected : boards) {
+            assertEquals(expected.toString(), stack.remove().toString());
+        }
+        assertTrue(stack.isEmpty());
+    }
+
+    // Taking a checkpoint should leave the off-heap open list as it was
+    @Test
+    public void testOffHeapSnapshot() {
+        OffHeapOpenList openList = new OffHeapOpenList();
+        List<SudokuBoard> successors = new SudokuBoard(hard).getSuccessors();
+        openList.addAll(successors);
+        long allocated = openList.getAllocatedBytes();
+
+        List<SudokuBoard> boards = openList.snapshot();
+        assertEquals(successors.size(), boards.size());
+        assertEquals(successors.size(), openList.size());
+        assertEquals(allocated, openList.getAllocatedBytes());
+        List<String> expected = new ArrayList<>();
+        for (SudokuBoard successor : successors) {
+            expected.add(successor.toString());
+        }
+        for (SudokuBoard snapshotBoard : boards) {
+            assertTrue(expected.remove(snapshotBoard.toString()));
+        }
+        assertTrue(expected.isEmpty());
+    }
+
+    @Test
+    public void testReadAndWrite() throws IOException {
+        SudokuBoard board = new SudokuBoard(hard);
+        List<SudokuBoard> boards = board.getSuccessors();
+        Path file = tempDir.resolve("checkpoint");
+        new SolverCheckpoint(hard, "solver", 42, 1234, boards).write(file);
+        // Writing again should replace the existing checkpoint
+        new SolverCheckpoint(hard, "solver", 43, 1235, boards, new int[]{4, 2}).write(file);
+
+        SolverCheckpoint checkpoint = SolverCheckpoint.read(file);
+        assertEquals(hard, checkpoint.getPuzzle());
+        assertEquals(hard, SolverCheckpoint.readPuzzle(file));
+        assertEquals("solver", checkpoint.getSolverClass());
+        assertEquals(43, checkpoint.getNodesExpanded());
+        assertEquals(1235, checkpoint.getElapsedMillis());
+        assertArrayEquals(new int[]{4, 2}, checkpoint.getState());
+        assertEquals(boards.size(), checkpoint.getBoards().size());
+        for (int i = 0; i < boards.size(); i++) {
+            assertEquals(boards.get(i).toString(), checkpoint.getBoards().get(i).toString());
+        }
+        // Only the checkpoint itself should be left in the directory
+        try (var files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+
+        Path notACheckpoint = tempDir.resolve("other");
+        Files.writeString(notACheckpoint, "not a checkpoint");
+        assertThrows(IOException.class, () -> SolverCheckpoint.read(notACheckpoint));
+    }
+
+    @Test
+    public void testResumeRequiresSameSolver() throws IOException {
+        Path file = tempDir.resolve("checkpoint");
+        new SolverCheckpoint(hard, BreadthFirstSolver.class.getName(), 0, 0,
+                List.of(new SudokuBoard(hard))).write(file);
+        assertThrows(IllegalArgumentException.class, () -> new DepthFirstSolver().resume(file));
+        assertNotNull(new BreadthFirstSolver().resume(file));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BreadthFirstSolver().setCheckpointing(file, 0));
+    }
+}
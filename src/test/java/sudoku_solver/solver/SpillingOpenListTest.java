@@ -0,0 +1,140 @@
+package sudoku_solver.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sudoku_solver.model.SudokuBoard;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpillingOpenListTest {
+    private final String game = """
+            8,*,*,*,*,*,*,*,*
+            *,*,3,6,*,*,*,*,*
+            *,7,*,*,9,*,2,*,*
+            *,5,*,*,*,7,*,*,*
+            *,*,*,*,4,5,7,*,*
+            *,*,*,1,*,*,*,3,*
+            *,*,1,*,*,*,*,6,8
+            *,*,8,5,*,*,*,1,*
+            *,9,*,*,*,*,4,*,*
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testBoardsRemovedInOrder() throws IOException {
+        SpillingOpenList openList = new SpillingOpenList(3, 4, tempDir);
+        List<String> expected = new ArrayList<>();
+        SudokuBoard board = new SudokuBoard(game);
+        // Interleave adds and removes so that boards pass through the head, segments and tail
+        for (int round = 0; round < 5; round++) {
+            for (SudokuBoard successor : board.getSuccessors()) {
+                for (SudokuBoard grandchild : successor.getSuccessors()) {
+                    expected.add(grandchild.toString());
+                    openList.add(grandchild);
+                }
+            }
+            assertEquals(expected.size(), openList.size());
+            for (int i = 0; i < 2; i++) {
+                assertEquals(expected.remove(0), openList.remove().toString());
+            }
+        }
+        assertTrue(openList.getSegmentsWritten() > 0);
+        assertEquals(openList.getSegmentsWritten() * 4 * SudokuBoard.getSerialisedSize(9),
+                openList.getBytesWritten());
+        assertNotNull(openList.getDirectory());
+        assertTrue(Files.isDirectory(openList.getDirectory()));
+
+        while (!expected.isEmpty()) {
+            assertFalse(openList.isEmpty());
+            assertEquals(expected.remove(0), openList.remove().toString());
+        }
+        assertTrue(openList.isEmpty());
+        assertEquals(0, openList.size());
+    }
+
+    // Taking a checkpoint should read the segments without removing them from disk
+    @Test
+    public void testSnapshotLeavesSegments() throws IOException {
+        SpillingOpenList openList = new SpillingOpenList(1, 2, tempDir);
+        List<String> expected = new ArrayList<>();
+        for (SudokuBoard successor : new SudokuBoard(game).getSuccessors()) {
+            for (SudokuBoard grandchild : successor.getSuccessors()) {
+                expected.add(grandchild.toString());
+                openList.add(grandchild);
+            }
+        }
+        openList.remove();
+        expected.remove(0);
+        long segmentsWritten = openList.getSegmentsWritten();
+        assertTrue(segmentsWritten > 0);
+        long files;
+        try (Stream<Path> segments = Files.list(openList.getDirectory())) {
+            files = segments.count();
+        }
+
+        List<SudokuBoard> boards = openList.snapshot();
+        assertEquals(expected.size(), boards.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), boards.get(i).toString());
+        }
+        assertEquals(segmentsWritten, openList.getSegmentsWritten());
+        try (Stream<Path> segments = Files.list(openList.getDirectory())) {
+            assertEquals(files, segments.count());
+        }
+        for (String board : expected) {
+            assertEquals(board, openList.remove().toString());
+        }
+        assertTrue(openList.isEmpty());
+    }
+
+    @Test
+    public void testClearDeletesSegments() throws IOException {
+        SpillingOpenList openList = new SpillingOpenList(1, 2, tempDir);
+        SudokuBoard board = new SudokuBoard(game);
+        for (int i = 0; i < 10; i++) {
+            openList.add(board.clone());
+        }
+        Path directory = openList.getDirectory();
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(4, files.count());
+        }
+        openList.clear();
+        assertTrue(openList.isEmpty());
+        assertNull(openList.getDirectory());
+        assertFalse(Files.exists(directory));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void testSolverCleansUp() throws IOException {
+        SpillingOpenList openList = new SpillingOpenList(2, 2, tempDir);
+        BreadthFirstSolver solver = new BreadthFirstSolver(openList);
+        SudokuBoard solution = solver.solve(game);
+        assertTrue(solution.solved());
+        assertTrue(solution.verifySolution());
+        assertTrue(openList.getSegmentsWritten() > 0);
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+
+        // An interrupted solve should also leave no files behind
+        Thread.currentThread().interrupt();
+        assertNull(solver.solve(game));
+        assertTrue(Thread.interrupted());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new SpillingOpenList(0, 1, null));
+    }
+}
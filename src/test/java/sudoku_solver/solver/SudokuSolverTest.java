@@ -3,8 +3,19 @@ package sudoku_solver.solver;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import sudoku_solver.enums.Heuristic;
+import sudoku_solver.enums.RestartSchedule;
+import sudoku_solver.enums.SolverType;
+import sudoku_solver.enums.ValueOrdering;
+import sudoku_solver.enums.VariableOrdering;
+import sudoku_solver.model.AdaptiveLookahead;
 import sudoku_solver.model.SudokuBoard;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 
@@ -267,12 +278,16 @@ public class SudokuSolverTest {
     SudokuSolver breadthFirstSolver;
     SudokuSolver depthFirstSolver;
     SudokuSolver bestFirstSolver;
+    HybridSolver hybridSolver;
+    PortfolioSolver portfolioSolver;
 
     @BeforeEach
     public void createSolvers() {
         breadthFirstSolver = new BreadthFirstSolver();
         depthFirstSolver = new DepthFirstSolver();
         bestFirstSolver = new BestFirstSolver();
+        hybridSolver = new HybridSolver();
+        portfolioSolver = new PortfolioSolver();
     }
 
     /**
@@ -349,6 +364,31 @@ public class SudokuSolverTest {
         }
 
         // Check the times are updated
+        // Storing the open list as DeltaNodes should not change which games can be solved
+        @Test
+        public void testDeltaOpenList() {
+            for (int checkpointInterval : new int[]{1, 4}) {
+                SudokuSolver solver = new BreadthFirstSolver(checkpointInterval);
+                runSolverOnUnsolvableGames(solver);
+                runSolverOnSolvableGames(solver);
+                assertSolverSolvesBoard(solver, smallEmpty);
+            }
+            assertThrows(IllegalArgumentException.class, () -> new BreadthFirstSolver(0));
+        }
+
+        // Checked mode never reuses released boards, so any use of a released board would throw
+        @Test
+        public void testBoardPooling() {
+            breadthFirstSolver.setBoardPooling(true);
+            breadthFirstSolver.setCheckedBoardPooling(true);
+            runSolverOnSolvableGames(breadthFirstSolver);
+            breadthFirstSolver.setCheckedBoardPooling(false);
+            runSolverOnSolvableGames(breadthFirstSolver);
+            assertSolverSolvesBoard(breadthFirstSolver, game1);
+            assertTrue(breadthFirstSolver.getBoardsReleased() > 0);
+            assertTrue(breadthFirstSolver.getBoardsReused() > 0);
+        }
+
         @Test
         public void testGetTimes() {
             assertNull(breadthFirstSolver.getTimes(bigGame1));
@@ -391,6 +431,82 @@ public class SudokuSolverTest {
             runSolverOnSolvableGames(depthFirstSolver);
         }
 
+        @Test
+        public void testLeastConstrainingValueOrdering() {
+            depthFirstSolver.setValueOrdering(ValueOrdering.LEAST_CONSTRAINING);
+            runSolverOnSolvableGames(depthFirstSolver);
+            assertSolverSolvesBoard(depthFirstSolver, empty);
+            assertTrue(depthFirstSolver.getNodesExpanded() > 0);
+        }
+
+        @Test
+        public void testBoardPooling() {
+            depthFirstSolver.setBoardPooling(true);
+            depthFirstSolver.setCheckedBoardPooling(true);
+            runSolverOnSolvableGames(depthFirstSolver);
+            depthFirstSolver.setCheckedBoardPooling(false);
+            runSolverOnSolvableGames(depthFirstSolver);
+            assertSolverSolvesBoard(depthFirstSolver, empty);
+            assertTrue(depthFirstSolver.getBoardsReused() > 0);
+        }
+
+        // Parallel lookahead must expand exactly the same boards as sequential lookahead
+        @Test
+        public void testParallelLookahead() {
+            DepthFirstSolver parallelSolver = new DepthFirstSolver();
+            assertFalse(parallelSolver.isParallelLookahead());
+            parallelSolver.setParallelLookahead(true);
+            parallelSolver.setBoardPooling(true);
+            parallelSolver.setCheckedBoardPooling(true);
+            runSolverOnUnsolvableGames(parallelSolver);
+            for (String game : new String[]{game1, bigGame1, empty, bigEmpty}) {
+                SudokuBoard solution = parallelSolver.solve(game);
+                assertTrue(solution.verifySolution());
+                assertArrayEquals(depthFirstSolver.solve(game).getValues(), solution.getValues());
+                assertEquals(depthFirstSolver.getNodesExpanded(),
+                        parallelSolver.getNodesExpanded());
+            }
+            assertNull(SudokuBoard.getLookaheadPool());
+        }
+
+        @Test
+        public void testAdaptiveLookahead() {
+            DepthFirstSolver adaptiveSolver = new DepthFirstSolver();
+            assertNull(adaptiveSolver.getAdaptiveLookahead());
+            AdaptiveLookahead adaptive = new AdaptiveLookahead();
+            adaptiveSolver.setAdaptiveLookahead(adaptive);
+            adaptiveSolver.setBoardPooling(true);
+            adaptiveSolver.setCheckedBoardPooling(true);
+            runSolverOnUnsolvableGames(adaptiveSolver);
+            runSolverOnSolvableGames(adaptiveSolver);
+            SudokuBoard solution = adaptiveSolver.solve(bigEmpty);
+            assertTrue(solution.verifySolution());
+            // Each expanded board makes exactly one lookahead
+            assertEquals(adaptiveSolver.getNodesExpanded(),
+                    adaptive.getFullLookaheads() + adaptive.getCheapLookaheads());
+            assertTrue(adaptive.getCheapLookaheads() > 0);
+            assertNull(SudokuBoard.getAdaptiveLookahead());
+        }
+
+        @Test
+        public void testDomWdegVariableOrdering() {
+            DepthFirstSolver weightedSolver = new DepthFirstSolver();
+            assertEquals(VariableOrdering.FEWEST_LEGAL_VALUES,
+                    weightedSolver.getVariableOrdering());
+            weightedSolver.setVariableOrdering(VariableOrdering.DOM_WDEG);
+            weightedSolver.setBoardPooling(true);
+            weightedSolver.setCheckedBoardPooling(true);
+            runSolverOnUnsolvableGames(weightedSolver);
+            runSolverOnSolvableGames(weightedSolver);
+            SudokuBoard solution = weightedSolver.solve(bigEmpty);
+            assertTrue(solution.verifySolution());
+            assertNotNull(weightedSolver.getConstraintWeights());
+            assertNull(SudokuBoard.getConstraintWeights());
+            weightedSolver.setVariableOrdering(VariableOrdering.FEWEST_LEGAL_VALUES);
+            weightedSolver.solve(bigGame1);
+            assertNull(weightedSolver.getConstraintWeights());
+        }
+
         @Test
         public void testGetTimes() {
             assertNull(depthFirstSolver.getTimes(bigGame1));
@@ -433,6 +549,123 @@ public class SudokuSolverTest {
             runSolverOnSolvableGames(bestFirstSolver);
         }
 
+        @Test
+        public void testLeastConstrainingValueOrdering() {
+            bestFirstSolver.setValueOrdering(ValueOrdering.LEAST_CONSTRAINING);
+            runSolverOnSolvableGames(bestFirstSolver);
+            assertSolverSolvesBoard(bestFirstSolver, empty);
+            assertTrue(bestFirstSolver.getNodesExpanded() > 0);
+        }
+
+        @Test
+        public void testDomWdegVariableOrdering() {
+            bestFirstSolver.setVariableOrdering(VariableOrdering.DOM_WDEG);
+            runSolverOnUnsolvableGames(bestFirstSolver);
+            runSolverOnSolvableGames(bestFirstSolver);
+            assertSolverSolvesBoard(bestFirstSolver, bigEmpty);
+            assertNotNull(bestFirstSolver.getConstraintWeights());
+            assertNull(SudokuBoard.getConstraintWeights());
+        }
+
+        // Storing the open list as DeltaNodes should not change which games can be solved
+        @Test
+        public void testDeltaOpenList() {
+            for (int checkpointInterval : new int[]{1, 4}) {
+                SudokuSolver solver = new BestFirstSolver(checkpointInterval);
+                runSolverOnUnsolvableGames(solver);
+                runSolverOnSolvableGames(solver);
+                assertSolverSolvesBoard(solver, smallEmpty);
+            }
+            assertThrows(IllegalArgumentException.class, () -> new BestFirstSolver(0));
+        }
+
+        @Test
+        public void testOffHeapOpenList() {
+            OffHeapOpenList openList = new OffHeapOpenList();
+            SudokuSolver solver = new BestFirstSolver(openList);
+            runSolverOnUnsolvableGames(solver);
+            runSolverOnSolvableGames(solver);
+            assertSolverSolvesBoard(solver, empty);
+            assertTrue(openList.getPeakSize() > 0);
+            // Boards are removed in the same order, so the same number should be expanded
+            assertSolverSolvesBoard(bestFirstSolver, game1);
+            assertSolverSolvesBoard(solver, game1);
+            assertEquals(bestFirstSolver.getNodesExpanded(), solver.getNodesExpanded());
+
+            // An open list that can only hold a single 9x9 board cannot hold every successor
+            SudokuSolver capped = new BestFirstSolver(
+                    new OffHeapOpenList(SudokuBoard.getSerialisedSize(9)));
+            assertThrows(IllegalStateException.class, () -> capped.solve(empty));
+            assertThrows(IllegalArgumentException.class, () -> new OffHeapOpenList(0));
+        }
+
+        @Test
+        public void testHeuristics() {
+            List<HeuristicScorer> scorers = new ArrayList<>(List.of(Heuristic.values()));
+            scorers.add(HeuristicScorer.weightedAStar(1));
+            for (HeuristicScorer scorer : scorers) {
+                SudokuSolver solver = new BestFirstSolver(scorer);
+                runSolverOnUnsolvableGames(solver);
+                runSolverOnSolvableGames(solver);
+                assertSolverSolvesBoard(solver, empty);
+                assertSolverSolvesBoard(solver, smallEmpty);
+            }
+            // Scoring boards once gives the same order as comparing them
+            SudokuSolver solver = new BestFirstSolver(Heuristic.SQUARES_REMAINING);
+            assertSolverSolvesBoard(bestFirstSolver, game1);
+            assertSolverSolvesBoard(solver, game1);
+            assertEquals(bestFirstSolver.getNodesExpanded(), solver.getNodesExpanded());
+            assertThrows(IllegalArgumentException.class, () -> HeuristicScorer.weightedAStar(0));
+        }
+
+        @Test
+        public void testScoredOpenList() {
+            // Score boards by their depth alone, deepest first, so ties are broken by the order
+            // they were added
+            ScoredOpenList openList = new ScoredOpenList((board, depth) -> -depth);
+            List<SudokuBoard> expected = new SudokuBoard(empty).getSuccessors();
+            SudokuBoard root = new SudokuBoard(empty);
+            openList.add(root);
+            assertSame(root, openList.remove());
+            openList.addSuccessors(root, ValueOrdering.ASCENDING);
+            assertEquals(expected.size(), openList.size());
+            SudokuBoard first = openList.remove();
+            assertArrayEquals(expected.get(0).getValues(), first.getValues());
+
+            // The successors of the first board are deeper, so they come before its siblings
+            openList.addSuccessors(first, ValueOrdering.ASCENDING);
+            SudokuBoard deeper = openList.remove();
+            assertEquals(80 - 1, deeper.getSquaresRemaining());
+            openList.clear();
+            assertTrue(openList.isEmpty());
+            assertEquals(0, openList.size());
+        }
+
+        // Restored boards should keep their depths, and so their scores and order
+        @Test
+        public void testScoredOpenListSnapshot() {
+            ScoredOpenList openList = new ScoredOpenList((board, depth) -> -depth);
+            SudokuBoard root = new SudokuBoard(empty);
+            openList.add(root);
+            openList.addSuccessors(openList.remove(), ValueOrdering.ASCENDING);
+            openList.addSuccessors(openList.remove(), ValueOrdering.ASCENDING);
+
+            List<SudokuBoard> boards = openList.snapshot();
+            int[] depths = openList.snapshotState();
+            assertEquals(openList.size(), boards.size());
+            assertEquals(boards.size(), depths.length);
+            assertEquals(2, depths[0]);
+            assertEquals(1, depths[depths.length - 1]);
+
+            ScoredOpenList restored = new ScoredOpenList((board, depth) -> -depth);
+            restored.restore(boards, depths);
+            for (SudokuBoard board : boards) {
+                assertSame(board, openList.remove());
+                assertSame(board, restored.remove());
+            }
+            assertTrue(restored.isEmpty());
+        }
+
         @Test
         public void testGetTimes() {
             assertNull(bestFirstSolver.getTimes(bigGame1));
@@ -440,4 +673,771 @@ public class SudokuSolverTest {
             assertTrue(bestFirstSolver.getTimes(bigGame1).size() > 0);
         }
     }
-}
\ No newline at end of file
+
+
+    @Nested
+    class HybridSolverTest {
+        @Test
+        public void testUnsolvableGameThrowsException() {
+            runSolverOnUnsolvableGames(hybridSolver);
+        }
+
+        @Test
+        public void testEasilySolvedGameGivenToSolveMethod() {
+            assertSolverSolvesBoard(hybridSolver, easy);
+            assertSolverSolvesBoard(hybridSolver, easySmall);
+            assertSolverSolvesBoard(hybridSolver, easyBig);
+        }
+
+        @Test
+        public void testSolvedGameGivenToSolveMethod() {
+            assertSolverSolvesBoard(hybridSolver, solved);
+            assertSolverSolvesBoard(hybridSolver, solvedSmall);
+            assertSolverSolvesBoard(hybridSolver, solvedBig);
+        }
+
+        // Unlike the breadth first solver, the open list limit allows the hybrid solver to solve
+        // empty boards without running out of memory
+        @Test
+        public void testEmptyGameGivenToSolveMethod() {
+            HybridSolver smallLimitSolver = new HybridSolver(100, 0, 0.5);
+            assertSolverSolvesBoard(smallLimitSolver, smallEmpty);
+            assertSolverSolvesBoard(smallLimitSolver, empty);
+            assertTrue(smallLimitSolver.getSwitchesToDepthFirst() > 0);
+            assertSolverSolvesBoard(hybridSolver, smallEmpty);
+        }
+
+        @Test
+        public void testUnsolvedButSolvableGames() {
+            runSolverOnSolvableGames(hybridSolver);
+        }
+
+        // The open list should never grow much past its limit
+        @Test
+        public void testOpenListLimit() {
+            HybridSolver smallLimitSolver = new HybridSolver(4, 0, 0.5);
+            runSolverOnSolvableGames(smallLimitSolver);
+            assertSolverSolvesBoard(smallLimitSolver, empty);
+            assertTrue(smallLimitSolver.getPeakOpenListSize() < 4 + 81 * 9);
+
+            assertThrows(IllegalArgumentException.class, () -> new HybridSolver(0, 0, 0.5));
+            assertThrows(IllegalArgumentException.class, () -> new HybridSolver(-1, 0, 0.5));
+            assertThrows(IllegalArgumentException.class, () -> new HybridSolver(10, 0, 1.5));
+        }
+
+        @Test
+        public void testGetTimes() {
+            assertNull(hybridSolver.getTimes(bigGame1));
+            hybridSolver.solve(bigGame1);
+            assertTrue(hybridSolver.getTimes(bigGame1).size() > 0);
+        }
+    }
+
+    @Nested
+    class RestartingDepthFirstSolverTest {
+        @Test
+        public void testUnsolvableGameThrowsException() {
+            runSolverOnUnsolvableGames(new RestartingDepthFirstSolver());
+        }
+
+        @Test
+        public void testEmptyGameGivenToSolveMethod() {
+            RestartingDepthFirstSolver solver = new RestartingDepthFirstSolver();
+            assertSolverSolvesBoard(solver, empty);
+            assertSolverSolvesBoard(solver, smallEmpty);
+        }
+
+        @Test
+        public void testUnsolvedButSolvableGames() {
+            runSolverOnSolvableGames(new RestartingDepthFirstSolver());
+            runSolverOnSolvableGames(new RestartingDepthFirstSolver(1, RestartSchedule.GEOMETRIC,
+                    4));
+        }
+
+        // Restarting after every board should still find solutions, as the limits keep growing
+        @Test
+        public void testFrequentRestarts() {
+            RestartingDepthFirstSolver solver =
+                    new RestartingDepthFirstSolver(0, RestartSchedule.LUBY, 1);
+            runSolverOnSolvableGames(solver);
+            assertSolverSolvesBoard(solver, empty);
+            assertTrue(solver.getRestarts() > 0);
+            assertThrows(IllegalArgumentException.class,
+                    () -> new RestartingDepthFirstSolver(0, RestartSchedule.LUBY, 0));
+        }
+
+        // The same seed should always expand the same boards and find the same solution
+        @Test
+        public void testDeterministicSeed() {
+            RestartingDepthFirstSolver solver =
+                    new RestartingDepthFirstSolver(42, RestartSchedule.LUBY, 2);
+            int[][] solution = solver.solve(empty).getValues();
+            long nodesExpanded = solver.getNodesExpanded();
+            int restarts = solver.getRestarts();
+            RestartingDepthFirstSolver repeat =
+                    new RestartingDepthFirstSolver(42, RestartSchedule.LUBY, 2);
+            assertArrayEquals(solution, repeat.solve(empty).getValues());
+            assertEquals(nodesExpanded, repeat.getNodesExpanded());
+            assertEquals(restarts, repeat.getRestarts());
+        }
+
+        @Test
+        public void testRestartSchedules() {
+            long[] luby = {1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8, 1};
+            for (int run = 0; run < luby.length; run++) {
+                assertEquals(luby[run] * 10, RestartSchedule.LUBY.getLimit(run, 10));
+            }
+            assertEquals(10, RestartSchedule.GEOMETRIC.getLimit(0, 10));
+            assertEquals(22, RestartSchedule.GEOMETRIC.getLimit(2, 10));
+            assertEquals(Long.MAX_VALUE, RestartSchedule.GEOMETRIC.getLimit(1000, 10));
+        }
+    }
+
+    @Nested
+    class BackjumpingSolverTest {
+        private final String hard = """
+                8,*,*,*,*,*,*,*,*
+                *,*,3,6,*,*,*,*,*
+                *,7,*,*,9,*,2,*,*
+                *,5,*,*,*,7,*,*,*
+                *,*,*,*,4,5,7,*,*
+                *,*,*,1,*,*,*,3,*
+                *,*,1,*,*,*,*,6,8
+                *,*,8,5,*,*,*,1,*
+                *,9,*,*,*,*,4,*,*
+                """;
+
+        @Test
+        public void testUnsolvableGameThrowsException() {
+            runSolverOnUnsolvableGames(new BackjumpingSolver());
+        }
+
+        @Test
+        public void testSolvedAndEmptyGames() {
+            BackjumpingSolver solver = new BackjumpingSolver();
+            assertSolverSolvesBoard(solver, easy);
+            assertSolverSolvesBoard(solver, solvedBig);
+            assertSolverSolvesBoard(solver, empty);
+            assertSolverSolvesBoard(solver, smallEmpty);
+            assertSolverSolvesBoard(solver, bigEmpty);
+        }
+
+        @Test
+        public void testUnsolvedButSolvableGames() {
+            runSolverOnSolvableGames(new BackjumpingSolver());
+            // Without nogood learning the solver should still backjump and find solutions
+            runSolverOnSolvableGames(new BackjumpingSolver(0, 0));
+            assertThrows(IllegalArgumentException.class, () -> new BackjumpingSolver(-1, 10));
+        }
+
+        // The hard game needs many guesses, some of which fail for reasons unrelated to the most
+        // recent guess
+        @Test
+        public void testBackjumpingAndNogoods() {
+            BackjumpingSolver solver =
+                    new BackjumpingSolver(BackjumpingSolver.DEFAULT_MAX_NOGOOD_SIZE, 100);
+            SudokuBoard solution = solver.solve(hard);
+            assertTrue(solution.verifySolution());
+            assertTrue(solver.getNodesExpanded() > 0);
+            assertTrue(solver.getNogoodsLearned() > 0);
+
+            BackjumpingSolver withoutNogoods = new BackjumpingSolver(0, 0);
+            // The puzzle has a unique solution, so every solver must find the same one
+            assertArrayEquals(solution.getValues(), withoutNogoods.solve(hard).getValues());
+            assertArrayEquals(solution.getValues(), depthFirstSolver.solve(hard).getValues());
+            assertEquals(0, withoutNogoods.getNogoodsLearned());
+            assertEquals(0, withoutNogoods.getNogoodPrunings());
+            assertEquals(1, solver.getTimes(hard).size());
+        }
+    }
+
+    @Nested
+    class SatSolverTest {
+        @Test
+        public void testUnsolvableGameThrowsException() {
+            runSolverOnUnsolvableGames(new SatSolver());
+        }
+
+        @Test
+        public void testSolvedAndEmptyGames() {
+            SatSolver solver = new SatSolver();
+            assertSolverSolvesBoard(solver, easyBig);
+            assertSolverSolvesBoard(solver, solved);
+            assertSolverSolvesBoard(solver, empty);
+            assertSolverSolvesBoard(solver, smallEmpty);
+            assertSolverSolvesBoard(solver, bigEmpty);
+        }
+
+        @Test
+        public void testUnsolvedButSolvableGames() {
+            SatSolver solver = new SatSolver();
+            runSolverOnSolvableGames(solver);
+            assertEquals(1, solver.getTimes(game1).size());
+            // The empty board cannot be solved without making decisions
+            assertSolverSolvesBoard(solver, bigEmpty);
+            assertTrue(solver.getNodesExpanded() > 0);
+        }
+    }
+
+    @Nested
+    class AnnealingSolverTest {
+        @Test
+        public void testUnsolvableGameThrowsException() {
+            runSolverOnUnsolvableGames(new AnnealingSolver());
+        }
+
+        @Test
+        public void testSolvedAndEmptyGames() {
+            AnnealingSolver solver = new AnnealingSolver();
+            assertSolverSolvesBoard(solver, easy);
+            assertSolverSolvesBoard(solver, solvedSmall);
+            assertSolverSolvesBoard(solver, empty);
+            assertSolverSolvesBoard(solver, smallEmpty);
+            assertSolverSolvesBoard(solver, bigEmpty);
+            assertTrue(solver.getNodesExpanded() > 0);
+        }
+
+        @Test
+        public void testUnsolvedButSolvableGames() {
+            // Several chains compete even on a single core, and the first to finish wins
+            AnnealingSolver solver = new AnnealingSolver(3, 60_000, 1);
+            runSolverOnSolvableGames(solver);
+            assertEquals(1, solver.getTimes(game1).size());
+            assertThrows(IllegalArgumentException.class, () -> new AnnealingSolver(0, 1000, 0));
+            assertThrows(IllegalArgumentException.class, () -> new AnnealingSolver(1, 0, 0));
+        }
+    }
+
+    @Nested
+    class BitboardSolverTest {
+        private final String hard = """
+                8,*,*,*,*,*,*,*,*
+                *,*,3,6,*,*,*,*,*
+                *,7,*,*,9,*,2,*,*
+                *,5,*,*,*,7,*,*,*
+                *,*,*,*,4,5,7,*,*
+                *,*,*,1,*,*,*,3,*
+                *,*,1,*,*,*,*,6,8
+                *,*,8,5,*,*,*,1,*
+                *,9,*,*,*,*,4,*,*
+                """;
+        // Needs well over a hundred guesses, so most branches are tried and undone
+        private final String hardest = """
+                1,*,*,*,*,*,*,*,2
+                *,9,*,4,*,*,*,5,*
+                *,*,6,*,*,*,7,*,*
+                *,5,*,9,*,3,*,*,*
+                *,*,*,*,7,*,*,*,*
+                *,*,*,8,5,*,*,4,*
+                7,*,*,*,*,*,6,*,*
+                *,3,*,*,*,9,*,8,*
+                *,*,2,*,*,*,*,*,1
+                """;
+
+        @Test
+        public void testUnsolvableGameThrowsException() {
+            runSolverOnUnsolvableGames(new BitboardSolver());
+        }
+
+        // Boards that are not 9x9 are solved by the fallback solver
+        @Test
+        public void testSolvedAndEmptyGames() {
+            BitboardSolver solver = new BitboardSolver();
+            assertSolverSolvesBoard(solver, easy);
+            assertSolverSolvesBoard(solver, solvedSmall);
+            assertSolverSolvesBoard(solver, empty);
+            assertSolverSolvesBoard(solver, smallEmpty);
+            assertSolverSolvesBoard(solver, bigEmpty);
+        }
+
+        @Test
+        public void testUnsolvedButSolvableGames() {
+            BitboardSolver solver = new BitboardSolver();
+            runSolverOnSolvableGames(solver);
+            assertEquals(1, solver.getTimes(game1).size());
+        }
+
+        @Test
+        public void testHardGame() {
+            BitboardSolver solver = new BitboardSolver();
+            SudokuBoard solution = solver.solve(hard);
+            assertTrue(solution.verifySolution());
+            assertTrue(solver.getNodesExpanded() > 0);
+            // The puzzle has a unique solution, so every solver must find the same one
+            assertArrayEquals(solution.getValues(), depthFirstSolver.solve(hard).getValues());
+
+            solution = solver.solve(hardest);
+            assertTrue(solution.verifySolution());
+            assertTrue(solver.getNodesExpanded() > 100);
+            assertArrayEquals(solution.getValues(), depthFirstSolver.solve(hardest).getValues());
+        }
+    }
+
+    @Nested
+    class Bitboard16SolverTest {
+        @Test
+        public void testUnsolvableGameThrowsException() {
+            runSolverOnUnsolvableGames(new Bitboard16Solver());
+        }
+
+        // Boards that are not 16x16 are solved by the fallback solver
+        @Test
+        public void testSolvedAndEmptyGames() {
+            Bitboard16Solver solver = new Bitboard16Solver();
+            assertSolverSolvesBoard(solver, solvedBig);
+            assertSolverSolvesBoard(solver, bigEmpty);
+            assertTrue(solver.getNodesExpanded() > 0);
+            assertSolverSolvesBoard(solver, easy);
+            assertSolverSolvesBoard(solver, smallEmpty);
+        }
+
+        @Test
+        public void testUnsolvedButSolvableGames() {
+            Bitboard16Solver solver = new Bitboard16Solver();
+            runSolverOnSolvableGames(solver);
+            assertEquals(1, solver.getTimes(bigGame1).size());
+            // The BitboardSolver passes 16x16 boards on to a Bitboard16Solver
+            assertArrayEquals(solver.solve(bigGame2).getValues(),
+                    new BitboardSolver().solve(bigGame2).getValues());
+        }
+    }
+
+    @Nested
+    class Table4SolverTest {
+        private final Table4Solver solver = new Table4Solver();
+
+        @Test
+        public void testUnsolvableGameThrowsException() {
+            runSolverOnUnsolvableGames(solver);
+        }
+
+        // Boards that are not 4x4 are solved by the fallback solver
+        @Test
+        public void testSolvedAndEmptyGames() {
+            assertSolverSolvesBoard(solver, solvedSmall);
+            assertSolverSolvesBoard(solver, smallEmpty);
+            assertEquals(0, solver.getNodesExpanded());
+            assertSolverSolvesBoard(solver, easy);
+            assertSolverSolvesBoard(solver, bigEmpty);
+        }
+
+        @Test
+        public void testUnsolvedButSolvableGames() {
+            runSolverOnSolvableGames(solver);
+            assertEquals(1, solver.getTimes(smallGame1).size());
+        }
+
+        @Test
+        public void testCountSolutions() {
+            assertEquals(Table4Solver.GRID_COUNT, solver.countSolutions(smallEmpty));
+            assertEquals(1, solver.countSolutions(solvedSmall));
+            assertTrue(solver.hasUniqueSolution(solvedSmall));
+            assertFalse(solver.hasUniqueSolution(smallEmpty));
+            // Two squares in the same row need a 4
+            assertEquals(0, solver.countSolutions("1,2,*,*\n*,*,3,*\n*,*,*,3\n*,*,*,*"));
+            assertThrows(IllegalArgumentException.class, () -> solver.countSolutions(easy));
+        }
+
+        // Every 4x4 grid, with squares removed at random, should give the same answers as the
+        // breadth first solver and as counting the matching grids directly
+        @Test
+        public void testAgreesWithBreadthFirstSolver() {
+            List<int[]> grids = new ArrayList<>();
+            addGrids(new int[16], 0, grids);
+            assertEquals(Table4Solver.GRID_COUNT, grids.size());
+            SplittableRandom random = new SplittableRandom(4);
+            for (int[] grid : grids) {
+                for (int attempt = 0; attempt < 4; attempt++) {
+                    int mask = random.nextInt(1 << 16);
+                    StringBuilder puzzle = new StringBuilder();
+                    for (int square = 0; square < 16; square++) {
+                        puzzle.append((mask >> square & 1) != 0 ? grid[square] : "*");
+                        puzzle.append(square % 4 == 3 ? "\n" : ",");
+                    }
+                    String board = puzzle.toString();
+                    int expectedCount = 0;
+                    for (int[] other : grids) {
+                        boolean matches = true;
+                        for (int square = 0; square < 16 && matches; square++) {
+                            matches = (mask >> square & 1) == 0 || other[square] == grid[square];
+                        }
+                        if (matches) expectedCount++;
+                    }
+                    assertEquals(expectedCount, solver.countSolutions(board));
+
+                    SudokuBoard expected = breadthFirstSolver.solve(board);
+                    SudokuBoard solution = solver.solve(board);
+                    assertTrue(solution.verifySolution());
+                    if (expectedCount == 1) {
+                        assertArrayEquals(expected.getValues(), solution.getValues());
+                    }
+                }
+            }
+        }
+
+        /**
+         * Adds every valid 4x4 grid that extends a partially filled grid to a List.
+         *
+         * @param grid   The values of the squares filled so far
+         * @param square The next square to fill
+         * @param grids  The List to add the grids to
+         */
+        private void addGrids(int[] grid, int square, List<int[]> grids) {
+            if (square == 16) {
+                grids.add(grid.clone());
+                return;
+            }
+            for (int value = 1; value <= 4; value++) {
+                boolean valid = true;
+                for (int other = 0; other < square && valid; other++) {
+                    boolean sameBox = other / 8 == square / 8 && other % 4 / 2 == square % 4 / 2;
+                    boolean peer = other / 4 == square / 4 || other % 4 == square % 4 || sameBox;
+                    valid = !peer || grid[other] != value;
+                }
+                if (!valid) continue;
+                grid[square] = value;
+                addGrids(grid, square + 1, grids);
+            }
+        }
+    }
+
+    @Nested
+    class TemplateSolverTest {
+        private final String hard = """
+                8,*,*,*,*,*,*,*,*
+                *,*,3,6,*,*,*,*,*
+                *,7,*,*,9,*,2,*,*
+                *,5,*,*,*,7,*,*,*
+                *,*,*,*,4,5,7,*,*
+                *,*,*,1,*,*,*,3,*
+                *,*,1,*,*,*,*,6,8
+                *,*,8,5,*,*,*,1,*
+                *,9,*,*,*,*,4,*,*
+                """;
+
+        @Test
+        public void testUnsolvableGameThrowsException() {
+            runSolverOnUnsolvableGames(new TemplateSolver());
+        }
+
+        // Boards that are not 9x9 are solved by the fallback solver
+        @Test
+        public void testSolvedAndEmptyGames() {
+            TemplateSolver solver = new TemplateSolver();
+            assertSolverSolvesBoard(solver, easy);
+            assertSolverSolvesBoard(solver, empty);
+            assertTrue(solver.getNodesExpanded() > 0);
+            assertSolverSolvesBoard(solver, solvedSmall);
+            assertSolverSolvesBoard(solver, bigEmpty);
+        }
+
+        @Test
+        public void testUnsolvedButSolvableGames() {
+            TemplateSolver solver = new TemplateSolver();
+            runSolverOnSolvableGames(solver);
+            assertEquals(1, solver.getTimes(game1).size());
+        }
+
+        @Test
+        public void testHardGame() {
+            TemplateSolver solver = new TemplateSolver();
+            SudokuBoard solution = solver.solve(hard);
+            assertTrue(solution.verifySolution());
+            // The puzzle has a unique solution, so every solver must find the same one
+            assertArrayEquals(solution.getValues(), depthFirstSolver.solve(hard).getValues());
+        }
+    }
+
+    @Nested
+    class BeamSolverTest {
+        private final String hard = """
+                8,*,*,*,*,*,*,*,*
+                *,*,3,6,*,*,*,*,*
+                *,7,*,*,9,*,2,*,*
+                *,5,*,*,*,7,*,*,*
+                *,*,*,*,4,5,7,*,*
+                *,*,*,1,*,*,*,3,*
+                *,*,1,*,*,*,*,6,8
+                *,*,8,5,*,*,*,1,*
+                *,9,*,*,*,*,4,*,*
+                """;
+
+        @Test
+        public void testUnsolvableGameThrowsException() {
+            runSolverOnUnsolvableGames(new BeamSolver());
+        }
+
+        @Test
+        public void testSolvedAndEmptyGames() {
+            BeamSolver solver = new BeamSolver();
+            assertSolverSolvesBoard(solver, easy);
+            assertSolverSolvesBoard(solver, empty);
+            assertSolverSolvesBoard(solver, solvedSmall);
+            assertSolverSolvesBoard(solver, bigEmpty);
+        }
+
+        @Test
+        public void testUnsolvedButSolvableGames() {
+            runSolverOnSolvableGames(new BeamSolver());
+        }
+
+        // A beam one board wide is a greedy search that cannot backtrack, so it gives up on the
+        // hard game, whereas widening the beam eventually finds the solution
+        @Test
+        public void testWidening() {
+            BeamSolver narrow = new BeamSolver(1);
+            assertNull(narrow.solve(hard));
+            assertTrue(((BeamOpenList) narrow.getOpenList()).getBoardsPruned() > 0);
+            assertEquals(0, narrow.getWidenings());
+
+            BeamSolver widening = new BeamSolver(1, 1 << 16, Heuristic.SQUARES_REMAINING);
+            SudokuBoard solution = widening.solve(hard);
+            assertTrue(solution.verifySolution());
+            assertTrue(widening.getWidenings() > 0);
+            assertTrue(widening.getNodesExpanded() > narrow.getNodesExpanded());
+            assertArrayEquals(solution.getValues(), depthFirstSolver.solve(hard).getValues());
+        }
+
+        // Restoring a snapshot taken midway through a level should keep the width and put each
+        // board back in its level, so both lists remove the same boards in the same order
+        @Test
+        public void testBeamOpenListSnapshot() {
+            BeamOpenList openList = new BeamOpenList(2, Heuristic.SQUARES_REMAINING);
+            openList.add(new SudokuBoard(empty));
+            openList.addSuccessors(openList.remove(), ValueOrdering.ASCENDING);
+            openList.addSuccessors(openList.remove(), ValueOrdering.ASCENDING);
+
+            List<SudokuBoard> boards = openList.snapshot();
+            int[] state = openList.snapshotState();
+            assertEquals(openList.size(), boards.size());
+            assertEquals(3, boards.size());
+            assertEquals(2, state[0]);
+            assertEquals(1, state[2]);
+            assertTrue(state[3] > 0);
+
+            BeamOpenList restored = new BeamOpenList(8, Heuristic.SQUARES_REMAINING);
+            restored.restore(boards, state);
+            assertEquals(2, restored.getWidth());
+            assertEquals(openList.getBoardsPruned(), restored.getBoardsPruned());
+            for (SudokuBoard board : boards) {
+                assertSame(board, openList.remove());
+                assertSame(board, restored.remove());
+            }
+            assertTrue(restored.isEmpty());
+        }
+
+        @Test
+        public void testInvalidWidth() {
+            assertThrows(IllegalArgumentException.class, () -> new BeamSolver(0));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new BeamSolver(4, 2, Heuristic.SQUARES_REMAINING));
+        }
+    }
+
+    @Nested
+    class LimitedDiscrepancySolverTest {
+        private final String hard = """
+                8,*,*,*,*,*,*,*,*
+                *,*,3,6,*,*,*,*,*
+                *,7,*,*,9,*,2,*,*
+                *,5,*,*,*,7,*,*,*
+                *,*,*,*,4,5,7,*,*
+                *,*,*,1,*,*,*,3,*
+                *,*,1,*,*,*,*,6,8
+                *,*,8,5,*,*,*,1,*
+                *,9,*,*,*,*,4,*,*
+                """;
+
+        @Test
+        public void testUnsolvableGameThrowsException() {
+            runSolverOnUnsolvableGames(new LimitedDiscrepancySolver());
+        }
+
+        @Test
+        public void testSolvedAndEmptyGames() {
+            LimitedDiscrepancySolver solver = new LimitedDiscrepancySolver();
+            assertSolverSolvesBoard(solver, solved);
+            assertEquals(1, solver.getIterations());
+            assertSolverSolvesBoard(solver, empty);
+            assertSolverSolvesBoard(solver, smallEmpty);
+            assertSolverSolvesBoard(solver, bigEmpty);
+        }
+
+        @Test
+        public void testUnsolvedButSolvableGames() {
+            runSolverOnSolvableGames(new LimitedDiscrepancySolver());
+        }
+
+        // The preferred values do not lead straight to the solution of the hard game, so later
+        // iterations must allow discrepancies and repeat the work of earlier ones
+        @Test
+        public void testHardGame() {
+            LimitedDiscrepancySolver solver = new LimitedDiscrepancySolver();
+            SudokuBoard solution = solver.solve(hard);
+            assertTrue(solution.verifySolution());
+            assertTrue(solver.getIterations() > 1);
+            assertArrayEquals(solution.getValues(), depthFirstSolver.solve(hard).getValues());
+        }
+
+        @Test
+        public void testBoundedSuccessorStack() {
+            BoundedSuccessorStack stack = new BoundedSuccessorStack(true);
+            assertThrows(IllegalArgumentException.class, () -> stack.setLimit(-1));
+            stack.add(new SudokuBoard(hard));
+            SudokuBoard root = stack.remove();
+            assertTrue(stack.isEmpty());
+            // With no discrepancies allowed, only the preferred successor is returned
+            stack.addSuccessors(root, ValueOrdering.ASCENDING);
+            assertFalse(stack.isEmpty());
+            stack.remove();
+            assertTrue(stack.isEmpty());
+            assertTrue(stack.wasCutOff());
+            stack.clear();
+            assertTrue(stack.wasCutOff());
+            stack.add(new SudokuBoard(hard));
+            assertFalse(stack.wasCutOff());
+        }
+    }
+
+    @Nested
+    class IterativeDeepeningSolverTest {
+        private final String hard = """
+                8,*,*,*,*,*,*,*,*
+                *,*,3,6,*,*,*,*,*
+                *,7,*,*,9,*,2,*,*
+                *,5,*,*,*,7,*,*,*
+                *,*,*,*,4,5,7,*,*
+                *,*,*,1,*,*,*,3,*
+                *,*,1,*,*,*,*,6,8
+                *,*,8,5,*,*,*,1,*
+                *,9,*,*,*,*,4,*,*
+                """;
+
+        @Test
+        public void testUnsolvableGameThrowsException() {
+            runSolverOnUnsolvableGames(new IterativeDeepeningSolver());
+        }
+
+        @Test
+        public void testSolvedAndEmptyGames() {
+            IterativeDeepeningSolver solver = new IterativeDeepeningSolver();
+            assertSolverSolvesBoard(solver, solved);
+            assertEquals(1, solver.getIterations());
+            assertSolverSolvesBoard(solver, easy);
+            assertSolverSolvesBoard(solver, smallEmpty);
+        }
+
+        @Test
+        public void testUnsolvedButSolvableGames() {
+            runSolverOnSolvableGames(new IterativeDeepeningSolver());
+        }
+
+        // The solution of the hard game is only found once the depth limit reaches the number of
+        // guesses it needs
+        @Test
+        public void testHardGame() {
+            IterativeDeepeningSolver solver = new IterativeDeepeningSolver();
+            SudokuBoard solution = solver.solve(hard);
+            assertTrue(solution.verifySolution());
+            assertTrue(solver.getIterations() > 1);
+            assertArrayEquals(solution.getValues(), depthFirstSolver.solve(hard).getValues());
+        }
+    }
+
+    @Nested
+    class PortfolioSolverTest {
+        @Test
+        public void testUnsolvableGameThrowsException() {
+            runSolverOnUnsolvableGames(portfolioSolver);
+        }
+
+        @Test
+        public void testEasilySolvedGameGivenToSolveMethod() {
+            SudokuBoard board = portfolioSolver.solve(easy);
+            assertTrue(board.solved());
+            assertTrue(board.verifySolution());
+        }
+
+        @Test
+        public void testEmptyGameGivenToSolveMethod() {
+            assertSolverSolvesBoard(portfolioSolver, empty);
+            assertSolverSolvesBoard(portfolioSolver, smallEmpty);
+        }
+
+        @Test
+        public void testUnsolvedButSolvableGames() {
+            runSolverOnSolvableGames(portfolioSolver);
+        }
+
+        // Every solve should be won by exactly one solver in the portfolio
+        @Test
+        public void testWinnerRecorded() {
+            assertNull(portfolioSolver.getLastWinner());
+            runSolverOnSolvableGames(portfolioSolver);
+            assertNotNull(portfolioSolver.getLastWinner());
+            assertNotEquals(SolverType.PORTFOLIO, portfolioSolver.getLastWinner());
+            long totalWins = 0;
+            for (long wins : portfolioSolver.getWins().values()) {
+                totalWins += wins;
+            }
+            assertEquals(solvableGames.length, totalWins);
+
+            PortfolioSolver depthFirstOnly = new PortfolioSolver(List.of(SolverType.DEPTH_FIRST));
+            assertSolverSolvesBoard(depthFirstOnly, game1);
+            assertEquals(SolverType.DEPTH_FIRST, depthFirstOnly.getLastWinner());
+            assertEquals(1, depthFirstOnly.getWins().get(SolverType.DEPTH_FIRST));
+
+            assertThrows(IllegalArgumentException.class, () -> new PortfolioSolver(List.of()));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new PortfolioSolver(List.of(SolverType.PORTFOLIO)));
+        }
+
+        // A complete solver proving there is no solution should end the race without waiting for
+        // the incomplete solvers to run out of time
+        @Test
+        public void testUnsolvableGameFoundBySearch() {
+            // Unsolvable, but only shown to be so by searching
+            String unsolvableBySearch = """
+                    8,2,*,*,*,*,*,*,*
+                    *,*,3,6,*,*,*,*,*
+                    *,7,*,*,9,*,2,*,*
+                    *,5,*,*,*,7,*,*,*
+                    *,*,*,*,4,5,7,*,*
+                    *,*,*,1,*,*,*,3,*
+                    *,*,1,*,*,*,*,6,8
+                    *,*,8,5,*,*,*,1,*
+                    *,9,*,*,*,*,4,*,*
+                    """;
+            assertTrue(portfolioSolver.isComplete());
+            assertTimeout(Duration.ofSeconds(5),
+                    () -> assertNull(portfolioSolver.solve(unsolvableBySearch)));
+            assertNull(portfolioSolver.getLastWinner());
+
+            assertFalse(new PortfolioSolver(List.of(SolverType.ANNEALING, SolverType.BEAM))
+                    .isComplete());
+        }
+
+        // Breadth-first search can run out of memory, so it should not be raced by default
+        @Test
+        public void testDefaultEngines() {
+            assertFalse(portfolioSolver.getEngines().contains(SolverType.BREADTH_FIRST));
+            assertFalse(portfolioSolver.getEngines().contains(SolverType.PORTFOLIO));
+            assertTrue(portfolioSolver.getEngines().contains(SolverType.DEPTH_FIRST));
+        }
+
+        @Test
+        public void testInterruptedSolve() {
+            Thread.currentThread().interrupt();
+            assertNull(portfolioSolver.solve(game1));
+            assertTrue(Thread.interrupted());
+            assertNull(portfolioSolver.getLastWinner());
+        }
+
+        @Test
+        public void testGetTimes() {
+            assertNull(portfolioSolver.getTimes(bigGame1));
+            portfolioSolver.solve(bigGame1);
+            assertTrue(portfolioSolver.getTimes(bigGame1).size() > 0);
+        }
+    }
+}